@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.closure.service;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory, per tenant copy of the latest accounting closure date of every office, used to reject postings into closed
+ * periods.
+ *
+ * The dates of all offices are loaded with one grouped query, so postings do not read the closure table at all while
+ * the dates are current. Closure commands on this node drop them once they commit. Closures created or deleted on
+ * another node only apply to postings made here once the dates are older than
+ * <code>fineract.accounting.closures.max-age-seconds</code>, which should therefore be kept below the time usually left
+ * between closing a period and the last postings into it.
+ */
+@Component
+public class GLClosureDateResolver {
+
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.accounting.closures.max-age-seconds";
+
+    private static final String LATEST_CLOSING_DATES_SQL = "select office_id, max(closing_date) as closingDate "
+            + "from acc_gl_closure group by office_id";
+    private static final String ALL_OFFICES = "all";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantCache<String, Map<Long, Date>> latestClosingDates;
+
+    @Autowired
+    public GLClosureDateResolver(final RoutingDataSource dataSource, final Environment env) {
+        this(new JdbcTemplate(dataSource), env);
+    }
+
+    GLClosureDateResolver(final JdbcTemplate jdbcTemplate, final Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.latestClosingDates = TenantCache.<String, Map<Long, Date>>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).build();
+    }
+
+    /**
+     * @return the closing date of the latest accounting closure of the office, or null when the office was never closed
+     */
+    public Date findLatestClosingDate(final Long officeId) {
+        return this.latestClosingDates.get(ALL_OFFICES, this::load).get(officeId);
+    }
+
+    /**
+     * Drops the cached closing dates of the current tenant once the current transaction commits.
+     */
+    public void invalidate() {
+        this.latestClosingDates.evictAllAfterCommit();
+    }
+
+    private Map<Long, Date> load() {
+        final Map<Long, Date> latestByOffice = new HashMap<>();
+        this.jdbcTemplate.query(LATEST_CLOSING_DATES_SQL,
+                (RowCallbackHandler) rs -> latestByOffice.put(rs.getLong("office_id"), rs.getDate("closingDate")));
+        return latestByOffice;
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction scoped buffer for system generated journal entries.
+ *
+ * Entries added inside a transaction are kept in memory and written with multi-row inserts just before the transaction
+ * commits, instead of one JPA flush and round trip per ledger line. Outside of a transaction entries are written
+ * immediately. Code reading journal entries back within the same transaction must call {@link #flush()} first.
+ */
+@Component
+public class JournalEntryBatchWriter {
+
+    private static final int ROWS_PER_INSERT = 500;
+
+    private static final String INSERT_SQL = "insert into acc_gl_journal_entry (office_id, payment_details_id, account_id, currency_code, "
+            + "transaction_id, loan_transaction_id, savings_transaction_id, client_transaction_id, share_transaction_id, reversed, "
+            + "manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, ref_num, createdby_id, "
+            + "created_date, lastmodifiedby_id, lastmodified_date) values ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<AppUser> auditorAware;
+
+    @Autowired
+    public JournalEntryBatchWriter(final RoutingDataSource dataSource, final AuditorAware<AppUser> auditorAware) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.auditorAware = auditorAware;
+    }
+
+    public void add(final JournalEntry journalEntry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Collections.singletonList(journalEntry));
+            return;
+        }
+        List<JournalEntry> buffer = currentBuffer();
+        if (buffer == null) {
+            buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new BufferSynchronization(buffer));
+        }
+        buffer.add(journalEntry);
+    }
+
+    /**
+     * Writes the entries buffered by the current transaction.
+     *
+     * @return the ids generated for the written entries, in the order they were added
+     */
+    public List<Long> flush() {
+        final List<JournalEntry> buffer = currentBuffer();
+        if (buffer == null || buffer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<JournalEntry> pending = new ArrayList<>(buffer);
+        buffer.clear();
+        return write(pending);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JournalEntry> currentBuffer() {
+        return (List<JournalEntry>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private List<Long> write(final List<JournalEntry> journalEntries) {
+        final Long auditorId = this.auditorAware.getCurrentAuditor().map(AppUser::getId).orElse(null);
+        final Timestamp now = Timestamp.from(Instant.now());
+        final List<Long> generatedIds = new ArrayList<>(journalEntries.size());
+
+        for (int from = 0; from < journalEntries.size(); from += ROWS_PER_INSERT) {
+            final List<JournalEntry> chunk = journalEntries.subList(from, Math.min(from + ROWS_PER_INSERT, journalEntries.size()));
+            final String sql = INSERT_SQL + String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS));
+            final KeyHolder keyHolder = new GeneratedKeyHolder();
+            this.jdbcTemplate.update(connection -> {
+                final PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                int index = 1;
+                for (final JournalEntry journalEntry : chunk) {
+                    ps.setObject(index++, idOf(journalEntry.getOffice()), Types.BIGINT);
+                    ps.setObject(index++, idOf(journalEntry.getPaymentDetails()), Types.BIGINT);
+                    ps.setObject(index++, idOf(journalEntry.getGlAccount()), Types.BIGINT);
+                    ps.setString(index++, journalEntry.getCurrencyCode());
+                    ps.setString(index++, journalEntry.getTransactionId());
+                    ps.setObject(index++, idOf(journalEntry.getLoanTransaction()), Types.BIGINT);
+                    ps.setObject(index++, idOf(journalEntry.getSavingsTransaction()), Types.BIGINT);
+                    ps.setObject(index++, idOf(journalEntry.getClientTransaction()), Types.BIGINT);
+                    ps.setObject(index++, journalEntry.getShareTransactionId(), Types.BIGINT);
+                    ps.setBoolean(index++, false);
+                    ps.setBoolean(index++, journalEntry.isManualEntry());
+                    ps.setObject(index++, journalEntry.getTransactionDate() == null ? null
+                            : new Date(journalEntry.getTransactionDate().getTime()), Types.DATE);
+                    ps.setObject(index++, journalEntry.getType(), Types.INTEGER);
+                    ps.setBigDecimal(index++, journalEntry.getAmount());
+                    ps.setString(index++, journalEntry.getDescription());
+                    ps.setObject(index++, journalEntry.getEntityType(), Types.INTEGER);
+                    ps.setObject(index++, journalEntry.getEntityId(), Types.BIGINT);
+                    ps.setString(index++, journalEntry.getReferenceNumber());
+                    ps.setObject(index++, auditorId, Types.BIGINT);
+                    ps.setTimestamp(index++, now);
+                    ps.setObject(index++, auditorId, Types.BIGINT);
+                    ps.setTimestamp(index++, now);
+                }
+                return ps;
+            }, keyHolder);
+            for (final Map<String, Object> keys : keyHolder.getKeyList()) {
+                for (final Object key : keys.values()) {
+                    generatedIds.add(((Number) key).longValue());
+                }
+            }
+        }
+        return generatedIds;
+    }
+
+    private static Long idOf(final AbstractPersistableCustom entity) {
+        return entity == null ? null : entity.getId();
+    }
+
+    private final class BufferSynchronization implements TransactionSynchronization {
+
+        private final List<JournalEntry> buffer;
+
+        BufferSynchronization(final List<JournalEntry> buffer) {
+            this.buffer = buffer;
+        }
+
+        // the buffer belongs to its own transaction, hide it while a REQUIRES_NEW transaction runs
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(JournalEntryBatchWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(JournalEntryBatchWriter.this, this.buffer);
+        }
+
+        @Override
+        public void beforeCommit(@SuppressWarnings("unused") final boolean readOnly) {
+            flush();
+        }
+
+        @Override
+        public void afterCompletion(@SuppressWarnings("unused") final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JournalEntryBatchWriter.this);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory, per tenant copy of the product to GL account mappings and of the financial activity accounts used when
+ * posting journal entries.
+ *
+ * The mappings of a product are loaded with one query the first time the product is posted to and kept until a mapping
+ * command for the product commits. The financial activity accounts are loaded all at once and kept until a financial
+ * activity mapping command commits.
+ */
+@Component
+public class ProductToGLAccountMappingResolver {
+
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.accounting.product-mappings.max-age-seconds";
+
+    static final String PRODUCT_MAPPINGS_SQL = "select financial_account_type, payment_type, charge_id, gl_account_id "
+            + "from acc_product_mapping where product_id = ? and product_type = ?";
+    static final String FINANCIAL_ACTIVITY_ACCOUNTS_SQL = "select financial_activity_type, gl_account_id "
+            + "from acc_gl_financial_activity_account";
+    private static final String ALL_FINANCIAL_ACTIVITIES = "all";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GLAccountRepository glAccountRepository;
+    private final TenantCache<String, ProductMappings> mappingsByProduct;
+    private final TenantCache<String, Map<Integer, Long>> financialActivityAccounts;
+
+    @Autowired
+    public ProductToGLAccountMappingResolver(final RoutingDataSource dataSource, final GLAccountRepository glAccountRepository,
+            final Environment env) {
+        this(new JdbcTemplate(dataSource), glAccountRepository, env);
+    }
+
+    ProductToGLAccountMappingResolver(final JdbcTemplate jdbcTemplate, final GLAccountRepository glAccountRepository,
+            final Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.glAccountRepository = glAccountRepository;
+        this.mappingsByProduct = TenantCache.<String, ProductMappings>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).build();
+        this.financialActivityAccounts = TenantCache.<String, Map<Integer, Long>>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).build();
+    }
+
+    /**
+     * @return the account mapped to the product for the financial account type, ignoring payment type and charge
+     *         specific mappings, or null when there is none
+     */
+    public GLAccount findCoreAccount(final PortfolioProductType productType, final Long productId, final int financialAccountType) {
+        return toAccount(productMappings(productType, productId).coreAccounts.get(financialAccountType));
+    }
+
+    /**
+     * @return the account mapped to the product for the financial account type and payment type, or null when there is
+     *         none
+     */
+    public GLAccount findPaymentTypeAccount(final PortfolioProductType productType, final Long productId, final int financialAccountType,
+            final Long paymentTypeId) {
+        if (paymentTypeId == null) {
+            return findCoreAccount(productType, productId, financialAccountType);
+        }
+        return toAccount(productMappings(productType, productId).paymentTypeAccounts.get(mappingKey(financialAccountType, paymentTypeId)));
+    }
+
+    /**
+     * @return the account mapped to the product for the financial account type and charge, or null when there is none
+     */
+    public GLAccount findChargeAccount(final PortfolioProductType productType, final Long productId, final int financialAccountType,
+            final Long chargeId) {
+        if (chargeId == null) {
+            return null;
+        }
+        return toAccount(productMappings(productType, productId).chargeAccounts.get(mappingKey(financialAccountType, chargeId)));
+    }
+
+    /**
+     * @return the account mapped to the financial activity, or null when there is none
+     */
+    public GLAccount findFinancialActivityAccount(final int financialActivityType) {
+        return toAccount(this.financialActivityAccounts.get(ALL_FINANCIAL_ACTIVITIES, this::loadFinancialActivityAccounts)
+                .get(financialActivityType));
+    }
+
+    /**
+     * Drops the cached mappings of a product once the current transaction commits.
+     */
+    public void invalidateProduct(final PortfolioProductType productType, final Long productId) {
+        this.mappingsByProduct.evictAfterCommit(productKey(productType, productId));
+    }
+
+    /**
+     * Drops the cached financial activity accounts once the current transaction commits.
+     */
+    public void invalidateFinancialActivityAccounts() {
+        this.financialActivityAccounts.evictAllAfterCommit();
+    }
+
+    private ProductMappings productMappings(final PortfolioProductType productType, final Long productId) {
+        return this.mappingsByProduct.get(productKey(productType, productId), () -> loadProductMappings(productType, productId));
+    }
+
+    private ProductMappings loadProductMappings(final PortfolioProductType productType, final Long productId) {
+        final ProductMappings loaded = new ProductMappings();
+        this.jdbcTemplate.query(PRODUCT_MAPPINGS_SQL, (RowCallbackHandler) rs -> {
+            final int financialAccountType = rs.getInt("financial_account_type");
+            final long glAccountId = rs.getLong("gl_account_id");
+            final long paymentTypeId = rs.getLong("payment_type");
+            final boolean hasPaymentType = !rs.wasNull();
+            final long chargeId = rs.getLong("charge_id");
+            final boolean hasCharge = !rs.wasNull();
+            if (hasPaymentType) {
+                loaded.paymentTypeAccounts.put(mappingKey(financialAccountType, paymentTypeId), glAccountId);
+            } else if (hasCharge) {
+                loaded.chargeAccounts.put(mappingKey(financialAccountType, chargeId), glAccountId);
+            } else {
+                loaded.coreAccounts.put(financialAccountType, glAccountId);
+            }
+        }, productId, productType.getValue());
+        return loaded;
+    }
+
+    private Map<Integer, Long> loadFinancialActivityAccounts() {
+        final Map<Integer, Long> accounts = new HashMap<>();
+        this.jdbcTemplate.query(FINANCIAL_ACTIVITY_ACCOUNTS_SQL,
+                (RowCallbackHandler) rs -> accounts.put(rs.getInt("financial_activity_type"), rs.getLong("gl_account_id")));
+        return accounts;
+    }
+
+    private GLAccount toAccount(final Long glAccountId) {
+        // a reference is enough to post a journal entry, the account row is only read if one of its fields is used
+        return glAccountId == null ? null : this.glAccountRepository.getOne(glAccountId);
+    }
+
+    private static String productKey(final PortfolioProductType productType, final Long productId) {
+        return productType.getValue() + ":" + productId;
+    }
+
+    private static String mappingKey(final int financialAccountType, final long id) {
+        return financialAccountType + ":" + id;
+    }
+
+    private static final class ProductMappings {
+
+        private final Map<Integer, Long> coreAccounts = new HashMap<>();
+        private final Map<String, Long> paymentTypeAccounts = new HashMap<>();
+        private final Map<String, Long> chargeAccounts = new HashMap<>();
+    }
+}
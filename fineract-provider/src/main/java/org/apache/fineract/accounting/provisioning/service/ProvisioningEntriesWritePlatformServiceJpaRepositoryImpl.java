@@ -19,15 +19,20 @@
 package org.apache.fineract.accounting.provisioning.service;
 
 import com.google.gson.JsonObject;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.fineract.accounting.glaccount.domain.GLAccount;
-import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
@@ -45,17 +50,14 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
-import org.apache.fineract.organisation.office.domain.Office;
-import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
 import org.apache.fineract.organisation.provisioning.data.ProvisioningCriteriaData;
-import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategory;
-import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategoryRepository;
 import org.apache.fineract.organisation.provisioning.service.ProvisioningCriteriaReadPlatformService;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
@@ -64,19 +66,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements ProvisioningEntriesWritePlatformService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl.class);
+    private static final String INSERT_LOAN_PRODUCT_PROVISIONING_ENTRY_SQL = "insert into m_loanproduct_provisioning_entry (history_id, "
+            + "criteria_id, currency_code, office_id, product_id, category_id, overdue_in_days, reseve_amount, liability_account, "
+            + "expense_account) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
     private final ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService;
     private final ProvisioningCriteriaReadPlatformService provisioningCriteriaReadPlatformService;
     private final LoanProductRepository loanProductRepository;
-    private final GLAccountRepository glAccountRepository;
-    private final OfficeRepositoryWrapper officeRepositoryWrapper;
-    private final ProvisioningCategoryRepository provisioningCategoryRepository;
     private final PlatformSecurityContext platformSecurityContext;
     private final ProvisioningEntryRepository provisioningEntryRepository;
     private final JournalEntryWritePlatformService journalEntryWritePlatformService;
@@ -84,20 +93,17 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
     private final FromJsonHelper fromApiJsonHelper;
 
     @Autowired
-    public ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl(
+    public ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl(final RoutingDataSource dataSource,
             final ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService,
             final ProvisioningCriteriaReadPlatformService provisioningCriteriaReadPlatformService,
-            final LoanProductRepository loanProductRepository, final GLAccountRepository glAccountRepository,
-            final OfficeRepositoryWrapper officeRepositoryWrapper, final ProvisioningCategoryRepository provisioningCategoryRepository,
-            final PlatformSecurityContext platformSecurityContext, final ProvisioningEntryRepository provisioningEntryRepository,
+            final LoanProductRepository loanProductRepository, final PlatformSecurityContext platformSecurityContext,
+            final ProvisioningEntryRepository provisioningEntryRepository,
             final JournalEntryWritePlatformService journalEntryWritePlatformService,
             final ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer, final FromJsonHelper fromApiJsonHelper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.provisioningEntriesReadPlatformService = provisioningEntriesReadPlatformService;
         this.provisioningCriteriaReadPlatformService = provisioningCriteriaReadPlatformService;
         this.loanProductRepository = loanProductRepository;
-        this.glAccountRepository = glAccountRepository;
-        this.officeRepositoryWrapper = officeRepositoryWrapper;
-        this.provisioningCategoryRepository = provisioningCategoryRepository;
         this.platformSecurityContext = platformSecurityContext;
         this.provisioningEntryRepository = provisioningEntryRepository;
         this.journalEntryWritePlatformService = journalEntryWritePlatformService;
@@ -154,6 +160,7 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
         return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 
+    @Transactional
     @Override
     @CronTarget(jobName = JobName.GENERATE_LOANLOSS_PROVISIONING)
     public void generateLoanLossProvisioningAmount() {
@@ -203,14 +210,12 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
         Date lastModifiedDate = null;
         Set<LoanProductProvisioningEntry> nullEntries = null;
         ProvisioningEntry requestedEntry = new ProvisioningEntry(currentUser, date, lastModifiedBy, lastModifiedDate, nullEntries);
-        Collection<LoanProductProvisioningEntry> entries = generateLoanProvisioningEntry(requestedEntry, date);
-        requestedEntry.setProvisioningEntries(entries);
+        this.provisioningEntryRepository.saveAndFlush(requestedEntry);
+        generateLoanProvisioningEntries(requestedEntry, date);
         if (addJournalEntries) {
             ProvisioningEntryData exisProvisioningEntryData = this.provisioningEntriesReadPlatformService
                     .retrieveExistingProvisioningIdDateWithJournals();
             revertAndAddJournalEntries(exisProvisioningEntryData, requestedEntry);
-        } else {
-            this.provisioningEntryRepository.save(requestedEntry);
         }
         return requestedEntry;
     }
@@ -220,38 +225,64 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
         ProvisioningEntry requestedEntry = this.provisioningEntryRepository.findById(provisioningEntryId)
                 .orElseThrow(() -> new ProvisioningEntryNotfoundException(provisioningEntryId));
         requestedEntry.getLoanProductProvisioningEntries().clear();
-        this.provisioningEntryRepository.save(requestedEntry);
-        Collection<LoanProductProvisioningEntry> entries = generateLoanProvisioningEntry(requestedEntry, requestedEntry.getCreatedDate());
-        requestedEntry.setProvisioningEntries(entries);
-        this.provisioningEntryRepository.save(requestedEntry);
+        this.provisioningEntryRepository.saveAndFlush(requestedEntry);
+        generateLoanProvisioningEntries(requestedEntry, requestedEntry.getCreatedDate());
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(requestedEntry.getId()).build();
     }
 
-    private Collection<LoanProductProvisioningEntry> generateLoanProvisioningEntry(ProvisioningEntry parent, Date date) {
-        Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
+    /**
+     * Aggregates the provisioning data of every loan into one row per office, currency, product, category, overdue days,
+     * criteria and accounts, and inserts the rows of the (already flushed) parent entry with one batched statement.
+     * Only the loan products are loaded, once each, for their currency; everything else is written by id. The parent is
+     * refreshed afterwards so that the journal entries see its new rows.
+     */
+    private void generateLoanProvisioningEntries(final ProvisioningEntry parent, final Date date) {
+        final Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
                 .retrieveLoanProductsProvisioningData(date);
-        Map<LoanProductProvisioningEntry, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
-        for (LoanProductProvisioningEntryData data : entries) {
-            LoanProduct loanProduct = this.loanProductRepository.findById(data.getProductId()).get();
-            Office office = this.officeRepositoryWrapper.findOneWithNotFoundDetection(data.getOfficeId());
-            ProvisioningCategory provisioningCategory = provisioningCategoryRepository.findById(data.getCategoryId()).get();
-            GLAccount liabilityAccount = glAccountRepository.findById(data.getLiablityAccount()).get();
-            GLAccount expenseAccount = glAccountRepository.findById(data.getExpenseAccount()).get();
-            MonetaryCurrency currency = loanProduct.getPrincipalAmount().getCurrency();
-            Money money = Money.of(currency, data.getOutstandingBalance());
-            Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getRoundingMode());
-            Long criteraId = data.getCriteriaId();
-            LoanProductProvisioningEntry entry = new LoanProductProvisioningEntry(loanProduct, office, data.getCurrencyCode(),
-                    provisioningCategory, data.getOverdueInDays(), amountToReserve.getAmount(), liabilityAccount, expenseAccount,
-                    criteraId);
-            entry.setProvisioningEntry(parent);
-            if (!provisioningEntries.containsKey(entry)) {
-                provisioningEntries.put(entry, entry);
-            } else {
-                LoanProductProvisioningEntry entry1 = provisioningEntries.get(entry);
-                entry1.addReservedAmount(entry.getReservedAmount());
+
+        final Set<Long> productIds = entries.stream().map(LoanProductProvisioningEntryData::getProductId).collect(Collectors.toSet());
+        final Map<Long, MonetaryCurrency> productCurrencies = new HashMap<>();
+        for (final LoanProduct loanProduct : this.loanProductRepository.findAllById(productIds)) {
+            productCurrencies.put(loanProduct.getId(), loanProduct.getPrincipalAmount().getCurrency());
+        }
+
+        final Map<String, ProvisioningRow> rows = new LinkedHashMap<>();
+        for (final LoanProductProvisioningEntryData data : entries) {
+            final Money money = Money.of(productCurrencies.get(data.getProductId()), data.getOutstandingBalance());
+            final Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getRoundingMode());
+            final String key = data.getOfficeId() + ":" + data.getCurrencyCode() + ":" + data.getProductId() + ":" + data.getCategoryId()
+                    + ":" + data.getOverdueInDays() + ":" + data.getCriteriaId() + ":" + data.getLiablityAccount() + ":"
+                    + data.getExpenseAccount();
+            rows.computeIfAbsent(key, k -> new ProvisioningRow(data)).addReservedAmount(amountToReserve.getAmount());
+        }
+
+        if (!rows.isEmpty()) {
+            final List<Object[]> batchArgs = new ArrayList<>(rows.size());
+            for (final ProvisioningRow row : rows.values()) {
+                batchArgs.add(row.toInsertArgs(parent.getId()));
             }
+            this.jdbcTemplate.batchUpdate(INSERT_LOAN_PRODUCT_PROVISIONING_ENTRY_SQL, batchArgs);
+        }
+        this.entityManager.refresh(parent);
+    }
+
+    private static final class ProvisioningRow {
+
+        private final LoanProductProvisioningEntryData data;
+        private BigDecimal reservedAmount = BigDecimal.ZERO;
+
+        ProvisioningRow(final LoanProductProvisioningEntryData data) {
+            this.data = data;
+        }
+
+        void addReservedAmount(final BigDecimal amount) {
+            this.reservedAmount = this.reservedAmount.add(amount);
+        }
+
+        Object[] toInsertArgs(final Long historyId) {
+            return new Object[] { historyId, this.data.getCriteriaId(), this.data.getCurrencyCode(), this.data.getOfficeId(),
+                    this.data.getProductId(), this.data.getCategoryId(), this.data.getOverdueInDays(), this.reservedAmount,
+                    this.data.getLiablityAccount(), this.data.getExpenseAccount() };
         }
-        return provisioningEntries.values();
     }
 }
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.accounting.trialbalance.data.TrialBalanceDataValidator;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+@CommandType(entity = "TRIALBALANCE", action = "REBUILD")
+public class RebuildTrialBalancesCommandHandler implements NewCommandSourceHandler {
+
+    private final TrialBalanceDataValidator dataValidator;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
+
+    @Autowired
+    public RebuildTrialBalancesCommandHandler(final TrialBalanceDataValidator dataValidator,
+            final TrialBalanceWritePlatformService trialBalanceWritePlatformService) {
+        this.dataValidator = dataValidator;
+        this.trialBalanceWritePlatformService = trialBalanceWritePlatformService;
+    }
+
+    @Override
+    public CommandProcessingResult processCommand(final JsonCommand command) {
+        this.dataValidator.validateForRebuild(command);
+        final int written = this.trialBalanceWritePlatformService
+                .rebuildTrialBalances(command.localDateValueOfParameterNamed(TrialBalanceDataValidator.FROM_DATE_PARAM_NAME));
+
+        final Map<String, Object> changes = new HashMap<>();
+        changes.put("rowsWritten", written);
+        return new CommandProcessingResultBuilder().withCommandId(command.commandId()).with(changes).build();
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import java.time.LocalDate;
+
+public interface TrialBalanceWritePlatformService {
+
+    /**
+     * Computes the trial balance rows of every transaction date after the last one already computed, up to yesterday.
+     *
+     * @return the number of rows written
+     */
+    int updateTrialBalances();
+
+    /**
+     * Recomputes the trial balance rows from the given transaction date up to yesterday, replacing the existing ones, e.g.
+     * after journal entries were back dated into an already computed period.
+     *
+     * @return the number of rows written
+     */
+    int rebuildTrialBalances(LocalDate fromDate);
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Set based computation of <code>m_trial_balance</code>.
+ *
+ * The journal entries of a range of transaction dates are aggregated per office, account, transaction date and entry
+ * date with one grouped query, ordered so that a single pass in memory can carry the running closing balance of every
+ * office and account pair, starting from the closing balance of its latest row before the range. The rows are then
+ * written with one batched insert. Long ranges are processed a month at a time to bound memory.
+ */
+@Service
+public class TrialBalanceWritePlatformServiceImpl implements TrialBalanceWritePlatformService {
+
+    private static final int DAYS_PER_CHUNK = 31;
+
+    static final String OPENING_BALANCES_SQL = "select tb.office_id, tb.account_id, tb.closing_balance from m_trial_balance tb "
+            + "join (select office_id, account_id, max(created_date) as created_date from m_trial_balance "
+            + "where created_date < ? group by office_id, account_id) latest "
+            + "on latest.office_id = tb.office_id and latest.account_id = tb.account_id and latest.created_date = tb.created_date "
+            + "order by tb.office_id, tb.account_id, tb.entry_date";
+    static final String DAILY_AMOUNTS_SQL = "select je.office_id, je.account_id, je.transaction_date, "
+            + "date(je.entry_date) as entry_date, sum(if(je.type_enum = 1, (-1) * je.amount, je.amount)) as amount "
+            + "from acc_gl_journal_entry je where je.transaction_date between ? and ? "
+            + "group by je.office_id, je.account_id, je.transaction_date, date(je.entry_date) "
+            + "order by je.office_id, je.account_id, je.transaction_date, date(je.entry_date)";
+    static final String INSERT_SQL = "insert into m_trial_balance (office_id, account_id, amount, entry_date, created_date, "
+            + "closing_balance) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Autowired
+    public TrialBalanceWritePlatformServiceImpl(final RoutingDataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    TrialBalanceWritePlatformServiceImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public int updateTrialBalances() {
+        final Date lastComputedDate = this.jdbcTemplate.queryForObject("select max(created_date) from m_trial_balance", Date.class);
+        final LocalDate fromDate;
+        if (lastComputedDate != null) {
+            fromDate = lastComputedDate.toLocalDate().plusDays(1);
+        } else {
+            final Date firstTransactionDate = this.jdbcTemplate.queryForObject("select min(transaction_date) from acc_gl_journal_entry",
+                    Date.class);
+            if (firstTransactionDate == null) {
+                return 0;
+            }
+            fromDate = firstTransactionDate.toLocalDate();
+        }
+        return computeTrialBalances(fromDate);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildTrialBalances(final LocalDate fromDate) {
+        this.jdbcTemplate.update("delete from m_trial_balance where created_date >= ?", this.formatter.format(fromDate));
+        return computeTrialBalances(fromDate);
+    }
+
+    private int computeTrialBalances(final LocalDate fromDate) {
+        // the current day is still open, its entries are picked up by the next run
+        final LocalDate toDate = DateUtils.getLocalDateOfTenant().minusDays(1);
+        if (fromDate.isAfter(toDate)) {
+            return 0;
+        }
+
+        final Map<String, BigDecimal> closingBalances = new HashMap<>();
+        this.jdbcTemplate.query(OPENING_BALANCES_SQL, (RowCallbackHandler) rs -> closingBalances
+                .put(pairKey(rs.getLong("office_id"), rs.getLong("account_id")), rs.getBigDecimal("closing_balance")),
+                this.formatter.format(fromDate));
+
+        int written = 0;
+        LocalDate chunkStart = fromDate;
+        while (!chunkStart.isAfter(toDate)) {
+            final LocalDate chunkEnd = chunkStart.plusDays(DAYS_PER_CHUNK - 1L).isAfter(toDate) ? toDate
+                    : chunkStart.plusDays(DAYS_PER_CHUNK - 1L);
+            final List<Object[]> rows = new ArrayList<>();
+            this.jdbcTemplate.query(DAILY_AMOUNTS_SQL, (RowCallbackHandler) rs -> {
+                final long officeId = rs.getLong("office_id");
+                final long accountId = rs.getLong("account_id");
+                final BigDecimal amount = rs.getBigDecimal("amount");
+                final BigDecimal closingBalance = closingBalances.merge(pairKey(officeId, accountId), amount, BigDecimal::add);
+                rows.add(new Object[] { officeId, accountId, amount, rs.getDate("entry_date"), rs.getDate("transaction_date"),
+                        closingBalance });
+            }, this.formatter.format(chunkStart), this.formatter.format(chunkEnd));
+
+            if (!rows.isEmpty()) {
+                this.jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                written += rows.size();
+            }
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return written;
+    }
+
+    private static String pairKey(final long officeId, final long accountId) {
+        return officeId + ":" + accountId;
+    }
+}
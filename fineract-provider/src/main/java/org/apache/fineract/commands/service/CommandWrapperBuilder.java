@@ -1226,6 +1226,14 @@ public class CommandWrapperBuilder {
         return this;
     }
 
+    public CommandWrapperBuilder rebuildTrialBalances() {
+        this.actionName = "REBUILD";
+        this.entityName = "TRIALBALANCE";
+        this.entityId = null;
+        this.href = "/journalentries/trialbalances";
+        return this;
+    }
+
     public CommandWrapperBuilder defineOpeningBalanceForJournalEntry() {
         this.actionName = "DEFINEOPENINGBALANCE";
         this.entityName = "JOURNALENTRY";
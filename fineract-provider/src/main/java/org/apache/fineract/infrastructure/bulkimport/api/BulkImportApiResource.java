@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
@@ -35,6 +37,7 @@ import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
 import org.apache.fineract.infrastructure.bulkimport.exceptions.ImportTypeNotFoundException;
 import org.apache.fineract.infrastructure.bulkimport.service.BulkImportWorkbookService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
@@ -92,6 +95,33 @@ public class BulkImportApiResource {
         return this.toApiJsonSerializer.serialize(settings, importData);
     }
 
+    @GET
+    @Path("{importDocumentId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveImportDocument(@Context final UriInfo uriInfo, @PathParam("importDocumentId") final Long importDocumentId) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+        final ImportData importData = this.bulkImportWorkbookService.getImport(importDocumentId);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, importData);
+    }
+
+    @POST
+    @Path("{importDocumentId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String actionOnImportDocument(@PathParam("importDocumentId") final Long importDocumentId,
+            @QueryParam("command") final String commandParam) {
+
+        if (!"cancel".equalsIgnoreCase(commandParam)) {
+            throw new UnrecognizedQueryParamException("command", commandParam, "cancel");
+        }
+        this.context.authenticatedUser().validateHasPermissionTo("CANCEL_" + this.resourceNameForPermissions);
+        this.bulkImportWorkbookService.cancelImport(importDocumentId);
+        return this.toApiJsonSerializer.serialize(ImportData.instance(importDocumentId));
+    }
+
     @GET
     @Path("getOutputTemplateLocation")
     public String retriveOutputTemplateLocation(@QueryParam("importDocumentId") final String importDocumentId) {
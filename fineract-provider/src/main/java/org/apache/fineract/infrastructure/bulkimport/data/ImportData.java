@@ -34,6 +34,7 @@ public final class ImportData {
     private LocalDate endTime;
     @SuppressWarnings("unused")
     private Boolean completed;
+    private String status;
     @SuppressWarnings("unused")
     private Long createdBy;
     @SuppressWarnings("unused")
@@ -44,29 +45,34 @@ public final class ImportData {
     private Integer failureCount;
 
     public static ImportData instance(final Long importId, final Long documentId, final LocalDate importTime, final LocalDate endTime,
-            final Boolean completed, final String name, final Long createdBy, final Integer totalRecords, final Integer successCount,
-            final Integer failureCount) {
-        return new ImportData(importId, documentId, importTime, endTime, completed, name, createdBy, totalRecords, successCount,
-                failureCount);
+            final Boolean completed, final String status, final String name, final Long createdBy, final Integer totalRecords,
+            final Integer successCount, final Integer failureCount) {
+        return new ImportData(importId, documentId, importTime, endTime, completed, status, name, createdBy, totalRecords,
+                successCount, failureCount);
     }
 
     public static ImportData instance(final Long importId) {
-        return new ImportData(importId, null, null, null, null, null, null, null, null, null);
+        return new ImportData(importId, null, null, null, null, null, null, null, null, null, null);
     }
 
     private ImportData(final Long importId, final Long documentId, final LocalDate importTime, final LocalDate endTime,
-            final Boolean completed, final String name, final Long createdBy, final Integer totalRecords, final Integer successCount,
-            final Integer failureCount) {
+            final Boolean completed, final String status, final String name, final Long createdBy, final Integer totalRecords,
+            final Integer successCount, final Integer failureCount) {
         this.importId = importId;
         this.documentId = documentId;
         this.name = name;
         this.importTime = importTime;
         this.endTime = endTime;
         this.completed = completed;
+        this.status = status;
         this.createdBy = createdBy;
         this.totalRecords = totalRecords;
         this.successCount = successCount;
         this.failureCount = failureCount;
     }
 
+    public String getStatus() {
+        return this.status;
+    }
+
 }
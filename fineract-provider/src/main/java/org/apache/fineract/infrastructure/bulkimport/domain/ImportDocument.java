@@ -22,6 +22,8 @@ import java.time.LocalDateTime;
 import java.util.Date;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
@@ -52,6 +54,16 @@ public class ImportDocument extends AbstractPersistableCustom {
     @Column(name = "completed", nullable = false)
     private Boolean completed;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportDocumentStatus status;
+
+    @Column(name = "locale", length = 20)
+    private String locale;
+
+    @Column(name = "date_format", length = 50)
+    private String dateFormat;
+
     @Column(name = "entity_type")
     private Integer entityType;
 
@@ -73,7 +85,7 @@ public class ImportDocument extends AbstractPersistableCustom {
     }
 
     public static ImportDocument instance(final Document document, final LocalDateTime importTime, final Integer entityType,
-            final AppUser createdBy, final Integer totalRecords) {
+            final AppUser createdBy, final Integer totalRecords, final String locale, final String dateFormat) {
 
         final Boolean completed = Boolean.FALSE;
         final Integer successCount = 0;
@@ -81,12 +93,12 @@ public class ImportDocument extends AbstractPersistableCustom {
         final LocalDateTime endTime = LocalDateTime.now(DateUtils.getDateTimeZoneOfTenant());
 
         return new ImportDocument(document, importTime, endTime, completed, entityType, createdBy, totalRecords, successCount,
-                failureCount);
+                failureCount, locale, dateFormat);
     }
 
     private ImportDocument(final Document document, final LocalDateTime importTime, final LocalDateTime endTime, Boolean completed,
             final Integer entityType, final AppUser createdBy, final Integer totalRecords, final Integer successCount,
-            final Integer failureCount) {
+            final Integer failureCount, final String locale, final String dateFormat) {
         this.document = document;
         this.importTime = Date.from(importTime.atZone(DateUtils.getDateTimeZoneOfTenant()).toInstant());
         this.endTime = Date.from(endTime.atZone(DateUtils.getDateTimeZoneOfTenant()).toInstant());
@@ -96,12 +108,16 @@ public class ImportDocument extends AbstractPersistableCustom {
         this.totalRecords = totalRecords;
         this.successCount = successCount;
         this.failureCount = failureCount;
-
+        this.status = ImportDocumentStatus.QUEUED;
+        this.locale = locale;
+        this.dateFormat = dateFormat;
     }
 
-    public void update(final LocalDateTime endTime, final Integer successCount, final Integer errorCount) {
+    public void update(final LocalDateTime endTime, final Integer successCount, final Integer errorCount,
+            final ImportDocumentStatus status) {
         this.endTime = Date.from(endTime.atZone(DateUtils.getDateTimeZoneOfTenant()).toInstant());
         this.completed = Boolean.TRUE;
+        this.status = status;
         this.successCount = successCount;
         this.failureCount = errorCount;
     }
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Row counters and cancellation flag of the import running on the current thread.
+ *
+ * Import handlers report every row through {@link #current()}, which is a no-op instance when no import is bound (e.g. when a
+ * handler is called directly). Every <code>checkpointInterval</code> rows the checkpoint runs, so the counters can be persisted
+ * and a cancellation requested elsewhere can be picked up.
+ *
+ * A row is reported once its outcome is known, outside of the try block importing it: the checkpoint may throw, which must not
+ * count a row that was imported as failed as well.
+ */
+public final class ImportProgress {
+
+    private static final ThreadLocal<ImportProgress> CURRENT = new ThreadLocal<>();
+    private static final ImportProgress NONE = new ImportProgress(1, null);
+
+    private final int checkpointInterval;
+    private final Consumer<ImportProgress> checkpoint;
+    private int succeeded;
+    private int failed;
+    private volatile boolean cancelled;
+
+    public ImportProgress(final int checkpointInterval, final Consumer<ImportProgress> checkpoint) {
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.checkpoint = checkpoint;
+    }
+
+    public static ImportProgress current() {
+        final ImportProgress progress = CURRENT.get();
+        return progress != null ? progress : NONE;
+    }
+
+    public static void bind(final ImportProgress progress) {
+        CURRENT.set(progress);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public void rowSucceeded() {
+        if (this.checkpoint != null) {
+            this.succeeded++;
+            rowDone();
+        }
+    }
+
+    public void rowFailed() {
+        if (this.checkpoint != null) {
+            this.failed++;
+            rowDone();
+        }
+    }
+
+    private void rowDone() {
+        if ((this.succeeded + this.failed) % this.checkpointInterval == 0) {
+            this.checkpoint.accept(this);
+        }
+    }
+
+    /**
+     * Asks the import to stop; handlers check {@link #isCancelled()} before every row, rows already written are kept.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    public int getSucceeded() {
+        return this.succeeded;
+    }
+
+    public int getFailed() {
+        return this.failed;
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.GroupIdSerializer;
@@ -167,10 +168,14 @@ public class CenterImportHandler implements ImportHandler {
         int errorCount = 0;
         String errorMessage = "";
         for (int i = 0; i < centers.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = centerSheet.getRow(centers.get(i).getRowIndex());
             Cell errorReportCell = row.createCell(CenterConstants.FAILURE_COL);
             Cell statusCell = row.createCell(CenterConstants.STATUS_COL);
             CommandProcessingResult result = null;
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -188,6 +193,7 @@ public class CenterImportHandler implements ImportHandler {
                     progressLevel = importCenterMeeting(result, i, dateFormat);
                 }
                 successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -196,6 +202,11 @@ public class CenterImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeCenterErrorMessage(centerId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
         }
         setReportHeaders(centerSheet);
         return Count.instance(successCount, errorCount);
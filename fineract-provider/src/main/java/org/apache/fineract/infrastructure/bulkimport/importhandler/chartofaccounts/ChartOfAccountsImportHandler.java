@@ -32,6 +32,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.CodeValueDataIdSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataIdSerializer;
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
@@ -122,6 +123,10 @@ public class ChartOfAccountsImportHandler implements ImportHandler {
         int errorCount = 0;
         String errorMessage = "";
         for (GLAccountData glAccount : glAccounts) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
+            boolean imported = false;
             try {
                 String payload = gsonBuilder.create().toJson(glAccount);
                 final CommandWrapper commandRequest = new CommandWrapperBuilder() //
@@ -130,6 +135,7 @@ public class ChartOfAccountsImportHandler implements ImportHandler {
                         .build(); //
                 final CommandProcessingResult result = commandsSourceWritePlatformService.logCommandSource(commandRequest);
                 successCount++;
+                imported = true;
                 Cell statusCell = chartOfAccountsSheet.getRow(glAccount.getRowIndex()).createCell(ChartOfAcountsConstants.STATUS_COL);
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
@@ -140,6 +146,11 @@ public class ChartOfAccountsImportHandler implements ImportHandler {
                 ImportHandlerUtils.writeErrorMessage(chartOfAccountsSheet, glAccount.getRowIndex(), errorMessage,
                         ChartOfAcountsConstants.STATUS_COL);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
         }
         chartOfAccountsSheet.setColumnWidth(ChartOfAcountsConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
         ImportHandlerUtils.writeString(ChartOfAcountsConstants.STATUS_COL,
@@ -34,6 +34,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataIdSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -280,9 +281,13 @@ public class FixedDepositImportHandler implements ImportHandler {
         int progressLevel = 0;
         Long savingsId = null;
         for (int i = 0; i < savings.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = savingsSheet.getRow(savings.get(i).getRowIndex());
             Cell statusCell = row.createCell(FixedDepositConstants.STATUS_COL);
             Cell errorReportCell = row.createCell(FixedDepositConstants.FAILURE_REPORT_COL);
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -309,6 +314,7 @@ public class FixedDepositImportHandler implements ImportHandler {
                 }
 
                 successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -317,6 +323,11 @@ public class FixedDepositImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeFixedDepositErrorMessage(savingsId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
 
         }
         setReportHeaders(savingsSheet);
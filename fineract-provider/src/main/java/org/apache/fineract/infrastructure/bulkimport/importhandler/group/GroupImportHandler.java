@@ -33,6 +33,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.ClientIdSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
@@ -170,10 +171,14 @@ public class GroupImportHandler implements ImportHandler {
         String groupId = "";
         String errorMessage = "";
         for (int i = 0; i < groups.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = groupSheet.getRow(groups.get(i).getRowIndex());
             Cell errorReportCell = row.createCell(GroupConstants.FAILURE_COL);
             Cell statusCell = row.createCell(GroupConstants.STATUS_COL);
             CommandProcessingResult result = null;
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -191,6 +196,8 @@ public class GroupImportHandler implements ImportHandler {
                     progressLevel = importGroupMeeting(result, i, dateFormat);
                 }
 
+                successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -199,6 +206,11 @@ public class GroupImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeGroupErrorMessage(groupId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
         }
         setReportHeaders(groupSheet);
         return Count.instance(successCount, errorCount);
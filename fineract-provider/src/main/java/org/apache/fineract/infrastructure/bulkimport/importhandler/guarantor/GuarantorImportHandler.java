@@ -33,6 +33,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.portfolio.loanaccount.guarantor.data.GuarantorData;
@@ -128,6 +129,10 @@ public class GuarantorImportHandler implements ImportHandler {
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
         for (GuarantorData guarantor : guarantors) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
+            boolean imported = false;
             try {
                 JsonObject guarantorJsonob = gsonBuilder.create().toJsonTree(guarantor).getAsJsonObject();
                 guarantorJsonob.remove("status");
@@ -138,6 +143,7 @@ public class GuarantorImportHandler implements ImportHandler {
                         .build(); //
                 final CommandProcessingResult result = commandsSourceWritePlatformService.logCommandSource(commandRequest);
                 successCount++;
+                imported = true;
                 Cell statusCell = addGuarantorSheet.getRow(guarantor.getRowIndex()).createCell(GuarantorConstants.STATUS_COL);
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
@@ -148,6 +154,11 @@ public class GuarantorImportHandler implements ImportHandler {
                 ImportHandlerUtils.writeErrorMessage(addGuarantorSheet, guarantor.getRowIndex(), errorMessage,
                         GuarantorConstants.STATUS_COL);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
 
         }
         addGuarantorSheet.setColumnWidth(GuarantorConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
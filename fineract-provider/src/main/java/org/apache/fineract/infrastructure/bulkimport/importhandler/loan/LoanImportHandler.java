@@ -35,6 +35,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -355,11 +356,15 @@ public class LoanImportHandler implements ImportHandler {
         String loanId;
         String errorMessage = "";
         for (int i = 0; i < loans.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = loanSheet.getRow(loans.get(i).getRowIndex());
             Cell errorReportCell = row.createCell(LoanConstants.FAILURE_REPORT_COL);
             Cell statusCell = row.createCell(LoanConstants.STATUS_COL);
             CommandProcessingResult result = null;
             loanId = "";
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -385,6 +390,7 @@ public class LoanImportHandler implements ImportHandler {
                 }
 
                 successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -393,6 +399,11 @@ public class LoanImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeLoanErrorMessage(loanId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
 
         }
         setReportHeaders(loanSheet);
@@ -32,6 +32,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataIdSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -279,9 +280,13 @@ public class RecurringDepositImportHandler implements ImportHandler {
         Long savingsId = null;
         String errorMessage = "";
         for (int i = 0; i < savings.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = savingsSheet.getRow(savings.get(i).getRowIndex());
             Cell statusCell = row.createCell(RecurringDepositConstants.STATUS_COL);
             Cell errorReportCell = row.createCell(RecurringDepositConstants.FAILURE_REPORT_COL);
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -303,6 +308,7 @@ public class RecurringDepositImportHandler implements ImportHandler {
                     progressLevel = importSavingsActivation(savingsId, i, dateFormat);
                 }
                 successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -311,6 +317,11 @@ public class RecurringDepositImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeRecurringDepositErrorMessage(savingsId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
         }
         setReportHeaders(savingsSheet);
         return Count.instance(successCount, errorCount);
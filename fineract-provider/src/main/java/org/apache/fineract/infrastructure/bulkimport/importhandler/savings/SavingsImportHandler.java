@@ -33,6 +33,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataIdSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -271,9 +272,13 @@ public class SavingsImportHandler implements ImportHandler {
         String errorMessage = "";
         Long savingsId = null;
         for (int i = 0; i < savings.size(); i++) {
+            if (ImportProgress.current().isCancelled()) {
+                break;
+            }
             Row row = savingsSheet.getRow(savings.get(i).getRowIndex());
             Cell statusCell = row.createCell(SavingsConstants.STATUS_COL);
             Cell errorReportCell = row.createCell(SavingsConstants.FAILURE_REPORT_COL);
+            boolean imported = false;
             try {
                 String status = statuses.get(i);
                 progressLevel = getProgressLevel(status);
@@ -295,6 +300,7 @@ public class SavingsImportHandler implements ImportHandler {
                     progressLevel = importSavingsActivation(savingsId, i, dateFormat);
                 }
                 successCount++;
+                imported = true;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
             } catch (RuntimeException ex) {
@@ -303,6 +309,11 @@ public class SavingsImportHandler implements ImportHandler {
                 errorMessage = ImportHandlerUtils.getErrorMessage(ex);
                 writeSavingsErrorMessage(savingsId, errorMessage, progressLevel, statusCell, errorReportCell, row);
             }
+            if (imported) {
+                ImportProgress.current().rowSucceeded();
+            } else {
+                ImportProgress.current().rowFailed();
+            }
         }
         setReportHeaders(savingsSheet);
         return Count.instance(successCount, errorCount);
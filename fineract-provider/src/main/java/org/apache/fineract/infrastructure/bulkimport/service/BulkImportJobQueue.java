@@ -0,0 +1,463 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentStatus;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgress;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs bulk imports in the background instead of on the uploading request thread.
+ *
+ * The queue itself is persisted: an import is a row of <code>m_import_document</code> in status
+ * {@link ImportDocumentStatus#QUEUED} whose uploaded workbook is stored as its document, so queued imports survive a restart
+ * and are picked up again when the application starts. A worker claims an import by moving it to
+ * {@link ImportDocumentStatus#RUNNING} in the database, which keeps two nodes from running the same import.
+ *
+ * The worker pool is shared by all tenants. Waiting imports are kept per tenant and handed to the pool round robin, and a tenant
+ * never has more than <code>max-concurrent-per-tenant</code> imports running on this node, so one tenant uploading many
+ * workbooks does not hold back the others. While an import runs, its row counters are written back every
+ * <code>progress-interval-rows</code> rows; that is also when a cancellation made on another node is noticed. The sizes are
+ * read from the <code>fineract.bulk-import.*</code> properties.
+ *
+ * A running import is leased by the node running it, which renews the lease every third of <code>lease-seconds</code>. Imports
+ * whose lease ran out were left behind by a node that died and are failed by the other nodes, as are the imports a node left
+ * running when it is started again. They are not run again, since their rows may already have been partly imported. On the
+ * same schedule every node also queues the imports still waiting in the database that it does not know of, such as those a
+ * node accepted but died before running; whichever node claims such an import first runs it.
+ */
+@Component
+public class BulkImportJobQueue implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkImportJobQueue.class);
+
+    public static final String POOL_SIZE_PROPERTY = "fineract.bulk-import.threads";
+    public static final String TENANT_QUOTA_PROPERTY = "fineract.bulk-import.max-concurrent-per-tenant";
+    public static final String PROGRESS_INTERVAL_PROPERTY = "fineract.bulk-import.progress-interval-rows";
+    public static final String LEASE_SECONDS_PROPERTY = "fineract.bulk-import.lease-seconds";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_TENANT_QUOTA = 1;
+    private static final int DEFAULT_PROGRESS_INTERVAL = 50;
+    private static final int DEFAULT_LEASE_SECONDS = 300;
+
+    static final String CLAIM_SQL = "update m_import_document set status = ?, node_id = ?, lease_until = date_add(now(), interval ? second)"
+            + " where id = ? and status = ?";
+    static final String RENEW_LEASE_SQL = "update m_import_document set lease_until = date_add(now(), interval ? second)"
+            + " where id = ? and node_id = ? and status = ?";
+    static final String FAIL_ABANDONED_SQL = "update m_import_document set status = ?, end_time = ? where status = ?"
+            + " and (node_id = ? or lease_until is null or lease_until < now())";
+    static final String FAIL_EXPIRED_SQL = "update m_import_document set status = ?, end_time = ? where status = ? and lease_until < now()";
+    static final String QUEUED_IMPORTS_SQL = "select id from m_import_document where status = ? order by id";
+    static final String IMPORT_DETAILS_SQL = "select i.locale, i.date_format, i.createdby_id, d.file_name, d.type, d.location,"
+            + " d.storage_type_enum from m_import_document i inner join m_document d on i.document_id = d.id where i.id = ?";
+
+    private final ApplicationContext applicationContext;
+    private final TenantDetailsService tenantDetailsService;
+    private final ContentRepositoryFactory contentRepositoryFactory;
+    private final AppUserRepository appUserRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int poolSize;
+    private final int tenantQuota;
+    private final int progressInterval;
+    private final String nodeId;
+    private final int leaseSeconds;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor leaseExecutor;
+    private final AtomicBoolean resumed = new AtomicBoolean();
+
+    // guarded by this: waiting imports per tenant, in round robin order, and the imports running per tenant
+    private final Map<String, Deque<ImportJob>> waitingJobs = new LinkedHashMap<>();
+    private final Map<String, Integer> runningJobs = new HashMap<>();
+    // guarded by this: the imports waiting or handed to a worker, so an import found in the database again is not queued twice
+    private final Set<String> queuedImports = new HashSet<>();
+    private int busyWorkers;
+
+    private final ConcurrentMap<String, ImportJob> runningImports = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BulkImportJobQueue(final ApplicationContext applicationContext, final TenantDetailsService tenantDetailsService,
+            final ContentRepositoryFactory contentRepositoryFactory, final AppUserRepository appUserRepository,
+            final RoutingDataSource dataSource, final Environment env) {
+        this(applicationContext, tenantDetailsService, contentRepositoryFactory, appUserRepository, new JdbcTemplate(dataSource), env);
+    }
+
+    BulkImportJobQueue(final ApplicationContext applicationContext, final TenantDetailsService tenantDetailsService,
+            final ContentRepositoryFactory contentRepositoryFactory, final AppUserRepository appUserRepository,
+            final JdbcTemplate jdbcTemplate, final Environment env) {
+        this.applicationContext = applicationContext;
+        this.tenantDetailsService = tenantDetailsService;
+        this.contentRepositoryFactory = contentRepositoryFactory;
+        this.appUserRepository = appUserRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.poolSize = Math.max(1, env.getProperty(POOL_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_SIZE));
+        this.tenantQuota = Math.max(1, env.getProperty(TENANT_QUOTA_PROPERTY, Integer.class, DEFAULT_TENANT_QUOTA));
+        this.progressInterval = Math.max(1, env.getProperty(PROGRESS_INTERVAL_PROPERTY, Integer.class, DEFAULT_PROGRESS_INTERVAL));
+        this.nodeId = StringUtils.left(env.getProperty(JobClusterService.NODE_ID_PROPERTY, ManagementFactory.getRuntimeMXBean().getName()),
+                100);
+        this.leaseSeconds = Math.max(30, env.getProperty(LEASE_SECONDS_PROPERTY, Integer.class, DEFAULT_LEASE_SECONDS));
+        // jobs are only handed over when a worker is free, so the executor queue stays empty
+        this.executor = new ThreadPoolExecutor(this.poolSize, this.poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("bulk-import-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.leaseExecutor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("bulk-import-lease-"));
+    }
+
+    /**
+     * Queues a {@link ImportDocumentStatus#QUEUED} import of the current tenant; with a transaction in progress, once it commits.
+     */
+    public void submit(final Long importId) {
+        final ImportJob job = new ImportJob(ThreadLocalContextUtil.getTenant(), importId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    enqueue(job);
+                }
+            });
+        } else {
+            enqueue(job);
+        }
+    }
+
+    /**
+     * Cancels a queued or running import of the current tenant. A running import stops before its next row; the rows it already
+     * imported are kept.
+     *
+     * @return false if the import had already finished
+     */
+    public boolean cancel(final Long importId) {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final int updated = this.jdbcTemplate.update("update m_import_document set status = ? where id = ? and status in (?, ?)",
+                ImportDocumentStatus.CANCELLED.name(), importId, ImportDocumentStatus.QUEUED.name(), ImportDocumentStatus.RUNNING.name());
+        if (updated == 0) {
+            return false;
+        }
+        synchronized (this) {
+            final Deque<ImportJob> waiting = this.waitingJobs.get(tenantIdentifier);
+            if (waiting != null && waiting.removeIf(job -> job.importId.equals(importId))) {
+                this.queuedImports.remove(jobKey(tenantIdentifier, importId));
+            }
+        }
+        final ImportJob running = this.runningImports.get(jobKey(tenantIdentifier, importId));
+        if (running != null) {
+            running.progress.cancel();
+        }
+        return true;
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (!this.resumed.compareAndSet(false, true)) {
+            return;
+        }
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                // imports this node was running before it was restarted will not finish anymore, nor will those of dead nodes
+                final int abandoned = this.jdbcTemplate.update(FAIL_ABANDONED_SQL, ImportDocumentStatus.FAILED.name(),
+                        DateUtils.getLocalDateTimeOfTenant(), ImportDocumentStatus.RUNNING.name(), this.nodeId);
+                if (abandoned > 0) {
+                    LOG.warn("Failed {} imports of tenant {} that were left running", abandoned, tenant.getTenantIdentifier());
+                }
+                final int queued = enqueueQueuedImports(tenant);
+                if (queued > 0) {
+                    LOG.info("Resumed {} queued imports of tenant {}", queued, tenant.getTenantIdentifier());
+                }
+            } catch (DataAccessException e) {
+                LOG.error("Could not resume the queued imports of tenant {}", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+        final long period = TimeUnit.SECONDS.toMillis(this.leaseSeconds) / 3;
+        this.leaseExecutor.scheduleWithFixedDelay(this::maintainLeases, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.leaseExecutor.shutdownNow();
+        this.executor.shutdownNow();
+        LOG.info("Shutting down the bulk import queue");
+    }
+
+    private void maintainLeases() {
+        try {
+            renewLeases();
+            failExpiredImports();
+            enqueueUnclaimedImports();
+        } catch (RuntimeException e) {
+            // an exception would cancel all further runs of the schedule
+            LOG.error("Could not maintain the leases of the imports", e);
+        }
+    }
+
+    void renewLeases() {
+        for (final ImportJob job : this.runningImports.values()) {
+            ThreadLocalContextUtil.setTenant(job.tenant);
+            try {
+                final int renewed = this.jdbcTemplate.update(RENEW_LEASE_SQL, this.leaseSeconds, job.importId, this.nodeId,
+                        ImportDocumentStatus.RUNNING.name());
+                if (renewed == 0 && !job.progress.isCancelled()) {
+                    // the import goes on: if it completes, its outcome replaces the failure recorded by the other node
+                    LOG.warn("Node {} lost the lease of import {} of tenant {}", this.nodeId, job.importId,
+                            job.tenant.getTenantIdentifier());
+                }
+            } catch (DataAccessException e) {
+                LOG.warn("Could not renew the lease of import {} of tenant {}", job.importId, job.tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    void failExpiredImports() {
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                final int expired = this.jdbcTemplate.update(FAIL_EXPIRED_SQL, ImportDocumentStatus.FAILED.name(),
+                        DateUtils.getLocalDateTimeOfTenant(), ImportDocumentStatus.RUNNING.name());
+                if (expired > 0) {
+                    LOG.warn("Failed {} imports of tenant {} whose node stopped renewing their lease", expired,
+                            tenant.getTenantIdentifier());
+                }
+            } catch (DataAccessException e) {
+                LOG.error("Could not fail the abandoned imports of tenant {}", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    void enqueueUnclaimedImports() {
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                final int queued = enqueueQueuedImports(tenant);
+                if (queued > 0) {
+                    LOG.info("Queued {} imports of tenant {} that were waiting without a node", queued, tenant.getTenantIdentifier());
+                }
+            } catch (DataAccessException e) {
+                LOG.error("Could not look for the queued imports of tenant {}", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    /**
+     * @return the number of queued imports of the tenant that were not waiting or running on this node yet
+     */
+    private int enqueueQueuedImports(final FineractPlatformTenant tenant) {
+        int queued = 0;
+        for (final Long importId : this.jdbcTemplate.queryForList(QUEUED_IMPORTS_SQL, Long.class, ImportDocumentStatus.QUEUED.name())) {
+            if (enqueue(new ImportJob(tenant, importId))) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private synchronized boolean enqueue(final ImportJob job) {
+        if (!this.queuedImports.add(jobKey(job.tenant.getTenantIdentifier(), job.importId))) {
+            return false;
+        }
+        this.waitingJobs.computeIfAbsent(job.tenant.getTenantIdentifier(), tenantIdentifier -> new ArrayDeque<>()).add(job);
+        dispatch();
+        return true;
+    }
+
+    private synchronized void finished(final ImportJob job) {
+        this.queuedImports.remove(jobKey(job.tenant.getTenantIdentifier(), job.importId));
+        this.busyWorkers--;
+        this.runningJobs.merge(job.tenant.getTenantIdentifier(), -1, Integer::sum);
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (this.busyWorkers < this.poolSize && !this.executor.isShutdown()) {
+            final ImportJob job = nextJob();
+            if (job == null) {
+                return;
+            }
+            this.busyWorkers++;
+            this.runningJobs.merge(job.tenant.getTenantIdentifier(), 1, Integer::sum);
+            this.executor.execute(job);
+        }
+    }
+
+    private ImportJob nextJob() {
+        final Iterator<Map.Entry<String, Deque<ImportJob>>> tenants = this.waitingJobs.entrySet().iterator();
+        while (tenants.hasNext()) {
+            final Map.Entry<String, Deque<ImportJob>> entry = tenants.next();
+            if (entry.getValue().isEmpty()) {
+                tenants.remove();
+            } else if (this.runningJobs.getOrDefault(entry.getKey(), 0) < this.tenantQuota) {
+                final ImportJob job = entry.getValue().poll();
+                // the tenant goes to the back of the line for the next free worker
+                tenants.remove();
+                if (!entry.getValue().isEmpty()) {
+                    this.waitingJobs.put(entry.getKey(), entry.getValue());
+                }
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private void runImport(final ImportJob job) {
+        final int claimed = this.jdbcTemplate.update(CLAIM_SQL, ImportDocumentStatus.RUNNING.name(), this.nodeId, this.leaseSeconds,
+                job.importId, ImportDocumentStatus.QUEUED.name());
+        if (claimed == 0) {
+            // cancelled, or taken by another node
+            return;
+        }
+        final String key = jobKey(job.tenant.getTenantIdentifier(), job.importId);
+        final ImportProgress progress = job.progress;
+        this.runningImports.put(key, job);
+        ImportProgress.bind(progress);
+        try {
+            final Map<String, Object> details = this.jdbcTemplate.queryForMap(IMPORT_DETAILS_SQL, job.importId);
+            authenticate((Number) details.get("createdby_id"));
+            final Workbook workbook = loadWorkbook(details);
+            this.applicationContext.publishEvent(BulkImportEvent.instance(job.tenant.getTenantIdentifier(), workbook, job.importId,
+                    (String) details.get("locale"), (String) details.get("date_format")));
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Import {} of tenant {} failed", job.importId, job.tenant.getTenantIdentifier(), e);
+            this.jdbcTemplate.update("update m_import_document set status = ?, end_time = ?, success_count = ?, failure_count = ? "
+                    + "where id = ? and status = ?", ImportDocumentStatus.FAILED.name(), DateUtils.getLocalDateTimeOfTenant(),
+                    progress.getSucceeded(), progress.getFailed(), job.importId, ImportDocumentStatus.RUNNING.name());
+        } finally {
+            ImportProgress.unbind();
+            this.runningImports.remove(key);
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void checkpoint(final Long importId, final ImportProgress progress) {
+        this.jdbcTemplate.update("update m_import_document set success_count = ?, failure_count = ? where id = ?", progress.getSucceeded(),
+                progress.getFailed(), importId);
+        final String status = this.jdbcTemplate.queryForObject("select status from m_import_document where id = ?", String.class,
+                importId);
+        if (ImportDocumentStatus.CANCELLED.name().equals(status)) {
+            progress.cancel();
+        }
+    }
+
+    /**
+     * Imports run as the user who uploaded the workbook, exactly as they did when they ran on the upload request.
+     */
+    private void authenticate(final Number createdBy) {
+        final AppUser user = createdBy == null ? null : this.appUserRepository.findById(createdBy.longValue()).orElse(null);
+        if (user == null) {
+            throw new IllegalStateException("The user who uploaded the import no longer exists");
+        }
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, user.getPassword(), user.getAuthorities()));
+    }
+
+    private Workbook loadWorkbook(final Map<String, Object> details) throws IOException {
+        final Integer storageType = ((Number) details.get("storage_type_enum")).intValue();
+        final DocumentData documentData = new DocumentData(null, null, null, null, (String) details.get("file_name"), null,
+                (String) details.get("type"), null, (String) details.get("location"), storageType);
+        final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(documentData.storageType());
+        try (InputStream inputStream = contentRepository.fetchFile(documentData).getByteSource().openStream()) {
+            return new HSSFWorkbook(inputStream);
+        }
+    }
+
+    private static String jobKey(final String tenantIdentifier, final Long importId) {
+        return tenantIdentifier + "/" + importId;
+    }
+
+    private final class ImportJob implements Runnable {
+
+        private final FineractPlatformTenant tenant;
+        private final Long importId;
+        private final ImportProgress progress;
+
+        ImportJob(final FineractPlatformTenant tenant, final Long importId) {
+            this.tenant = tenant;
+            this.importId = importId;
+            this.progress = new ImportProgress(BulkImportJobQueue.this.progressInterval, current -> checkpoint(importId, current));
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            try {
+                runImport(this);
+            } catch (RuntimeException e) {
+                LOG.error("Import {} of tenant {} could not be started", this.importId, this.tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+                finished(this);
+            }
+        }
+    }
+}
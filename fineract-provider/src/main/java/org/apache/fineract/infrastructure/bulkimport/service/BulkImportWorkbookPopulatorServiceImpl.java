@@ -18,10 +18,10 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import org.apache.fineract.accounting.glaccount.data.GLAccountData;
@@ -105,17 +105,12 @@ import org.apache.fineract.portfolio.savings.service.SavingsProductReadPlatformS
 import org.apache.fineract.portfolio.shareproducts.data.ShareProductData;
 import org.apache.fineract.useradministration.data.RoleData;
 import org.apache.fineract.useradministration.service.RoleReadPlatformService;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkbookPopulatorService {
 
-    private static final Logger LOG = LoggerFactory.getLogger(BulkImportWorkbookPopulatorServiceImpl.class);
     private final PlatformSecurityContext context;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final StaffReadPlatformService staffReadPlatformService;
@@ -135,6 +130,7 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
     private final ChargeReadPlatformService chargeReadPlatformService;
     private final DepositProductReadPlatformService depositProductReadPlatformService;
     private final RoleReadPlatformService roleReadPlatformService;
+    private final ImportTemplateCache importTemplateCache;
 
     @Autowired
     public BulkImportWorkbookPopulatorServiceImpl(final PlatformSecurityContext context,
@@ -150,7 +146,7 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
             final SavingsProductReadPlatformService savingsProductReadPlatformService,
             final ProductReadPlatformService productReadPlatformService, final ChargeReadPlatformService chargeReadPlatformService,
             final DepositProductReadPlatformService depositProductReadPlatformService,
-            final RoleReadPlatformService roleReadPlatformService) {
+            final RoleReadPlatformService roleReadPlatformService, final ImportTemplateCache importTemplateCache) {
         this.officeReadPlatformService = officeReadPlatformService;
         this.staffReadPlatformService = staffReadPlatformService;
         this.context = context;
@@ -170,95 +166,111 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         this.chargeReadPlatformService = chargeReadPlatformService;
         this.depositProductReadPlatformService = depositProductReadPlatformService;
         this.roleReadPlatformService = roleReadPlatformService;
+        this.importTemplateCache = importTemplateCache;
     }
 
     @Override
     public Response getTemplate(String entityType, Long officeId, Long staffId, final String dateFormat) {
-        WorkbookPopulator populator = null;
-        final Workbook workbook = new HSSFWorkbook();
+        Supplier<WorkbookPopulator> populator = null;
+        GlobalEntityType templateType = null;
         if (entityType != null) {
             if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())
                     || entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_ENTTTY.toString())) {
+                templateType = entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())
+                        ? GlobalEntityType.CLIENTS_PERSON
+                        : GlobalEntityType.CLIENTS_ENTTTY;
                 populator = populateClientWorkbook(entityType, officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CENTERS.toString())) {
+                templateType = GlobalEntityType.CENTERS;
                 populator = populateCenterWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.GROUPS.toString())) {
+                templateType = GlobalEntityType.GROUPS;
                 populator = populateGroupsWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.LOANS.toString())) {
+                templateType = GlobalEntityType.LOANS;
                 populator = populateLoanWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.LOAN_TRANSACTIONS.toString())) {
+                templateType = GlobalEntityType.LOAN_TRANSACTIONS;
                 populator = populateLoanRepaymentWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.GL_JOURNAL_ENTRIES.toString())) {
+                templateType = GlobalEntityType.GL_JOURNAL_ENTRIES;
                 populator = populateJournalEntriesWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.GUARANTORS.toString())) {
+                templateType = GlobalEntityType.GUARANTORS;
                 populator = populateGuarantorWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.OFFICES.toString())) {
+                templateType = GlobalEntityType.OFFICES;
                 populator = populateOfficeWorkbook();
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CHART_OF_ACCOUNTS.toString())) {
+                templateType = GlobalEntityType.CHART_OF_ACCOUNTS;
                 populator = populateChartOfAccountsWorkbook();
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.STAFF.toString())) {
+                templateType = GlobalEntityType.STAFF;
                 populator = populateStaffWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.SHARE_ACCOUNTS.toString())) {
+                templateType = GlobalEntityType.SHARE_ACCOUNTS;
                 populator = populateSharedAcountsWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_ACCOUNT.toString())) {
+                templateType = GlobalEntityType.SAVINGS_ACCOUNT;
                 populator = populateSavingsAccountWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_TRANSACTIONS.toString())) {
+                templateType = GlobalEntityType.SAVINGS_TRANSACTIONS;
                 populator = populateSavingsTransactionWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS.toString())) {
+                templateType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS;
                 populator = populateRecurringDepositWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS.toString())) {
+                templateType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS;
                 populator = populateRecurringDepositTransactionWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS.toString())) {
+                templateType = GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS;
                 populator = populateFixedDepositWorkbook(officeId, staffId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS.toString())) {
+                templateType = GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS;
                 populator = populateFixedDepositTransactionsWorkbook(officeId);
             } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.USERS.toString())) {
+                templateType = GlobalEntityType.USERS;
                 populator = populateUserWorkbook(officeId, staffId);
             } else {
                 throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
             }
-            populator.populate(workbook, dateFormat);
-            return buildResponse(workbook, entityType);
+            final File template = this.importTemplateCache.retrieve(templateType, officeId, staffId, dateFormat, populator);
+            return buildResponse(template, entityType);
         } else {
             throw new GeneralPlatformDomainRuleException("error.msg.given.entity.type.null", "Given Entity type is null");
         }
     }
 
-    private WorkbookPopulator populateClientWorkbook(final String entityType, final Long officeId, final Long staffId) {
+    private Supplier<WorkbookPopulator> populateClientWorkbook(final String entityType, final Long officeId, final Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<CodeValueData> clientTypeCodeValues = fetchCodeValuesByCodeName("ClientType");
-        List<CodeValueData> clientClassification = fetchCodeValuesByCodeName("ClientClassification");
-        List<CodeValueData> addressTypesCodeValues = fetchCodeValuesByCodeName("ADDRESS_TYPE");
-        List<CodeValueData> stateProvinceCodeValues = fetchCodeValuesByCodeName("STATE");
-        List<CodeValueData> countryCodeValues = fetchCodeValuesByCodeName("COUNTRY");
-        if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
-            List<CodeValueData> genderCodeValues = fetchCodeValuesByCodeName("Gender");
-            return new ClientPersonWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
-                    clientTypeCodeValues, genderCodeValues, clientClassification, addressTypesCodeValues, stateProvinceCodeValues,
-                    countryCodeValues);
-        } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_ENTTTY.toString())) {
-            List<CodeValueData> constitutionCodeValues = fetchCodeValuesByCodeName("Constitution");
-            List<CodeValueData> mainBusinessline = fetchCodeValuesByCodeName("Main Business Line");
-            return new ClientEntityWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
-                    clientTypeCodeValues, constitutionCodeValues, mainBusinessline, clientClassification, addressTypesCodeValues,
-                    stateProvinceCodeValues, countryCodeValues);
-        }
-        return null;
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<CodeValueData> clientTypeCodeValues = fetchCodeValuesByCodeName("ClientType");
+            List<CodeValueData> clientClassification = fetchCodeValuesByCodeName("ClientClassification");
+            List<CodeValueData> addressTypesCodeValues = fetchCodeValuesByCodeName("ADDRESS_TYPE");
+            List<CodeValueData> stateProvinceCodeValues = fetchCodeValuesByCodeName("STATE");
+            List<CodeValueData> countryCodeValues = fetchCodeValuesByCodeName("COUNTRY");
+            if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
+                List<CodeValueData> genderCodeValues = fetchCodeValuesByCodeName("Gender");
+                return new ClientPersonWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
+                        clientTypeCodeValues, genderCodeValues, clientClassification, addressTypesCodeValues, stateProvinceCodeValues,
+                        countryCodeValues);
+            } else if (entityType.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_ENTTTY.toString())) {
+                List<CodeValueData> constitutionCodeValues = fetchCodeValuesByCodeName("Constitution");
+                List<CodeValueData> mainBusinessline = fetchCodeValuesByCodeName("Main Business Line");
+                return new ClientEntityWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
+                        clientTypeCodeValues, constitutionCodeValues, mainBusinessline, clientClassification, addressTypesCodeValues,
+                        stateProvinceCodeValues, countryCodeValues);
+            }
+            return null;
+        };
     }
 
-    private Response buildResponse(final Workbook workbook, final String entity) {
+    private Response buildResponse(final File template, final String entity) {
         String filename = entity + DateUtils.getLocalDateOfTenant().toString() + ".xls";
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            workbook.write(baos);
-        } catch (IOException e) {
-            LOG.error("Problem occurred in buildResponse function", e);
-        }
-
-        final ResponseBuilder response = Response.ok(baos.toByteArray());
+        final ResponseBuilder response = Response.ok(template);
         response.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
         response.header("Content-Type", "application/vnd.ms-excel");
         return response.build();
@@ -304,28 +316,32 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return savingsProducts;
     }
 
-    private WorkbookPopulator populateCenterWorkbook(Long officeId, Long staffId) {
+    private Supplier<WorkbookPopulator> populateCenterWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.GROUP_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<GroupGeneralData> groups = fetchGroups(officeId);
-        return new CentersWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
-                new GroupSheetPopulator(groups, offices));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<GroupGeneralData> groups = fetchGroups(officeId);
+            return new CentersWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
+                    new GroupSheetPopulator(groups, offices));
+        };
     }
 
-    private WorkbookPopulator populateGroupsWorkbook(Long officeId, Long staffId) {
+    private Supplier<WorkbookPopulator> populateGroupsWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CENTER_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<CenterData> centers = fetchCenters(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        return new GroupsWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
-                new CenterSheetPopulator(centers, offices), new ClientSheetPopulator(clients, offices));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<CenterData> centers = fetchCenters(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            return new GroupsWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
+                    new CenterSheetPopulator(centers, offices), new ClientSheetPopulator(clients, offices));
+        };
     }
 
     private List<CenterData> fetchCenters(Long officeId) {
@@ -363,7 +379,7 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return clients;
     }
 
-    private WorkbookPopulator populateLoanWorkbook(Long officeId, Long staffId) {
+    private Supplier<WorkbookPopulator> populateLoanWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.GROUP_ENTITY_TYPE);
@@ -372,17 +388,19 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<GroupGeneralData> groups = fetchGroups(officeId);
-        List<LoanProductData> loanproducts = fetchLoanProducts();
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        return new LoanWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new GroupSheetPopulator(groups, offices), new PersonnelSheetPopulator(staff, offices),
-                new LoanProductSheetPopulator(loanproducts), new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<GroupGeneralData> groups = fetchGroups(officeId);
+            List<LoanProductData> loanproducts = fetchLoanProducts();
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            return new LoanWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new GroupSheetPopulator(groups, offices), new PersonnelSheetPopulator(staff, offices),
+                    new LoanProductSheetPopulator(loanproducts), new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        };
     }
 
     private List<CurrencyData> fetchCurrencies() {
@@ -417,20 +435,22 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return groups;
     }
 
-    private WorkbookPopulator populateLoanRepaymentWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateLoanRepaymentWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        List<LoanAccountData> loans = fetchLoanAccounts(officeId);
-        return new LoanRepaymentWorkbookPopulator(loans, new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            List<LoanAccountData> loans = fetchLoanAccounts(officeId);
+            return new LoanRepaymentWorkbookPopulator(loans, new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        };
     }
 
     private List<LoanAccountData> fetchLoanAccounts(final Long officeId) {
@@ -444,19 +464,21 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return loanAccounts;
     }
 
-    private WorkbookPopulator populateJournalEntriesWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateJournalEntriesWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.GL_ACCOUNT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<GLAccountData> glAccounts = fetchGLAccounts();
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        return new JournalEntriesWorkbookPopulator(new OfficeSheetPopulator(offices), new GlAccountSheetPopulator(glAccounts),
-                new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<GLAccountData> glAccounts = fetchGLAccounts();
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            return new JournalEntriesWorkbookPopulator(new OfficeSheetPopulator(offices), new GlAccountSheetPopulator(glAccounts),
+                    new ExtrasSheetPopulator(funds, paymentTypes, currencies));
+        };
     }
 
     private List<GLAccountData> fetchGLAccounts() {
@@ -464,16 +486,18 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return glaccounts;
     }
 
-    private WorkbookPopulator populateGuarantorWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateGuarantorWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<LoanAccountData> loans = fetchLoanAccounts(officeId);
-        List<SavingsAccountData> savingsaccounts = fetchSavingsAccounts(officeId);
-        List<CodeValueData> guarantorRelationshipTypes = fetchCodeValuesByCodeName("GuarantorRelationship");
-        return new GuarantorWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices), loans,
-                savingsaccounts, guarantorRelationshipTypes);
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<LoanAccountData> loans = fetchLoanAccounts(officeId);
+            List<SavingsAccountData> savingsaccounts = fetchSavingsAccounts(officeId);
+            List<CodeValueData> guarantorRelationshipTypes = fetchCodeValuesByCodeName("GuarantorRelationship");
+            return new GuarantorWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices), loans,
+                    savingsaccounts, guarantorRelationshipTypes);
+        };
     }
 
     private List<SavingsAccountData> fetchSavingsAccounts(Long officeId) {
@@ -489,34 +513,42 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return savingsAccounts;
     }
 
-    private WorkbookPopulator populateOfficeWorkbook() {
+    private Supplier<WorkbookPopulator> populateOfficeWorkbook() {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(null);
-        return new OfficeWorkbookPopulator(offices);
+        return () -> {
+            List<OfficeData> offices = fetchOffices(null);
+            return new OfficeWorkbookPopulator(offices);
+        };
     }
 
-    private WorkbookPopulator populateChartOfAccountsWorkbook() {
+    private Supplier<WorkbookPopulator> populateChartOfAccountsWorkbook() {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.GL_ACCOUNT_ENTITY_TYPE);
-        List<GLAccountData> glAccounts = fetchGLAccounts();
-        return new ChartOfAccountsWorkbook(glAccounts);
+        return () -> {
+            List<GLAccountData> glAccounts = fetchGLAccounts();
+            return new ChartOfAccountsWorkbook(glAccounts);
+        };
     }
 
-    private WorkbookPopulator populateStaffWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateStaffWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        return new StaffWorkbookPopulator(new OfficeSheetPopulator(offices));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            return new StaffWorkbookPopulator(new OfficeSheetPopulator(offices));
+        };
     }
 
-    private WorkbookPopulator populateSharedAcountsWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateSharedAcountsWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.SHARED_ACCOUNT_ENTITY_TYPE);
-        List<ShareProductData> shareProductDataList = fetchSharedProducts();
-        List<ChargeData> chargesForShares = fetchChargesForShares();
-        List<ClientData> clientDataList = fetchClients(officeId);
-        List<OfficeData> officeDataList = fetchOffices(officeId);
-        List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
-        return new SharedAccountWorkBookPopulator(new SharedProductsSheetPopulator(shareProductDataList, chargesForShares),
-                new ClientSheetPopulator(clientDataList, officeDataList), new SavingsAccountSheetPopulator(savingsAccounts));
+        return () -> {
+            List<ShareProductData> shareProductDataList = fetchSharedProducts();
+            List<ChargeData> chargesForShares = fetchChargesForShares();
+            List<ClientData> clientDataList = fetchClients(officeId);
+            List<OfficeData> officeDataList = fetchOffices(officeId);
+            List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
+            return new SharedAccountWorkBookPopulator(new SharedProductsSheetPopulator(shareProductDataList, chargesForShares),
+                    new ClientSheetPopulator(clientDataList, officeDataList), new SavingsAccountSheetPopulator(savingsAccounts));
+        };
     }
 
     private List<ChargeData> fetchChargesForShares() {
@@ -536,49 +568,55 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return sharedProductDataList;
     }
 
-    private WorkbookPopulator populateSavingsAccountWorkbook(Long officeId, Long staffId) {
+    private Supplier<WorkbookPopulator> populateSavingsAccountWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.GROUP_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.SAVINGS_PRODUCT_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<GroupGeneralData> groups = fetchGroups(officeId);
-        List<SavingsProductData> savingsProducts = fetchSavingsProducts();
-        return new SavingsWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new GroupSheetPopulator(groups, offices), new PersonnelSheetPopulator(staff, offices),
-                new SavingsProductSheetPopulator(savingsProducts));
-    }
-
-    private WorkbookPopulator populateSavingsTransactionWorkbook(Long officeId) {
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<GroupGeneralData> groups = fetchGroups(officeId);
+            List<SavingsProductData> savingsProducts = fetchSavingsProducts();
+            return new SavingsWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new GroupSheetPopulator(groups, offices), new PersonnelSheetPopulator(staff, offices),
+                    new SavingsProductSheetPopulator(savingsProducts));
+        };
+    }
+
+    private Supplier<WorkbookPopulator> populateSavingsTransactionWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
-        return new SavingsTransactionsWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
-    }
-
-    private WorkbookPopulator populateRecurringDepositWorkbook(Long officeId, Long staffId) {
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
+            return new SavingsTransactionsWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
+        };
+    }
+
+    private Supplier<WorkbookPopulator> populateRecurringDepositWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.RECURRING_DEPOSIT_PRODUCT_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<RecurringDepositProductData> recurringDepositProducts = fetchRecurringDepositProducts();
-        return new RecurringDepositWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new PersonnelSheetPopulator(staff, offices), new RecurringDepositProductSheetPopulator(recurringDepositProducts));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<RecurringDepositProductData> recurringDepositProducts = fetchRecurringDepositProducts();
+            return new RecurringDepositWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new PersonnelSheetPopulator(staff, offices), new RecurringDepositProductSheetPopulator(recurringDepositProducts));
+        };
     }
 
     private List<RecurringDepositProductData> fetchRecurringDepositProducts() {
@@ -592,34 +630,37 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return recurringDepositProducts;
     }
 
-    private WorkbookPopulator populateRecurringDepositTransactionWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateRecurringDepositTransactionWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
-        return new RecurringDepositTransactionWorkbookPopulator(new OfficeSheetPopulator(offices),
-                new ClientSheetPopulator(clients, offices), new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
-    }
-
-    private WorkbookPopulator populateFixedDepositWorkbook(Long officeId, Long staffId) {
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
+            return new RecurringDepositTransactionWorkbookPopulator(new OfficeSheetPopulator(offices),
+                    new ClientSheetPopulator(clients, offices), new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
+        };
+    }
+
+    private Supplier<WorkbookPopulator> populateFixedDepositWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.STAFF_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FIXED_DEPOSIT_PRODUCT_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<FixedDepositProductData> fixedDepositProducts = fetchFixedDepositProducts();
-        return new FixedDepositWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new PersonnelSheetPopulator(staff, offices), new FixedDepositProductSheetPopulator(fixedDepositProducts));
-
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<FixedDepositProductData> fixedDepositProducts = fetchFixedDepositProducts();
+            return new FixedDepositWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
+                    new PersonnelSheetPopulator(staff, offices), new FixedDepositProductSheetPopulator(fixedDepositProducts));
+        };
     }
 
     private List<FixedDepositProductData> fetchFixedDepositProducts() {
@@ -634,13 +675,15 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
 
     }
 
-    private WorkbookPopulator populateUserWorkbook(Long officeId, Long staffId) {
+    private Supplier<WorkbookPopulator> populateUserWorkbook(Long officeId, Long staffId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.USER_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<StaffData> staff = fetchStaff(staffId);
-        List<RoleData> roles = fetchRoles();
-        return new UserWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
-                new RoleSheetPopulator(roles));
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<StaffData> staff = fetchStaff(staffId);
+            List<RoleData> roles = fetchRoles();
+            return new UserWorkbookPopulator(new OfficeSheetPopulator(offices), new PersonnelSheetPopulator(staff, offices),
+                    new RoleSheetPopulator(roles));
+        };
     }
 
     private List<RoleData> fetchRoles() {
@@ -648,20 +691,22 @@ public class BulkImportWorkbookPopulatorServiceImpl implements BulkImportWorkboo
         return rolesList;
     }
 
-    private WorkbookPopulator populateFixedDepositTransactionsWorkbook(Long officeId) {
+    private Supplier<WorkbookPopulator> populateFixedDepositTransactionsWorkbook(Long officeId) {
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.OFFICE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CLIENT_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.FUNDS_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.PAYMENT_TYPE_ENTITY_TYPE);
         this.context.authenticatedUser().validateHasReadPermission(TemplatePopulateImportConstants.CURRENCY_ENTITY_TYPE);
-        List<OfficeData> offices = fetchOffices(officeId);
-        List<ClientData> clients = fetchClients(officeId);
-        List<FundData> funds = fetchFunds();
-        List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
-        List<CurrencyData> currencies = fetchCurrencies();
-        List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
-        return new FixedDepositTransactionWorkbookPopulator(new OfficeSheetPopulator(offices), new ClientSheetPopulator(clients, offices),
-                new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
+        return () -> {
+            List<OfficeData> offices = fetchOffices(officeId);
+            List<ClientData> clients = fetchClients(officeId);
+            List<FundData> funds = fetchFunds();
+            List<PaymentTypeData> paymentTypes = fetchPaymentTypes();
+            List<CurrencyData> currencies = fetchCurrencies();
+            List<SavingsAccountData> savingsAccounts = fetchSavingsAccounts(officeId);
+            return new FixedDepositTransactionWorkbookPopulator(new OfficeSheetPopulator(offices),
+                    new ClientSheetPopulator(clients, offices), new ExtrasSheetPopulator(funds, paymentTypes, currencies), savingsAccounts);
+        };
     }
 
 }
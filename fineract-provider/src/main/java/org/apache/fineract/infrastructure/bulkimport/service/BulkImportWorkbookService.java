@@ -33,6 +33,10 @@ public interface BulkImportWorkbookService {
 
     Collection<ImportData> getImports(GlobalEntityType type);
 
+    ImportData getImport(Long importId);
+
+    void cancelImport(Long importId);
+
     DocumentData getOutputTemplateLocation(String importDocumentId);
 
     Response getOutputTemplate(String importDocumentId);
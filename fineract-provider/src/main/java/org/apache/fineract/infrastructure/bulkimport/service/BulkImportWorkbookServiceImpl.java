@@ -31,17 +31,16 @@ import java.time.LocalDate;
 import java.util.Collection;
 import javax.ws.rs.core.Response;
 import org.apache.commons.io.IOUtils;
-import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.exceptions.ImportDocumentNotFoundException;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
 import org.apache.fineract.infrastructure.documentmanagement.domain.Document;
 import org.apache.fineract.infrastructure.documentmanagement.domain.DocumentRepository;
@@ -55,7 +54,7 @@ import org.apache.tika.io.TikaInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
@@ -64,23 +63,24 @@ import org.springframework.stereotype.Service;
 public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService {
 
     private static final Logger LOG = LoggerFactory.getLogger(BulkImportWorkbookServiceImpl.class);
-    private final ApplicationContext applicationContext;
     private final PlatformSecurityContext securityContext;
     private final DocumentWritePlatformService documentWritePlatformService;
     private final DocumentRepository documentRepository;
     private final ImportDocumentRepository importDocumentRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final BulkImportJobQueue bulkImportJobQueue;
 
     @Autowired
-    public BulkImportWorkbookServiceImpl(final ApplicationContext applicationContext, final PlatformSecurityContext securityContext,
+    public BulkImportWorkbookServiceImpl(final PlatformSecurityContext securityContext,
             final DocumentWritePlatformService documentWritePlatformService, final DocumentRepository documentRepository,
-            final ImportDocumentRepository importDocumentRepository, final RoutingDataSource dataSource) {
-        this.applicationContext = applicationContext;
+            final ImportDocumentRepository importDocumentRepository, final RoutingDataSource dataSource,
+            final BulkImportJobQueue bulkImportJobQueue) {
         this.securityContext = securityContext;
         this.documentWritePlatformService = documentWritePlatformService;
         this.documentRepository = documentRepository;
         this.importDocumentRepository = importDocumentRepository;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.bulkImportJobQueue = bulkImportJobQueue;
     }
 
     @Override
@@ -170,7 +170,9 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                     throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
 
                 }
-                return publishEvent(primaryColumn, fileDetail, clonedInputStreamWorkbook, entityType, workbook, locale, dateFormat);
+                // the workbook stream has been read to the end by now, the queued import is stored from a fresh copy of the upload
+                return queueImport(primaryColumn, fileDetail, new ByteArrayInputStream(bytes), entityType, workbook, locale,
+                        dateFormat);
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
         } catch (IOException e) {
@@ -181,7 +183,7 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         }
     }
 
-    private Long publishEvent(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
+    private Long queueImport(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
             final InputStream clonedInputStreamWorkbook, final GlobalEntityType entityType, final Workbook workbook, final String locale,
             final String dateFormat) {
 
@@ -194,11 +196,11 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         final Document document = this.documentRepository.findById(documentId).orElse(null);
 
         final ImportDocument importDocument = ImportDocument.instance(document, DateUtils.getLocalDateTimeOfTenant(), entityType.getValue(),
-                this.securityContext.authenticatedUser(), ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn));
+                this.securityContext.authenticatedUser(), ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn), locale,
+                dateFormat);
         this.importDocumentRepository.saveAndFlush(importDocument);
-        BulkImportEvent event = BulkImportEvent.instance(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), workbook,
-                importDocument.getId(), locale, dateFormat);
-        applicationContext.publishEvent(event);
+        // the stored document is the queue's copy of the workbook, the worker reads it back from there
+        this.bulkImportJobQueue.submit(importDocument.getId());
         return importDocument.getId();
     }
 
@@ -207,19 +209,44 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         this.securityContext.authenticatedUser();
 
         final ImportMapper rm = new ImportMapper();
-        final String sql = "select " + rm.schema() + " order by i.id desc";
+        final String sql = "select " + rm.schema(true) + " order by i.id desc";
 
         return this.jdbcTemplate.query(sql, rm, new Object[] { type.getValue() });
     }
 
+    @Override
+    public ImportData getImport(final Long importId) {
+        this.securityContext.authenticatedUser();
+
+        final ImportMapper rm = new ImportMapper();
+        final String sql = "select " + rm.schema(false) + "where i.id = ?";
+        try {
+            return this.jdbcTemplate.queryForObject(sql, rm, importId);
+        } catch (final EmptyResultDataAccessException e) {
+            throw new ImportDocumentNotFoundException(importId, e);
+        }
+    }
+
+    @Override
+    public void cancelImport(final Long importId) {
+        final ImportData importData = getImport(importId);
+        if (!this.bulkImportJobQueue.cancel(importId)) {
+            throw new GeneralPlatformDomainRuleException("error.msg.import.not.cancellable",
+                    "Import with identifier " + importId + " has already finished with status " + importData.getStatus(), importId);
+        }
+    }
+
     private static final class ImportMapper implements RowMapper<ImportData> {
 
-        public String schema() {
+        public String schema(final boolean byEntityType) {
             final StringBuilder sql = new StringBuilder();
             sql.append("i.id as id, i.document_id as documentId, d.name as name, i.import_time as importTime, i.end_time as endTime, ")
-                    .append("i.completed as completed, i.total_records as totalRecords, i.success_count as successCount, ")
-                    .append("i.failure_count as failureCount, i.createdby_id as createdBy ")
-                    .append("from m_import_document i inner join m_document d on i.document_id=d.id ").append("where i.entity_type= ? ");
+                    .append("i.completed as completed, i.status as status, i.total_records as totalRecords, ")
+                    .append("i.success_count as successCount, i.failure_count as failureCount, i.createdby_id as createdBy ")
+                    .append("from m_import_document i inner join m_document d on i.document_id=d.id ");
+            if (byEntityType) {
+                sql.append("where i.entity_type= ? ");
+            }
             return sql.toString();
         }
 
@@ -232,13 +259,14 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
             final LocalDate importTime = JdbcSupport.getLocalDate(rs, "importTime");
             final LocalDate endTime = JdbcSupport.getLocalDate(rs, "endTime");
             final Boolean completed = rs.getBoolean("completed");
+            final String status = rs.getString("status");
             final Integer totalRecords = JdbcSupport.getInteger(rs, "totalRecords");
             final Integer successCount = JdbcSupport.getInteger(rs, "successCount");
             final Integer failureCount = JdbcSupport.getInteger(rs, "failureCount");
             final Long createdBy = rs.getLong("createdBy");
 
-            return ImportData.instance(id, documentId, importTime, endTime, completed, name, createdBy, totalRecords, successCount,
-                    failureCount);
+            return ImportData.instance(id, documentId, importTime, endTime, completed, status, name, createdBy, totalRecords,
+                    successCount, failureCount);
         }
     }
 
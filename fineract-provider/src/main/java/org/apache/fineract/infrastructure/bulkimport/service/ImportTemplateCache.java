@@ -0,0 +1,299 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.populator.WorkbookPopulator;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Disk cache of generated bulk import templates, so that repeated downloads of a template listing every client and loan of a
+ * tenant are served from a file instead of querying and populating a new workbook every time.
+ *
+ * Templates are keyed by tenant, template type, office, staff, date format and the office hierarchy of the user (which scopes
+ * the data the template lists). Commands on the reference data a template lists (organisation data such as offices, staff,
+ * codes and products, customers or accounts) drop it when they commit, so the next download regenerates it. Concurrent
+ * downloads of the same template wait for a single generation. Files are kept under
+ * <code>fineract.bulk-import.template-cache.directory</code>.
+ *
+ * Files older than the max age plus a minute can no longer be served and are deleted, whether they were generated by this
+ * run or an earlier one; the minute lets a file that was just handed out be downloaded.
+ */
+@Component
+public class ImportTemplateCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportTemplateCache.class);
+
+    public static final String DIRECTORY_PROPERTY = "fineract.bulk-import.template-cache.directory";
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.bulk-import.template-cache.max-age-seconds";
+
+    // the length of m_import_document.date_format, which an upload of the template has to fit into
+    private static final int MAX_DATE_FORMAT_LENGTH = 50;
+    private static final long DOWNLOAD_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private enum ReferenceData {
+        ORGANISATION, CUSTOMERS, ACCOUNTS
+    }
+
+    private static final Map<String, ReferenceData> REFERENCE_DATA_BY_COMMAND_ENTITY = new HashMap<>();
+
+    static {
+        register(ReferenceData.ORGANISATION, "OFFICE", "STAFF", "CODE", "CODEVALUE", "ROLE", "FUND", "PAYMENTTYPE", "CURRENCY",
+                "GLACCOUNT", "CHARGE", "LOANPRODUCT", "SAVINGSPRODUCT", "FIXEDDEPOSITPRODUCT", "RECURRINGDEPOSITPRODUCT", "SHAREPRODUCT");
+        register(ReferenceData.CUSTOMERS, "CLIENT", "GROUP", "CENTER");
+        register(ReferenceData.ACCOUNTS, "LOAN", "LOANCHARGE", "GLIMLOAN", "DISBURSEMENTDETAIL", "WAIVECHARGE",
+                "REPAYMENT_WITH_POSTDATEDCHECKS", "SAVINGSACCOUNT", "SAVINGSACCOUNTCHARGE", "FIXEDDEPOSITACCOUNT",
+                "RECURRINGDEPOSITACCOUNT", "GSIMACCOUNT", "ACCOUNTTRANSFER", "STANDINGINSTRUCTION", "COLLECTIONSHEET");
+    }
+
+    private final PlatformSecurityContext context;
+    private final Path directory;
+    private final long fileRetentionMillis;
+    private final LongSupplier nanoTime;
+    private final TenantCache<TemplateKey, File> templates;
+    private final Striped<Lock> generationLocks = Striped.lock(64);
+    private final AtomicLong lastSweepNanos;
+
+    @Autowired
+    public ImportTemplateCache(final PlatformSecurityContext context, final Environment env) {
+        this(context, env, System::nanoTime);
+    }
+
+    ImportTemplateCache(final PlatformSecurityContext context, final Environment env, final LongSupplier nanoTime) {
+        this.context = context;
+        this.directory = Paths.get(env.getProperty(DIRECTORY_PROPERTY,
+                FileSystemContentRepository.FINERACT_BASE_DIR + File.separator + "import-templates"));
+        this.fileRetentionMillis = TimeUnit.SECONDS.toMillis(Math.max(0, env.getProperty(MAX_AGE_SECONDS_PROPERTY, Integer.class, 900)))
+                + DOWNLOAD_MILLIS;
+        this.nanoTime = nanoTime;
+        this.templates = TenantCache.<TemplateKey, File>builder(env, MAX_AGE_SECONDS_PROPERTY, 900).nanoTime(nanoTime).build();
+        this.lastSweepNanos = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * @param dateFormat
+     *            pattern of the dates in the template, as understood by {@link SimpleDateFormat}; surrounding blanks are
+     *            ignored
+     * @return the template file, generated with the populator if there is no current one
+     * @throws PlatformApiDataValidationException
+     *             if the date format is not a valid pattern
+     */
+    public File retrieve(final GlobalEntityType templateType, final Long officeId, final Long staffId, final String dateFormat,
+            final Supplier<WorkbookPopulator> populator) {
+        final String pattern = validateDateFormat(dateFormat);
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final TemplateKey key = new TemplateKey(templateType,
+                officeId + "/" + staffId + "/" + pattern + "/" + this.context.authenticatedUser().getOffice().getHierarchy());
+
+        final File file = retrieve(tenantIdentifier + '/' + key, key, pattern, populator);
+        deleteExpiredFiles();
+        return file;
+    }
+
+    private File retrieve(final String name, final TemplateKey key, final String dateFormat, final Supplier<WorkbookPopulator> populator) {
+        final Lock lock = this.generationLocks.get(name);
+        lock.lock();
+        try {
+            final Supplier<File> generator = () -> generate(name, dateFormat, populator);
+            final File file = this.templates.get(key, generator);
+            return file.exists() ? file : this.templates.reload(key, generator);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the templates listing data of the given command entity once the current transaction commits.
+     */
+    public void referenceDataChanged(final String commandEntityName) {
+        final ReferenceData referenceData = REFERENCE_DATA_BY_COMMAND_ENTITY.get(commandEntityName);
+        if (referenceData != null) {
+            this.templates.evictMatchingAfterCommit(key -> listedReferenceData(key.templateType).contains(referenceData));
+        }
+    }
+
+    private File generate(final String name, final String dateFormat, final Supplier<WorkbookPopulator> populator) {
+        final Path tenantDirectory = this.directory.resolve(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+        final Path target = tenantDirectory.resolve(Hashing.sha256().hashString(name, StandardCharsets.UTF_8) + ".xls");
+        try (Workbook workbook = new HSSFWorkbook()) {
+            populator.get().populate(workbook, dateFormat);
+            Files.createDirectories(tenantDirectory);
+            // written next to the target and moved into place, so a download in progress never sees a half written file
+            final Path temporary = Files.createTempFile(tenantDirectory, "template-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temporary)) {
+                    workbook.write(out);
+                }
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new PlatformInternalServerException("error.msg.import.template.not.written",
+                    "Import template could not be written: " + e.getMessage(), e);
+        }
+        return target.toFile();
+    }
+
+    /**
+     * Deletes the files of the tenants that are older than the retention time, at most once per sweep interval.
+     */
+    private void deleteExpiredFiles() {
+        final long now = this.nanoTime.getAsLong();
+        final long lastSweep = this.lastSweepNanos.get();
+        if (now - lastSweep < SWEEP_INTERVAL_NANOS || !this.lastSweepNanos.compareAndSet(lastSweep, now)
+                || !Files.isDirectory(this.directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(this.directory, 2)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    if (System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() >= this.fileRetentionMillis) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Could not delete the import template {}", file, e);
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Could not list the import templates in {}", this.directory, e);
+        }
+    }
+
+    private static String validateDateFormat(final String dateFormat) {
+        if (StringUtils.isBlank(dateFormat)) {
+            // templates without dates do not need one
+            return null;
+        }
+        final String pattern = dateFormat.trim();
+        if (pattern.length() > MAX_DATE_FORMAT_LENGTH) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError(
+                    "validation.msg.import.template.dateFormat.exceeds.max.length",
+                    "The parameter `dateFormat` exceeds max length of " + MAX_DATE_FORMAT_LENGTH + ".", "dateFormat",
+                    MAX_DATE_FORMAT_LENGTH)));
+        }
+        try {
+            new SimpleDateFormat(pattern);
+        } catch (IllegalArgumentException e) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterErrorWithValue(
+                    "validation.msg.import.template.dateFormat.invalid", "The parameter `dateFormat` is not a valid date pattern.",
+                    "dateFormat", pattern)), e);
+        }
+        return pattern;
+    }
+
+    private static Set<ReferenceData> listedReferenceData(final GlobalEntityType templateType) {
+        switch (templateType) {
+            case OFFICES:
+            case STAFF:
+            case CHART_OF_ACCOUNTS:
+            case GL_JOURNAL_ENTRIES:
+            case USERS:
+            case CLIENTS_PERSON:
+            case CLIENTS_ENTTTY:
+                return EnumSet.of(ReferenceData.ORGANISATION);
+            case CENTERS:
+            case GROUPS:
+            case LOANS:
+            case SAVINGS_ACCOUNT:
+            case RECURRING_DEPOSIT_ACCOUNTS:
+            case FIXED_DEPOSIT_ACCOUNTS:
+                return EnumSet.of(ReferenceData.ORGANISATION, ReferenceData.CUSTOMERS);
+            default:
+                return EnumSet.allOf(ReferenceData.class);
+        }
+    }
+
+    private static void register(final ReferenceData referenceData, final String... commandEntityNames) {
+        for (final String commandEntityName : commandEntityNames) {
+            REFERENCE_DATA_BY_COMMAND_ENTITY.put(commandEntityName, referenceData);
+        }
+    }
+
+    private static final class TemplateKey {
+
+        private final GlobalEntityType templateType;
+        private final String scope;
+
+        TemplateKey(final GlobalEntityType templateType, final String scope) {
+            this.templateType = templateType;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            final TemplateKey other = (TemplateKey) o;
+            return this.templateType == other.templateType && this.scope.equals(other.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.templateType, this.scope);
+        }
+
+        @Override
+        public String toString() {
+            return this.templateType + "/" + this.scope;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In memory cache of data of the current tenant, for reference data read on hot paths that is changed by commands.
+ *
+ * Entries are dropped once they are older than the max age, which bounds how long a change made on another node or
+ * outside of commands can go unnoticed. Changes made by commands evict the affected entries when their transaction commits,
+ * so a rollback keeps them. Every tenant has a version which is bumped by each eviction; a load only stores its result when
+ * no eviction happened while it was running, so an entry can never hold data read before a concurrent change.
+ *
+ * Values must be immutable or at least never changed once handed out, they are shared by all callers.
+ */
+public final class TenantCache<K, V> {
+
+    private final Cache<TenantKey<K>, V> entries;
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private TenantCache(final Builder<K, V> builder) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .expireAfterWrite(builder.maxAgeNanos, TimeUnit.NANOSECONDS);
+        if (builder.nanoTime != null) {
+            final LongSupplier nanoTime = builder.nanoTime;
+            cacheBuilder.ticker(new Ticker() {
+
+                @Override
+                public long read() {
+                    return nanoTime.getAsLong();
+                }
+            });
+        }
+        if (builder.weigher == null) {
+            this.entries = cacheBuilder.build();
+        } else {
+            final ToIntFunction<V> weigher = builder.weigher;
+            // a single segment, so the least recently used entry of the whole cache is evicted first
+            this.entries = cacheBuilder.concurrencyLevel(1).maximumWeight(builder.maximumWeight)
+                    .weigher((final TenantKey<K> key, final V value) -> weigher.applyAsInt(value)).build();
+        }
+    }
+
+    public static <K, V> Builder<K, V> builder(final Environment env, final String maxAgeSecondsProperty,
+            final int defaultMaxAgeSeconds) {
+        return new Builder<>(TimeUnit.SECONDS.toNanos(Math.max(0, env.getProperty(maxAgeSecondsProperty, Integer.class,
+                defaultMaxAgeSeconds))));
+    }
+
+    /**
+     * @return the entry of the current tenant, loaded with the loader when there is none; null values are not kept
+     */
+    public V get(final K key, final Supplier<V> loader) {
+        final TenantKey<K> tenantKey = new TenantKey<>(currentTenant(), key);
+        final V cached = this.entries.getIfPresent(tenantKey);
+        return cached != null ? cached : load(tenantKey, loader);
+    }
+
+    /**
+     * @return the entry of the current tenant, loaded with the loader even if there is one
+     */
+    public V reload(final K key, final Supplier<V> loader) {
+        return load(new TenantKey<>(currentTenant(), key), loader);
+    }
+
+    /**
+     * Evicts the entry of the current tenant once the current transaction commits, or right away when there is none.
+     */
+    public void evictAfterCommit(final K key) {
+        evictMatchingAfterCommit(key::equals);
+    }
+
+    /**
+     * Evicts all entries of the current tenant once the current transaction commits, or right away when there is none.
+     */
+    public void evictAllAfterCommit() {
+        evictMatchingAfterCommit(key -> true);
+    }
+
+    /**
+     * Evicts the matching entries of the current tenant once the current transaction commits, or right away when there is
+     * none.
+     */
+    public void evictMatchingAfterCommit(final Predicate<? super K> keys) {
+        final String tenant = currentTenant();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(tenant, keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                evict(tenant, keys);
+            }
+        });
+    }
+
+    /**
+     * Evicts all entries of the current tenant right away and again once the current transaction completes, whether it
+     * commits or not. Meant for data changed by statements that are not rolled back, like DDL on MySQL.
+     */
+    public void evictAllNowAndAfterCompletion() {
+        final String tenant = currentTenant();
+        evict(tenant, key -> true);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    evict(tenant, key -> true);
+                }
+            });
+        }
+    }
+
+    private V load(final TenantKey<K> tenantKey, final Supplier<V> loader) {
+        final AtomicLong version = version(tenantKey.tenant);
+        final long loadVersion = version.get();
+        final V loaded = loader.get();
+        if (loaded != null) {
+            synchronized (version) {
+                if (version.get() == loadVersion) {
+                    this.entries.put(tenantKey, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private void evict(final String tenant, final Predicate<? super K> keys) {
+        final AtomicLong version = version(tenant);
+        synchronized (version) {
+            version.incrementAndGet();
+            this.entries.asMap().keySet().removeIf(tenantKey -> tenantKey.tenant.equals(tenant) && keys.test(tenantKey.key));
+        }
+    }
+
+    private AtomicLong version(final String tenant) {
+        return this.versions.computeIfAbsent(tenant, key -> new AtomicLong());
+    }
+
+    private static String currentTenant() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    public static final class Builder<K, V> {
+
+        private final long maxAgeNanos;
+        private LongSupplier nanoTime;
+        private long maximumWeight;
+        private ToIntFunction<V> weigher;
+
+        private Builder(final long maxAgeNanos) {
+            this.maxAgeNanos = maxAgeNanos;
+        }
+
+        /**
+         * Bounds the cache, across all tenants, to the maximum weight by evicting the least recently used entries.
+         */
+        public Builder<K, V> maximumWeight(final long maximumWeight, final ToIntFunction<V> weigher) {
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> nanoTime(final LongSupplier nanoTime) {
+            this.nanoTime = nanoTime;
+            return this;
+        }
+
+        public TenantCache<K, V> build() {
+            return new TenantCache<>(this);
+        }
+    }
+
+    private static final class TenantKey<K> {
+
+        private final String tenant;
+        private final K key;
+
+        TenantKey(final String tenant, final K key) {
+            this.tenant = tenant;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TenantKey)) {
+                return false;
+            }
+            final TenantKey<?> other = (TenantKey<?>) o;
+            return this.tenant.equals(other.tenant) && Objects.equals(this.key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.tenant, this.key);
+        }
+    }
+}
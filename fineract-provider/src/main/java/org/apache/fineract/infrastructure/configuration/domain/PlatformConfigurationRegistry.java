@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In memory, per tenant copy of the global configuration and of the maker checker flag of every permission, read on
+ * every command to decide whether it needs a checker.
+ *
+ * Both are loaded together with one query each. As they decide what users may do without a checker, the copy must not
+ * outlive a change made on another node: every change bumps the version row of the tenant, which is read once per
+ * transaction (and on every lookup outside of one) and makes the copy reload when it is newer. A lookup of an unknown name
+ * or code reloads once before giving up, so permissions added at runtime (e.g. for a new datatable) are found straight
+ * away.
+ */
+@Component
+public class PlatformConfigurationRegistry {
+
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.configuration.max-age-seconds";
+
+    static final String PERMISSIONS_SQL = "select code, can_maker_checker from m_permission";
+    static final String CONFIGURATIONS_SQL = "select id, name, enabled, value, date_value, description, is_trap_door "
+            + "from c_configuration";
+    static final String VERSION_SQL = "select version from c_configuration_version";
+    static final String INCREMENT_VERSION_SQL = "update c_configuration_version set version = version + 1";
+
+    private static final String SNAPSHOT = "snapshot";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantCache<String, Snapshot> snapshots;
+    // key of the TransactionVersion bound to the current transaction
+    private final Object transactionVersionKey = new Object();
+
+    @Autowired
+    public PlatformConfigurationRegistry(final RoutingDataSource dataSource, final Environment env) {
+        this(new JdbcTemplate(dataSource), env);
+    }
+
+    PlatformConfigurationRegistry(final JdbcTemplate jdbcTemplate, final Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshots = TenantCache.<String, Snapshot>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).build();
+    }
+
+    /**
+     * @return whether maker checker is enabled for the permission, or null when there is no such permission
+     */
+    public Boolean findMakerCheckerEnabled(final String permissionCode) {
+        final Boolean enabled = currentSnapshot(false).makerCheckerByPermission.get(permissionCode);
+        return enabled != null ? enabled : currentSnapshot(true).makerCheckerByPermission.get(permissionCode);
+    }
+
+    /**
+     * @return the global configuration property, or null when there is no such property
+     */
+    public GlobalConfigurationPropertyData findGlobalConfiguration(final String propertyName) {
+        final GlobalConfigurationPropertyData property = currentSnapshot(false).configurations.get(propertyName);
+        return property != null ? property : currentSnapshot(true).configurations.get(propertyName);
+    }
+
+    /**
+     * Bumps the version of the tenant in the current transaction, so every node reloads its copy once the transaction
+     * commits. Lookups in the rest of the transaction read the database and leave the shared copy alone, which must never
+     * hold uncommitted changes.
+     */
+    public void invalidate() {
+        this.jdbcTemplate.update(INCREMENT_VERSION_SQL);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionVersion().invalidated = true;
+        }
+        this.snapshots.evictAllAfterCommit();
+    }
+
+    private Snapshot currentSnapshot(final boolean reload) {
+        final long version;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            final TransactionVersion transactionVersion = transactionVersion();
+            if (transactionVersion.invalidated) {
+                return load();
+            }
+            version = transactionVersion.version;
+        } else {
+            version = readVersion();
+        }
+
+        if (!reload) {
+            final Snapshot cached = this.snapshots.get(SNAPSHOT, this::load);
+            // a copy loaded by another transaction since this one read the version is newer, not stale
+            if (cached.version >= version) {
+                return cached;
+            }
+        }
+        return this.snapshots.reload(SNAPSHOT, this::load);
+    }
+
+    private TransactionVersion transactionVersion() {
+        TransactionVersion transactionVersion = (TransactionVersion) TransactionSynchronizationManager
+                .getResource(this.transactionVersionKey);
+        if (transactionVersion == null) {
+            transactionVersion = new TransactionVersion(readVersion());
+            TransactionSynchronizationManager.bindResource(this.transactionVersionKey, transactionVersion);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PlatformConfigurationRegistry.this.transactionVersionKey);
+                }
+            });
+        }
+        return transactionVersion;
+    }
+
+    private long readVersion() {
+        return this.jdbcTemplate.queryForObject(VERSION_SQL, Long.class);
+    }
+
+    private Snapshot load() {
+        final long version = readVersion();
+        final Map<String, Boolean> makerCheckerByPermission = new HashMap<>();
+        this.jdbcTemplate.query(PERMISSIONS_SQL,
+                (RowCallbackHandler) rs -> makerCheckerByPermission.put(rs.getString("code"), rs.getBoolean("can_maker_checker")));
+
+        final Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+        this.jdbcTemplate.query(CONFIGURATIONS_SQL, (RowCallbackHandler) rs -> {
+            final Long value = rs.getLong("value");
+            final boolean hasValue = !rs.wasNull();
+            // java.sql.Date does not support toInstant(), hand out a plain date like the entity does
+            final java.sql.Date dateValue = rs.getDate("date_value");
+            configurations.put(rs.getString("name"),
+                    new GlobalConfigurationPropertyData(rs.getString("name"), rs.getBoolean("enabled"), hasValue ? value : null,
+                            dateValue == null ? null : new Date(dateValue.getTime()), rs.getLong("id"), rs.getString("description"),
+                            rs.getBoolean("is_trap_door")));
+        });
+        return new Snapshot(version, makerCheckerByPermission, configurations);
+    }
+
+    private static final class TransactionVersion {
+
+        private final long version;
+        private boolean invalidated;
+
+        TransactionVersion(final long version) {
+            this.version = version;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, Boolean> makerCheckerByPermission;
+        private final Map<String, GlobalConfigurationPropertyData> configurations;
+
+        Snapshot(final long version, final Map<String, Boolean> makerCheckerByPermission,
+                final Map<String, GlobalConfigurationPropertyData> configurations) {
+            this.version = version;
+            this.makerCheckerByPermission = makerCheckerByPermission;
+            this.configurations = configurations;
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.core.domain;
 
+import java.util.Objects;
+
 public class FineractPlatformTenant {
 
     private final Long id;
@@ -25,14 +27,33 @@ public class FineractPlatformTenant {
     private final String name;
     private final String timezoneId;
     private final FineractPlatformTenantConnection connection;
+    private final FineractPlatformTenantConnection readReplicaConnection;
 
     public FineractPlatformTenant(final Long id, final String tenantIdentifier, final String name, final String timezoneId,
             final FineractPlatformTenantConnection connection) {
+        this(id, tenantIdentifier, name, timezoneId, connection, null);
+    }
+
+    public FineractPlatformTenant(final Long id, final String tenantIdentifier, final String name, final String timezoneId,
+            final FineractPlatformTenantConnection connection, final FineractPlatformTenantConnection readReplicaConnection) {
         this.id = id;
         this.tenantIdentifier = tenantIdentifier;
         this.name = name;
         this.timezoneId = timezoneId;
         this.connection = connection;
+        this.readReplicaConnection = readReplicaConnection;
+    }
+
+    /**
+     * @return this tenant reading from the given (report) connection where it can, unless that is its own connection
+     */
+    public FineractPlatformTenant withReadReplicaConnection(final FineractPlatformTenantConnection replicaConnection) {
+        if (replicaConnection == null || replicaConnection.getSchemaServer() == null
+                || Objects.equals(replicaConnection.getConnectionId(), this.connection.getConnectionId())) {
+            return this;
+        }
+        return new FineractPlatformTenant(this.id, this.tenantIdentifier, this.name, this.timezoneId, this.connection,
+                replicaConnection);
     }
 
     public Long getId() {
@@ -54,4 +75,11 @@ public class FineractPlatformTenant {
     public FineractPlatformTenantConnection getConnection() {
         return connection;
     }
+
+    /**
+     * @return the connection of the read replica of the tenant, or null if it has none
+     */
+    public FineractPlatformTenantConnection getReadReplicaConnection() {
+        return this.readReplicaConnection;
+    }
 }
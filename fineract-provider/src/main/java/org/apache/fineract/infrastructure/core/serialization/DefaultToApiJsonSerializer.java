@@ -19,8 +19,13 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -108,6 +113,79 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings,
+            final Collection<? extends T> collection) {
+        return streamWithSettings(findAppropriateSerializer(settings), settings, null, collection);
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<? extends T> page) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        if (delegatedSerializer != null) {
+            // the inclusion strategy also filters the page envelope, which therefore can't be written by hand
+            final String json = serializeWithSettings(delegatedSerializer, settings, page);
+            return out -> out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return streamWithSettings(null, settings, page, page.getPageItems());
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Collection<? extends T> collection,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, null, collection);
+    }
+
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<? extends T> page,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, page, page.getPageItems());
+    }
+
+    /*
+     * The serializer is resolved eagerly (so unsupported fields= still fail before the response is committed), only the
+     * writing is deferred to Jersey. When a page is given its envelope is written by hand so that the items can be streamed.
+     */
+    private StreamingOutput streamWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings,
+            final Page<? extends T> page, final Collection<? extends T> items) {
+        final Gson serializer;
+        if (gson != null) {
+            serializer = gson;
+        } else if (settings.isPrettyPrint()) {
+            serializer = this.excludeNothingWithPrettyPrintingOn.getGson();
+        } else {
+            serializer = this.excludeNothingWithPrettyPrintingOff.getGson();
+        }
+
+        return out -> {
+            final JsonWriter writer = serializer.newJsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            if (page != null) {
+                writer.beginObject();
+                writer.name("totalFilteredRecords").value(page.getTotalFilteredRecords());
+                writer.name("pageItems");
+            }
+            if (items == null) {
+                writer.nullValue();
+            } else {
+                writer.beginArray();
+                for (final Object item : items) {
+                    if (item == null) {
+                        writer.nullValue();
+                    } else {
+                        serializer.toJson(item, item.getClass(), writer);
+                    }
+                }
+                writer.endArray();
+            }
+            if (page != null) {
+                writer.endObject();
+            }
+            writer.flush();
+        };
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
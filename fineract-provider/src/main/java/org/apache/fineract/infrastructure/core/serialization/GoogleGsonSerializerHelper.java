@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -26,6 +28,7 @@ import java.time.MonthDay;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
@@ -38,10 +41,19 @@ import org.springframework.stereotype.Service;
 
 /**
  * Helper class for serialization of Java objects into JSON using Google's GSON.
+ *
+ * The partial response ("fields=") serializers are cached by (supported parameters, response parameters, pretty print):
+ * {@link Gson} instances are thread safe and keep their reflective type adapters, which are expensive to rebuild on
+ * every request.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
+    private static final int MAX_CACHED_PARTIAL_RESPONSE_SERIALIZERS = 512;
+
+    private final Cache<PartialResponseSerializerKey, Gson> partialResponseSerializers = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PARTIAL_RESPONSE_SERIALIZERS).build();
+
     public Gson createGsonBuilder(final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder();
         registerTypeAdapters(builder);
@@ -52,21 +64,14 @@ public final class GoogleGsonSerializerHelper {
     }
 
     public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
-
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+        final PartialResponseSerializerKey key = new PartialResponseSerializerKey(null, responseParameters, prettyPrint);
+        return this.partialResponseSerializers.asMap().computeIfAbsent(key,
+                k -> createGson(new ParameterListInclusionStrategy(k.responseParameters), k.prettyPrint));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
             final boolean prettyPrint, final Set<String> responseParameters) {
 
-        final Set<String> parameterNamesToSkip = new HashSet<>();
-
         if (!responseParameters.isEmpty()) {
             // strip out all known support parameters from expected response to
             // see if unsupported parameters requested for response.
@@ -76,13 +81,20 @@ public final class GoogleGsonSerializerHelper {
             if (!differentParametersDetectedSet.isEmpty()) {
                 throw new UnsupportedParameterException(new ArrayList<>(differentParametersDetectedSet));
             }
-
-            parameterNamesToSkip.addAll(supportedParameters);
-            parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        final PartialResponseSerializerKey key = new PartialResponseSerializerKey(supportedParameters, responseParameters, prettyPrint);
+        return this.partialResponseSerializers.asMap().computeIfAbsent(key, k -> {
+            final Set<String> parameterNamesToSkip = new HashSet<>();
+            if (!k.responseParameters.isEmpty()) {
+                parameterNamesToSkip.addAll(k.supportedParameters);
+                parameterNamesToSkip.removeAll(k.responseParameters);
+            }
+            return createGson(new ParameterListExclusionStrategy(parameterNamesToSkip), k.prettyPrint);
+        });
+    }
 
+    private Gson createGson(final ExclusionStrategy strategy, final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
         registerTypeAdapters(builder);
         if (prettyPrint) {
@@ -105,4 +117,37 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(ZonedDateTime.class, new JodaDateTimeAdapter());
         builder.registerTypeAdapter(MonthDay.class, new JodaMonthDayAdapter());
     }
+
+    private static final class PartialResponseSerializerKey {
+
+        private final Set<String> supportedParameters;
+        private final Set<String> responseParameters;
+        private final boolean prettyPrint;
+
+        PartialResponseSerializerKey(final Set<String> supportedParameters, final Set<String> responseParameters,
+                final boolean prettyPrint) {
+            // defensive copies, the callers' sets are mutable and the key outlives the request
+            this.supportedParameters = supportedParameters == null ? null : Set.copyOf(supportedParameters);
+            this.responseParameters = Set.copyOf(responseParameters);
+            this.prettyPrint = prettyPrint;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PartialResponseSerializerKey)) {
+                return false;
+            }
+            final PartialResponseSerializerKey that = (PartialResponseSerializerKey) o;
+            return this.prettyPrint == that.prettyPrint && Objects.equals(this.supportedParameters, that.supportedParameters)
+                    && this.responseParameters.equals(that.responseParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.supportedParameters, this.responseParameters, this.prettyPrint);
+        }
+    }
 }
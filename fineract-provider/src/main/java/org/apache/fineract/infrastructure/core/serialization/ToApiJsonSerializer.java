@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 
 public interface ToApiJsonSerializer<T> {
@@ -46,4 +47,19 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    /**
+     * Streaming variants of the list serializers: the JSON is written element by element straight to the response stream by a
+     * Gson {@link com.google.gson.stream.JsonWriter} instead of being built as one {@link String} first, which keeps peak
+     * memory and time to first byte low for large listings. The output is identical to the {@link String} variants.
+     */
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Collection<? extends T> collection);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<? extends T> page);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Collection<? extends T> collection,
+            Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<? extends T> page,
+            Set<String> supportedResponseParameters);
 }
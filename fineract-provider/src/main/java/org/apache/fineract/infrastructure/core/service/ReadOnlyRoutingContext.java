@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work on the current thread as read only, so that {@link RoutingDataSource} may send its queries to the read replica
+ * of the tenant (see {@link ReadReplicaRouter}).
+ *
+ * Only queries made outside of a transaction are affected: a read-write transaction keeps using the primary, and a read-only
+ * transaction is routed to the replica in any case. The work must not write outside of a transaction.
+ *
+ * Reports are marked with {@link #callReport(Supplier)}: they read from the report connection of the tenant even when
+ * routing to read replicas is turned off, as they always have. A scope nested in a report scope stays a report scope.
+ */
+public final class ReadOnlyRoutingContext {
+
+    private enum Scope {
+        READ_ONLY, REPORT
+    }
+
+    private static final ThreadLocal<Scope> readOnlyContext = new ThreadLocal<>();
+
+    private ReadOnlyRoutingContext() {
+
+    }
+
+    public static <T> T call(final Supplier<T> work) {
+        return call(Scope.READ_ONLY, work);
+    }
+
+    public static <T> T callReport(final Supplier<T> work) {
+        return call(Scope.REPORT, work);
+    }
+
+    public static void run(final Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static boolean isReadOnly() {
+        return readOnlyContext.get() != null;
+    }
+
+    public static boolean isReport() {
+        return readOnlyContext.get() == Scope.REPORT;
+    }
+
+    private static <T> T call(final Scope scope, final Supplier<T> work) {
+        final Scope previous = readOnlyContext.get();
+        readOnlyContext.set(previous == Scope.REPORT ? previous : scope);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                readOnlyContext.remove();
+            } else {
+                readOnlyContext.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides whether a query goes to the primary database of the tenant or to its read replica, which is the report connection
+ * of the tenant (<code>tenants.report_Id</code>) when that is not the same as its OLTP connection.
+ *
+ * Reads go to the replica inside a <code>@Transactional(readOnly = true)</code> transaction, or outside of a transaction for
+ * work marked with {@link ReadOnlyRoutingContext}; everything else goes to the primary. They fall back to the primary when:
+ * <ul>
+ * <li>the replica is more than <code>fineract.read-replica.max-lag-seconds</code> behind, or replication is stopped. The lag is
+ * checked at most every <code>fineract.read-replica.lag-check-interval-seconds</code>.</li>
+ * <li>no connection to the replica can be made. The replica is then left alone until the next check.</li>
+ * <li>the user committed a write through this node in the last <code>fineract.read-replica.read-your-writes-seconds</code>,
+ * so that they read their own writes.</li>
+ * </ul>
+ * Routing to replicas is off unless turned on with <code>fineract.read-replica.enabled=true</code>. While it is off, only
+ * reports (see {@link ReadOnlyRoutingContext#callReport}) and Pentaho reports read from the report connection of the tenant,
+ * without the checks above, and everything else goes to the primary.
+ */
+@Component
+public class ReadReplicaRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    public static final String ENABLED_PROPERTY = "fineract.read-replica.enabled";
+    public static final String MAX_LAG_SECONDS_PROPERTY = "fineract.read-replica.max-lag-seconds";
+    public static final String LAG_CHECK_INTERVAL_SECONDS_PROPERTY = "fineract.read-replica.lag-check-interval-seconds";
+    public static final String READ_YOUR_WRITES_SECONDS_PROPERTY = "fineract.read-replica.read-your-writes-seconds";
+
+    private static final int DEFAULT_MAX_LAG_SECONDS = 30;
+    private static final int DEFAULT_LAG_CHECK_INTERVAL_SECONDS = 10;
+    private static final int DEFAULT_READ_YOUR_WRITES_SECONDS = 10;
+    private static final int MAX_TRACKED_WRITERS = 10000;
+
+    // MySQL 8.0.22+ / MariaDB 10.5+, then older versions
+    private static final String[] REPLICA_STATUS_QUERIES = { "SHOW REPLICA STATUS", "SHOW SLAVE STATUS" };
+    private static final String[] LAG_COLUMNS = { "Seconds_Behind_Source", "Seconds_Behind_Master" };
+
+    // bound to the current transaction once its writer is tracked
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private final boolean enabled;
+    private final long maxLagSeconds;
+    private final long lagCheckIntervalMillis;
+    private final long readYourWritesMillis;
+    private final ConcurrentMap<Long, ReplicaState> replicas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadReplicaRouter(final RoutingDataSourceServiceFactory dataSourceServiceFactory, final Environment env) {
+        this.dataSourceServiceFactory = dataSourceServiceFactory;
+        this.enabled = env.getProperty(ENABLED_PROPERTY, Boolean.class, Boolean.FALSE);
+        this.maxLagSeconds = Math.max(0, env.getProperty(MAX_LAG_SECONDS_PROPERTY, Integer.class, DEFAULT_MAX_LAG_SECONDS));
+        this.lagCheckIntervalMillis = TimeUnit.SECONDS.toMillis(
+                Math.max(1, env.getProperty(LAG_CHECK_INTERVAL_SECONDS_PROPERTY, Integer.class, DEFAULT_LAG_CHECK_INTERVAL_SECONDS)));
+        this.readYourWritesMillis = TimeUnit.SECONDS.toMillis(
+                Math.max(0, env.getProperty(READ_YOUR_WRITES_SECONDS_PROPERTY, Integer.class, DEFAULT_READ_YOUR_WRITES_SECONDS)));
+    }
+
+    /**
+     * @return a connection to the read replica of the current tenant if this query may read from it, else to the primary
+     */
+    public Connection getConnection() throws SQLException {
+        final RoutingDataSourceService dataSourceService = this.dataSourceServiceFactory.determineDataSourceService();
+        final DataSource primary = dataSourceService.retrieveDataSource();
+        if (!this.enabled) {
+            final DataSource reportDataSource = isReportRead() ? dataSourceService.retrieveReadReplicaDataSource() : null;
+            return reportDataSource == null ? primary.getConnection() : reportDataSource.getConnection();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                trackWriter();
+                return primary.getConnection();
+            }
+        } else if (!ReadOnlyRoutingContext.isReadOnly()) {
+            return primary.getConnection();
+        }
+
+        final DataSource replica = dataSourceService.retrieveReadReplicaDataSource();
+        if (replica == null || !mayReadFromReplica(replica)) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaState().unavailable(System.currentTimeMillis() + this.lagCheckIntervalMillis);
+            LOG.warn("Read replica of tenant {} is not available, reading from the primary",
+                    ThreadLocalContextUtil.getTenant().getTenantIdentifier(), e);
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * @return the connection for reports that connect to the database by themselves (Pentaho): the read replica of the
+     *         current tenant when reads may go to it (always while routing is off), else the primary
+     */
+    public FineractPlatformTenantConnection getReadConnection() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant.getReadReplicaConnection() == null) {
+            return tenant.getConnection();
+        }
+        if (!this.enabled) {
+            return tenant.getReadReplicaConnection();
+        }
+        final DataSource replica = this.dataSourceServiceFactory.determineDataSourceService().retrieveReadReplicaDataSource();
+        return replica != null && mayReadFromReplica(replica) ? tenant.getReadReplicaConnection() : tenant.getConnection();
+    }
+
+    /**
+     * @return whether this query is part of a report run outside of a read-write transaction
+     */
+    private static boolean isReportRead() {
+        return ReadOnlyRoutingContext.isReport() && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    private boolean mayReadFromReplica(final DataSource replica) {
+        if (wroteRecently()) {
+            return false;
+        }
+        final ReplicaState state = replicaState();
+        final long now = System.currentTimeMillis();
+        if (now >= state.nextCheckMillis && state.checking.compareAndSet(false, true)) {
+            // one thread checks, the others go on with the last known state
+            try {
+                state.usable = isInSync(replica);
+            } finally {
+                state.nextCheckMillis = now + this.lagCheckIntervalMillis;
+                state.checking.set(false);
+            }
+        }
+        return state.usable;
+    }
+
+    private ReplicaState replicaState() {
+        return this.replicas.computeIfAbsent(ThreadLocalContextUtil.getTenant().getReadReplicaConnection().getConnectionId(),
+                connectionId -> new ReplicaState());
+    }
+
+    private boolean isInSync(final DataSource replica) {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            final Long lag;
+            try {
+                lag = secondsBehindPrimary(statement);
+            } catch (SQLException e) {
+                // e.g. the user lacks the REPLICATION CLIENT privilege: the replica is used as the report database always was
+                LOG.warn("Could not read the replication lag of the read replica of tenant {}: {}", tenantIdentifier, e.getMessage());
+                return true;
+            }
+            if (lag == null || lag > this.maxLagSeconds) {
+                LOG.warn("Read replica of tenant {} is {}, reading from the primary", tenantIdentifier,
+                        lag == null ? "not replicating" : lag + " seconds behind");
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            LOG.warn("Read replica of tenant {} is not available, reading from the primary", tenantIdentifier, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the replication lag in seconds, 0 for a database that is not a replica, or null if replication is stopped
+     */
+    private static Long secondsBehindPrimary(final Statement statement) throws SQLException {
+        SQLException unsupported = null;
+        for (final String query : REPLICA_STATUS_QUERIES) {
+            try (ResultSet rs = statement.executeQuery(query)) {
+                if (!rs.next()) {
+                    return 0L;
+                }
+                final long lag = rs.getLong(lagColumn(rs.getMetaData()));
+                return rs.wasNull() ? null : lag;
+            } catch (SQLException e) {
+                unsupported = e;
+            }
+        }
+        throw unsupported;
+    }
+
+    private static int lagColumn(final ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            for (final String lagColumn : LAG_COLUMNS) {
+                if (lagColumn.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                    return column;
+                }
+            }
+        }
+        throw new SQLException("The replica status has no replication lag column");
+    }
+
+    /**
+     * Remembers the user of the current read-write transaction as a recent writer once it commits.
+     */
+    private void trackWriter() {
+        if (this.readYourWritesMillis == 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        final String writer = writer();
+        if (writer == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, writer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                if (ReadReplicaRouter.this.lastWrites.size() >= MAX_TRACKED_WRITERS) {
+                    final long expired = System.currentTimeMillis() - ReadReplicaRouter.this.readYourWritesMillis;
+                    ReadReplicaRouter.this.lastWrites.values().removeIf(writtenAt -> writtenAt < expired);
+                }
+                ReadReplicaRouter.this.lastWrites.put(writer, System.currentTimeMillis());
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+
+    private boolean wroteRecently() {
+        final String writer = writer();
+        final Long writtenAt = writer == null ? null : this.lastWrites.get(writer);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt < this.readYourWritesMillis) {
+            return true;
+        }
+        this.lastWrites.remove(writer, writtenAt);
+        return false;
+    }
+
+    /**
+     * @return the authenticated user of the current tenant; work without a user (jobs) does not need to read its own writes
+     */
+    private static String writer() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tenant == null || authentication == null) {
+            return null;
+        }
+        return tenant.getTenantIdentifier() + '/' + authentication.getName();
+    }
+
+    private static final class ReplicaState {
+
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private volatile boolean usable;
+        private volatile long nextCheckMillis;
+
+        void unavailable(final long nextCheckMillis) {
+            this.usable = false;
+            this.nextCheckMillis = nextCheckMillis;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.sql.SQLException;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.stereotype.Service;
 
@@ -33,17 +34,39 @@ import org.springframework.stereotype.Service;
  * The tenant details are process earlier and stored in a {@link ThreadLocal}.
  *
  * The {@link RoutingDataSourceService} is responsible for returning the appropriate {@link DataSource} for the tenant
- * of this request.
+ * of this request, and {@link ReadReplicaRouter} for choosing between its primary and its read replica. Transaction managers
+ * take their connection before the transaction is marked read only, so the connections handed out are lazy: the router
+ * only picks the database when the first statement is created.
  */
 @Service(value = "routingDataSource")
 public class RoutingDataSource extends AbstractDataSource {
 
+    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private final LazyConnectionDataSourceProxy lazyDataSource;
+
     @Autowired
-    private RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    public RoutingDataSource(final RoutingDataSourceServiceFactory dataSourceServiceFactory, final ReadReplicaRouter readReplicaRouter) {
+        this.dataSourceServiceFactory = dataSourceServiceFactory;
+        this.lazyDataSource = new LazyConnectionDataSourceProxy();
+        // the pools hand out connections in auto-commit mode; the isolation is read from the first connection routed
+        this.lazyDataSource.setDefaultAutoCommit(true);
+        this.lazyDataSource.setTargetDataSource(new AbstractDataSource() {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readReplicaRouter.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(final String username, final String password) throws SQLException {
+                return determineTargetDataSource().getConnection(username, password);
+            }
+        });
+    }
 
     @Override
     public Connection getConnection() throws SQLException {
-        return determineTargetDataSource().getConnection();
+        return this.lazyDataSource.getConnection();
     }
 
     private DataSource determineTargetDataSource() {
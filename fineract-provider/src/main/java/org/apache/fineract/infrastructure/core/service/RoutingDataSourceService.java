@@ -26,4 +26,11 @@ import javax.sql.DataSource;
 public interface RoutingDataSourceService {
 
     DataSource retrieveDataSource();
+
+    /**
+     * @return the connection pool of the read replica of the current tenant, or null if reads cannot go to a replica
+     */
+    default DataSource retrieveReadReplicaDataSource() {
+        return null;
+    }
 }
@@ -57,33 +57,43 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenantConnection information available switch to the
-                // appropriate datasource for that tenant.
-                DataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
-                if (possibleDS != null) {
-                    tenantDataSource = possibleDS;
-                } else {
-                    tenantDataSource = createNewDataSourceFor(tenantConnection);
-                    this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), tenantDataSource);
-                }
-            }
+            tenantDataSource = dataSourceFor(tenant.getConnection(), "_pool");
         }
 
         return tenantDataSource;
     }
 
+    @Override
+    public DataSource retrieveReadReplicaDataSource() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || tenant.getReadReplicaConnection() == null) {
+            return null;
+        }
+        return dataSourceFor(tenant.getReadReplicaConnection(), "_replica_pool");
+    }
+
+    private DataSource dataSourceFor(final FineractPlatformTenantConnection tenantConnection, final String poolNameSuffix) {
+        synchronized (this.tenantToDataSourceMap) {
+            // if tenantConnection information available switch to the
+            // appropriate datasource for that tenant.
+            DataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
+            if (possibleDS == null) {
+                possibleDS = createNewDataSourceFor(tenantConnection, poolNameSuffix);
+                this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), possibleDS);
+            }
+            return possibleDS;
+        }
+    }
+
     // creates the tenant data source for the oltp and report database
-    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
+    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj, final String poolNameSuffix) {
         String jdbcUrl = this.driverConfig.constructProtocol(tenantConnectionObj.getSchemaServer(),
                 tenantConnectionObj.getSchemaServerPort(), tenantConnectionObj.getSchemaName(),
                 tenantConnectionObj.getSchemaConnectionParameters());
 
         HikariConfig config = new HikariConfig();
         config.setDriverClassName(this.driverConfig.getDriverClassName());
-        config.setPoolName(tenantConnectionObj.getSchemaName() + "_pool");
+        config.setPoolName(tenantConnectionObj.getSchemaName() + poolNameSuffix);
         config.setJdbcUrl(jdbcUrl);
         config.setUsername(tenantConnectionObj.getSchemaUsername());
         config.setPassword(tenantConnectionObj.getSchemaPassword());
@@ -48,6 +48,7 @@ import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryResultData;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
@@ -278,6 +279,27 @@ public class DatatablesApiResource {
         return json;
     }
 
+    @POST
+    @Path("{datatable}/bulk")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Create Entries in Data Table", description = "Adds rows for many application table entries to the data table in one request.\n"
+            + "\n"
+            + "Each row carries the identifier of its application table entry (apptableId) and the datatable columns, as for a single entry. Rows are written in chunks, each in its own transaction; rows that fail validation or cannot be written are reported in the response and do not fail the other rows. Not available for datatables with maker checker enabled.")
+    @RequestBody(required = true, content = @Content(schema = @Schema(implementation = DatatablesApiResourceSwagger.PostDataTablesBulkRequest.class)))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = DatatablesApiResourceSwagger.PostDataTablesBulkResponse.class))) })
+    public String createDatatableEntries(@PathParam("datatable") @Parameter(description = "datatable") final String datatable,
+            @Parameter(hidden = true) final String apiRequestBodyAsJson) {
+
+        this.context.authenticatedUser().validateHasPermissionTo("CREATE_" + datatable);
+
+        final DatatableBulkEntryResultData result = this.readWriteNonCoreDataService.createDatatableEntries(datatable,
+                apiRequestBodyAsJson);
+
+        return this.toApiJsonSerializer.serialize(result);
+    }
+
     @POST
     @Path("{datatable}/{apptableId}")
     @Consumes({ MediaType.APPLICATION_JSON })
@@ -207,6 +207,67 @@ final class DatatablesApiResourceSwagger {
         public Long resourceId;
     }
 
+    @Schema(description = "PostDataTablesBulkRequest")
+    public static final class PostDataTablesBulkRequest {
+
+        private PostDataTablesBulkRequest() {
+
+        }
+
+        static final class PostDataTablesBulkRow {
+
+            private PostDataTablesBulkRow() {
+
+            }
+
+            @Schema(example = "1")
+            public Long apptableId;
+            @Schema(example = "Livestock sales")
+            public String BusinessDescription;
+            @Schema(example = "01 October 2012")
+            public String NextVisit;
+        }
+
+        @Schema(example = "dd MMMM yyyy")
+        public String dateFormat;
+        @Schema(example = "en")
+        public String locale;
+        public List<PostDataTablesBulkRow> rows;
+    }
+
+    @Schema(description = "PostDataTablesBulkResponse")
+    public static final class PostDataTablesBulkResponse {
+
+        private PostDataTablesBulkResponse() {
+
+        }
+
+        static final class PostDataTablesBulkError {
+
+            private PostDataTablesBulkError() {
+
+            }
+
+            @Schema(example = "3")
+            public Integer rowIndex;
+            @Schema(example = "12")
+            public Long apptableId;
+            @Schema(example = "error.msg.datatable.entry.duplicate")
+            public String errorCode;
+            public String parameterName;
+            @Schema(example = "An entry already exists for application table with identifier `12`.")
+            public String defaultUserMessage;
+        }
+
+        @Schema(example = "extra_client_details")
+        public String registeredTableName;
+        @Schema(example = "1000")
+        public Integer rowsReceived;
+        @Schema(example = "999")
+        public Integer rowsCreated;
+        public List<PostDataTablesBulkError> errors;
+    }
+
     @Schema(description = "GetDataTablesAppTableIdResponse")
     public static final class GetDataTablesAppTableIdResponse {
 
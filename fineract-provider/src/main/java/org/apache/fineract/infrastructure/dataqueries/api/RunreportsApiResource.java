@@ -28,6 +28,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -39,7 +40,11 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.ReadOnlyRoutingContext;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.apache.fineract.infrastructure.dataqueries.service.ReportRunService;
 import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
 import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
 import org.apache.fineract.infrastructure.security.exception.NoAuthorizationException;
@@ -60,13 +65,18 @@ public class RunreportsApiResource {
     private final PlatformSecurityContext context;
     private final ReadReportingService readExtraDataAndReportingService;
     private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ReportRunService reportRunService;
+    private final DefaultToApiJsonSerializer<ReportRunData> toApiJsonSerializer;
 
     @Autowired
     public RunreportsApiResource(final PlatformSecurityContext context, final ReadReportingService readExtraDataAndReportingService,
-            final ReportingProcessServiceProvider reportingProcessServiceProvider) {
+            final ReportingProcessServiceProvider reportingProcessServiceProvider, final ReportRunService reportRunService,
+            final DefaultToApiJsonSerializer<ReportRunData> toApiJsonSerializer) {
         this.context = context;
         this.readExtraDataAndReportingService = readExtraDataAndReportingService;
         this.reportingProcessServiceProvider = reportingProcessServiceProvider;
+        this.reportRunService = reportRunService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
     }
 
     @GET
@@ -111,7 +121,52 @@ public class RunreportsApiResource {
             throw new PlatformServiceUnavailableException("err.msg.report.service.implementation.missing",
                     ReportingProcessServiceProvider.SERVICE_MISSING + reportType, reportType);
         }
-        return reportingProcessService.processRequest(reportName, queryParams);
+        // reports only read, so they are served by the read replica (report connection) of the tenant where there is one
+        return ReadOnlyRoutingContext.callReport(() -> reportingProcessService.processRequest(reportName, queryParams));
+    }
+
+    @POST
+    @Path("{reportName}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Submit a Report Run", description = "Runs a report in the background, with the same parameters as running it "
+            + "directly, and returns the run to poll with runreports/runs/{runId}. Once completed, the output is downloaded from "
+            + "runreports/runs/{runId}/result.\n\n"
+            + "An identical run submitted earlier by a user with the same data scope is returned instead of running the report again "
+            + "while its result is kept, or while it is still running. Add \"&refresh=true\" to always run the report.\n\n"
+            + "Example Requests:\n\n" + "runreports/Client%20Listing?R_officeId=1&exportCSV=true\n\n"
+            + "runreports/Client%20Listing?R_officeId=1&exportCSV=true&refresh=true")
+    public String submitReportRun(@PathParam("reportName") @Parameter(description = "reportName") final String reportName,
+            @Context final UriInfo uriInfo,
+            @DefaultValue("false") @QueryParam(IS_SELF_SERVICE_USER_REPORT_PARAMETER) @Parameter(description = IS_SELF_SERVICE_USER_REPORT_PARAMETER) final boolean isSelfServiceUserReport,
+            @DefaultValue("false") @QueryParam(ReportRunService.REFRESH_PARAMETER) @Parameter(description = "refresh") final boolean refresh) {
+
+        final MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
+        checkUserPermissionForReport(reportName, false);
+        queryParams.putSingle(IS_SELF_SERVICE_USER_REPORT_PARAMETER, Boolean.toString(isSelfServiceUserReport));
+
+        final ReportRunData run = this.reportRunService.submit(reportName, queryParams, isSelfServiceUserReport, refresh);
+        return this.toApiJsonSerializer.serialize(run);
+    }
+
+    @GET
+    @Path("runs/{runId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve a Report Run", description = "Returns the status of a report run: QUEUED, RUNNING, COMPLETED, FAILED "
+            + "or EXPIRED once its result was removed.")
+    public String retrieveReportRun(@PathParam("runId") @Parameter(description = "runId") final Long runId) {
+        final ReportRunData run = this.reportRunService.retrieveRun(runId);
+        return this.toApiJsonSerializer.serialize(run);
+    }
+
+    @GET
+    @Path("runs/{runId}/result")
+    @Produces({ MediaType.APPLICATION_JSON, "text/csv", "application/vnd.ms-excel", "application/pdf", "text/html" })
+    @Operation(summary = "Download the Result of a Report Run", description = "Returns the output of a completed report run, in the "
+            + "format running the report directly returns it.")
+    public Response retrieveReportRunResult(@PathParam("runId") @Parameter(description = "runId") final Long runId) {
+        return this.reportRunService.retrieveResult(runId);
     }
 
     private void checkUserPermissionForReport(final String reportName, final boolean parameterType) {
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import java.io.Serializable;
+
+/**
+ * Immutable data object describing why one row of a bulk datatable entry request was not created.
+ */
+public final class DatatableBulkEntryErrorData implements Serializable {
+
+    private final int rowIndex;
+    private final Long apptableId;
+    private final String errorCode;
+    private final String parameterName;
+    @SuppressWarnings("unused")
+    private final String defaultUserMessage;
+
+    public DatatableBulkEntryErrorData(final int rowIndex, final Long apptableId, final String errorCode, final String parameterName,
+            final String defaultUserMessage) {
+        this.rowIndex = rowIndex;
+        this.apptableId = apptableId;
+        this.errorCode = errorCode;
+        this.parameterName = parameterName;
+        this.defaultUserMessage = defaultUserMessage;
+    }
+
+    public int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    public Long getApptableId() {
+        return this.apptableId;
+    }
+
+    public String getErrorCode() {
+        return this.errorCode;
+    }
+
+    public String getParameterName() {
+        return this.parameterName;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable data object reporting the outcome of a bulk datatable entry request.
+ */
+public final class DatatableBulkEntryResultData implements Serializable {
+
+    @SuppressWarnings("unused")
+    private final String registeredTableName;
+    @SuppressWarnings("unused")
+    private final int rowsReceived;
+    private final int rowsCreated;
+    private final List<DatatableBulkEntryErrorData> errors;
+
+    public DatatableBulkEntryResultData(final String registeredTableName, final int rowsReceived, final int rowsCreated,
+            final List<DatatableBulkEntryErrorData> errors) {
+        this.registeredTableName = registeredTableName;
+        this.rowsReceived = rowsReceived;
+        this.rowsCreated = rowsCreated;
+        this.errors = errors;
+    }
+
+    public int getRowsCreated() {
+        return this.rowsCreated;
+    }
+
+    public List<DatatableBulkEntryErrorData> getErrors() {
+        return this.errors;
+    }
+}
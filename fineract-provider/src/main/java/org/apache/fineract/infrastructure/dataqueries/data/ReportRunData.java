@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Immutable data object representing a report run submitted for asynchronous execution.
+ */
+public final class ReportRunData implements Serializable {
+
+    private final Long id;
+    private final String reportName;
+    private final ReportRunStatus status;
+    private final String contentType;
+    private final String fileName;
+    @SuppressWarnings("unused")
+    private final Long resultSize;
+    @SuppressWarnings("unused")
+    private final String errorMessage;
+    @SuppressWarnings("unused")
+    private final Date submittedAt;
+    @SuppressWarnings("unused")
+    private final Date startedAt;
+    @SuppressWarnings("unused")
+    private final Date finishedAt;
+    @SuppressWarnings("unused")
+    private final Date expiresAt;
+    // where the result is stored and who may read it are not part of the API
+    private final transient String resultLocation;
+    private final transient String dataScope;
+
+    public ReportRunData(final Long id, final String reportName, final ReportRunStatus status, final String contentType,
+            final String fileName, final Long resultSize, final String errorMessage, final Date submittedAt, final Date startedAt,
+            final Date finishedAt, final Date expiresAt, final String resultLocation, final String dataScope) {
+        this.id = id;
+        this.reportName = reportName;
+        this.status = status;
+        this.contentType = contentType;
+        this.fileName = fileName;
+        this.resultSize = resultSize;
+        this.errorMessage = errorMessage;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.expiresAt = expiresAt;
+        this.resultLocation = resultLocation;
+        this.dataScope = dataScope;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getReportName() {
+        return this.reportName;
+    }
+
+    public ReportRunStatus getStatus() {
+        return this.status;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public String getResultLocation() {
+        return this.resultLocation;
+    }
+
+    public String getDataScope() {
+        return this.dataScope;
+    }
+}
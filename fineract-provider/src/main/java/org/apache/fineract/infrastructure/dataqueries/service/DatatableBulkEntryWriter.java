@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryErrorData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes validated datatable rows of a bulk entry request, one chunk per transaction.
+ *
+ * Rows supplying the same columns are written with one multi-row insert. When such an insert fails (e.g. on a duplicate
+ * entry of a one to one datatable) the rows are inserted one by one, so the failing rows can be reported and the others
+ * are still written.
+ */
+@Component
+public class DatatableBulkEntryWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatatableBulkEntryWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DatatableBulkEntryWriter(final RoutingDataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    DatatableBulkEntryWriter(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the rows which could not be inserted
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<DatatableBulkEntryErrorData> writeChunk(final String datatable, final String fkName, final List<Row> rows) {
+        final Map<List<String>, List<Row>> rowsByColumns = new LinkedHashMap<>();
+        for (final Row row : rows) {
+            rowsByColumns.computeIfAbsent(new ArrayList<>(row.values.keySet()), columns -> new ArrayList<>()).add(row);
+        }
+
+        final List<DatatableBulkEntryErrorData> errors = new ArrayList<>();
+        for (final Map.Entry<List<String>, List<Row>> group : rowsByColumns.entrySet()) {
+            final List<String> columns = group.getKey();
+            final List<Row> groupRows = group.getValue();
+            try {
+                this.jdbcTemplate.update(insertSql(datatable, fkName, columns, groupRows.size()), arguments(columns, groupRows));
+            } catch (final DataAccessException e) {
+                LOG.debug("Multi-row insert into {} failed, inserting its {} rows one by one", datatable, groupRows.size(), e);
+                for (final Row row : groupRows) {
+                    try {
+                        this.jdbcTemplate.update(insertSql(datatable, fkName, columns, 1), arguments(columns, List.of(row)));
+                    } catch (final DataAccessException rowError) {
+                        errors.add(toError(row, rowError));
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static String insertSql(final String datatable, final String fkName, final List<String> columns, final int rowCount) {
+        final StringBuilder sql = new StringBuilder("insert into `").append(datatable).append("` (`").append(fkName).append('`');
+        final StringBuilder placeholders = new StringBuilder("(?");
+        for (final String column : columns) {
+            sql.append(", `").append(column).append('`');
+            placeholders.append(", ?");
+        }
+        placeholders.append(')');
+        sql.append(") values ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] arguments(final List<String> columns, final List<Row> rows) {
+        final Object[] arguments = new Object[rows.size() * (columns.size() + 1)];
+        int index = 0;
+        for (final Row row : rows) {
+            arguments[index++] = row.apptableId;
+            for (final String column : columns) {
+                arguments[index++] = row.values.get(column);
+            }
+        }
+        return arguments;
+    }
+
+    private static DatatableBulkEntryErrorData toError(final Row row, final DataAccessException e) {
+        final String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.contains("Duplicate entry")) {
+            return new DatatableBulkEntryErrorData(row.index, row.apptableId, "error.msg.datatable.entry.duplicate", null,
+                    "An entry already exists for application table with identifier `" + row.apptableId + "`.");
+        } else if (message.contains("doesn't have a default value")) {
+            return new DatatableBulkEntryErrorData(row.index, row.apptableId, "error.msg.datatable.no.value.provided.for.required.fields",
+                    null, "No values provided for the required fields.");
+        }
+        LOG.error("Unexpected data integrity issue writing row {} of a bulk datatable entry request", row.index, e);
+        return new DatatableBulkEntryErrorData(row.index, row.apptableId, "error.msg.unknown.data.integrity.issue", null,
+                "Unknown data integrity issue with resource.");
+    }
+
+    /**
+     * A validated row: the application table id and the values to write, keyed by column name, in column order.
+     */
+    public static final class Row {
+
+        private final int index;
+        private final Long apptableId;
+        private final Map<String, String> values;
+
+        public Row(final int index, final Long apptableId, final Map<String, String> values) {
+            this.index = index;
+            this.apptableId = apptableId;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory, per tenant copy of the datatable schemas: the column definitions read from <code>information_schema</code>
+ * together with the code values allowed in each column, and the application table every datatable is registered to
+ * (which gives the name of its foreign key column).
+ *
+ * Datatable and code commands drop the schemas when they complete.
+ */
+@Component
+public class DatatableSchemaRegistry {
+
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.datatables.schema-max-age-seconds";
+
+    private final TenantCache<String, List<ResultsetColumnHeaderData>> columnHeaders;
+    private final TenantCache<String, String> applicationTables;
+
+    @Autowired
+    public DatatableSchemaRegistry(final Environment env) {
+        this(env, System::nanoTime);
+    }
+
+    DatatableSchemaRegistry(final Environment env, final LongSupplier nanoTime) {
+        this.columnHeaders = TenantCache.<String, List<ResultsetColumnHeaderData>>builder(env, MAX_AGE_SECONDS_PROPERTY, 60)
+                .nanoTime(nanoTime).build();
+        this.applicationTables = TenantCache.<String, String>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).nanoTime(nanoTime).build();
+    }
+
+    /**
+     * @return the column headers of the datatable, loaded with the loader when they are not known yet
+     */
+    public List<ResultsetColumnHeaderData> getColumnHeaders(final String datatable,
+            final Supplier<List<ResultsetColumnHeaderData>> loader) {
+        // callers get their own list, the headers themselves are immutable
+        return new ArrayList<>(this.columnHeaders.get(datatable, loader));
+    }
+
+    /**
+     * @return the application table the datatable is registered to, loaded with the loader when it is not known yet
+     */
+    public String getApplicationTableName(final String datatable, final Supplier<String> loader) {
+        return this.applicationTables.get(datatable, loader);
+    }
+
+    /**
+     * Drops all datatable schemas of the current tenant right away, so the rest of the command sees the current schema,
+     * and again once the current transaction completes. The second drop also happens on rollback: MySQL commits DDL
+     * implicitly, so the schema may have changed even when the transaction did not commit.
+     */
+    public void invalidate() {
+        this.columnHeaders.evictAllNowAndAfterCompletion();
+        this.applicationTables.evictAllNowAndAfterCompletion();
+    }
+}
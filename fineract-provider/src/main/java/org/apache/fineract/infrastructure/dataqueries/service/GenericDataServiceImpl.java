@@ -45,13 +45,14 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
     private static final Logger LOG = LoggerFactory.getLogger(GenericDataServiceImpl.class);
 
     @Autowired
-    public GenericDataServiceImpl(final RoutingDataSource dataSource) {
+    public GenericDataServiceImpl(final RoutingDataSource dataSource, final DatatableSchemaRegistry datatableSchemaRegistry) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
-
+        this.datatableSchemaRegistry = datatableSchemaRegistry;
     }
 
     @Override
@@ -196,6 +197,10 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
+        return this.datatableSchemaRegistry.getColumnHeaders(datatable, () -> loadResultsetColumnHeaders(datatable));
+    }
+
+    private List<ResultsetColumnHeaderData> loadResultsetColumnHeaders(final String datatable) {
 
         LOG.debug("::3 Was inside the fill ResultSetColumnHeader");
 
@@ -253,9 +258,6 @@ public class GenericDataServiceImpl implements GenericDataService {
         return columnHeaders;
     }
 
-    /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
-     */
     private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName) {
 
         final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
@@ -40,6 +40,7 @@ import javax.sql.DataSource;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.ReadOnlyRoutingContext;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
@@ -163,7 +164,8 @@ public class ReadReportingServiceImpl implements ReadReportingService {
 
         final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
 
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        // report queries are served by the read replica of the tenant where there is one
+        final GenericResultsetData result = ReadOnlyRoutingContext.call(() -> this.genericDataService.fillGenericResultSet(sql));
 
         final long elapsed = System.currentTimeMillis() - startTime;
         LOG.info("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}", name, type, elapsed);
@@ -480,7 +482,7 @@ public class ReadReportingServiceImpl implements ReadReportingService {
 
         final String sql = sqlToRunForSmsEmailCampaign(name, type, queryParams);
 
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        final GenericResultsetData result = ReadOnlyRoutingContext.call(() -> this.genericDataService.fillGenericResultSet(sql));
 
         final long elapsed = System.currentTimeMillis() - startTime;
         LOG.info("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}", name, type, elapsed);
@@ -30,13 +30,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import javax.persistence.PersistenceException;
-import javax.sql.DataSource;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +50,7 @@ import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformException;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
@@ -58,6 +61,8 @@ import org.apache.fineract.infrastructure.core.serialization.JsonParserHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
 import org.apache.fineract.infrastructure.dataqueries.data.DataTableValidator;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryErrorData;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryResultData;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
@@ -72,6 +77,7 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -91,6 +97,9 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private static final String CODE_VALUES_TABLE = "m_code_value";
 
+    public static final String BULK_ENTRY_MAX_ROWS_PROPERTY = "fineract.datatables.bulk.max-rows";
+    public static final String BULK_ENTRY_CHUNK_SIZE_PROPERTY = "fineract.datatables.bulk.chunk-size";
+
     private static final Logger LOG = LoggerFactory.getLogger(ReadWriteNonCoreDataServiceImpl.class);
     private static final ImmutableMap<String, String> apiTypeToMySQL = ImmutableMap.<String, String>builder().put("string", "VARCHAR")
             .put("number", "INT").put("boolean", "BIT").put("decimal", "DECIMAL").put("date", "DATE").put("datetime", "DATETIME")
@@ -100,7 +109,6 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             "mediumblob", "mediumtext", "longblob", "longtext");
 
     private final JdbcTemplate jdbcTemplate;
-    private final DataSource dataSource;
     private final PlatformSecurityContext context;
     private final FromJsonHelper fromJsonHelper;
     private final JsonParserHelper helper;
@@ -111,6 +119,10 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private final DataTableValidator dataTableValidator;
     private final ColumnValidator columnValidator;
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
+    private final DatatableBulkEntryWriter datatableBulkEntryWriter;
+    private final int bulkEntryMaxRows;
+    private final int bulkEntryChunkSize;
 
     // private final GlobalConfigurationWritePlatformServiceJpaRepositoryImpl
     // configurationWriteService;
@@ -120,9 +132,20 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final FromJsonHelper fromJsonHelper, final GenericDataService genericDataService,
             final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer, final CodeReadPlatformService codeReadPlatformService,
             final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator,
-            final ColumnValidator columnValidator) {
-        this.dataSource = dataSource;
-        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+            final ColumnValidator columnValidator, final DatatableSchemaRegistry datatableSchemaRegistry,
+            final DatatableBulkEntryWriter datatableBulkEntryWriter, final Environment env) {
+        this(new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource), context, fromJsonHelper, genericDataService,
+                fromApiJsonDeserializer, codeReadPlatformService, configurationDomainService, dataTableValidator, columnValidator,
+                datatableSchemaRegistry, datatableBulkEntryWriter, env);
+    }
+
+    ReadWriteNonCoreDataServiceImpl(final JdbcTemplate jdbcTemplate, final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            final PlatformSecurityContext context, final FromJsonHelper fromJsonHelper, final GenericDataService genericDataService,
+            final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer, final CodeReadPlatformService codeReadPlatformService,
+            final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator,
+            final ColumnValidator columnValidator, final DatatableSchemaRegistry datatableSchemaRegistry,
+            final DatatableBulkEntryWriter datatableBulkEntryWriter, final Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
         this.context = context;
         this.fromJsonHelper = fromJsonHelper;
         this.helper = new JsonParserHelper();
@@ -133,7 +156,11 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         this.dataTableValidator = dataTableValidator;
         this.columnValidator = columnValidator;
         // this.configurationWriteService = configurationWriteService;
-        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.datatableSchemaRegistry = datatableSchemaRegistry;
+        this.datatableBulkEntryWriter = datatableBulkEntryWriter;
+        this.bulkEntryMaxRows = env.getProperty(BULK_ENTRY_MAX_ROWS_PROPERTY, Integer.class, 10000);
+        this.bulkEntryChunkSize = Math.max(1, env.getProperty(BULK_ENTRY_CHUNK_SIZE_PROPERTY, Integer.class, 500));
     }
 
     @Override
@@ -249,6 +276,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         validateAppTable(applicationTableName);
         validateDatatableName(dataTableName);
         assertDataTableExists(dataTableName);
+        this.datatableSchemaRegistry.invalidate();
 
         Map<String, Object> paramMap = new HashMap<>(3);
         final String registerDatatableSql = "insert into x_registered_table (registered_table_name, application_table_name,category) values ( :dataTableName, :applicationTableName, :category)";
@@ -362,6 +390,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlArray[3] = deleteFromConfigurationSql;
 
         this.jdbcTemplate.batchUpdate(sqlArray);
+        this.datatableSchemaRegistry.invalidate();
     }
 
     @Transactional
@@ -428,6 +457,126 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         }
     }
 
+    /**
+     * Creates entries of one datatable for many application table rows.
+     *
+     * All rows are validated against the (cached) column schema first; rows failing validation or data scoping are reported
+     * and skipped. The remaining rows are written in chunks, each in its own transaction, so a failing row never rolls back the
+     * rows written before it.
+     */
+    @Override
+    public DatatableBulkEntryResultData createDatatableEntries(final String dataTableName, final String json) {
+        if (this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_" + dataTableName)) {
+            throw new GeneralPlatformDomainRuleException("error.msg.datatable.bulk.entry.maker.checker.enabled",
+                    "Bulk entries are not supported for datatable `" + dataTableName + "` as maker checker is enabled for it.",
+                    dataTableName);
+        }
+
+        final String appTable = queryForApplicationTableName(dataTableName);
+        final String fkName = getFKField(appTable);
+        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName);
+
+        final JsonObject request = this.fromJsonHelper.parse(json).getAsJsonObject();
+        final JsonArray rows = request.has("rows") && request.get("rows").isJsonArray() ? request.getAsJsonArray("rows") : new JsonArray();
+        if (rows.size() == 0) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError(
+                    "validation.msg.datatable.bulk.rows.cannot.be.blank", "The parameter `rows` must contain at least one row.", "rows")));
+        }
+        if (rows.size() > this.bulkEntryMaxRows) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError(
+                    "validation.msg.datatable.bulk.rows.exceeds.max", "The parameter `rows` can contain at most " + this.bulkEntryMaxRows
+                            + " rows.", "rows", this.bulkEntryMaxRows)));
+        }
+        final String defaultLocale = this.fromJsonHelper.extractStringNamed("locale", request);
+        final String defaultDateFormat = this.fromJsonHelper.extractStringNamed("dateFormat", request);
+
+        final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
+        final List<DatatableBulkEntryErrorData> errors = new ArrayList<>();
+        final List<DatatableBulkEntryWriter.Row> validRows = new ArrayList<>();
+        final Set<Long> appTableIdsInScope = new HashSet<>();
+        for (int index = 0; index < rows.size(); index++) {
+            final JsonElement row = rows.get(index);
+            final Long appTableId = extractBulkEntryAppTableId(row);
+            if (appTableId == null) {
+                errors.add(new DatatableBulkEntryErrorData(index, null, "validation.msg.datatable.bulk.apptableId.cannot.be.blank",
+                        "apptableId", "The parameter `apptableId` is mandatory."));
+                continue;
+            }
+            try {
+                if (!appTableIdsInScope.contains(appTableId)) {
+                    checkMainResourceExistsWithinScope(appTable, appTableId);
+                    appTableIdsInScope.add(appTableId);
+                }
+
+                final Map<String, String> dataParams = this.fromJsonHelper.extractDataMap(typeOfMap, row.toString());
+                dataParams.remove("apptableId");
+                if (defaultLocale != null) {
+                    dataParams.putIfAbsent("locale", defaultLocale);
+                }
+                if (defaultDateFormat != null) {
+                    dataParams.putIfAbsent("dateFormat", defaultDateFormat);
+                }
+                validRows.add(new DatatableBulkEntryWriter.Row(index, appTableId, getInsertValues(columnHeaders, dataParams, fkName)));
+            } catch (final PlatformApiDataValidationException e) {
+                for (final ApiParameterError error : e.getErrors()) {
+                    errors.add(new DatatableBulkEntryErrorData(index, appTableId, error.getUserMessageGlobalisationCode(),
+                            error.getParameterName(), error.getDefaultUserMessage()));
+                }
+            } catch (final AbstractPlatformException e) {
+                errors.add(new DatatableBulkEntryErrorData(index, appTableId, e.getGlobalisationMessageCode(), null,
+                        e.getDefaultUserMessage()));
+            }
+        }
+
+        int rowsCreated = 0;
+        for (int from = 0; from < validRows.size(); from += this.bulkEntryChunkSize) {
+            final List<DatatableBulkEntryWriter.Row> chunk = validRows.subList(from,
+                    Math.min(from + this.bulkEntryChunkSize, validRows.size()));
+            final List<DatatableBulkEntryErrorData> chunkErrors = this.datatableBulkEntryWriter.writeChunk(dataTableName, fkName, chunk);
+            rowsCreated += chunk.size() - chunkErrors.size();
+            errors.addAll(chunkErrors);
+        }
+        errors.sort(Comparator.comparingInt(DatatableBulkEntryErrorData::getRowIndex));
+
+        return new DatatableBulkEntryResultData(dataTableName, rows.size(), rowsCreated, errors);
+    }
+
+    private Long extractBulkEntryAppTableId(final JsonElement row) {
+        if (!row.isJsonObject()) {
+            return null;
+        }
+        try {
+            return this.fromJsonHelper.extractLongNamed("apptableId", row);
+        } catch (final PlatformApiDataValidationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Validated values of a row in column order, converted like {@link #getAddSql} does for bind parameters.
+     */
+    private Map<String, String> getInsertValues(final List<ResultsetColumnHeaderData> columnHeaders,
+            final Map<String, String> queryParams, final String fkName) {
+
+        final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, queryParams, fkName);
+
+        final Map<String, String> insertValues = new LinkedHashMap<>();
+        for (final ResultsetColumnHeaderData pColumnHeader : columnHeaders) {
+            final String key = pColumnHeader.getColumnName();
+            if (affectedColumns.containsKey(key)) {
+                final String pValue = affectedColumns.get(key);
+                if (StringUtils.isEmpty(pValue)) {
+                    insertValues.put(key, null);
+                } else if ("bit".equalsIgnoreCase(pColumnHeader.getColumnType())) {
+                    insertValues.put(key, BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "1", "0", null));
+                } else {
+                    insertValues.put(key, pValue);
+                }
+            }
+        }
+        return insertValues;
+    }
+
     @Override
     public CommandProcessingResult createPPIEntry(final String dataTableName, final Long appTableId, final JsonCommand command) {
 
@@ -890,6 +1039,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String apptableName = this.fromJsonHelper.extractStringNamed("apptableName", element);
 
             validateDatatableName(datatableName);
+            // the columns are changed based on the current definition, not on a cached one
+            this.datatableSchemaRegistry.invalidate();
             int rowCount = getRowCount(datatableName);
             final List<ResultsetColumnHeaderData> columnHeaderData = this.genericDataService.fillResultsetColumnHeaders(datatableName);
             final Map<String, ResultsetColumnHeaderData> mapColumnNameDefinition = new HashMap<>();
@@ -1423,6 +1574,10 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private String queryForApplicationTableName(final String datatable) {
         SQLInjectionValidator.validateSQLInput(datatable);
+        return this.datatableSchemaRegistry.getApplicationTableName(datatable, () -> loadApplicationTableName(datatable));
+    }
+
+    private String loadApplicationTableName(final String datatable) {
         final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '" + datatable + "'";
 
         final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
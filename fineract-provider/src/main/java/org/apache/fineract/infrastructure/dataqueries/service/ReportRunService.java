@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
+
+/**
+ * Runs reports in the background: a run is submitted, polled and its result downloaded once it completed.
+ */
+public interface ReportRunService {
+
+    String REFRESH_PARAMETER = "refresh";
+
+    /**
+     * Submits a run of the report with the given query parameters, or returns a completed or in-flight run of the same report
+     * with the same parameters and data scope, unless <code>refresh</code> is set.
+     */
+    ReportRunData submit(String reportName, MultivaluedMap<String, String> queryParams, boolean isSelfServiceUserReport,
+            boolean refresh);
+
+    ReportRunData retrieveRun(Long runId);
+
+    Response retrieveResult(Long runId);
+}
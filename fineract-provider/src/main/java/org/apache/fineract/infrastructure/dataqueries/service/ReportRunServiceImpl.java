@@ -0,0 +1,566 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import javax.annotation.PreDestroy;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.service.ReadOnlyRoutingContext;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunStatus;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportRunNotFoundException;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs reports on a dedicated, bounded pool of worker threads and keeps their output on disk.
+ *
+ * Each run is a row of <code>m_report_run</code>. Its result is written to a file under
+ * <code>fineract.reports.async.directory</code> and served for <code>fineract.reports.async.result-ttl-seconds</code>; a
+ * submit of the same report, with the same parameters and for the same data scope, in that time returns the completed run
+ * instead of running the report again, and a submit while such a run is still queued or running joins it. The data scope is
+ * the office hierarchy of the user, plus the user for reports whose SQL refers to <code>${currentUserId}</code> and for
+ * Pentaho reports, which are always given the user; the report SQL is part of the key, so editing a report is never served
+ * a stale result.
+ *
+ * Report queries run on the worker threads only, so <code>fineract.reports.async.threads</code> also bounds the connections
+ * background reports take from the tenant pool. Runs that did not finish within <code>fineract.reports.async.max-run-seconds</code>
+ * are not joined anymore. In a cluster the result directory has to be shared by the nodes.
+ *
+ * Queued runs are kept in memory, so a queued or running run is leased by its node, which renews the lease every third of
+ * <code>fineract.reports.async.lease-seconds</code>. Runs whose lease ran out are not joined and are failed by any node, and a
+ * node that starts again fails the runs it left behind right away. Leases are set and checked against the database clock, so
+ * they do not depend on the clocks of the nodes agreeing.
+ */
+@Service
+public class ReportRunServiceImpl implements ReportRunService, ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportRunServiceImpl.class);
+
+    public static final String POOL_SIZE_PROPERTY = "fineract.reports.async.threads";
+    public static final String QUEUE_CAPACITY_PROPERTY = "fineract.reports.async.queue-capacity";
+    public static final String RESULT_TTL_SECONDS_PROPERTY = "fineract.reports.async.result-ttl-seconds";
+    public static final String MAX_RUN_SECONDS_PROPERTY = "fineract.reports.async.max-run-seconds";
+    public static final String DIRECTORY_PROPERTY = "fineract.reports.async.directory";
+    public static final String LEASE_SECONDS_PROPERTY = "fineract.reports.async.lease-seconds";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+    private static final int DEFAULT_RESULT_TTL_SECONDS = 600;
+    private static final int DEFAULT_MAX_RUN_SECONDS = 3600;
+    private static final int DEFAULT_LEASE_SECONDS = 90;
+    private static final int PURGE_BATCH_SIZE = 100;
+
+    private static final String TABLE_REPORT_TYPE = "Table";
+    private static final String CURRENT_USER_ID_PLACEHOLDER = "${currentUserId}";
+
+    private static final String RUN_SCHEMA = "select id, report_name, data_scope, status, content_type, file_name, result_location, "
+            + "result_size, error_message, submitted_at, started_at, finished_at, expires_at from m_report_run ";
+
+    static final String REPORT_SQL = "select report_type, report_sql from stretchy_report where report_name = ? and "
+            + "self_service_user_report = ?";
+    static final String REUSABLE_RUN_SQL = "select id from m_report_run where cache_key = ? and ((status = ? and expires_at > ?) or "
+            + "(status in (?, ?) and submitted_at > ? and lease_until > now())) order by id desc limit 1";
+    static final String INSERT_RUN_SQL = "insert into m_report_run (report_name, cache_key, data_scope, node_id, lease_until, status, "
+            + "submittedby_id, submitted_at) values (?, ?, ?, ?, date_add(now(), interval ? second), ?, ?, ?)";
+    static final String RETRIEVE_RUN_SQL = RUN_SCHEMA + "where id = ?";
+    static final String CLAIM_RUN_SQL = "update m_report_run set status = ?, started_at = ? where id = ? and status = ?";
+    static final String COMPLETE_RUN_SQL = "update m_report_run set status = ?, content_type = ?, file_name = ?, result_location = ?, "
+            + "result_size = ?, finished_at = ?, expires_at = ? where id = ?";
+    static final String FINISH_RUN_SQL = "update m_report_run set status = ?, error_message = ?, finished_at = ? where id = ?";
+    static final String FAIL_LEFT_BEHIND_SQL = "update m_report_run set status = ?, error_message = ?, finished_at = ? "
+            + "where node_id = ? and status in (?, ?)";
+    static final String RENEW_LEASE_SQL = "update m_report_run set lease_until = date_add(now(), interval ? second) "
+            + "where id = ? and node_id = ? and status in (?, ?)";
+    static final String FAIL_EXPIRED_SQL = "update m_report_run set status = ?, error_message = ?, finished_at = ? "
+            + "where status in (?, ?) and lease_until < now()";
+    static final String EXPIRED_RESULTS_SQL = "select id, result_location from m_report_run where status = ? and expires_at < ? "
+            + "limit " + PURGE_BATCH_SIZE;
+    static final String EXPIRE_RESULT_SQL = "update m_report_run set status = ?, result_location = null where id = ? and status = ?";
+
+    private final PlatformSecurityContext context;
+    private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final TenantDetailsService tenantDetailsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final LongSupplier clock;
+    private final Path directory;
+    private final long resultTtlMillis;
+    private final long maxRunMillis;
+    private final String nodeId;
+    private final int leaseSeconds;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor leaseExecutor;
+    private final Object submitLock = new Object();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    // the runs of this node that are queued or running, by tenant and id
+    private final ConcurrentMap<String, InFlightRun> inFlightRuns = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportRunServiceImpl(final PlatformSecurityContext context,
+            final ReportingProcessServiceProvider reportingProcessServiceProvider, final TenantDetailsService tenantDetailsService,
+            final RoutingDataSource dataSource, final Environment env) {
+        this(context, reportingProcessServiceProvider, tenantDetailsService, new JdbcTemplate(dataSource), env, System::currentTimeMillis);
+    }
+
+    ReportRunServiceImpl(final PlatformSecurityContext context, final ReportingProcessServiceProvider reportingProcessServiceProvider,
+            final TenantDetailsService tenantDetailsService, final JdbcTemplate jdbcTemplate, final Environment env,
+            final LongSupplier clock) {
+        this.context = context;
+        this.reportingProcessServiceProvider = reportingProcessServiceProvider;
+        this.tenantDetailsService = tenantDetailsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.directory = Paths
+                .get(env.getProperty(DIRECTORY_PROPERTY, FileSystemContentRepository.FINERACT_BASE_DIR + File.separator + "report-runs"));
+        this.resultTtlMillis = TimeUnit.SECONDS
+                .toMillis(Math.max(0, env.getProperty(RESULT_TTL_SECONDS_PROPERTY, Integer.class, DEFAULT_RESULT_TTL_SECONDS)));
+        this.maxRunMillis = TimeUnit.SECONDS
+                .toMillis(Math.max(1, env.getProperty(MAX_RUN_SECONDS_PROPERTY, Integer.class, DEFAULT_MAX_RUN_SECONDS)));
+        final int poolSize = Math.max(1, env.getProperty(POOL_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_SIZE));
+        final int queueCapacity = Math.max(1, env.getProperty(QUEUE_CAPACITY_PROPERTY, Integer.class, DEFAULT_QUEUE_CAPACITY));
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-run-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.nodeId = StringUtils.left(env.getProperty(JobClusterService.NODE_ID_PROPERTY, ManagementFactory.getRuntimeMXBean().getName()),
+                100);
+        this.leaseSeconds = Math.max(30, env.getProperty(LEASE_SECONDS_PROPERTY, Integer.class, DEFAULT_LEASE_SECONDS));
+        this.leaseExecutor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("report-run-lease-"));
+    }
+
+    @Override
+    public ReportRunData submit(final String reportName, final MultivaluedMap<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final boolean refresh) {
+        final AppUser currentUser = this.context.authenticatedUser();
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+
+        final List<Map<String, Object>> reports = this.jdbcTemplate.queryForList(REPORT_SQL, reportName, isSelfServiceUserReport);
+        if (reports.isEmpty()) {
+            throw new ReportNotFoundException(reportName);
+        }
+        final String reportType = Objects.toString(reports.get(0).get("report_type"), "");
+        final String reportSql = (String) reports.get(0).get("report_sql");
+        final ReportingProcessService reportingProcessService = this.reportingProcessServiceProvider
+                .findReportingProcessService(reportType);
+        if (reportingProcessService == null) {
+            throw new PlatformServiceUnavailableException("err.msg.report.service.implementation.missing",
+                    ReportingProcessServiceProvider.SERVICE_MISSING + reportType, reportType);
+        }
+
+        final boolean userScoped = !TABLE_REPORT_TYPE.equals(reportType) || reportSql == null
+                || reportSql.contains(CURRENT_USER_ID_PLACEHOLDER);
+        final String hierarchy = currentUser.getOffice().getHierarchy();
+        final String dataScope = userScoped ? userScope(hierarchy, currentUser.getId()) : hierarchy;
+        final String cacheKey = cacheKey(tenant.getTenantIdentifier(), reportName, reportType + '\n' + reportSql, dataScope,
+                queryParams);
+
+        final Long runId;
+        synchronized (this.submitLock) {
+            final long now = this.clock.getAsLong();
+            if (!refresh) {
+                final List<Long> reusable = this.jdbcTemplate.queryForList(REUSABLE_RUN_SQL, Long.class, cacheKey,
+                        ReportRunStatus.COMPLETED.name(), new Timestamp(now), ReportRunStatus.QUEUED.name(), ReportRunStatus.RUNNING.name(),
+                        new Timestamp(now - this.maxRunMillis));
+                if (!reusable.isEmpty()) {
+                    return retrieveRun(reusable.get(0));
+                }
+            }
+            runId = insertRun(reportName, cacheKey, dataScope, currentUser.getId(), now);
+        }
+        final String inFlightKey = tenant.getTenantIdentifier() + '/' + runId;
+        this.inFlightRuns.put(inFlightKey, new InFlightRun(tenant, runId));
+
+        final MultivaluedMap<String, String> reportParams = new MultivaluedMapImpl();
+        reportParams.putAll(queryParams);
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        try {
+            this.executor.execute(() -> {
+                ThreadLocalContextUtil.setTenant(tenant);
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    runReport(runId, tenant.getTenantIdentifier(), reportName, reportingProcessService, reportParams);
+                } finally {
+                    this.inFlightRuns.remove(inFlightKey);
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.clearTenant();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.inFlightRuns.remove(inFlightKey);
+            finishRun(runId, ReportRunStatus.FAILED, "Too many reports are waiting to run");
+            throw new PlatformServiceUnavailableException("err.msg.report.run.queue.full",
+                    "Too many reports are waiting to run, try again later", reportName, e);
+        }
+        return retrieveRun(runId);
+    }
+
+    @Override
+    public ReportRunData retrieveRun(final Long runId) {
+        final ReportRunData run;
+        try {
+            run = this.jdbcTemplate.queryForObject(RETRIEVE_RUN_SQL, new ReportRunMapper(), runId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new ReportRunNotFoundException(runId, e);
+        }
+        // runs are only visible to users who could have submitted them with the same result
+        final AppUser currentUser = this.context.authenticatedUser();
+        final String hierarchy = currentUser.getOffice().getHierarchy();
+        final boolean inScope = run.getDataScope().equals(hierarchy)
+                || run.getDataScope().equals(userScope(hierarchy, currentUser.getId()));
+        if (!inScope || currentUser.hasNotPermissionForReport(run.getReportName())) {
+            throw new ReportRunNotFoundException(runId);
+        }
+        return run;
+    }
+
+    @Override
+    public Response retrieveResult(final Long runId) {
+        final ReportRunData run = retrieveRun(runId);
+        if (run.getStatus() != ReportRunStatus.COMPLETED) {
+            throw new GeneralPlatformDomainRuleException("error.msg.report.run.result.not.available",
+                    "Report run " + runId + " has no result, its status is " + run.getStatus(), runId, run.getStatus());
+        }
+        final File result = new File(run.getResultLocation());
+        if (!result.isFile()) {
+            throw new PlatformInternalServerException("error.msg.report.run.result.missing",
+                    "The result of report run " + runId + " is not available on this node", runId);
+        }
+        return Response.ok(result, run.getContentType())
+                .header("Content-Disposition", "attachment; filename=\"" + run.getFileName() + "\"").build();
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                // the queue of this node was lost when it stopped
+                final int abandoned = this.jdbcTemplate.update(FAIL_LEFT_BEHIND_SQL, ReportRunStatus.FAILED.name(),
+                        "The node running the report was restarted", new Timestamp(this.clock.getAsLong()), this.nodeId,
+                        ReportRunStatus.QUEUED.name(), ReportRunStatus.RUNNING.name());
+                if (abandoned > 0) {
+                    LOG.warn("Failed {} report runs of tenant {} left behind by node {}", abandoned, tenant.getTenantIdentifier(),
+                            this.nodeId);
+                }
+            } catch (DataAccessException e) {
+                LOG.error("Could not fail the report runs of tenant {} left behind by node {}", tenant.getTenantIdentifier(), this.nodeId,
+                        e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+        final long period = TimeUnit.SECONDS.toMillis(this.leaseSeconds) / 3;
+        this.leaseExecutor.scheduleWithFixedDelay(this::maintainLeases, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.leaseExecutor.shutdownNow();
+        this.executor.shutdownNow();
+        LOG.info("Shutting down the report run executor");
+    }
+
+    private void maintainLeases() {
+        try {
+            renewLeases();
+            failExpiredRuns();
+        } catch (RuntimeException e) {
+            // an exception would cancel all further runs of the schedule
+            LOG.error("Could not maintain the leases of the report runs", e);
+        }
+    }
+
+    void renewLeases() {
+        for (final InFlightRun run : this.inFlightRuns.values()) {
+            ThreadLocalContextUtil.setTenant(run.tenant);
+            try {
+                this.jdbcTemplate.update(RENEW_LEASE_SQL, this.leaseSeconds, run.runId, this.nodeId, ReportRunStatus.QUEUED.name(),
+                        ReportRunStatus.RUNNING.name());
+            } catch (DataAccessException e) {
+                LOG.warn("Could not renew the lease of report run {} of tenant {}", run.runId, run.tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    void failExpiredRuns() {
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                final int expired = this.jdbcTemplate.update(FAIL_EXPIRED_SQL, ReportRunStatus.FAILED.name(),
+                        "The node running the report stopped", new Timestamp(this.clock.getAsLong()), ReportRunStatus.QUEUED.name(),
+                        ReportRunStatus.RUNNING.name());
+                if (expired > 0) {
+                    LOG.warn("Failed {} report runs of tenant {} whose node stopped renewing their lease", expired,
+                            tenant.getTenantIdentifier());
+                }
+            } catch (DataAccessException e) {
+                LOG.error("Could not fail the abandoned report runs of tenant {}", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    private Long insertRun(final String reportName, final String cacheKey, final String dataScope, final Long submittedBy,
+            final long submittedAt) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.update(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(INSERT_RUN_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, reportName);
+            ps.setString(2, cacheKey);
+            ps.setString(3, dataScope);
+            ps.setString(4, this.nodeId);
+            ps.setInt(5, this.leaseSeconds);
+            ps.setString(6, ReportRunStatus.QUEUED.name());
+            ps.setLong(7, submittedBy);
+            ps.setTimestamp(8, new Timestamp(submittedAt));
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private void runReport(final Long runId, final String tenantIdentifier, final String reportName,
+            final ReportingProcessService reportingProcessService, final MultivaluedMap<String, String> reportParams) {
+        final int claimed = this.jdbcTemplate.update(CLAIM_RUN_SQL, ReportRunStatus.RUNNING.name(), new Timestamp(this.clock.getAsLong()),
+                runId, ReportRunStatus.QUEUED.name());
+        if (claimed == 0) {
+            return;
+        }
+        Path result = null;
+        try {
+            final Response response = ReadOnlyRoutingContext.call(() -> reportingProcessService.processRequest(reportName, reportParams));
+            result = writeResult(runId, tenantIdentifier, response);
+            final String contentType = StringUtils.defaultIfEmpty(header(response, HttpHeaders.CONTENT_TYPE),
+                    MediaType.APPLICATION_OCTET_STREAM);
+            final String fileName = StringUtils.defaultIfEmpty(fileName(header(response, "Content-Disposition")), reportName);
+            final long finishedAt = this.clock.getAsLong();
+            this.jdbcTemplate.update(COMPLETE_RUN_SQL, ReportRunStatus.COMPLETED.name(), StringUtils.left(contentType, 100),
+                    StringUtils.left(fileName, 250), result.toString(), Files.size(result), new Timestamp(finishedAt),
+                    new Timestamp(finishedAt + this.resultTtlMillis), runId);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Report run {} of {} for tenant {} failed", runId, reportName, tenantIdentifier, e);
+            deleteQuietly(result);
+            finishRun(runId, ReportRunStatus.FAILED, e.getMessage());
+        }
+        purgeExpiredResults();
+    }
+
+    private void finishRun(final Long runId, final ReportRunStatus status, final String errorMessage) {
+        this.jdbcTemplate.update(FINISH_RUN_SQL, status.name(), StringUtils.left(errorMessage, 1000),
+                new Timestamp(this.clock.getAsLong()), runId);
+    }
+
+    private Path writeResult(final Long runId, final String tenantIdentifier, final Response response) throws IOException {
+        if (response.getStatus() >= Response.Status.BAD_REQUEST.getStatusCode()) {
+            throw new IOException("The report returned status " + response.getStatus());
+        }
+        final Path tenantDirectory = Files.createDirectories(this.directory.resolve(tenantIdentifier));
+        final Path temp = Files.createTempFile(tenantDirectory, runId + "-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writeEntity(response.getEntity(), out);
+            }
+            return Files.move(temp, tenantDirectory.resolve(runId.toString()), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeEntity(final Object entity, final OutputStream out) throws IOException {
+        if (entity instanceof String) {
+            out.write(((String) entity).getBytes(StandardCharsets.UTF_8));
+        } else if (entity instanceof byte[]) {
+            out.write((byte[]) entity);
+        } else if (entity instanceof File) {
+            Files.copy(((File) entity).toPath(), out);
+        } else if (entity instanceof StreamingOutput) {
+            try {
+                ((StreamingOutput) entity).write(out);
+            } catch (WebApplicationException e) {
+                throw new IOException(e);
+            }
+        } else {
+            throw new IOException("Unsupported report output " + (entity == null ? null : entity.getClass().getName()));
+        }
+    }
+
+    /**
+     * Removes the result files of runs that expired, which are then kept as {@link ReportRunStatus#EXPIRED}.
+     */
+    private void purgeExpiredResults() {
+        final List<Map<String, Object>> expired = this.jdbcTemplate.queryForList(EXPIRED_RESULTS_SQL, ReportRunStatus.COMPLETED.name(),
+                new Timestamp(this.clock.getAsLong()));
+        for (final Map<String, Object> run : expired) {
+            final String location = (String) run.get("result_location");
+            deleteQuietly(location == null ? null : Paths.get(location));
+            this.jdbcTemplate.update(EXPIRE_RESULT_SQL, ReportRunStatus.EXPIRED.name(), run.get("id"), ReportRunStatus.COMPLETED.name());
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete report result {}", file, e);
+        }
+    }
+
+    private static String header(final Response response, final String name) {
+        // report services do not agree on the case of header names
+        for (final Map.Entry<String, List<Object>> header : response.getMetadata().entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return String.valueOf(header.getValue().get(0));
+            }
+        }
+        return null;
+    }
+
+    static String fileName(final String contentDisposition) {
+        final int start = StringUtils.indexOfIgnoreCase(contentDisposition, "filename=");
+        if (start < 0) {
+            return null;
+        }
+        final String fileName = StringUtils.substringBefore(contentDisposition.substring(start + "filename=".length()), ";").trim();
+        return StringUtils.strip(fileName, "\"");
+    }
+
+    private static String userScope(final String hierarchy, final Long userId) {
+        return hierarchy + '#' + userId;
+    }
+
+    /**
+     * @return a digest of everything the output of a run depends on; the order of the query parameters does not matter
+     */
+    static String cacheKey(final String tenantIdentifier, final String reportName, final String definition, final String dataScope,
+            final MultivaluedMap<String, String> queryParams) {
+        final Hasher hasher = Hashing.sha256().newHasher().putString(tenantIdentifier, StandardCharsets.UTF_8).putChar('\0')
+                .putString(reportName, StandardCharsets.UTF_8).putChar('\0').putString(String.valueOf(definition), StandardCharsets.UTF_8)
+                .putChar('\0').putString(dataScope, StandardCharsets.UTF_8);
+        for (final Map.Entry<String, List<String>> param : new TreeMap<>(queryParams).entrySet()) {
+            if (!REFRESH_PARAMETER.equals(param.getKey())) {
+                hasher.putChar('\0').putString(param.getKey(), StandardCharsets.UTF_8);
+                for (final String value : param.getValue()) {
+                    hasher.putChar('\1').putString(String.valueOf(value), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static final class InFlightRun {
+
+        private final FineractPlatformTenant tenant;
+        private final Long runId;
+
+        InFlightRun(final FineractPlatformTenant tenant, final Long runId) {
+            this.tenant = tenant;
+            this.runId = runId;
+        }
+    }
+
+    private static final class ReportRunMapper implements RowMapper<ReportRunData> {
+
+        @Override
+        public ReportRunData mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+            return new ReportRunData(rs.getLong("id"), rs.getString("report_name"), ReportRunStatus.valueOf(rs.getString("status")),
+                    rs.getString("content_type"), rs.getString("file_name"), JdbcSupport.getLong(rs, "result_size"),
+                    rs.getString("error_message"), date(rs.getTimestamp("submitted_at")), date(rs.getTimestamp("started_at")),
+                    date(rs.getTimestamp("finished_at")), date(rs.getTimestamp("expires_at")), rs.getString("result_location"),
+                    rs.getString("data_scope"));
+        }
+
+        private static Date date(final Timestamp timestamp) {
+            return timestamp == null ? null : new Date(timestamp.getTime());
+        }
+    }
+}
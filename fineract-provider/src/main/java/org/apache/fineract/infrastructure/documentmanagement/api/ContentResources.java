@@ -18,11 +18,20 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
 import com.google.common.io.ByteSource;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,32 +39,161 @@ import org.slf4j.LoggerFactory;
 /**
  * Utilities common to file upload/download resources.
  *
+ * Content is streamed to the client while JAX-RS writes the response, so it is never held in memory as a whole and the
+ * underlying stream is closed once written. Files on the local file system are copied with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ *
  * @author Michael Vorburger.ch
  */
 final class ContentResources {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContentResources.class);
 
+    private static final int PARTIAL_CONTENT = 206;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+
     private ContentResources() {}
 
     static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType) {
-        ResponseBuilder response;
-        try {
-            ByteSource byteSource = fileData.getByteSource();
-            // TODO Where is this InputStream closed?! It needs to be AFTER it's read by JAX-RS.. how to do that?
-            InputStream is = byteSource.openBufferedStream();
-            response = Response.ok(is);
-            response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
-            response.header("Content-Length", byteSource.sizeIfKnown().or(-1L));
-            response.header("Content-Type", fileData.contentType());
-        } catch (IOException e) {
-            LOG.error("resizedImage.getByteSource().openBufferedStream() failed", e);
-            response = Response.serverError();
-        }
-        return response.build();
+        return fileDataToResponse(fileData, fileName, dispositionType, null, null, null);
     }
 
     static Response fileDataToResponse(FileData fileData, String dispositionType) {
         return fileDataToResponse(fileData, fileData.name(), dispositionType);
     }
+
+    /**
+     * Like {@link #fileDataToResponse(FileData, String, String)}, but answers <code>304 Not Modified</code> when the
+     * If-None-Match header matches the entity tag of the file data, and serves a single byte range (if requested with a
+     * Range header that is still valid according to If-Range) as <code>206 Partial Content</code>.
+     */
+    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType, String ifNoneMatch, String range,
+            String ifRange) {
+        final String eTag = fileData.eTag();
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return Response.notModified().header("ETag", eTag).build();
+        }
+
+        final ByteSource byteSource = fileData.getByteSource();
+        final ByteRange byteRange = range != null && (ifRange == null || ifRange.equals(eTag)) ? ByteRange.parse(fileData, range) : null;
+        final ResponseBuilder response;
+        if (byteRange == null) {
+            response = Response.ok(stream(fileData, byteSource, 0, -1));
+            // without a known size the response is chunked
+            final Optional<Long> size = byteSource.sizeIfKnown();
+            if (size.isPresent()) {
+                response.header("Content-Length", size.get());
+            }
+        } else if (!byteRange.isSatisfiable()) {
+            return Response.status(RANGE_NOT_SATISFIABLE).header("Content-Range", "bytes */" + byteRange.size).build();
+        } else {
+            final long length = byteRange.end - byteRange.start + 1;
+            response = Response.status(PARTIAL_CONTENT)
+                    .entity(stream(fileData, byteSource.slice(byteRange.start, length), byteRange.start, length));
+            response.header("Content-Range", "bytes " + byteRange.start + "-" + byteRange.end + "/" + byteRange.size);
+            response.header("Content-Length", length);
+            response.header("Accept-Ranges", "bytes");
+        }
+        response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
+        response.header("Content-Type", fileData.contentType());
+        if (eTag != null) {
+            response.header("ETag", eTag);
+            // private content: clients may keep it, but have to check it is still current before using it
+            response.header("Cache-Control", "private, no-cache");
+        }
+        return response.build();
+    }
+
+    /**
+     * @return whether an If-None-Match header value (a list of entity tags, or *) matches the entity tag
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : Splitter.on(',').trimResults().omitEmptyStrings().split(ifNoneMatch)) {
+            final String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param length
+     *            number of bytes to stream from offset, or -1 for all of the content; the byte source must already be
+     *            sliced accordingly
+     */
+    private static StreamingOutput stream(FileData fileData, ByteSource byteSource, long offset, long length) {
+        final File file = fileData.file();
+        if (file == null) {
+            return byteSource::copyTo;
+        }
+        return output -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final WritableByteChannel target = Channels.newChannel(output);
+                final long end = length < 0 ? channel.size() : Math.min(offset + length, channel.size());
+                long position = offset;
+                while (position < end) {
+                    final long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+            }
+        };
+    }
+
+    /**
+     * A single byte range requested with a Range header, resolved against the size of the content.
+     */
+    private static final class ByteRange {
+
+        private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+        private final long start;
+        private final long end;
+        private final long size;
+
+        private ByteRange(long start, long end, long size) {
+            this.start = start;
+            this.end = end;
+            this.size = size;
+        }
+
+        /**
+         * @return the requested range, or null when the range is malformed, asks for several ranges or the size of the
+         *         content is unknown; the whole content is served then
+         */
+        static ByteRange parse(FileData fileData, String range) {
+            final Matcher matcher = SINGLE_BYTE_RANGE.matcher(range.trim());
+            if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                return null;
+            }
+            final long size;
+            try {
+                size = fileData.file() != null ? fileData.file().length() : fileData.getByteSource().size();
+            } catch (IOException e) {
+                LOG.warn("Size of {} unknown, serving the whole content instead of range {}", fileData.name(), range, e);
+                return null;
+            }
+            try {
+                if (matcher.group(1).isEmpty()) {
+                    // suffix range: the last n bytes
+                    return new ByteRange(Math.max(0, size - Long.parseLong(matcher.group(2))), size - 1, size);
+                }
+                final long start = Long.parseLong(matcher.group(1));
+                final long end = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+                return new ByteRange(start, end, size);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        boolean isSatisfiable() {
+            return this.start < this.size && this.start <= this.end;
+        }
+    }
 }
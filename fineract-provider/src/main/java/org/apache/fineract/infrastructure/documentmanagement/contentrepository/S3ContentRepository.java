@@ -105,26 +105,13 @@ public class S3ContentRepository implements ContentRepository {
 
     @Override
     public FileData fetchFile(final DocumentData documentData) throws DocumentNotFoundException {
-        return new FileData(new ByteSource() {
-
-            @Override
-            public InputStream openStream() throws IOException {
-                final S3Object s3object = getObject(documentData.fileLocation());
-                return s3object.getObjectContent();
-            }
-        }, documentData.fileName(), documentData.contentType());
+        return new FileData(new S3ObjectByteSource(documentData.fileLocation()), documentData.fileName(), documentData.contentType());
     }
 
     @Override
     public FileData fetchImage(final ImageData imageData) {
-        return new FileData(new ByteSource() {
-
-            @Override
-            public InputStream openStream() throws IOException {
-                final S3Object s3object = getObject(imageData.location());
-                return s3object.getObjectContent();
-            }
-        }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(new S3ObjectByteSource(imageData.location()), imageData.getEntityDisplayName(),
+                imageData.contentType().getValue());
     }
 
     @Override
@@ -163,14 +150,66 @@ public class S3ContentRepository implements ContentRepository {
         }
     }
 
-    private S3Object getObject(String key) {
+    private S3Object getObject(final GetObjectRequest request) {
+        final String key = request.getKey();
         try {
             LOG.info("Downloading an object from Amazon S3 Bucket: {}, location: {}", this.s3BucketName, key);
-            return this.s3Client.getObject(new GetObjectRequest(this.s3BucketName, key));
+            return this.s3Client.getObject(request);
         } catch (AmazonServiceException ase) {
             throw new ContentManagementException(key, ase.getMessage(), ase);
         } catch (final AmazonClientException ace) {
             throw new ContentManagementException(key, ace.getMessage(), ace);
         }
     }
+
+    /**
+     * Streams an object, or a byte range of it, straight from S3. Slices are fetched with ranged GET requests and the size
+     * is read from the object metadata, so serving part of a large document does not download the whole object.
+     */
+    private final class S3ObjectByteSource extends ByteSource {
+
+        private final String key;
+        private final long offset;
+        private final long length;
+
+        S3ObjectByteSource(final String key) {
+            this(key, 0, -1);
+        }
+
+        private S3ObjectByteSource(final String key, final long offset, final long length) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            if (this.length == 0) {
+                return InputStream.nullInputStream();
+            }
+            final GetObjectRequest request = new GetObjectRequest(s3BucketName, this.key);
+            if (this.length > 0) {
+                request.setRange(this.offset, this.offset + this.length - 1);
+            }
+            return getObject(request).getObjectContent();
+        }
+
+        @Override
+        public long size() throws IOException {
+            if (this.length >= 0) {
+                return this.length;
+            }
+            try {
+                return s3Client.getObjectMetadata(s3BucketName, this.key).getContentLength();
+            } catch (final AmazonClientException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public ByteSource slice(final long sliceOffset, final long sliceLength) {
+            final long available = this.length >= 0 ? Math.max(0, this.length - sliceOffset) : sliceLength;
+            return new S3ObjectByteSource(this.key, this.offset + sliceOffset, Math.min(sliceLength, available));
+        }
+    }
 }
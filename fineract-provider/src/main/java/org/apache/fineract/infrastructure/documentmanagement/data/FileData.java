@@ -19,17 +19,41 @@
 package org.apache.fineract.infrastructure.documentmanagement.data;
 
 import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import java.io.File;
 
 public class FileData {
 
     private final String fileName;
     private final String contentType;
     private final ByteSource byteSource;
+    private final File file;
+    private final String eTag;
 
     public FileData(final ByteSource byteSource, final String fileName, final String contentType) {
+        this(byteSource, null, fileName, contentType, null);
+    }
+
+    /**
+     * Content stored in a local file, which can be streamed to the client with {@link java.nio.channels.FileChannel}.
+     */
+    public FileData(final File file, final String fileName, final String contentType) {
+        this(Files.asByteSource(file), file, fileName, contentType, null);
+    }
+
+    private FileData(final ByteSource byteSource, final File file, final String fileName, final String contentType, final String eTag) {
         this.fileName = fileName;
         this.contentType = contentType;
         this.byteSource = byteSource;
+        this.file = file;
+        this.eTag = eTag;
+    }
+
+    /**
+     * @return a copy of this file data identified by the (quoted) entity tag, for conditional requests
+     */
+    public FileData withETag(final String eTag) {
+        return new FileData(this.byteSource, this.file, this.fileName, this.contentType, eTag);
     }
 
     public String contentType() {
@@ -43,4 +67,15 @@ public class FileData {
     public ByteSource getByteSource() {
         return this.byteSource;
     }
+
+    /**
+     * @return the local file holding the content, or null when the content is not stored on the local file system
+     */
+    public File file() {
+        return this.file;
+    }
+
+    public String eTag() {
+        return this.eTag;
+    }
 }
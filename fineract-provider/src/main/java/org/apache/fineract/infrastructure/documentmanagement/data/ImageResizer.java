@@ -18,7 +18,6 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.data;
 
-import com.google.common.io.ByteSource;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
@@ -31,40 +30,26 @@ import java.util.Optional;
 import javax.imageio.ImageIO;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ImageResizer {
 
-    private static final Logger LOG = LoggerFactory.getLogger(ImageResizer.class);
-
-    public FileData resize(FileData fileData, Integer maxWidth, Integer maxHeight) {
-        if (maxWidth == null && maxHeight != null) {
-            return fileData;
+    /**
+     * @return the image scaled down to fit within maxWidth and maxHeight, or empty if it already fits (or if no maxWidth
+     *         is given, in which case the image is not decoded at all)
+     */
+    public Optional<byte[]> resize(byte[] image, String fileName, Integer maxWidth, Integer maxHeight) throws IOException {
+        if (maxWidth == null) {
+            return Optional.empty();
         }
-        try (InputStream is = fileData.getByteSource().openBufferedStream()) {
-            Optional<InputStream> optResizedIS = resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileData.name()), is,
-                    maxWidth != null ? maxWidth : Integer.MAX_VALUE, maxHeight != null ? maxHeight : Integer.MAX_VALUE);
-            if (optResizedIS.isPresent()) {
-                FileData resizedImage = new FileData(new ByteSource() {
-
-                    @Override
-                    public InputStream openStream() throws IOException {
-                        return optResizedIS.get();
-                    }
-                }, fileData.name(), fileData.contentType());
-                return resizedImage;
-            }
-            return fileData;
-        } catch (IOException e) {
-            LOG.warn("resize() failed, returning original image: {}", e.getMessage(), e);
-            return fileData;
+        try (InputStream is = new ByteArrayInputStream(image)) {
+            return resizeImage(ContentRepositoryUtils.imageExtensionFromFileName(fileName), is, maxWidth,
+                    maxHeight != null ? maxHeight : Integer.MAX_VALUE);
         }
     }
 
-    private Optional<InputStream> resizeImage(ImageFileExtension fileExtension, InputStream in, int maxWidth, int maxHeight)
+    private Optional<byte[]> resizeImage(ImageFileExtension fileExtension, InputStream in, int maxWidth, int maxHeight)
             throws IOException {
         BufferedImage src = ImageIO.read(in);
         if (src.getWidth() <= maxWidth && src.getHeight() <= maxHeight) {
@@ -88,6 +73,6 @@ public class ImageResizer {
 
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         ImageIO.write(target, fileExtension != null ? fileExtension.getValueWithoutDot() : "jpeg", os);
-        return Optional.of(new ByteArrayInputStream(os.toByteArray()));
+        return Optional.of(os.toByteArray());
     }
 }
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.service;
 
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
@@ -69,7 +71,10 @@ public class DocumentReadPlatformServiceImpl implements DocumentReadPlatformServ
             final DocumentMapper mapper = new DocumentMapper(false, false);
             final DocumentData documentData = fetchDocumentDetails(entityType, entityId, documentId, mapper);
             final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(documentData.storageType());
-            return contentRepository.fetchFile(documentData);
+            // stored content is never overwritten: a new file always gets a new location, so id and location identify it
+            final String eTag = "\"" + documentData.getId() + "-"
+                    + Hashing.sha256().hashString(documentData.fileLocation(), StandardCharsets.UTF_8) + "\"";
+            return contentRepository.fetchFile(documentData).withETag(eTag);
         } catch (final EmptyResultDataAccessException e) {
             throw new DocumentNotFoundException(entityType, entityId, documentId, e);
         }
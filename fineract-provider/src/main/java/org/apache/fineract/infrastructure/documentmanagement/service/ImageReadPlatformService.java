@@ -24,4 +24,9 @@ public interface ImageReadPlatformService {
 
     FileData retrieveImage(String entityType, Long entityId);
 
+    /**
+     * @return the image scaled down to fit maxWidth and maxHeight, tagged with an entity tag for conditional requests
+     */
+    FileData retrieveImage(String entityType, Long entityId, Integer maxWidth, Integer maxHeight);
+
 }
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory LRU cache of image renditions, keyed by tenant, image and requested size, so that an image shown on every
+ * client screen is decoded and scaled once instead of on every request.
+ *
+ * Every rendition carries an entity tag computed from its content, which clients can send back to get a <code>304 Not
+ * Modified</code>. For images which already fit the requested size only the tag is kept and the stored image is served
+ * as is. The cache holds at most <code>fineract.images.rendition-cache.max-bytes</code> of image data over all tenants;
+ * the renditions of an image are dropped when a change of the image commits.
+ */
+@Component
+public class ImageRenditionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageRenditionCache.class);
+
+    public static final String MAX_BYTES_PROPERTY = "fineract.images.rendition-cache.max-bytes";
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.images.rendition-cache.max-age-seconds";
+
+    // accounted for renditions without image data, so a flood of them is still bounded
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final ImageResizer imageResizer;
+    private final TenantCache<RenditionKey, Rendition> renditions;
+
+    @Autowired
+    public ImageRenditionCache(final ImageResizer imageResizer, final Environment env) {
+        this.imageResizer = imageResizer;
+        final long maxBytes = Math.max(0L, env.getProperty(MAX_BYTES_PROPERTY, Long.class, 32L * 1024 * 1024));
+        this.renditions = TenantCache.<RenditionKey, Rendition>builder(env, MAX_AGE_SECONDS_PROPERTY, 300)
+                .maximumWeight(maxBytes, Rendition::sizeInBytes).build();
+    }
+
+    /**
+     * @return the image scaled down to fit maxWidth and maxHeight (see {@link ImageResizer#resize(byte[], String, Integer,
+     *         Integer)}), tagged with the entity tag of its content
+     */
+    public FileData render(final ImageData imageData, final FileData image, final Integer maxWidth, final Integer maxHeight) {
+        final RenditionKey key = new RenditionKey(imageData.imageId(), imageData.location(), maxWidth, maxHeight);
+        final Rendition rendition = this.renditions.get(key, () -> load(imageData, image, maxWidth, maxHeight));
+
+        if (rendition.image == null) {
+            return image.withETag(rendition.eTag);
+        }
+        return new FileData(ByteSource.wrap(rendition.image), image.name(), image.contentType()).withETag(rendition.eTag);
+    }
+
+    /**
+     * Drops the renditions of the image of the current tenant once the current transaction commits, or right away when
+     * there is none.
+     */
+    public void invalidate(final Long imageId) {
+        this.renditions.evictMatchingAfterCommit(key -> Objects.equals(key.imageId, imageId));
+    }
+
+    private Rendition load(final ImageData imageData, final FileData image, final Integer maxWidth, final Integer maxHeight) {
+        final byte[] original;
+        try {
+            original = image.getByteSource().read();
+        } catch (final IOException e) {
+            throw new ContentManagementException(image.name(), e.getMessage(), e);
+        }
+
+        Optional<byte[]> resized = Optional.empty();
+        try {
+            resized = this.imageResizer.resize(original, imageData.location(), maxWidth, maxHeight);
+        } catch (final IOException e) {
+            LOG.warn("resize() failed, returning original image: {}", e.getMessage(), e);
+        }
+        final byte[] content = resized.orElse(original);
+        final String eTag = "\"" + Hashing.sha256().hashBytes(content) + "\"";
+        return new Rendition(resized.orElse(null), eTag);
+    }
+
+    private static final class RenditionKey {
+
+        private final Long imageId;
+        private final String location;
+        private final Integer maxWidth;
+        private final Integer maxHeight;
+
+        RenditionKey(final Long imageId, final String location, final Integer maxWidth, final Integer maxHeight) {
+            this.imageId = imageId;
+            this.location = location;
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RenditionKey)) {
+                return false;
+            }
+            final RenditionKey other = (RenditionKey) o;
+            return Objects.equals(this.imageId, other.imageId) && Objects.equals(this.location, other.location)
+                    && Objects.equals(this.maxWidth, other.maxWidth) && Objects.equals(this.maxHeight, other.maxHeight);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.imageId, this.location, this.maxWidth, this.maxHeight);
+        }
+    }
+
+    private static final class Rendition {
+
+        private final byte[] image;
+        private final String eTag;
+
+        Rendition(final byte[] image, final String eTag) {
+            this.image = image;
+            this.eTag = eTag;
+        }
+
+        int sizeInBytes() {
+            return ENTRY_OVERHEAD_BYTES + (this.image != null ? this.image.length : 0);
+        }
+    }
+}
@@ -47,12 +47,15 @@ public final class CronMethodParser {
 
         public String className;
         public String methodName;
+        public boolean sharded;
     }
 
     private static final String SEARCH_PACKAGE = "org.apache.fineract.";
 
     private static final String CRON_ANNOTATION_ATTRIBUTE_NAME = "jobName";
 
+    private static final String CRON_ANNOTATION_SHARDED_ATTRIBUTE_NAME = "sharded";
+
     private static final String RESOURCE_PATTERN = "**/*.class";
 
     private static final Map<String, ClassMethodNamesPair> targetMethosMap = new HashMap<>();
@@ -95,6 +98,7 @@ public final class CronMethodParser {
                         final ClassMethodNamesPair pair = new ClassMethodNamesPair();
                         pair.className = className;
                         pair.methodName = metadata.getMethodName();
+                        pair.sharded = Boolean.TRUE.equals(attributes.get(CRON_ANNOTATION_SHARDED_ATTRIBUTE_NAME));
                         targetMethosMap.put(attributeValue.toString(), pair);
                     }
                 }
@@ -32,4 +32,10 @@ import org.apache.fineract.infrastructure.jobs.service.JobName;
 public @interface CronTarget {
 
     JobName jobName();
+
+    /**
+     * Whether the job splits its work through {@link org.apache.fineract.infrastructure.jobs.service.JobClusterService}, so
+     * that in cluster mode every node's trigger joins the run instead of being vetoed while another node is running it.
+     */
+    boolean sharded() default false;
 }
@@ -42,6 +42,11 @@ public final class SchedulerJobApiConstants {
     public static final String versionParamName = "version";
     public static final String jobRunStartTimeParamName = "jobRunStartTime";
     public static final String jobRunEndTimeParamName = "jobRunEndTime";
+    public static final String queueWaitMillisParamName = "queueWaitMillis";
+    public static final String executionMillisParamName = "executionMillis";
+    public static final String itemsProcessedParamName = "itemsProcessed";
+    public static final String chunksCommittedParamName = "chunksCommitted";
+    public static final String maxChunkMillisParamName = "maxChunkMillis";
     public static final String statusParamName = "status";
     public static final String jobRunErrorMessageParamName = "jobRunErrorMessage";
     public static final String triggerTypeParamName = "triggerType";
@@ -55,6 +60,8 @@ public final class SchedulerJobApiConstants {
     public static final String COMMAND = "command";
     public static final String JOB_ID = "jobId";
     public static final String JOB_RUN_HISTORY = "runhistory";
+    public static final String JOB_SHARDS = "shards";
+    public static final String CLOSE_OF_BUSINESS_PATH = "cob";
     public static final String SCHEDULER_STATUS_PATH = "scheduler";
 
     static final Set<String> JOB_DETAIL_RESPONSE_DATA_PARAMETERS = new HashSet<>(
@@ -62,7 +69,8 @@ public final class SchedulerJobApiConstants {
                     cronExpressionParamName, jobActiveStatusParamName, currentlyRunningParamName, lastRunHistoryObjParamName));
 
     static final Set<String> JOB_HISTORY_RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList(versionParamName, jobRunStartTimeParamName,
-            jobRunEndTimeParamName, statusParamName, jobRunErrorMessageParamName, triggerTypeParamName, jobRunErrorLogParamName));
+            jobRunEndTimeParamName, queueWaitMillisParamName, executionMillisParamName, itemsProcessedParamName, chunksCommittedParamName,
+            maxChunkMillisParamName, statusParamName, jobRunErrorMessageParamName, triggerTypeParamName, jobRunErrorLogParamName));
 
     static final Set<String> SCHEDULER_DETAIL_RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList(schedulerStatusParamName));
 }
@@ -51,6 +51,8 @@ import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSeria
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
+import org.apache.fineract.infrastructure.jobs.data.CloseOfBusinessRunData;
+import org.apache.fineract.infrastructure.jobs.data.JobClusterRunData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailHistoryData;
 import org.apache.fineract.infrastructure.jobs.service.JobRegisterService;
@@ -72,6 +74,8 @@ public class SchedulerJobApiResource {
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final ToApiJsonSerializer<JobDetailData> toApiJsonSerializer;
     private final ToApiJsonSerializer<JobDetailHistoryData> jobHistoryToApiJsonSerializer;
+    private final ToApiJsonSerializer<JobClusterRunData> clusterRunToApiJsonSerializer;
+    private final ToApiJsonSerializer<CloseOfBusinessRunData> closeOfBusinessToApiJsonSerializer;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
     private final PlatformSecurityContext context;
 
@@ -80,11 +84,15 @@ public class SchedulerJobApiResource {
             final JobRegisterService jobRegisterService, final ToApiJsonSerializer<JobDetailData> toApiJsonSerializer,
             final ApiRequestParameterHelper apiRequestParameterHelper,
             final ToApiJsonSerializer<JobDetailHistoryData> jobHistoryToApiJsonSerializer,
+            final ToApiJsonSerializer<JobClusterRunData> clusterRunToApiJsonSerializer,
+            final ToApiJsonSerializer<CloseOfBusinessRunData> closeOfBusinessToApiJsonSerializer,
             final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService, final PlatformSecurityContext context) {
         this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
         this.jobRegisterService = jobRegisterService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.jobHistoryToApiJsonSerializer = jobHistoryToApiJsonSerializer;
+        this.clusterRunToApiJsonSerializer = clusterRunToApiJsonSerializer;
+        this.closeOfBusinessToApiJsonSerializer = closeOfBusinessToApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.context = context;
@@ -135,6 +143,34 @@ public class SchedulerJobApiResource {
                 SchedulerJobApiConstants.JOB_HISTORY_RESPONSE_DATA_PARAMETERS);
     }
 
+    @GET
+    @Path("{" + SchedulerJobApiConstants.JOB_ID + "}/" + SchedulerJobApiConstants.JOB_SHARDS)
+    @Operation(summary = "Retrieve Job Shards", description = "Returns the latest cluster run of a sharded job: the node coordinating it "
+            + "and the node owning each shard.\n" + "\n" + "Example Requests:\n" + "\n" + "jobs/5/shards")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = SchedulerJobApiResourceSwagger.GetJobsJobIDShardsResponse.class))) })
+    public String retrieveShards(@Context final UriInfo uriInfo,
+            @PathParam(SchedulerJobApiConstants.JOB_ID) @Parameter(description = "jobId") final Long jobId) {
+        this.context.authenticatedUser().validateHasReadPermission(SchedulerJobApiConstants.SCHEDULER_RESOURCE_NAME);
+        final JobClusterRunData clusterRun = this.schedulerJobRunnerReadService.retrieveLatestClusterRun(jobId);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.clusterRunToApiJsonSerializer.serialize(settings, clusterRun);
+    }
+
+    @GET
+    @Path(SchedulerJobApiConstants.CLOSE_OF_BUSINESS_PATH)
+    @Operation(summary = "Retrieve Close Of Business Run", description = "Returns the latest run of the close of business pipeline: when "
+            + "each stage became ready, started and finished, and which stages made up the critical path.\n" + "\n"
+            + "Example Requests:\n" + "\n" + "jobs/cob")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = SchedulerJobApiResourceSwagger.GetJobsCobResponse.class))) })
+    public String retrieveCloseOfBusinessRun(@Context final UriInfo uriInfo) {
+        this.context.authenticatedUser().validateHasReadPermission(SchedulerJobApiConstants.SCHEDULER_RESOURCE_NAME);
+        final CloseOfBusinessRunData closeOfBusinessRun = this.schedulerJobRunnerReadService.retrieveLatestCloseOfBusinessRun();
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.closeOfBusinessToApiJsonSerializer.serialize(settings, closeOfBusinessRun);
+    }
+
     @POST
     @Path("{" + SchedulerJobApiConstants.JOB_ID + "}")
     @Operation(summary = "Run a Job", description = "Manually Execute Specific Job.")
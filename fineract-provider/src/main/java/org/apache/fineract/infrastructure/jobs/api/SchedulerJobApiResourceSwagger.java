@@ -89,6 +89,16 @@ final class SchedulerJobApiResourceSwagger {
             public Date jobRunStartTime;
             @Schema(example = "Jul 16, 2013 12:00:00 PM")
             public Date jobRunEndTime;
+            @Schema(example = "150")
+            public Long queueWaitMillis;
+            @Schema(example = "4200")
+            public Long executionMillis;
+            @Schema(example = "1200")
+            public Long itemsProcessed;
+            @Schema(example = "12")
+            public Integer chunksCommitted;
+            @Schema(example = "610")
+            public Long maxChunkMillis;
             @Schema(example = "success")
             public String status;
             @Schema(example = "cron")
@@ -100,4 +110,94 @@ final class SchedulerJobApiResourceSwagger {
         public List<JobDetailHistoryDataSwagger> pageItems;
 
     }
+
+    @Schema(description = "GetJobsJobIDShardsResponse")
+    public static final class GetJobsJobIDShardsResponse {
+
+        private GetJobsJobIDShardsResponse() {
+
+        }
+
+        static final class JobShardDataSwagger {
+
+            private JobShardDataSwagger() {}
+
+            @Schema(example = "1")
+            public Integer shardNo;
+            @Schema(example = "1")
+            public Long rangeStart;
+            @Schema(example = "1042")
+            public Long rangeEnd;
+            @Schema(example = "DONE")
+            public String status;
+            @Schema(example = "4711@node-1")
+            public String nodeId;
+            @Schema(example = "Jul 16, 2013 12:00:00 PM")
+            public Date startedAt;
+            @Schema(example = "Jul 16, 2013 12:04:00 PM")
+            public Date finishedAt;
+            @Schema(example = "0")
+            public Integer errorCount;
+        }
+
+        @Schema(example = "5")
+        public Long jobId;
+        @Schema(example = "Jul 16, 2013 12:00:00 PM")
+        public Date scheduledFireTime;
+        @Schema(example = "4711@node-1")
+        public String coordinatorNode;
+        @Schema(example = "RUNNING")
+        public String status;
+        @Schema(example = "12")
+        public Integer shardCount;
+        @Schema(example = "7")
+        public Integer completedShardCount;
+        @Schema(example = "Jul 16, 2013 12:00:00 PM")
+        public Date startedAt;
+        public Date finishedAt;
+        public List<JobShardDataSwagger> shards;
+    }
+
+    @Schema(description = "GetJobsCobResponse")
+    public static final class GetJobsCobResponse {
+
+        private GetJobsCobResponse() {
+
+        }
+
+        static final class CloseOfBusinessStageDataSwagger {
+
+            private CloseOfBusinessStageDataSwagger() {}
+
+            @Schema(example = "LOAN_ARREARS_AGEING")
+            public String stage;
+            @Schema(example = "Update Loan Arrears Ageing")
+            public String jobName;
+            @Schema(example = "[\"LOAN_SUMMARY\"]")
+            public List<String> dependsOn;
+            @Schema(example = "COMPLETED")
+            public String status;
+            @Schema(example = "Jul 16, 2013 12:01:10 AM")
+            public Date readyAt;
+            @Schema(example = "Jul 16, 2013 12:01:10 AM")
+            public Date startedAt;
+            @Schema(example = "Jul 16, 2013 12:03:40 AM")
+            public Date finishedAt;
+            @Schema(example = "true")
+            public boolean onCriticalPath;
+            public String errorMessage;
+        }
+
+        @Schema(example = "42")
+        public Long id;
+        @Schema(example = "Jul 16, 2013 12:00:00 AM")
+        public Date startedAt;
+        @Schema(example = "Jul 16, 2013 12:09:30 AM")
+        public Date finishedAt;
+        @Schema(example = "COMPLETED")
+        public String status;
+        @Schema(example = "521000")
+        public Long criticalPathMillis;
+        public List<CloseOfBusinessStageDataSwagger> stages;
+    }
 }
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A run of the close of business pipeline with the timing of its stages and the stages on its critical path.
+ */
+public class CloseOfBusinessRunData {
+
+    @SuppressWarnings("unused")
+    private final Long id;
+
+    @SuppressWarnings("unused")
+    private final Date startedAt;
+
+    @SuppressWarnings("unused")
+    private final Date finishedAt;
+
+    @SuppressWarnings("unused")
+    private final String status;
+
+    @SuppressWarnings("unused")
+    private final Long criticalPathMillis;
+
+    @SuppressWarnings("unused")
+    private final List<CloseOfBusinessStageData> stages;
+
+    public CloseOfBusinessRunData(final Long id, final Date startedAt, final Date finishedAt, final String status,
+            final Long criticalPathMillis, final List<CloseOfBusinessStageData> stages) {
+        this.id = id;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.status = status;
+        this.criticalPathMillis = criticalPathMillis;
+        this.stages = stages;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+import java.util.List;
+
+public class CloseOfBusinessStageData {
+
+    @SuppressWarnings("unused")
+    private final String stage;
+
+    @SuppressWarnings("unused")
+    private final String jobName;
+
+    @SuppressWarnings("unused")
+    private final List<String> dependsOn;
+
+    @SuppressWarnings("unused")
+    private final String status;
+
+    @SuppressWarnings("unused")
+    private final Date readyAt;
+
+    @SuppressWarnings("unused")
+    private final Date startedAt;
+
+    @SuppressWarnings("unused")
+    private final Date finishedAt;
+
+    @SuppressWarnings("unused")
+    private final boolean onCriticalPath;
+
+    @SuppressWarnings("unused")
+    private final String errorMessage;
+
+    public CloseOfBusinessStageData(final String stage, final String jobName, final List<String> dependsOn, final String status,
+            final Date readyAt, final Date startedAt, final Date finishedAt, final boolean onCriticalPath, final String errorMessage) {
+        this.stage = stage;
+        this.jobName = jobName;
+        this.dependsOn = dependsOn;
+        this.status = status;
+        this.readyAt = readyAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.onCriticalPath = onCriticalPath;
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Progress of a run of a sharded job: which node coordinates it and which node owns each shard.
+ */
+public class JobClusterRunData {
+
+    @SuppressWarnings("unused")
+    private final Long jobId;
+
+    @SuppressWarnings("unused")
+    private final Date scheduledFireTime;
+
+    @SuppressWarnings("unused")
+    private final String coordinatorNode;
+
+    @SuppressWarnings("unused")
+    private final String status;
+
+    @SuppressWarnings("unused")
+    private final Integer shardCount;
+
+    @SuppressWarnings("unused")
+    private final Integer completedShardCount;
+
+    @SuppressWarnings("unused")
+    private final Date startedAt;
+
+    @SuppressWarnings("unused")
+    private final Date finishedAt;
+
+    @SuppressWarnings("unused")
+    private final List<JobShardData> shards;
+
+    public JobClusterRunData(final Long jobId, final Date scheduledFireTime, final String coordinatorNode, final String status,
+            final Integer shardCount, final Integer completedShardCount, final Date startedAt, final Date finishedAt,
+            final List<JobShardData> shards) {
+        this.jobId = jobId;
+        this.scheduledFireTime = scheduledFireTime;
+        this.coordinatorNode = coordinatorNode;
+        this.status = status;
+        this.shardCount = shardCount;
+        this.completedShardCount = completedShardCount;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.shards = shards;
+    }
+}
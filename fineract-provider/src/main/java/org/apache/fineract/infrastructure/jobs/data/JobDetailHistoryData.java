@@ -31,6 +31,21 @@ public class JobDetailHistoryData {
     @SuppressWarnings("unused")
     private final Date jobRunEndTime;
 
+    @SuppressWarnings("unused")
+    private final Long queueWaitMillis;
+
+    @SuppressWarnings("unused")
+    private final Long executionMillis;
+
+    @SuppressWarnings("unused")
+    private final Long itemsProcessed;
+
+    @SuppressWarnings("unused")
+    private final Integer chunksCommitted;
+
+    @SuppressWarnings("unused")
+    private final Long maxChunkMillis;
+
     @SuppressWarnings("unused")
     private final String status;
 
@@ -43,11 +58,17 @@ public class JobDetailHistoryData {
     @SuppressWarnings("unused")
     private final String jobRunErrorLog;
 
-    public JobDetailHistoryData(final Long version, final Date jobRunStartTime, final Date jobRunEndTime, final String status,
-            final String jobRunErrorMessage, final String triggerType, final String jobRunErrorLog) {
+    public JobDetailHistoryData(final Long version, final Date jobRunStartTime, final Date jobRunEndTime, final Long queueWaitMillis,
+            final Long executionMillis, final Long itemsProcessed, final Integer chunksCommitted, final Long maxChunkMillis,
+            final String status, final String jobRunErrorMessage, final String triggerType, final String jobRunErrorLog) {
         this.version = version;
         this.jobRunStartTime = jobRunStartTime;
         this.jobRunEndTime = jobRunEndTime;
+        this.queueWaitMillis = queueWaitMillis;
+        this.executionMillis = executionMillis;
+        this.itemsProcessed = itemsProcessed;
+        this.chunksCommitted = chunksCommitted;
+        this.maxChunkMillis = maxChunkMillis;
         this.status = status;
         this.jobRunErrorMessage = jobRunErrorMessage;
         this.triggerType = triggerType;
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+
+public class JobShardData {
+
+    @SuppressWarnings("unused")
+    private final Integer shardNo;
+
+    @SuppressWarnings("unused")
+    private final Long rangeStart;
+
+    @SuppressWarnings("unused")
+    private final Long rangeEnd;
+
+    @SuppressWarnings("unused")
+    private final String status;
+
+    @SuppressWarnings("unused")
+    private final String nodeId;
+
+    @SuppressWarnings("unused")
+    private final Date startedAt;
+
+    @SuppressWarnings("unused")
+    private final Date finishedAt;
+
+    @SuppressWarnings("unused")
+    private final Integer errorCount;
+
+    public JobShardData(final Integer shardNo, final Long rangeStart, final Long rangeEnd, final String status, final String nodeId,
+            final Date startedAt, final Date finishedAt, final Integer errorCount) {
+        this.shardNo = shardNo;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.status = status;
+        this.nodeId = nodeId;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.errorCount = errorCount;
+    }
+}
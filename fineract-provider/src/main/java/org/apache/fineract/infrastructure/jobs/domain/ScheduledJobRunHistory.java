@@ -47,6 +47,21 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
     @Temporal(TemporalType.TIMESTAMP)
     private Date endTime;
 
+    @Column(name = "queue_wait_millis")
+    private Long queueWaitMillis;
+
+    @Column(name = "execution_millis")
+    private Long executionMillis;
+
+    @Column(name = "items_processed")
+    private Long itemsProcessed;
+
+    @Column(name = "chunks_committed")
+    private Integer chunksCommitted;
+
+    @Column(name = "max_chunk_millis")
+    private Long maxChunkMillis;
+
     @Column(name = "status")
     private String status;
 
@@ -64,15 +79,24 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
     }
 
     public ScheduledJobRunHistory(final ScheduledJobDetail scheduledJobDetail, final Long version, final Date startTime, final Date endTime,
-            final String status, final String errorMessage, final String triggerType, final String errorLog) {
+            final Long queueWaitMillis, final Long executionMillis, final String status, final String errorMessage,
+            final String triggerType, final String errorLog) {
         this.scheduledJobDetail = scheduledJobDetail;
         this.version = version;
         this.startTime = startTime;
         this.endTime = endTime;
+        this.queueWaitMillis = queueWaitMillis;
+        this.executionMillis = executionMillis;
         this.status = status;
         this.errorMessage = errorMessage;
         this.triggerType = triggerType;
         this.errorLog = errorLog;
     }
 
+    public void updateChunkStatistics(final long itemsProcessed, final int chunksCommitted, final long maxChunkMillis) {
+        this.itemsProcessed = itemsProcessed;
+        this.chunksCommitted = chunksCommitted;
+        this.maxChunkMillis = maxChunkMillis;
+    }
+
 }
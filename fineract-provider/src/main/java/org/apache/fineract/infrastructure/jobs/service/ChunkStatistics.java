@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+/**
+ * Chunk throughput of a job execution, accumulated over all of its {@link ChunkedJobStep}s.
+ */
+public final class ChunkStatistics {
+
+    private long itemsProcessed;
+    private int chunksCommitted;
+    private long maxChunkMillis;
+
+    void chunkCommitted(final int items, final long chunkMillis) {
+        this.itemsProcessed += items;
+        this.chunksCommitted++;
+        this.maxChunkMillis = Math.max(this.maxChunkMillis, chunkMillis);
+    }
+
+    public long getItemsProcessed() {
+        return this.itemsProcessed;
+    }
+
+    public int getChunksCommitted() {
+        return this.chunksCommitted;
+    }
+
+    public long getMaxChunkMillis() {
+        return this.maxChunkMillis;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.List;
+
+/**
+ * One step of a batch job, processed in chunks of row ids by {@link JobStepExecutionService}.
+ *
+ * The reader pages through the ids in ascending order, the processor handles one id at a time and the writer is called
+ * once per chunk before the chunk is committed as processed. After a crash the step resumes after the last committed id.
+ */
+public interface ChunkedJobStep {
+
+    /**
+     * @return the name of the step, unique within its job
+     */
+    String name();
+
+    /**
+     * Reads from the primary database of the tenant, never from a read replica: the step only moves forward from the last
+     * committed id, so an id missed because of replication lag would never be processed.
+     *
+     * @return up to <code>chunkSize</code> ids greater than <code>lastCommittedId</code> (all ids when it is
+     *         <code>null</code>), in ascending order
+     */
+    List<Long> read(Long lastCommittedId, int chunkSize);
+
+    /**
+     * Processes one id; a failure is recorded against the run and does not stop the step.
+     */
+    void process(Long id) throws Exception;
+
+    /**
+     * Called with the ids processed successfully in a chunk, before the chunk is committed.
+     */
+    default void write(@SuppressWarnings("unused") List<Long> processedIds) {}
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.MultiException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CloseOfBusinessServiceImpl implements CloseOfBusinessService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CloseOfBusinessServiceImpl.class);
+
+    private static final String PENDING = "PENDING";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+    private static final String SKIPPED = "SKIPPED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CronTargetInvoker cronTargetInvoker;
+    private final int threadPoolSize;
+
+    @Autowired
+    public CloseOfBusinessServiceImpl(final RoutingDataSource dataSource, final CronTargetInvoker cronTargetInvoker,
+            final Environment env) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cronTargetInvoker = cronTargetInvoker;
+        this.threadPoolSize = Math.max(1, env.getProperty(THREADS_PROPERTY, Integer.class, 3));
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.CLOSE_OF_BUSINESS)
+    public void runCloseOfBusiness() throws JobExecutionException {
+        final long runStart = System.currentTimeMillis();
+        final long runId = insertRun(runStart);
+        final Map<CloseOfBusinessStage, Long> stageIds = new EnumMap<>(CloseOfBusinessStage.class);
+        for (final CloseOfBusinessStage stage : CloseOfBusinessStage.values()) {
+            this.jdbcTemplate.update("insert into job_cob_stage (run_id, stage, job_name, status) values (?, ?, ?, ?)", runId,
+                    stage.name(), stage.getJobName().toString(), PENDING);
+            stageIds.put(stage, this.jdbcTemplate.queryForObject("select id from job_cob_stage where run_id = ? and stage = ?", Long.class,
+                    runId, stage.name()));
+        }
+
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Map<CloseOfBusinessStage, Long> finishTimes = new ConcurrentHashMap<>();
+        final Map<CloseOfBusinessStage, Long> executionMillis = new ConcurrentHashMap<>();
+        final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        final Map<CloseOfBusinessStage, CompletableFuture<Boolean>> futures = new EnumMap<>(CloseOfBusinessStage.class);
+        final ExecutorService executorService = Executors.newFixedThreadPool(this.threadPoolSize,
+                new CustomizableThreadFactory("cob-"));
+        try {
+            // stages are declared after their dependencies, so the futures of the dependencies always exist already
+            for (final CloseOfBusinessStage stage : CloseOfBusinessStage.values()) {
+                final List<CompletableFuture<Boolean>> dependencies = new ArrayList<>();
+                for (final CloseOfBusinessStage dependency : stage.getDependencies()) {
+                    dependencies.add(futures.get(dependency));
+                }
+                final AtomicLong readyAt = new AtomicLong();
+                final CompletableFuture<Boolean> future = CompletableFuture
+                        .allOf(dependencies.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                            readyAt.set(System.currentTimeMillis());
+                            return dependencies.stream().allMatch(CompletableFuture::join);
+                        }).thenApplyAsync(dependenciesCompleted -> {
+                            ThreadLocalContextUtil.setTenant(tenant);
+                            SecurityContextHolder.setContext(securityContext);
+                            try {
+                                return runStage(stage, stageIds.get(stage), readyAt.get(), dependenciesCompleted, finishTimes,
+                                        executionMillis, errors);
+                            } finally {
+                                SecurityContextHolder.clearContext();
+                                ThreadLocalContextUtil.clearTenant();
+                            }
+                        }, executorService);
+                futures.put(stage, future);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } catch (final ExecutionException e) {
+            errors.add(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        final List<CloseOfBusinessStage> criticalPath = CloseOfBusinessStage.criticalPath(finishTimes);
+        long criticalPathMillis = 0;
+        for (final CloseOfBusinessStage stage : criticalPath) {
+            criticalPathMillis += executionMillis.get(stage);
+            this.jdbcTemplate.update("update job_cob_stage set on_critical_path = 1 where id = ?", stageIds.get(stage));
+        }
+        this.jdbcTemplate.update("update job_cob_run set finished_at = ?, status = ?, critical_path_millis = ? where id = ?",
+                new Timestamp(System.currentTimeMillis()), errors.isEmpty() ? COMPLETED : FAILED, criticalPathMillis, runId);
+        LOG.info("Close of business run {} finished in {} ms, critical path {} took {} ms", runId, System.currentTimeMillis() - runStart,
+                criticalPath, criticalPathMillis);
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(errors));
+        }
+    }
+
+    private boolean runStage(final CloseOfBusinessStage stage, final Long stageId, final long readyAt, final boolean dependenciesCompleted,
+            final Map<CloseOfBusinessStage, Long> finishTimes, final Map<CloseOfBusinessStage, Long> executionMillis,
+            final Queue<Throwable> errors) {
+        if (!dependenciesCompleted) {
+            this.jdbcTemplate.update("update job_cob_stage set status = ?, ready_at = ? where id = ?", SKIPPED, new Timestamp(readyAt),
+                    stageId);
+            LOG.warn("Close of business stage {} skipped as a stage it depends on did not complete", stage);
+            return false;
+        }
+        final long startedAt = System.currentTimeMillis();
+        this.jdbcTemplate.update("update job_cob_stage set status = ?, ready_at = ?, started_at = ? where id = ?", RUNNING,
+                new Timestamp(readyAt), new Timestamp(startedAt), stageId);
+        String status = COMPLETED;
+        String errorMessage = null;
+        try {
+            this.cronTargetInvoker.invoke(stage.getJobName());
+        } catch (final Exception e) {
+            LOG.error("Close of business stage {} failed", stage, e);
+            status = FAILED;
+            errorMessage = StringUtils.left(errorMessage(e), 500);
+            errors.add(e);
+        }
+        final long finishedAt = System.currentTimeMillis();
+        finishTimes.put(stage, finishedAt);
+        executionMillis.put(stage, finishedAt - startedAt);
+        this.jdbcTemplate.update("update job_cob_stage set status = ?, finished_at = ?, error_message = ? where id = ?", status,
+                new Timestamp(finishedAt), errorMessage, stageId);
+        return COMPLETED.equals(status);
+    }
+
+    private long insertRun(final long startedAt) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.update(connection -> {
+            final PreparedStatement ps = connection.prepareStatement("insert into job_cob_run (started_at, status) values (?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setTimestamp(1, new Timestamp(startedAt));
+            ps.setString(2, RUNNING);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private static String errorMessage(final Exception e) {
+        if (e instanceof MultiException) {
+            return ((MultiException) e).getCauses().size() + " errors, first: " + ((MultiException) e).getCauses().get(0).getMessage();
+        }
+        return e.getMessage();
+    }
+}
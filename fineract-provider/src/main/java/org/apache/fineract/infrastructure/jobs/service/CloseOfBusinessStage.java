@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stages of the close of business (COB) pipeline, in an order where every stage comes after the stages it depends on.
+ *
+ * A stage starts as soon as all of its dependencies have completed, so stages that do not depend on each other run
+ * concurrently.
+ */
+public enum CloseOfBusinessStage {
+
+    LOAN_SUMMARY(JobName.UPDATE_LOAN_SUMMARY), //
+    LOAN_ARREARS_AGEING(JobName.UPDATE_LOAN_ARREARS_AGEING, LOAN_SUMMARY), //
+    NON_PERFORMING_ASSETS(JobName.UPDATE_NPA, LOAN_ARREARS_AGEING), //
+    LOAN_LOSS_PROVISIONING(JobName.GENERATE_LOANLOSS_PROVISIONING, LOAN_ARREARS_AGEING), //
+    PERIODIC_ACCRUALS(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES, NON_PERFORMING_ASSETS), //
+    ACCOUNTING_RUNNING_BALANCES(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE, PERIODIC_ACCRUALS, LOAN_LOSS_PROVISIONING), //
+    TRIAL_BALANCE(JobName.UPDATE_TRAIL_BALANCE_DETAILS, PERIODIC_ACCRUALS, LOAN_LOSS_PROVISIONING);
+
+    private final JobName jobName;
+    private final List<CloseOfBusinessStage> dependencies;
+
+    CloseOfBusinessStage(final JobName jobName, final CloseOfBusinessStage... dependencies) {
+        this.jobName = jobName;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    public JobName getJobName() {
+        return this.jobName;
+    }
+
+    public List<CloseOfBusinessStage> getDependencies() {
+        return this.dependencies;
+    }
+
+    /**
+     * Walks back from the stage that finished last, each time to the dependency that finished last: the chain of stages
+     * that determined when the pipeline completed.
+     *
+     * @param finishTimes
+     *            finish time of every stage that ran
+     * @return the critical path, in execution order
+     */
+    public static List<CloseOfBusinessStage> criticalPath(final Map<CloseOfBusinessStage, Long> finishTimes) {
+        final List<CloseOfBusinessStage> path = new ArrayList<>();
+        CloseOfBusinessStage current = latest(Arrays.asList(values()), finishTimes);
+        while (current != null) {
+            path.add(0, current);
+            current = latest(current.dependencies, finishTimes);
+        }
+        return path;
+    }
+
+    private static CloseOfBusinessStage latest(final List<CloseOfBusinessStage> stages, final Map<CloseOfBusinessStage, Long> finishTimes) {
+        CloseOfBusinessStage latest = null;
+        for (final CloseOfBusinessStage stage : stages) {
+            final Long finishTime = finishTimes.get(stage);
+            if (finishTime != null && (latest == null || finishTime > finishTimes.get(latest))) {
+                latest = stage;
+            }
+        }
+        return latest;
+    }
+}
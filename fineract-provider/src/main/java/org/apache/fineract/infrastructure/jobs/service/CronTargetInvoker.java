@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser;
+import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser.ClassMethodNamesPair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Looks up the bean behind a {@link org.apache.fineract.infrastructure.jobs.annotation.CronTarget} method, for the Quartz
+ * job details and for running jobs directly as part of another job.
+ */
+@Component
+public class CronTargetInvoker {
+
+    private final ApplicationContext applicationContext;
+
+    @Autowired
+    public CronTargetInvoker(final ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Runs the <code>@CronTarget</code> method of the job on the current thread.
+     */
+    public void invoke(final JobName jobName) throws Exception {
+        final ClassMethodNamesPair jobDetails = CronMethodParser.findTargetMethodDetails(jobName.toString());
+        if (jobDetails == null) {
+            throw new IllegalArgumentException("Code has no @CronTarget with this job name (@see JobName): " + jobName);
+        }
+        final Object targetObject = findTargetBean(Class.forName(jobDetails.className));
+        if (targetObject == null) {
+            throw new IllegalArgumentException("No bean of " + jobDetails.className + " runs job " + jobName);
+        }
+        final Method method = ReflectionUtils.findMethod(targetObject.getClass(), jobDetails.methodName);
+        if (method == null) {
+            throw new IllegalArgumentException("@CronTarget " + jobDetails.className + "." + jobDetails.methodName + " of job " + jobName
+                    + " must not take arguments");
+        }
+        try {
+            method.invoke(targetObject);
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public Object findTargetBean(final Class<?> classType) {
+        final List<Class<?>> typesList = new ArrayList<>();
+        final Class<?>[] interfaceType = classType.getInterfaces();
+        if (interfaceType.length > 0) {
+            typesList.addAll(Arrays.asList(interfaceType));
+        } else {
+            Class<?> superclassType = classType;
+            while (!Object.class.getName().equals(superclassType.getSuperclass().getName())) {
+                superclassType = superclassType.getSuperclass();
+            }
+            typesList.add(superclassType);
+        }
+        final List<String> beanNames = new ArrayList<>();
+        for (final Class<?> clazz : typesList) {
+            beanNames.addAll(Arrays.asList(this.applicationContext.getBeanNamesForType(clazz)));
+        }
+        Object targetObject = null;
+        for (final String beanName : beanNames) {
+            final Object nextObject = this.applicationContext.getBean(beanName);
+            String targetObjName = nextObject.toString();
+            targetObjName = targetObjName.substring(0, targetObjName.lastIndexOf("@"));
+            if (classType.getName().equals(targetObjName)) {
+                targetObject = nextObject;
+                break;
+            }
+        }
+        return targetObject;
+    }
+}
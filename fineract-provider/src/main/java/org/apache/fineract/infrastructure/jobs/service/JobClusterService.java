@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.Date;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+
+/**
+ * Coordinates runs of sharded jobs (see {@link org.apache.fineract.infrastructure.jobs.annotation.CronTarget#sharded()})
+ * across the nodes of a cluster.
+ *
+ * All nodes fire the same cron triggers. The first node to register the run becomes its coordinator and splits the work
+ * into shards of row ids; every node, the coordinator included, then claims shards until none are left. Coordination and
+ * shard ownership are leases in the tenant database, so the work of a node that goes away is picked up by the others once
+ * its leases expire. When cluster mode is disabled the work runs on the local node in one go.
+ */
+public interface JobClusterService {
+
+    String CLUSTER_ENABLED_PROPERTY = "fineract.jobs.cluster.enabled";
+    String NODE_ID_PROPERTY = "fineract.jobs.cluster.node-id";
+    String SHARD_SIZE_PROPERTY = "fineract.jobs.cluster.shard-size";
+    String LEASE_SECONDS_PROPERTY = "fineract.jobs.cluster.lease-seconds";
+
+    String nodeId();
+
+    /**
+     * @return whether triggers of the job join a run already in progress on another node
+     */
+    boolean isSharded(String jobName);
+
+    /**
+     * Marks the start of a job execution on the current thread.
+     */
+    void enterRun(String jobKey, Date scheduledFireTime);
+
+    /**
+     * Marks the end of the job execution on the current thread.
+     *
+     * @return whether this node only processed shards of a run coordinated by another node, which records the run
+     */
+    boolean exitRun();
+
+    void runSharded(ShardedJobWork work) throws JobExecutionException;
+}
@@ -0,0 +1,395 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser;
+import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser.ClassMethodNamesPair;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobClusterServiceImpl implements JobClusterService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobClusterServiceImpl.class);
+
+    private static final String RUN_PLANNING = "PLANNING";
+    private static final String RUN_RUNNING = "RUNNING";
+    private static final String RUN_COMPLETED = "COMPLETED";
+    private static final String RUN_FAILED = "FAILED";
+    private static final String SHARD_PENDING = "PENDING";
+    private static final String SHARD_RUNNING = "RUNNING";
+    private static final String SHARD_DONE = "DONE";
+    private static final String SHARD_FAILED = "FAILED";
+
+    private static final long POLL_INTERVAL_MILLIS = 2000L;
+    private static final int CLAIM_BATCH_SIZE = 10;
+
+    private static final ThreadLocal<RunContext> CURRENT_RUN = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean clusterEnabled;
+    private final String nodeId;
+    private final int shardSize;
+    private final int leaseSeconds;
+    private final long heartbeatMillis;
+    private final ScheduledThreadPoolExecutor heartbeatExecutor;
+
+    @Autowired
+    public JobClusterServiceImpl(final RoutingDataSource dataSource, final Environment env) {
+        this(new JdbcTemplate(dataSource), env, 0L);
+    }
+
+    /**
+     * @param heartbeatMillis
+     *            how often the lease of a shard in progress is renewed, a third of the lease when not positive
+     */
+    JobClusterServiceImpl(final JdbcTemplate jdbcTemplate, final Environment env, final long heartbeatMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterEnabled = env.getProperty(CLUSTER_ENABLED_PROPERTY, Boolean.class, Boolean.FALSE);
+        this.nodeId = StringUtils.left(env.getProperty(NODE_ID_PROPERTY, ManagementFactory.getRuntimeMXBean().getName()), 100);
+        this.shardSize = Math.max(1, env.getProperty(SHARD_SIZE_PROPERTY, Integer.class, 1000));
+        this.leaseSeconds = Math.max(30, env.getProperty(LEASE_SECONDS_PROPERTY, Integer.class, 900));
+        // renewing three times per lease tolerates a missed heartbeat before other nodes may take the shard over
+        this.heartbeatMillis = heartbeatMillis > 0 ? heartbeatMillis : TimeUnit.SECONDS.toMillis(this.leaseSeconds) / 3;
+        this.heartbeatExecutor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("job-cluster-heartbeat-"));
+        this.heartbeatExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.heartbeatExecutor.shutdownNow();
+    }
+
+    @Override
+    public String nodeId() {
+        return this.nodeId;
+    }
+
+    @Override
+    public boolean isSharded(final String jobName) {
+        if (!this.clusterEnabled) {
+            return false;
+        }
+        try {
+            final ClassMethodNamesPair target = CronMethodParser.findTargetMethodDetails(jobName);
+            return target != null && target.sharded;
+        } catch (final IOException e) {
+            LOG.warn("Could not look up the @CronTarget of job {}", jobName, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void enterRun(final String jobKey, final Date scheduledFireTime) {
+        CURRENT_RUN.set(new RunContext(jobKey, scheduledFireTime));
+    }
+
+    @Override
+    public boolean exitRun() {
+        final RunContext run = CURRENT_RUN.get();
+        CURRENT_RUN.remove();
+        return run != null && run.worker;
+    }
+
+    @Override
+    public void runSharded(final ShardedJobWork work) throws JobExecutionException {
+        final RunContext run = CURRENT_RUN.get();
+        if (!this.clusterEnabled || run == null) {
+            runLocally(work);
+            return;
+        }
+
+        final Long jobId = this.jdbcTemplate.queryForObject("select id from job where job_key = ?", Long.class, run.jobKey);
+        // cron triggers of all nodes share the scheduled fire time, which therefore identifies the run
+        final Date fireTime = run.scheduledFireTime != null ? run.scheduledFireTime : new Date();
+        final Timestamp scheduledFireTime = new Timestamp(fireTime.getTime() / 1000L * 1000L);
+
+        final List<Throwable> errors = new ArrayList<>();
+        final long runId = joinRun(jobId, scheduledFireTime, work, run);
+        processShards(runId, work, errors);
+        finishRunIfComplete(runId);
+
+        if (!run.coordinator) {
+            run.worker = true;
+            if (!errors.isEmpty()) {
+                LOG.warn("{} errors while processing shards of run {} of job {} on node {}", errors.size(), runId, run.jobKey, this.nodeId);
+            }
+            return;
+        }
+
+        awaitRun(runId, work, errors);
+        final List<Throwable> remoteFailures = this.jdbcTemplate.query(
+                "select shard_no, range_start, range_end, node_id, error_count from job_cluster_shard where run_id = ? and status = ?"
+                        + " and node_id <> ? order by shard_no",
+                (rs, rowNum) -> new PlatformInternalServerException("error.msg.job.shard.failed",
+                        "Shard " + rs.getInt("shard_no") + " (ids " + rs.getLong("range_start") + " to " + rs.getLong("range_end")
+                                + ") failed on node " + rs.getString("node_id") + " with " + rs.getInt("error_count") + " errors",
+                        rs.getInt("shard_no")),
+                runId, SHARD_FAILED, this.nodeId);
+        errors.addAll(remoteFailures);
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    private void runLocally(final ShardedJobWork work) throws JobExecutionException {
+        final List<Long> ids = work.findIds();
+        if (ids.isEmpty()) {
+            return;
+        }
+        final List<Throwable> errors = work.processRange(ids.get(0), ids.get(ids.size() - 1));
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    /**
+     * Registers this node as coordinator of the run, or waits until the coordinator has planned the shards. A run whose
+     * coordinator did not finish planning within its lease is taken over.
+     */
+    private long joinRun(final Long jobId, final Timestamp scheduledFireTime, final ShardedJobWork work, final RunContext run) {
+        try {
+            this.jdbcTemplate.update(
+                    "insert into job_cluster_run (job_id, scheduled_fire_time, coordinator_node, lease_until, status, started_at)"
+                            + " values (?, ?, ?, date_add(now(), interval ? second), ?, now())",
+                    jobId, scheduledFireTime, this.nodeId, this.leaseSeconds, RUN_PLANNING);
+            final long runId = findRunId(jobId, scheduledFireTime);
+            run.coordinator = true;
+            planShards(runId, work);
+            return runId;
+        } catch (final DuplicateKeyException e) {
+            LOG.debug("Run of job {} at {} is coordinated by another node", run.jobKey, scheduledFireTime);
+        }
+
+        final long runId = findRunId(jobId, scheduledFireTime);
+        while (RUN_PLANNING.equals(findRunStatus(runId))) {
+            final int takenOver = this.jdbcTemplate.update(
+                    "update job_cluster_run set coordinator_node = ?, lease_until = date_add(now(), interval ? second)"
+                            + " where id = ? and status = ? and lease_until < now()",
+                    this.nodeId, this.leaseSeconds, runId, RUN_PLANNING);
+            if (takenOver == 1) {
+                LOG.warn("Node {} took over the planning of run {} of job {}", this.nodeId, runId, run.jobKey);
+                run.coordinator = true;
+                planShards(runId, work);
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return runId;
+    }
+
+    private void planShards(final long runId, final ShardedJobWork work) {
+        this.jdbcTemplate.update("delete from job_cluster_shard where run_id = ?", runId);
+        final List<Long> ids = work.findIds();
+        final List<Object[]> shards = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += this.shardSize) {
+            final int to = Math.min(from + this.shardSize, ids.size()) - 1;
+            shards.add(new Object[] { runId, shards.size() + 1, ids.get(from), ids.get(to), SHARD_PENDING });
+        }
+        if (!shards.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(
+                    "insert into job_cluster_shard (run_id, shard_no, range_start, range_end, status) values (?, ?, ?, ?, ?)", shards);
+        }
+        this.jdbcTemplate.update(
+                "update job_cluster_run set status = ?, shard_count = ?, lease_until = date_add(now(), interval ? second) where id = ?",
+                RUN_RUNNING, shards.size(), this.leaseSeconds, runId);
+    }
+
+    /**
+     * Claims and processes shards until none is left that is pending or whose lease has expired.
+     */
+    private void processShards(final long runId, final ShardedJobWork work, final List<Throwable> errors) {
+        List<Shard> candidates = findClaimableShards(runId);
+        while (!candidates.isEmpty()) {
+            for (final Shard shard : candidates) {
+                if (claim(shard)) {
+                    processShard(shard, work, errors);
+                }
+            }
+            candidates = findClaimableShards(runId);
+        }
+    }
+
+    private List<Shard> findClaimableShards(final long runId) {
+        return this.jdbcTemplate.query(
+                "select id, shard_no, range_start, range_end from job_cluster_shard where run_id = ?"
+                        + " and (status = ? or (status = ? and lease_until < now())) order by shard_no limit " + CLAIM_BATCH_SIZE,
+                new ShardMapper(), runId, SHARD_PENDING, SHARD_RUNNING);
+    }
+
+    private boolean claim(final Shard shard) {
+        // the conditions are re-checked by the update, so of several nodes claiming the same shard only one succeeds
+        return this.jdbcTemplate.update(
+                "update job_cluster_shard set status = ?, node_id = ?, lease_until = date_add(now(), interval ? second),"
+                        + " started_at = now(), finished_at = null, error_count = 0"
+                        + " where id = ? and (status = ? or (status = ? and lease_until < now()))",
+                SHARD_RUNNING, this.nodeId, this.leaseSeconds, shard.id, SHARD_PENDING, SHARD_RUNNING) == 1;
+    }
+
+    private void processShard(final Shard shard, final ShardedJobWork work, final List<Throwable> errors) {
+        // shards can take longer than the lease, which is therefore renewed while the shard is being processed
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final ScheduledFuture<?> heartbeat = this.heartbeatExecutor.scheduleWithFixedDelay(() -> renewLease(shard, tenant),
+                this.heartbeatMillis, this.heartbeatMillis, TimeUnit.MILLISECONDS);
+        List<Throwable> shardErrors;
+        try {
+            shardErrors = work.processRange(shard.rangeStart, shard.rangeEnd);
+        } catch (final RuntimeException e) {
+            LOG.error("Shard {} (ids {} to {}) failed", shard.shardNo, shard.rangeStart, shard.rangeEnd, e);
+            shardErrors = List.of(e);
+        } finally {
+            heartbeat.cancel(false);
+        }
+        errors.addAll(shardErrors);
+        // a node that lost the lease of the shard leaves the outcome to the node that claimed it next
+        this.jdbcTemplate.update(
+                "update job_cluster_shard set status = ?, finished_at = now(), error_count = ? where id = ? and node_id = ?",
+                shardErrors.isEmpty() ? SHARD_DONE : SHARD_FAILED, shardErrors.size(), shard.id, this.nodeId);
+    }
+
+    private void renewLease(final Shard shard, final FineractPlatformTenant tenant) {
+        if (tenant != null) {
+            ThreadLocalContextUtil.setTenant(tenant);
+        }
+        try {
+            final int renewed = this.jdbcTemplate.update(
+                    "update job_cluster_shard set lease_until = date_add(now(), interval ? second)"
+                            + " where id = ? and node_id = ? and status = ?",
+                    this.leaseSeconds, shard.id, this.nodeId, SHARD_RUNNING);
+            if (renewed == 0) {
+                LOG.warn("Node {} lost the lease of shard {} (ids {} to {})", this.nodeId, shard.shardNo, shard.rangeStart,
+                        shard.rangeEnd);
+            }
+        } catch (final RuntimeException e) {
+            // thrown out of the task it would cancel all further heartbeats of the shard
+            LOG.warn("Could not renew the lease of shard {}", shard.shardNo, e);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    /**
+     * Completes the run once no shard is pending or running any more; whichever node gets there first does it.
+     */
+    private void finishRunIfComplete(final long runId) {
+        this.jdbcTemplate.update("update job_cluster_run set status = case when exists"
+                + " (select 1 from job_cluster_shard s where s.run_id = ? and s.status = ?) then ? else ? end, finished_at = now()"
+                + " where id = ? and status = ? and not exists"
+                + " (select 1 from job_cluster_shard s where s.run_id = ? and s.status in (?, ?))",
+                runId, SHARD_FAILED, RUN_FAILED, RUN_COMPLETED, runId, RUN_RUNNING, runId, SHARD_PENDING, SHARD_RUNNING);
+    }
+
+    /**
+     * Keeps the coordinator's lease alive until the other nodes have finished their shards, taking over shards of nodes
+     * that went away.
+     */
+    private void awaitRun(final long runId, final ShardedJobWork work, final List<Throwable> errors) {
+        while (RUN_RUNNING.equals(findRunStatus(runId))) {
+            if (!pause()) {
+                return;
+            }
+            this.jdbcTemplate.update("update job_cluster_run set lease_until = date_add(now(), interval ? second) where id = ?",
+                    this.leaseSeconds, runId);
+            processShards(runId, work, errors);
+            finishRunIfComplete(runId);
+        }
+    }
+
+    private long findRunId(final Long jobId, final Timestamp scheduledFireTime) {
+        return this.jdbcTemplate.queryForObject("select id from job_cluster_run where job_id = ? and scheduled_fire_time = ?",
+                Long.class, jobId, scheduledFireTime);
+    }
+
+    private String findRunStatus(final long runId) {
+        return this.jdbcTemplate.queryForObject("select status from job_cluster_run where id = ?", String.class, runId);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class RunContext {
+
+        private final String jobKey;
+        private final Date scheduledFireTime;
+        private boolean coordinator;
+        private boolean worker;
+
+        RunContext(final String jobKey, final Date scheduledFireTime) {
+            this.jobKey = jobKey;
+            this.scheduledFireTime = scheduledFireTime;
+        }
+    }
+
+    private static final class Shard {
+
+        private final long id;
+        private final int shardNo;
+        private final long rangeStart;
+        private final long rangeEnd;
+
+        Shard(final long id, final int shardNo, final long rangeStart, final long rangeEnd) {
+            this.id = id;
+            this.shardNo = shardNo;
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+        }
+    }
+
+    private static final class ShardMapper implements RowMapper<Shard> {
+
+        @Override
+        public Shard mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new Shard(rs.getLong("id"), rs.getInt("shard_no"), rs.getLong("range_start"), rs.getLong("range_end"));
+        }
+    }
+}
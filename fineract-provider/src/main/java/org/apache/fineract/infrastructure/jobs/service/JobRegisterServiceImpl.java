@@ -20,8 +20,6 @@ package org.apache.fineract.infrastructure.jobs.service;
 
 import com.google.common.base.Splitter;
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,7 +48,6 @@ import org.quartz.TriggerListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.scheduling.quartz.CronTriggerFactoryBean;
@@ -73,7 +70,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     // code base, the following fields are not final, and there is no
     // constructor, but setters.
 
-    private ApplicationContext applicationContext;
+    private CronTargetInvoker cronTargetInvoker;
     private SchedularWritePlatformService schedularWritePlatformService;
     private TenantDetailsService tenantDetailsService;
     private SchedulerJobListener schedulerJobListener;
@@ -84,8 +81,8 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     private final HashMap<String, Scheduler> schedulers = new HashMap<>(4);
 
     @Autowired
-    public void setApplicationContext(ApplicationContext applicationContext) {
-        this.applicationContext = applicationContext;
+    public void setCronTargetInvoker(CronTargetInvoker cronTargetInvoker) {
+        this.cronTargetInvoker = cronTargetInvoker;
     }
 
     @Autowired
@@ -353,7 +350,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
                     "Code has no @CronTarget with this job name (@see JobName); seems like DB/code are not in line: "
                             + scheduledJobDetail.getJobName());
         }
-        final Object targetObject = getBeanObject(Class.forName(jobDetails.className));
+        final Object targetObject = this.cronTargetInvoker.findTargetBean(Class.forName(jobDetails.className));
         final MethodInvokingJobDetailFactoryBean jobDetailFactoryBean = new MethodInvokingJobDetailFactoryBean();
         jobDetailFactoryBean.setName(scheduledJobDetail.getJobName() + "JobDetail" + tenant.getId());
         jobDetailFactoryBean.setTargetObject(targetObject);
@@ -373,35 +370,6 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         return jobParameterMap;
     }
 
-    private Object getBeanObject(final Class<?> classType) throws ClassNotFoundException {
-        final List<Class<?>> typesList = new ArrayList<>();
-        final Class<?>[] interfaceType = classType.getInterfaces();
-        if (interfaceType.length > 0) {
-            typesList.addAll(Arrays.asList(interfaceType));
-        } else {
-            Class<?> superclassType = classType;
-            while (!Object.class.getName().equals(superclassType.getSuperclass().getName())) {
-                superclassType = superclassType.getSuperclass();
-            }
-            typesList.add(superclassType);
-        }
-        final List<String> beanNames = new ArrayList<>();
-        for (final Class<?> clazz : typesList) {
-            beanNames.addAll(Arrays.asList(this.applicationContext.getBeanNamesForType(clazz)));
-        }
-        Object targetObject = null;
-        for (final String beanName : beanNames) {
-            final Object nextObject = this.applicationContext.getBean(beanName);
-            String targetObjName = nextObject.toString();
-            targetObjName = targetObjName.substring(0, targetObjName.lastIndexOf("@"));
-            if (classType.getName().equals(targetObjName)) {
-                targetObject = nextObject;
-                break;
-            }
-        }
-        return targetObject;
-    }
-
     private Trigger createTrigger(final ScheduledJobDetail scheduledJobDetails, final JobDetail jobDetail) throws ParseException {
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         final CronTriggerFactoryBean cronTriggerFactoryBean = new CronTriggerFactoryBean();
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+
+/**
+ * Runs {@link ChunkedJobStep}s with a persisted step execution per job, step and business date, so that a job restarted
+ * on the same day continues after the last committed chunk instead of starting over.
+ */
+public interface JobStepExecutionService {
+
+    String CHUNK_SIZE_PROPERTY = "fineract.jobs.chunk-size";
+
+    void execute(JobName jobName, ChunkedJobStep step) throws JobExecutionException;
+
+    /**
+     * Discards the chunk statistics of the current thread; called when a job execution starts.
+     */
+    void resetStatistics();
+
+    /**
+     * @return the chunk statistics of the job executed by the current thread, <code>null</code> when it ran no chunked
+     *         step; the statistics are discarded
+     */
+    ChunkStatistics collectStatistics();
+}
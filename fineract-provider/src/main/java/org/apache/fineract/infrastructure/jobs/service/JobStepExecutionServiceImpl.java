@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobStepExecutionServiceImpl implements JobStepExecutionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobStepExecutionServiceImpl.class);
+
+    private static final String STATUS_STARTED = "STARTED";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    static final String EXECUTION_SQL = "select id, status from job_step_execution where job_name = ? and step_name = ?"
+            + " and business_date = ?";
+    static final String INSERT_EXECUTION_SQL = "insert into job_step_execution (job_name, step_name, business_date, status,"
+            + " read_count, processed_count, error_count, chunk_count, started_at) values (?, ?, ?, ?, 0, 0, 0, 0, now())";
+    static final String EXECUTION_ID_SQL = "select id from job_step_execution where job_name = ? and step_name = ?"
+            + " and business_date = ?";
+    static final String RESET_EXECUTION_SQL = "update job_step_execution set status = ?, last_committed_id = null, read_count = 0,"
+            + " processed_count = 0, error_count = 0, chunk_count = 0, started_at = now(), last_commit_at = null,"
+            + " finished_at = null where id = ?";
+    static final String RESUME_EXECUTION_SQL = "update job_step_execution set status = ?, finished_at = null where id = ?";
+    static final String LAST_COMMITTED_ID_SQL = "select last_committed_id from job_step_execution where id = ?";
+    static final String COMMIT_CHUNK_SQL = "update job_step_execution set last_committed_id = ?, read_count = read_count + ?,"
+            + " processed_count = processed_count + ?, error_count = error_count + ?, chunk_count = chunk_count + 1,"
+            + " last_commit_at = now() where id = ?";
+    static final String FINISH_EXECUTION_SQL = "update job_step_execution set status = ?, finished_at = now() where id = ?";
+
+    private static final ThreadLocal<ChunkStatistics> STATISTICS = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public JobStepExecutionServiceImpl(final RoutingDataSource dataSource, final Environment env) {
+        this(new JdbcTemplate(dataSource), env);
+    }
+
+    JobStepExecutionServiceImpl(final JdbcTemplate jdbcTemplate, final Environment env) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = Math.max(1, env.getProperty(CHUNK_SIZE_PROPERTY, Integer.class, 100));
+    }
+
+    @Override
+    public void execute(final JobName jobName, final ChunkedJobStep step) throws JobExecutionException {
+        final long executionId = openExecution(jobName.toString(), step.name(), DateUtils.getLocalDateOfTenant());
+        Long lastCommittedId = this.jdbcTemplate.queryForObject(LAST_COMMITTED_ID_SQL, Long.class, executionId);
+        if (lastCommittedId != null) {
+            LOG.info("Resuming step {} of job {} after id {}", step.name(), jobName, lastCommittedId);
+        }
+
+        final List<Throwable> errors = new ArrayList<>();
+        try {
+            List<Long> ids = read(step, lastCommittedId);
+            while (!ids.isEmpty()) {
+                final long chunkStart = System.nanoTime();
+                final List<Long> processedIds = new ArrayList<>(ids.size());
+                for (final Long id : ids) {
+                    if (lastCommittedId != null && id <= lastCommittedId) {
+                        throw new IllegalStateException("Step " + step.name() + " of job " + jobName + " read id " + id
+                                + " which is not after the last committed id " + lastCommittedId);
+                    }
+                    try {
+                        step.process(id);
+                        processedIds.add(id);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        errors.add(e);
+                        finishExecution(executionId, STATUS_FAILED);
+                        throw new JobExecutionException(errors);
+                    } catch (final Exception e) {
+                        LOG.error("Step {} of job {} failed for id {}", step.name(), jobName, id, e);
+                        errors.add(e);
+                    }
+                }
+                step.write(processedIds);
+                lastCommittedId = ids.get(ids.size() - 1);
+                this.jdbcTemplate.update(COMMIT_CHUNK_SQL, lastCommittedId, ids.size(), processedIds.size(),
+                        ids.size() - processedIds.size(), executionId);
+                statistics().chunkCommitted(ids.size(), (System.nanoTime() - chunkStart) / 1_000_000L);
+                ids = read(step, lastCommittedId);
+            }
+        } catch (final RuntimeException e) {
+            finishExecution(executionId, STATUS_FAILED);
+            throw e;
+        }
+        finishExecution(executionId, STATUS_COMPLETED);
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    @Override
+    public void resetStatistics() {
+        STATISTICS.remove();
+    }
+
+    @Override
+    public ChunkStatistics collectStatistics() {
+        final ChunkStatistics statistics = STATISTICS.get();
+        STATISTICS.remove();
+        return statistics;
+    }
+
+    /**
+     * Readers read from the primary: ids missed on a lagging replica would be skipped for good, as the step resumes after
+     * the last committed id.
+     */
+    private List<Long> read(final ChunkedJobStep step, final Long lastCommittedId) {
+        return step.read(lastCommittedId, this.chunkSize);
+    }
+
+    private ChunkStatistics statistics() {
+        ChunkStatistics statistics = STATISTICS.get();
+        if (statistics == null) {
+            statistics = new ChunkStatistics();
+            STATISTICS.set(statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the execution of the step for the business date. An unfinished one is resumed; a completed one is reset so a
+     * rerun on the same day processes everything again.
+     */
+    private long openExecution(final String jobName, final String stepName, final LocalDate businessDate) {
+        final Date date = Date.valueOf(businessDate);
+        final List<Map<String, Object>> executions = this.jdbcTemplate.queryForList(EXECUTION_SQL, jobName, stepName, date);
+        if (executions.isEmpty()) {
+            this.jdbcTemplate.update(INSERT_EXECUTION_SQL, jobName, stepName, date, STATUS_STARTED);
+            return this.jdbcTemplate.queryForObject(EXECUTION_ID_SQL, Long.class, jobName, stepName, date);
+        }
+
+        final long executionId = ((Number) executions.get(0).get("id")).longValue();
+        if (STATUS_COMPLETED.equals(executions.get(0).get("status"))) {
+            this.jdbcTemplate.update(RESET_EXECUTION_SQL, STATUS_STARTED, executionId);
+        } else {
+            this.jdbcTemplate.update(RESUME_EXECUTION_SQL, STATUS_STARTED, executionId);
+        }
+        return executionId;
+    }
+
+    private void finishExecution(final long executionId, final String status) {
+        this.jdbcTemplate.update(FINISH_EXECUTION_SQL, status, executionId);
+    }
+}
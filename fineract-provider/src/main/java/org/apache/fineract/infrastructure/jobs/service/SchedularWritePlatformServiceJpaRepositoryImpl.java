@@ -47,14 +47,17 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
 
     private final JobDetailDataValidator dataValidator;
 
+    private final JobClusterService jobClusterService;
+
     @Autowired
     public SchedularWritePlatformServiceJpaRepositoryImpl(final ScheduledJobDetailRepository scheduledJobDetailsRepository,
             final ScheduledJobRunHistoryRepository scheduledJobRunHistoryRepository, final JobDetailDataValidator dataValidator,
-            final SchedulerDetailRepository schedulerDetailRepository) {
+            final SchedulerDetailRepository schedulerDetailRepository, final JobClusterService jobClusterService) {
         this.scheduledJobDetailsRepository = scheduledJobDetailsRepository;
         this.scheduledJobRunHistoryRepository = scheduledJobRunHistoryRepository;
         this.schedulerDetailRepository = schedulerDetailRepository;
         this.dataValidator = dataValidator;
+        this.jobClusterService = jobClusterService;
     }
 
     @Override
@@ -136,8 +139,11 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
     public boolean processJobDetailForExecution(final String jobKey, final String triggerType) {
         boolean isStopExecution = false;
         final ScheduledJobDetail scheduledJobDetail = this.scheduledJobDetailsRepository.findByJobKeyWithLock(jobKey);
-        if (scheduledJobDetail.isCurrentlyRunning() || (triggerType.equals(SchedulerServiceConstants.TRIGGER_TYPE_CRON)
-                && scheduledJobDetail.getNextRunTime().after(new Date()))) {
+        // in cluster mode the cron triggers of all nodes fire sharded jobs together and share out the work
+        final boolean cronTriggered = triggerType.equals(SchedulerServiceConstants.TRIGGER_TYPE_CRON);
+        final boolean joinsClusterRun = cronTriggered && this.jobClusterService.isSharded(scheduledJobDetail.getJobName());
+        if ((scheduledJobDetail.isCurrentlyRunning() && !joinsClusterRun)
+                || (cronTriggered && scheduledJobDetail.getNextRunTime().after(new Date()))) {
             isStopExecution = true;
         }
         final SchedulerDetail schedulerDetail = retriveSchedulerDetail();
@@ -22,6 +22,7 @@ import java.util.Date;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobRunHistory;
+import org.apache.fineract.infrastructure.jobs.service.TenantJobThrottle.Permit;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
 import org.quartz.JobExecutionContext;
@@ -29,6 +30,8 @@ import org.quartz.JobExecutionException;
 import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Trigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
@@ -38,12 +41,18 @@ import org.springframework.stereotype.Component;
 
 /**
  * Global job Listener class to set Tenant details to {@link ThreadLocalContextUtil} for batch Job and stores the batch
- * job status to database after the execution
+ * job status to database after the execution. Jobs wait for a {@link TenantJobThrottle} slot before they start; the
+ * time spent waiting and the execution time are stored with the run history.
  *
  */
 @Component
 public class SchedulerJobListener implements JobListener {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SchedulerJobListener.class);
+
+    private static final String THROTTLE_PERMIT = "throttlePermit";
+    private static final String EXECUTION_START_TIME = "executionStartTime";
+
     private int stackTraceLevel = 0;
 
     private final String name = SchedulerServiceConstants.DEFAULT_LISTENER_NAME;
@@ -52,12 +61,23 @@ public class SchedulerJobListener implements JobListener {
 
     private final AppUserRepositoryWrapper userRepository;
 
+    private final TenantJobThrottle jobThrottle;
+
+    private final JobClusterService jobClusterService;
+
+    private final JobStepExecutionService jobStepExecutionService;
+
     private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
 
     @Autowired
-    public SchedulerJobListener(final SchedularWritePlatformService schedularService, final AppUserRepositoryWrapper userRepository) {
+    public SchedulerJobListener(final SchedularWritePlatformService schedularService, final AppUserRepositoryWrapper userRepository,
+            final TenantJobThrottle jobThrottle, final JobClusterService jobClusterService,
+            final JobStepExecutionService jobStepExecutionService) {
         this.schedularService = schedularService;
         this.userRepository = userRepository;
+        this.jobThrottle = jobThrottle;
+        this.jobClusterService = jobClusterService;
+        this.jobStepExecutionService = jobStepExecutionService;
     }
 
     @Override
@@ -66,11 +86,24 @@ public class SchedulerJobListener implements JobListener {
     }
 
     @Override
-    public void jobToBeExecuted(@SuppressWarnings("unused") final JobExecutionContext context) {
+    public void jobToBeExecuted(final JobExecutionContext context) {
         AppUser user = this.userRepository.fetchSystemUser();
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, user.getPassword(),
                 authoritiesMapper.mapAuthorities(user.getAuthorities()));
         SecurityContextHolder.getContext().setAuthentication(auth);
+        // acquired last: once the permit is held nothing here can fail, so jobWasExecuted is always reached to release it
+        try {
+            context.put(THROTTLE_PERMIT, this.jobThrottle.acquire(ThreadLocalContextUtil.getTenant()));
+        } catch (final InterruptedException e) {
+            // the scheduler is shutting down; let the job see the interrupt instead of holding it back
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for an execution slot for job {}", context.getJobDetail().getKey());
+        }
+        context.put(EXECUTION_START_TIME, System.currentTimeMillis());
+        this.jobStepExecutionService.resetStatistics();
+        final JobKey key = context.getJobDetail().getKey();
+        this.jobClusterService.enterRun(key.getName() + SchedulerServiceConstants.JOB_KEY_SEPERATOR + key.getGroup(),
+                context.getScheduledFireTime());
     }
 
     @Override
@@ -80,6 +113,13 @@ public class SchedulerJobListener implements JobListener {
 
     @Override
     public void jobWasExecuted(final JobExecutionContext context, final JobExecutionException jobException) {
+        final Date endTime = new Date();
+        this.jobThrottle.release((Permit) context.get(THROTTLE_PERMIT));
+        final ChunkStatistics chunkStatistics = this.jobStepExecutionService.collectStatistics();
+        if (this.jobClusterService.exitRun()) {
+            // this node only processed shards of a run coordinated by another node, which records the run
+            return;
+        }
         final Trigger trigger = context.getTrigger();
         final JobKey key = context.getJobDetail().getKey();
         final String jobKey = key.getName() + SchedulerServiceConstants.JOB_KEY_SEPERATOR + key.getGroup();
@@ -116,8 +156,21 @@ public class SchedulerJobListener implements JobListener {
         scheduledJobDetails.updatePreviousRunStartTime(context.getFireTime());
         scheduledJobDetails.updateCurrentlyRunningStatus(false);
 
-        final ScheduledJobRunHistory runHistory = new ScheduledJobRunHistory(scheduledJobDetails, version, context.getFireTime(),
-                new Date(), status, errorMessage, triggerType, errorLog);
+        Long queueWaitMillis = null;
+        Long executionMillis = null;
+        final Long executionStartTime = (Long) context.get(EXECUTION_START_TIME);
+        if (executionStartTime != null) {
+            final Date scheduledFireTime = context.getScheduledFireTime() != null ? context.getScheduledFireTime() : context.getFireTime();
+            queueWaitMillis = Math.max(0L, executionStartTime - scheduledFireTime.getTime());
+            executionMillis = Math.max(0L, endTime.getTime() - executionStartTime);
+        }
+
+        final ScheduledJobRunHistory runHistory = new ScheduledJobRunHistory(scheduledJobDetails, version, context.getFireTime(), endTime,
+                queueWaitMillis, executionMillis, status, errorMessage, triggerType, errorLog);
+        if (chunkStatistics != null) {
+            runHistory.updateChunkStatistics(chunkStatistics.getItemsProcessed(), chunkStatistics.getChunksCommitted(),
+                    chunkStatistics.getMaxChunkMillis());
+        }
         // scheduledJobDetails.addRunHistory(runHistory);
 
         this.schedularService.saveOrUpdate(scheduledJobDetails, runHistory);
@@ -21,6 +21,8 @@ package org.apache.fineract.infrastructure.jobs.service;
 import java.util.List;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
+import org.apache.fineract.infrastructure.jobs.data.CloseOfBusinessRunData;
+import org.apache.fineract.infrastructure.jobs.data.JobClusterRunData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailHistoryData;
 
@@ -34,4 +36,15 @@ public interface SchedulerJobRunnerReadService {
 
     boolean isUpdatesAllowed();
 
+    /**
+     * @return the latest cluster run of the job with its shards, without shards when the job never ran sharded
+     */
+    JobClusterRunData retrieveLatestClusterRun(Long jobId);
+
+    /**
+     * @return the latest run of the close of business pipeline with the timing of its stages, without stages when it
+     *         never ran
+     */
+    CloseOfBusinessRunData retrieveLatestCloseOfBusinessRun();
+
 }
@@ -20,14 +20,20 @@ package org.apache.fineract.infrastructure.jobs.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
+import org.apache.fineract.infrastructure.jobs.data.CloseOfBusinessRunData;
+import org.apache.fineract.infrastructure.jobs.data.CloseOfBusinessStageData;
+import org.apache.fineract.infrastructure.jobs.data.JobClusterRunData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailHistoryData;
+import org.apache.fineract.infrastructure.jobs.data.JobShardData;
 import org.apache.fineract.infrastructure.jobs.exception.JobNotFoundException;
 import org.apache.fineract.infrastructure.jobs.exception.OperationNotAllowedException;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
@@ -114,6 +120,40 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
         return true;
     }
 
+    @Override
+    public JobClusterRunData retrieveLatestClusterRun(final Long jobId) {
+        if (!isJobExist(jobId)) {
+            throw new JobNotFoundException(String.valueOf(jobId));
+        }
+        final List<Long> runIds = this.jdbcTemplate.queryForList(
+                "select run.id from job_cluster_run run where run.job_id = ? order by run.scheduled_fire_time desc limit 1", Long.class,
+                jobId);
+        if (runIds.isEmpty()) {
+            return new JobClusterRunData(jobId, null, null, null, 0, 0, null, null, new ArrayList<>());
+        }
+        final Long runId = runIds.get(0);
+        final JobShardMapper shardMapper = new JobShardMapper();
+        final List<JobShardData> shards = this.jdbcTemplate.query(shardMapper.schema() + " where shard.run_id = ? order by shard.shard_no",
+                shardMapper, runId);
+        final JobClusterRunMapper runMapper = new JobClusterRunMapper(shards);
+        return this.jdbcTemplate.queryForObject(runMapper.schema() + " where run.id = ?", runMapper, runId);
+    }
+
+    @Override
+    public CloseOfBusinessRunData retrieveLatestCloseOfBusinessRun() {
+        final List<Long> runIds = this.jdbcTemplate
+                .queryForList("select run.id from job_cob_run run order by run.started_at desc, run.id desc limit 1", Long.class);
+        if (runIds.isEmpty()) {
+            return new CloseOfBusinessRunData(null, null, null, null, null, new ArrayList<>());
+        }
+        final Long runId = runIds.get(0);
+        final CloseOfBusinessStageMapper stageMapper = new CloseOfBusinessStageMapper();
+        final List<CloseOfBusinessStageData> stages = this.jdbcTemplate
+                .query(stageMapper.schema() + " where stage.run_id = ? order by stage.id", stageMapper, runId);
+        final CloseOfBusinessRunMapper runMapper = new CloseOfBusinessRunMapper(stages);
+        return this.jdbcTemplate.queryForObject(runMapper.schema() + " where run.id = ?", runMapper, runId);
+    }
+
     private boolean isJobExist(final Long jobId) {
         boolean isJobPresent = false;
         try {
@@ -133,7 +173,7 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
 
         private final StringBuilder sqlBuilder = new StringBuilder("select").append(
                 " job.id,job.display_name as displayName,job.next_run_time as nextRunTime,job.initializing_errorlog as initializingError,job.cron_expression as cronExpression,job.is_active as active,job.currently_running as currentlyRunning,")
-                .append(" runHistory.version,runHistory.start_time as lastRunStartTime,runHistory.end_time as lastRunEndTime,runHistory.`status`,runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
+                .append(" runHistory.version,runHistory.start_time as lastRunStartTime,runHistory.end_time as lastRunEndTime,runHistory.queue_wait_millis as queueWaitMillis,runHistory.execution_millis as executionMillis,runHistory.items_processed as itemsProcessed,runHistory.chunks_committed as chunksCommitted,runHistory.max_chunk_millis as maxChunkMillis,runHistory.`status`,runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
                 .append(" from job job  left join job_run_history runHistory ON job.id=runHistory.job_id and job.previous_run_start_time=runHistory.start_time ");
 
         public String schema() {
@@ -153,6 +193,11 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
             final Long version = rs.getLong("version");
             final Date jobRunStartTime = rs.getTimestamp("lastRunStartTime");
             final Date jobRunEndTime = rs.getTimestamp("lastRunEndTime");
+            final Long queueWaitMillis = JdbcSupport.getLong(rs, "queueWaitMillis");
+            final Long executionMillis = JdbcSupport.getLong(rs, "executionMillis");
+            final Long itemsProcessed = JdbcSupport.getLong(rs, "itemsProcessed");
+            final Integer chunksCommitted = JdbcSupport.getInteger(rs, "chunksCommitted");
+            final Long maxChunkMillis = JdbcSupport.getLong(rs, "maxChunkMillis");
             final String status = rs.getString("status");
             final String jobRunErrorMessage = rs.getString("jobRunErrorMessage");
             final String triggerType = rs.getString("triggerType");
@@ -160,8 +205,8 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
 
             JobDetailHistoryData lastRunHistory = null;
             if (version > 0) {
-                lastRunHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime, status, jobRunErrorMessage, triggerType,
-                        jobRunErrorLog);
+                lastRunHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime, queueWaitMillis, executionMillis,
+                        itemsProcessed, chunksCommitted, maxChunkMillis, status, jobRunErrorMessage, triggerType, jobRunErrorLog);
             }
             final JobDetailData jobDetail = new JobDetailData(id, displayName, nextRunTime, initializingError, cronExpression, active,
                     currentlyRunning, lastRunHistory);
@@ -173,7 +218,7 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
     private static final class JobHistoryMapper implements RowMapper<JobDetailHistoryData> {
 
         private final StringBuilder sqlBuilder = new StringBuilder(200).append(
-                " runHistory.version,runHistory.start_time as runStartTime,runHistory.end_time as runEndTime,runHistory.`status`,runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
+                " runHistory.version,runHistory.start_time as runStartTime,runHistory.end_time as runEndTime,runHistory.queue_wait_millis as queueWaitMillis,runHistory.execution_millis as executionMillis,runHistory.items_processed as itemsProcessed,runHistory.chunks_committed as chunksCommitted,runHistory.max_chunk_millis as maxChunkMillis,runHistory.`status`,runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
                 .append(" from job job join job_run_history runHistory ON job.id=runHistory.job_id");
 
         public String schema() {
@@ -185,15 +230,131 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
             final Long version = rs.getLong("version");
             final Date jobRunStartTime = rs.getTimestamp("runStartTime");
             final Date jobRunEndTime = rs.getTimestamp("runEndTime");
+            final Long queueWaitMillis = JdbcSupport.getLong(rs, "queueWaitMillis");
+            final Long executionMillis = JdbcSupport.getLong(rs, "executionMillis");
+            final Long itemsProcessed = JdbcSupport.getLong(rs, "itemsProcessed");
+            final Integer chunksCommitted = JdbcSupport.getInteger(rs, "chunksCommitted");
+            final Long maxChunkMillis = JdbcSupport.getLong(rs, "maxChunkMillis");
             final String status = rs.getString("status");
             final String jobRunErrorMessage = rs.getString("jobRunErrorMessage");
             final String triggerType = rs.getString("triggerType");
             final String jobRunErrorLog = rs.getString("jobRunErrorLog");
-            final JobDetailHistoryData jobDetailHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime, status,
-                    jobRunErrorMessage, triggerType, jobRunErrorLog);
+            final JobDetailHistoryData jobDetailHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime,
+                    queueWaitMillis, executionMillis, itemsProcessed, chunksCommitted, maxChunkMillis, status, jobRunErrorMessage,
+                    triggerType, jobRunErrorLog);
             return jobDetailHistory;
         }
 
     }
 
+    private static final class JobClusterRunMapper implements RowMapper<JobClusterRunData> {
+
+        private final List<JobShardData> shards;
+
+        JobClusterRunMapper(final List<JobShardData> shards) {
+            this.shards = shards;
+        }
+
+        public String schema() {
+            return "select run.job_id as jobId, run.scheduled_fire_time as scheduledFireTime, run.coordinator_node as coordinatorNode,"
+                    + " run.status, run.shard_count as shardCount, run.started_at as startedAt, run.finished_at as finishedAt,"
+                    + " (select count(*) from job_cluster_shard shard where shard.run_id = run.id and shard.status in ('DONE', 'FAILED'))"
+                    + " as completedShardCount from job_cluster_run run";
+        }
+
+        @Override
+        public JobClusterRunData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final Long jobId = rs.getLong("jobId");
+            final Date scheduledFireTime = rs.getTimestamp("scheduledFireTime");
+            final String coordinatorNode = rs.getString("coordinatorNode");
+            final String status = rs.getString("status");
+            final Integer shardCount = JdbcSupport.getInteger(rs, "shardCount");
+            final Integer completedShardCount = JdbcSupport.getInteger(rs, "completedShardCount");
+            final Date startedAt = rs.getTimestamp("startedAt");
+            final Date finishedAt = rs.getTimestamp("finishedAt");
+            return new JobClusterRunData(jobId, scheduledFireTime, coordinatorNode, status, shardCount, completedShardCount, startedAt,
+                    finishedAt, this.shards);
+        }
+    }
+
+    private static final class JobShardMapper implements RowMapper<JobShardData> {
+
+        public String schema() {
+            return "select shard.shard_no as shardNo, shard.range_start as rangeStart, shard.range_end as rangeEnd, shard.status,"
+                    + " shard.node_id as nodeId, shard.started_at as startedAt, shard.finished_at as finishedAt,"
+                    + " shard.error_count as errorCount from job_cluster_shard shard";
+        }
+
+        @Override
+        public JobShardData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final Integer shardNo = rs.getInt("shardNo");
+            final Long rangeStart = rs.getLong("rangeStart");
+            final Long rangeEnd = rs.getLong("rangeEnd");
+            final String status = rs.getString("status");
+            final String nodeId = rs.getString("nodeId");
+            final Date startedAt = rs.getTimestamp("startedAt");
+            final Date finishedAt = rs.getTimestamp("finishedAt");
+            final Integer errorCount = rs.getInt("errorCount");
+            return new JobShardData(shardNo, rangeStart, rangeEnd, status, nodeId, startedAt, finishedAt, errorCount);
+        }
+    }
+
+    private static final class CloseOfBusinessRunMapper implements RowMapper<CloseOfBusinessRunData> {
+
+        private final List<CloseOfBusinessStageData> stages;
+
+        CloseOfBusinessRunMapper(final List<CloseOfBusinessStageData> stages) {
+            this.stages = stages;
+        }
+
+        public String schema() {
+            return "select run.id, run.started_at as startedAt, run.finished_at as finishedAt, run.status,"
+                    + " run.critical_path_millis as criticalPathMillis from job_cob_run run";
+        }
+
+        @Override
+        public CloseOfBusinessRunData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final Long id = rs.getLong("id");
+            final Date startedAt = rs.getTimestamp("startedAt");
+            final Date finishedAt = rs.getTimestamp("finishedAt");
+            final String status = rs.getString("status");
+            final Long criticalPathMillis = JdbcSupport.getLong(rs, "criticalPathMillis");
+            return new CloseOfBusinessRunData(id, startedAt, finishedAt, status, criticalPathMillis, this.stages);
+        }
+    }
+
+    private static final class CloseOfBusinessStageMapper implements RowMapper<CloseOfBusinessStageData> {
+
+        public String schema() {
+            return "select stage.stage, stage.job_name as jobName, stage.status, stage.ready_at as readyAt, stage.started_at as startedAt,"
+                    + " stage.finished_at as finishedAt, stage.on_critical_path as onCriticalPath, stage.error_message as errorMessage"
+                    + " from job_cob_stage stage";
+        }
+
+        @Override
+        public CloseOfBusinessStageData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final String stage = rs.getString("stage");
+            final String jobName = rs.getString("jobName");
+            final String status = rs.getString("status");
+            final Date readyAt = rs.getTimestamp("readyAt");
+            final Date startedAt = rs.getTimestamp("startedAt");
+            final Date finishedAt = rs.getTimestamp("finishedAt");
+            final boolean onCriticalPath = rs.getBoolean("onCriticalPath");
+            final String errorMessage = rs.getString("errorMessage");
+            return new CloseOfBusinessStageData(stage, jobName, dependsOn(stage), status, readyAt, startedAt, finishedAt, onCriticalPath,
+                    errorMessage);
+        }
+
+        private static List<String> dependsOn(final String stageName) {
+            final List<String> dependsOn = new ArrayList<>();
+            for (final CloseOfBusinessStage stage : CloseOfBusinessStage.values()) {
+                if (stage.name().equals(stageName)) {
+                    for (final CloseOfBusinessStage dependency : stage.getDependencies()) {
+                        dependsOn.add(dependency.name());
+                    }
+                }
+            }
+            return dependsOn;
+        }
+    }
 }
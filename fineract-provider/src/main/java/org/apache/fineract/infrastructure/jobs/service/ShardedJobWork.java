@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.List;
+
+/**
+ * Work of a batch job that can be split into ranges of row ids and processed by any node of the cluster.
+ *
+ * Ranges may be processed more than once when a node loses the lease of its shard, so processing a row twice has to be
+ * harmless (e.g. interest that was already posted for the period is not posted again).
+ */
+public interface ShardedJobWork {
+
+    /**
+     * @return the ids of the rows the job has to process, in ascending order
+     */
+    List<Long> findIds();
+
+    /**
+     * Processes the rows whose id is between <code>fromId</code> and <code>toId</code> (both inclusive).
+     *
+     * @return the failures of individual rows, empty when the whole range was processed
+     */
+    List<Throwable> processRange(long fromId, long toId);
+}
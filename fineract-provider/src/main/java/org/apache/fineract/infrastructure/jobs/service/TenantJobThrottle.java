@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits how many batch jobs run at the same time, per tenant and across all tenants.
+ *
+ * Every tenant has its own Quartz scheduler, so tenants already run concurrently; without a limit the number of busy job
+ * threads grows with the number of tenants and a tenant's jobs can take every connection of its pool away from API
+ * traffic. A tenant may run at most half of its pool's <code>maxActive</code> connections worth of jobs (and never more
+ * than <code>fineract.jobs.max-concurrent-per-tenant</code>), while <code>fineract.jobs.max-concurrent-total</code> caps
+ * the jobs running on this node. Waiting jobs are served in arrival order.
+ */
+@Component
+public class TenantJobThrottle {
+
+    public static final String MAX_CONCURRENT_PER_TENANT_PROPERTY = "fineract.jobs.max-concurrent-per-tenant";
+    public static final String MAX_CONCURRENT_TOTAL_PROPERTY = "fineract.jobs.max-concurrent-total";
+
+    private static final Logger LOG = LoggerFactory.getLogger(TenantJobThrottle.class);
+
+    private final int maxConcurrentPerTenant;
+    private final Semaphore totalPermits;
+    private final ConcurrentMap<String, Semaphore> tenantPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TenantJobThrottle(final Environment env) {
+        this.maxConcurrentPerTenant = Math.max(1, env.getProperty(MAX_CONCURRENT_PER_TENANT_PROPERTY, Integer.class, 3));
+        final int maxConcurrentTotal = Math.max(1,
+                env.getProperty(MAX_CONCURRENT_TOTAL_PROPERTY, Integer.class, Runtime.getRuntime().availableProcessors() * 2));
+        this.totalPermits = new Semaphore(maxConcurrentTotal, true);
+    }
+
+    /**
+     * Blocks until the tenant may start another job.
+     *
+     * @return the acquired permit, to be passed to {@link #release(Permit)} once the job has finished
+     */
+    public Permit acquire(final FineractPlatformTenant tenant) throws InterruptedException {
+        final Semaphore tenantSemaphore = this.tenantPermits.computeIfAbsent(tenant.getTenantIdentifier(),
+                identifier -> new Semaphore(tenantCap(tenant.getConnection()), true));
+        final long waitStart = System.nanoTime();
+        // the tenant permit comes first so a tenant queueing on its own cap does not hold node-wide permits
+        tenantSemaphore.acquire();
+        try {
+            this.totalPermits.acquire();
+        } catch (final InterruptedException e) {
+            tenantSemaphore.release();
+            throw e;
+        }
+        final long waitedMillis = (System.nanoTime() - waitStart) / 1_000_000L;
+        if (waitedMillis > 0) {
+            LOG.debug("Job of tenant {} waited {} ms for a free execution slot", tenant.getTenantIdentifier(), waitedMillis);
+        }
+        return new Permit(tenantSemaphore);
+    }
+
+    public void release(final Permit permit) {
+        if (permit != null && permit.release()) {
+            this.totalPermits.release();
+        }
+    }
+
+    private int tenantCap(final FineractPlatformTenantConnection connection) {
+        if (connection == null || connection.getMaxActive() <= 0) {
+            return this.maxConcurrentPerTenant;
+        }
+        return Math.max(1, Math.min(this.maxConcurrentPerTenant, connection.getMaxActive() / 2));
+    }
+
+    public static final class Permit {
+
+        private final Semaphore tenantSemaphore;
+        private boolean released;
+
+        private Permit(final Semaphore tenantSemaphore) {
+            this.tenantSemaphore = tenantSemaphore;
+        }
+
+        private synchronized boolean release() {
+            if (this.released) {
+                return false;
+            }
+            this.released = true;
+            this.tenantSemaphore.release();
+            return true;
+        }
+    }
+}
@@ -17,7 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.ReadReplicaRouter;
 import org.apache.fineract.infrastructure.report.annotation.ReportService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.pentaho.reporting.engine.classic.core.ClassicEngineBoot;
@@ -45,15 +45,17 @@ public class PentahoReportingProcessServiceImpl implements ReportingProcessServi
     public static final String MIFOS_BASE_DIR = System.getProperty("user.home") + File.separator + ".mifosx";
 
     private final PlatformSecurityContext context;
+    private final ReadReplicaRouter readReplicaRouter;
 
     @Autowired
     private JDBCDriverConfig driverConfig;
 
     @Autowired
-    public PentahoReportingProcessServiceImpl(final PlatformSecurityContext context) {
+    public PentahoReportingProcessServiceImpl(final PlatformSecurityContext context, final ReadReplicaRouter readReplicaRouter) {
         ClassicEngineBoot.getInstance().start();
 
         this.context = context;
+        this.readReplicaRouter = readReplicaRouter;
     }
 
     @Override
@@ -167,8 +169,7 @@ public class PentahoReportingProcessServiceImpl implements ReportingProcessServi
             // Tenant database name and current user's office hierarchy
             // passed as parameters to allow multitenant Pentaho reporting
             // and data scoping
-            final var tenant = ThreadLocalContextUtil.getTenant();
-            final var tenantConnection = tenant.getConnection();
+            final var tenantConnection = this.readReplicaRouter.getReadConnection();
             var tenantUrl = driverConfig.constructProtocol(tenantConnection.getSchemaServer(), tenantConnection.getSchemaServerPort(),
                     tenantConnection.getSchemaName(), tenantConnection.getSchemaConnectionParameters());
             final var userhierarchy = currentUser.getOffice().getHierarchy();
@@ -22,5 +22,8 @@ import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 
 public interface BasicAuthTenantDetailsService {
 
-    FineractPlatformTenant loadTenantById(String tenantId, boolean isReport);
+    /**
+     * @return the tenant, with the connection to its report database as read replica when that is a different one
+     */
+    FineractPlatformTenant loadTenantById(String tenantId);
 }
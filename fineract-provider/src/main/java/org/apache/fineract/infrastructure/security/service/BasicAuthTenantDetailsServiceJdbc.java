@@ -134,15 +134,20 @@ public class BasicAuthTenantDetailsServiceJdbc implements BasicAuthTenantDetails
 
     @Override
     @Cacheable(value = "tenantsById")
-    public FineractPlatformTenant loadTenantById(final String tenantIdentifier, final boolean isReport) {
+    public FineractPlatformTenant loadTenantById(final String tenantIdentifier) {
 
         try {
-            final TenantMapper rm = new TenantMapper(isReport);
-            final String sql = "select  " + rm.schema() + " where t.identifier = ?";
-
-            return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier });
+            final FineractPlatformTenant tenant = loadTenant(tenantIdentifier, false);
+            return tenant.withReadReplicaConnection(loadTenant(tenantIdentifier, true).getConnection());
         } catch (final EmptyResultDataAccessException e) {
             throw new InvalidTenantIdentiferException("The tenant identifier: " + tenantIdentifier + " is not valid.", e);
         }
     }
+
+    private FineractPlatformTenant loadTenant(final String tenantIdentifier, final boolean isReport) {
+        final TenantMapper rm = new TenantMapper(isReport);
+        final String sql = "select  " + rm.schema() + " where t.identifier = ?";
+
+        return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier });
+    }
 }
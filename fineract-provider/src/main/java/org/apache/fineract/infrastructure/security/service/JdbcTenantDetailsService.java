@@ -20,7 +20,10 @@ package org.apache.fineract.infrastructure.security.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
@@ -60,7 +63,12 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
                 .append(" ts.pool_min_evictable_idle_time_millis as poolMinEvictableIdleTimeMillis,")//
                 .append(" ts.deadlock_max_retries as maxRetriesOnDeadlock,")//
                 .append(" ts.deadlock_max_retry_interval as maxIntervalBetweenRetries ")//
-                .append(" from tenants t left join tenant_server_connections ts on t.oltp_Id=ts.id ");
+                .append(" from tenants t left join tenant_server_connections ts ");
+
+        TenantMapper(final boolean isReport) {
+            // the report connection is used as the read replica of the tenant
+            this.sqlBuilder.append(isReport ? " on t.report_Id=ts.id " : " on t.oltp_Id=ts.id ");
+        }
 
         public String schema() {
             return this.sqlBuilder.toString();
@@ -130,10 +138,8 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
     public FineractPlatformTenant loadTenantById(final String tenantIdentifier) {
 
         try {
-            final TenantMapper rm = new TenantMapper();
-            final String sql = "select " + rm.schema() + " where t.identifier = ?";
-
-            return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier });
+            final FineractPlatformTenant tenant = loadTenant(tenantIdentifier, false);
+            return tenant.withReadReplicaConnection(loadTenant(tenantIdentifier, true).getConnection());
         } catch (final EmptyResultDataAccessException e) {
             throw new InvalidTenantIdentiferException("The tenant identifier: " + tenantIdentifier + " is not valid.", e);
         }
@@ -141,10 +147,28 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
 
     @Override
     public List<FineractPlatformTenant> findAllTenants() {
-        final TenantMapper rm = new TenantMapper();
+        final Map<Long, FineractPlatformTenantConnection> reportConnections = new HashMap<>();
+        for (final FineractPlatformTenant reportTenant : findTenants(true)) {
+            reportConnections.put(reportTenant.getId(), reportTenant.getConnection());
+        }
+        final List<FineractPlatformTenant> fineractPlatformTenants = new ArrayList<>();
+        for (final FineractPlatformTenant tenant : findTenants(false)) {
+            fineractPlatformTenants.add(tenant.withReadReplicaConnection(reportConnections.get(tenant.getId())));
+        }
+        return fineractPlatformTenants;
+    }
+
+    private FineractPlatformTenant loadTenant(final String tenantIdentifier, final boolean isReport) {
+        final TenantMapper rm = new TenantMapper(isReport);
+        final String sql = "select " + rm.schema() + " where t.identifier = ?";
+
+        return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier });
+    }
+
+    private List<FineractPlatformTenant> findTenants(final boolean isReport) {
+        final TenantMapper rm = new TenantMapper(isReport);
         final String sql = "select  " + rm.schema();
 
-        final List<FineractPlatformTenant> fineractPlatformTenants = this.jdbcTemplate.query(sql, rm, new Object[] {});
-        return fineractPlatformTenants;
+        return this.jdbcTemplate.query(sql, rm, new Object[] {});
     }
 }
@@ -45,6 +45,8 @@ import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.sms.data.SmsData;
+import org.apache.fineract.infrastructure.sms.data.SmsDispatchMetricsData;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsMessageDispatcher;
 import org.apache.fineract.infrastructure.sms.service.SmsReadPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -65,16 +67,22 @@ public class SmsApiResource {
     private final DefaultToApiJsonSerializer<SmsData> toApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final SmsMessageDispatcher smsMessageDispatcher;
+    private final DefaultToApiJsonSerializer<SmsDispatchMetricsData> dispatchMetricsJsonSerializer;
 
     @Autowired
     public SmsApiResource(final PlatformSecurityContext context, final SmsReadPlatformService readPlatformService,
             final DefaultToApiJsonSerializer<SmsData> toApiJsonSerializer, final ApiRequestParameterHelper apiRequestParameterHelper,
-            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+            final SmsMessageDispatcher smsMessageDispatcher,
+            final DefaultToApiJsonSerializer<SmsDispatchMetricsData> dispatchMetricsJsonSerializer) {
         this.context = context;
         this.readPlatformService = readPlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.smsMessageDispatcher = smsMessageDispatcher;
+        this.dispatchMetricsJsonSerializer = dispatchMetricsJsonSerializer;
     }
 
     @GET
@@ -108,6 +116,18 @@ public class SmsApiResource {
         return this.toApiJsonSerializer.serialize(settings, smsMessage);
     }
 
+    @GET
+    @Path("dispatch/metrics")
+    public String retrieveDispatchMetrics(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final Collection<SmsDispatchMetricsData> metrics = this.smsMessageDispatcher.retrieveMetrics();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.dispatchMetricsJsonSerializer.serialize(settings, metrics);
+    }
+
     @GET
     @Path("{campaignId}/messageByStatus")
     public String retrieveAllSmsByStatus(@PathParam("campaignId") final Long campaignId, @Context final UriInfo uriInfo,
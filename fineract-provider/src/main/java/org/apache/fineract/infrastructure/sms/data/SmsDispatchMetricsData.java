@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.data;
+
+/**
+ * Immutable data object representing the dispatch backlog and latency of one SMS provider lane
+ **/
+public final class SmsDispatchMetricsData {
+
+    private final Long providerId;
+    private final String lane;
+    private final long backlogMessages;
+    private final long dispatchedMessages;
+    private final long failedMessages;
+    private final long averageLatencyMillis;
+    private final long maxLatencyMillis;
+    private final int poolSize;
+    private final double messagesPerSecond;
+
+    private SmsDispatchMetricsData(final Long providerId, final String lane, final long backlogMessages, final long dispatchedMessages,
+            final long failedMessages, final long averageLatencyMillis, final long maxLatencyMillis, final int poolSize,
+            final double messagesPerSecond) {
+        this.providerId = providerId;
+        this.lane = lane;
+        this.backlogMessages = backlogMessages;
+        this.dispatchedMessages = dispatchedMessages;
+        this.failedMessages = failedMessages;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.poolSize = poolSize;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    /**
+     * @return an instance of the SmsDispatchMetricsData class
+     **/
+    public static SmsDispatchMetricsData instance(final Long providerId, final String lane, final long backlogMessages,
+            final long dispatchedMessages, final long failedMessages, final long averageLatencyMillis, final long maxLatencyMillis,
+            final int poolSize, final double messagesPerSecond) {
+        return new SmsDispatchMetricsData(providerId, lane, backlogMessages, dispatchedMessages, failedMessages, averageLatencyMillis,
+                maxLatencyMillis, poolSize, messagesPerSecond);
+    }
+
+    public Long getProviderId() {
+        return this.providerId;
+    }
+
+    public String getLane() {
+        return this.lane;
+    }
+
+    public long getBacklogMessages() {
+        return this.backlogMessages;
+    }
+
+    public long getDispatchedMessages() {
+        return this.dispatchedMessages;
+    }
+
+    public long getFailedMessages() {
+        return this.failedMessages;
+    }
+
+    public long getAverageLatencyMillis() {
+        return this.averageLatencyMillis;
+    }
+
+    public long getMaxLatencyMillis() {
+        return this.maxLatencyMillis;
+    }
+
+    public int getPoolSize() {
+        return this.poolSize;
+    }
+
+    public double getMessagesPerSecond() {
+        return this.messagesPerSecond;
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.scheduler;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignConstants;
+import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.sms.data.SmsDispatchMetricsData;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Sends SMS messages to the intermediate message gateway.
+ *
+ * Every SMS provider of a tenant gets its own worker pool and token bucket, so a slow or throttled provider only holds
+ * back its own messages. Messages are posted in batches; batches are queued by {@link SmsDispatchLane} so triggered
+ * (transactional) messages overtake the backlog of a bulk campaign. The pool size, the batch size and the rate per
+ * provider are read from the <code>fineract.sms.dispatch.*</code> properties.
+ **/
+@Component
+public class SmsMessageDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SmsMessageDispatcher.class);
+
+    private static final String POOL_SIZE_PROPERTY = "fineract.sms.dispatch.threads-per-provider";
+    private static final String BATCH_SIZE_PROPERTY = "fineract.sms.dispatch.batch-size";
+    private static final String RATE_PROPERTY = "fineract.sms.dispatch.messages-per-second";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final double DEFAULT_MESSAGES_PER_SECOND = 50;
+
+    private final SmsConfigUtils smsConfigUtils;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ConcurrentMap<String, ProviderDispatcher> providerDispatchers = new ConcurrentHashMap<>();
+    private final AtomicLong batchSequence = new AtomicLong();
+    private final int poolSize;
+    private final int batchSize;
+    private final double messagesPerSecond;
+
+    @Autowired
+    public SmsMessageDispatcher(final SmsConfigUtils smsConfigUtils, final Environment env) {
+        this.smsConfigUtils = smsConfigUtils;
+        this.poolSize = Math.max(1, env.getProperty(POOL_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_SIZE));
+        this.batchSize = Math.max(1, env.getProperty(BATCH_SIZE_PROPERTY, Integer.class, DEFAULT_BATCH_SIZE));
+        this.messagesPerSecond = env.getProperty(RATE_PROPERTY, Double.class, DEFAULT_MESSAGES_PER_SECOND);
+    }
+
+    /**
+     * Queues the messages of the current tenant for sending, split by provider and in batches.
+     **/
+    public void dispatch(final SmsDispatchLane lane, final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final Map<Long, List<SmsMessageApiQueueResourceData>> messagesByProvider = new LinkedHashMap<>();
+        for (final SmsMessageApiQueueResourceData apiQueueResourceData : apiQueueResourceDatas) {
+            messagesByProvider.computeIfAbsent(apiQueueResourceData.getproviderId(), providerId -> new ArrayList<>())
+                    .add(apiQueueResourceData);
+        }
+
+        for (final Map.Entry<Long, List<SmsMessageApiQueueResourceData>> entry : messagesByProvider.entrySet()) {
+            final ProviderDispatcher providerDispatcher = this.providerDispatchers.computeIfAbsent(
+                    providerKey(tenant.getTenantIdentifier(), entry.getKey()),
+                    key -> new ProviderDispatcher(tenant.getTenantIdentifier(), entry.getKey()));
+            for (final List<SmsMessageApiQueueResourceData> batch : Lists.partition(entry.getValue(), this.batchSize)) {
+                providerDispatcher.submit(new SmsBatchTask(tenant, providerDispatcher, lane, new ArrayList<>(batch)));
+            }
+        }
+    }
+
+    /**
+     * @return the backlog and latency of every provider lane of the current tenant
+     **/
+    public Collection<SmsDispatchMetricsData> retrieveMetrics() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final List<SmsDispatchMetricsData> metrics = new ArrayList<>();
+        for (final ProviderDispatcher providerDispatcher : this.providerDispatchers.values()) {
+            if (providerDispatcher.tenantIdentifier.equals(tenantIdentifier)) {
+                for (final Map.Entry<SmsDispatchLane, LaneMetrics> entry : providerDispatcher.laneMetrics.entrySet()) {
+                    metrics.add(entry.getValue().toData(providerDispatcher.providerId, entry.getKey(), this.poolSize,
+                            this.messagesPerSecond));
+                }
+            }
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (final ProviderDispatcher providerDispatcher : this.providerDispatchers.values()) {
+            providerDispatcher.executor.shutdown();
+        }
+        LOG.info("Shutting down the SMS dispatcher");
+    }
+
+    private static String providerKey(final String tenantIdentifier, final Long providerId) {
+        return tenantIdentifier + "/" + providerId;
+    }
+
+    /**
+     * Posts one batch to the message gateway; package-private so that tests can replace the gateway.
+     **/
+    void connectAndSendToIntermediateServer(final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+        Map<String, Object> hostConfig = this.smsConfigUtils.getMessageGateWayRequestURI("sms",
+                SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas));
+        URI uri = (URI) hostConfig.get("uri");
+        HttpEntity<?> entity = (HttpEntity<?>) hostConfig.get("entity");
+        ResponseEntity<String> responseOne = restTemplate.exchange(uri, HttpMethod.POST, entity,
+                new ParameterizedTypeReference<String>() {});
+        if (responseOne != null) {
+            if (!responseOne.getStatusCode().equals(HttpStatus.ACCEPTED)) {
+                LOG.debug("{}", responseOne.getStatusCode().name());
+                throw new ConnectionFailureException(SmsCampaignConstants.SMS);
+            }
+        }
+    }
+
+    /**
+     * Worker pool, token bucket and metrics of one provider of one tenant.
+     **/
+    private final class ProviderDispatcher {
+
+        private final String tenantIdentifier;
+        private final Long providerId;
+        private final ThreadPoolExecutor executor;
+        private final RateLimiter rateLimiter;
+        private final Map<SmsDispatchLane, LaneMetrics> laneMetrics = new EnumMap<>(SmsDispatchLane.class);
+
+        ProviderDispatcher(final String tenantIdentifier, final Long providerId) {
+            this.tenantIdentifier = tenantIdentifier;
+            this.providerId = providerId;
+            // the priority queue orders waiting batches by lane, idle pools release their threads
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                    new CustomizableThreadFactory("sms-" + providerKey(tenantIdentifier, providerId) + "-"));
+            this.executor.allowCoreThreadTimeOut(true);
+            this.rateLimiter = RateLimiter.create(messagesPerSecond);
+            for (final SmsDispatchLane lane : SmsDispatchLane.values()) {
+                this.laneMetrics.put(lane, new LaneMetrics());
+            }
+        }
+
+        void submit(final SmsBatchTask task) {
+            this.laneMetrics.get(task.lane).backlog.addAndGet(task.apiQueueResourceDatas.size());
+            this.executor.execute(task);
+        }
+    }
+
+    private static final class LaneMetrics {
+
+        private final AtomicLong backlog = new AtomicLong();
+        private final AtomicLong dispatched = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalLatencyMillis = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final LongAccumulator maxLatencyMillis = new LongAccumulator(Math::max, 0L);
+
+        void record(final int messages, final boolean success, final long latencyMillis) {
+            this.backlog.addAndGet(-messages);
+            if (success) {
+                this.dispatched.addAndGet(messages);
+            } else {
+                this.failed.addAndGet(messages);
+            }
+            this.batches.incrementAndGet();
+            this.totalLatencyMillis.addAndGet(latencyMillis);
+            this.maxLatencyMillis.accumulate(latencyMillis);
+        }
+
+        SmsDispatchMetricsData toData(final Long providerId, final SmsDispatchLane lane, final int poolSize,
+                final double messagesPerSecond) {
+            final long batchCount = this.batches.get();
+            final long averageLatencyMillis = batchCount == 0 ? 0 : this.totalLatencyMillis.get() / batchCount;
+            return SmsDispatchMetricsData.instance(providerId, lane.name(), this.backlog.get(), this.dispatched.get(), this.failed.get(),
+                    averageLatencyMillis, this.maxLatencyMillis.get(), poolSize, messagesPerSecond);
+        }
+    }
+
+    /**
+     * One batch of messages for one provider, ordered by lane and then by submission.
+     **/
+    private final class SmsBatchTask implements Runnable, Comparable<SmsBatchTask> {
+
+        private final FineractPlatformTenant tenant;
+        private final ProviderDispatcher providerDispatcher;
+        private final SmsDispatchLane lane;
+        private final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas;
+        private final long sequence = batchSequence.getAndIncrement();
+        private final long queuedAtMillis = System.currentTimeMillis();
+
+        SmsBatchTask(final FineractPlatformTenant tenant, final ProviderDispatcher providerDispatcher, final SmsDispatchLane lane,
+                final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+            this.tenant = tenant;
+            this.providerDispatcher = providerDispatcher;
+            this.lane = lane;
+            this.apiQueueResourceDatas = apiQueueResourceDatas;
+        }
+
+        @Override
+        public void run() {
+            boolean success = false;
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            try {
+                this.providerDispatcher.rateLimiter.acquire(this.apiQueueResourceDatas.size());
+                connectAndSendToIntermediateServer(this.apiQueueResourceDatas);
+                success = true;
+            } catch (RuntimeException e) {
+                LOG.error("Sending {} SMS messages to provider {} failed", this.apiQueueResourceDatas.size(),
+                        this.providerDispatcher.providerId, e);
+            } finally {
+                this.providerDispatcher.laneMetrics.get(this.lane).record(this.apiQueueResourceDatas.size(), success,
+                        System.currentTimeMillis() - this.queuedAtMillis);
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+
+        @Override
+        public int compareTo(final SmsBatchTask other) {
+            final int byLane = this.lane.compareTo(other.lane);
+            return byLane != 0 ? byLane : Long.compare(this.sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof SmsBatchTask && ((SmsBatchTask) obj).sequence == this.sequence;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.sequence);
+        }
+    }
+}
@@ -58,8 +58,7 @@ public class NotificationEventListener implements SessionAwareMessageListener {
         if (message instanceof ObjectMessage) {
             NotificationData notificationData = (NotificationData) ((ObjectMessage) message).getObject();
 
-            final FineractPlatformTenant tenant = this.basicAuthTenantDetailsService.loadTenantById(notificationData.getTenantIdentifier(),
-                    false);
+            final FineractPlatformTenant tenant = this.basicAuthTenantDetailsService.loadTenantById(notificationData.getTenantIdentifier());
             ThreadLocalContextUtil.setTenant(tenant);
 
             Long appUserId = notificationData.getActor();
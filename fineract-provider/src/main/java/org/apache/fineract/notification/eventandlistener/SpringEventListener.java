@@ -53,8 +53,7 @@ public class SpringEventListener implements ApplicationListener<SpringEvent> {
     public void onApplicationEvent(SpringEvent event) {
         NotificationData notificationData = event.getNotificationData();
 
-        final FineractPlatformTenant tenant = this.basicAuthTenantDetailsService.loadTenantById(notificationData.getTenantIdentifier(),
-                false);
+        final FineractPlatformTenant tenant = this.basicAuthTenantDetailsService.loadTenantById(notificationData.getTenantIdentifier());
         ThreadLocalContextUtil.setTenant(tenant);
 
         Long appUserId = notificationData.getActor();
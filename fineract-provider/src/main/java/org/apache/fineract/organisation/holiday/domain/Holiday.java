@@ -112,6 +112,24 @@ public class Holiday extends AbstractPersistableCustom {
         return new Holiday(name, fromDate, toDate, repaymentsRescheduledTo, status, processed, description, offices, reschedulingType);
     }
 
+    /**
+     * Creates a detached, read only copy of an active holiday as loaded by the business calendar. It carries no offices and
+     * must never be saved.
+     */
+    public static Holiday activeSnapshot(final Long id, final String name, final Date fromDate, final Date toDate,
+            final Date repaymentsRescheduledTo, final int reschedulingType, final boolean processed) {
+        final Holiday holiday = new Holiday();
+        holiday.setId(id);
+        holiday.name = name;
+        holiday.fromDate = fromDate;
+        holiday.toDate = toDate;
+        holiday.repaymentsRescheduledTo = repaymentsRescheduledTo;
+        holiday.reschedulingType = reschedulingType;
+        holiday.status = HolidayStatusType.ACTIVE.getValue();
+        holiday.processed = processed;
+        return holiday;
+    }
+
     public Map<String, Object> update(final JsonCommand command) {
         final Map<String, Object> actualChanges = new LinkedHashMap<>(7);
 
@@ -23,7 +23,7 @@ import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 import org.apache.fineract.organisation.holiday.exception.HolidayNotFoundException;
-import org.apache.fineract.organisation.holiday.service.HolidayUtil;
+import org.apache.fineract.organisation.holiday.service.BusinessCalendar;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -36,10 +36,12 @@ import org.springframework.stereotype.Service;
 public class HolidayRepositoryWrapper {
 
     private final HolidayRepository repository;
+    private final BusinessCalendar businessCalendar;
 
     @Autowired
-    public HolidayRepositoryWrapper(final HolidayRepository repository) {
+    public HolidayRepositoryWrapper(final HolidayRepository repository, final BusinessCalendar businessCalendar) {
         this.repository = repository;
+        this.businessCalendar = businessCalendar;
     }
 
     public Holiday findOneWithNotFoundDetection(final Long id) {
@@ -62,8 +64,11 @@ public class HolidayRepositoryWrapper {
         this.repository.delete(holiday);
     }
 
+    /**
+     * Served from the {@link BusinessCalendar}: the returned holidays are shared, read only copies and must not be saved.
+     */
     public List<Holiday> findByOfficeIdAndGreaterThanDate(final Long officeId, final Date date) {
-        return this.repository.findByOfficeIdAndGreaterThanDate(officeId, date, HolidayStatusType.ACTIVE.getValue());
+        return this.businessCalendar.findHolidaysEndingOnOrAfter(officeId, LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault()));
     }
 
     public List<Holiday> findUnprocessed() {
@@ -71,8 +76,6 @@ public class HolidayRepositoryWrapper {
     }
 
     public boolean isHoliday(Long officeId, LocalDate transactionDate) {
-        final List<Holiday> holidays = findByOfficeIdAndGreaterThanDate(officeId,
-                Date.from(transactionDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
-        return HolidayUtil.isHoliday(transactionDate, holidays);
+        return this.businessCalendar.isHoliday(officeId, transactionDate);
     }
 }
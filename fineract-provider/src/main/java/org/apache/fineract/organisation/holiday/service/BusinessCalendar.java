@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.cache.service.TenantCache;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayStatusType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.exception.WorkingDaysNotFoundException;
+import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory, per tenant business calendar: the active holidays of every office, indexed by date interval, and the
+ * working days rule.
+ *
+ * Loan schedule generation, repayments and charge application ask the calendar instead of querying the holiday and working
+ * day tables each time. Holiday and working day commands drop the calendar once they commit.
+ *
+ * The returned holidays are shared, read only copies; the returned {@link WorkingDays} is a fresh copy on every call as
+ * schedule generation adjusts its rescheduling type.
+ */
+@Component
+public class BusinessCalendar {
+
+    public static final String MAX_AGE_SECONDS_PROPERTY = "fineract.business-calendar.max-age-seconds";
+
+    private static final String ACTIVE_HOLIDAYS_SQL = "select ho.office_id as officeId, h.id as id, h.name as name, "
+            + "h.from_date as fromDate, h.to_date as toDate, h.repayments_rescheduled_to as rescheduledTo, "
+            + "h.rescheduling_type as reschedulingType, h.processed as processed "
+            + "from m_holiday h join m_holiday_office ho on ho.holiday_id = h.id where h.status_enum = ?";
+    private static final String WORKING_DAYS_SQL = "select recurrence, repayment_rescheduling_enum as reschedulingType, "
+            + "extend_term_daily_repayments as extendTermDaily, extend_term_holiday_repayment as extendTermHoliday "
+            + "from m_working_days order by id";
+    private static final String CALENDAR = "calendar";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantCache<String, Calendar> calendars;
+
+    @Autowired
+    public BusinessCalendar(final RoutingDataSource dataSource, final Environment env) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.calendars = TenantCache.<String, Calendar>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).build();
+    }
+
+    /**
+     * @return the active holidays of the office that end on or after the date
+     */
+    public List<Holiday> findHolidaysEndingOnOrAfter(final Long officeId, final LocalDate date) {
+        final DateIntervalIndex<Holiday> holidays = currentCalendar().holidaysByOffice.get(officeId);
+        return holidays == null ? new ArrayList<>() : holidays.endingOnOrAfter(date);
+    }
+
+    public boolean isHoliday(final Long officeId, final LocalDate date) {
+        final DateIntervalIndex<Holiday> holidays = currentCalendar().holidaysByOffice.get(officeId);
+        return holidays != null && holidays.contains(date);
+    }
+
+    /**
+     * @return a detached copy of the working days rule
+     */
+    public WorkingDays getWorkingDays() {
+        final WorkingDaysRule rule = currentCalendar().workingDays;
+        if (rule == null) {
+            throw new WorkingDaysNotFoundException();
+        }
+        return WorkingDays.detachedCopy(rule.recurrence, rule.reschedulingType, rule.extendTermForDailyRepayments,
+                rule.extendTermForRepaymentsOnHolidays);
+    }
+
+    public boolean isWorkingDay(final LocalDate date) {
+        return WorkingDaysUtil.isWorkingDay(getWorkingDays(), date);
+    }
+
+    /**
+     * Drops the calendar of the current tenant once the current transaction commits.
+     */
+    public void invalidate() {
+        this.calendars.evictAllAfterCommit();
+    }
+
+    private Calendar currentCalendar() {
+        return this.calendars.get(CALENDAR, this::load);
+    }
+
+    private Calendar load() {
+        final Map<Long, Holiday> holidays = new HashMap<>();
+        final Map<Long, DateIntervalIndex.Builder<Holiday>> builders = new HashMap<>();
+        this.jdbcTemplate.query(ACTIVE_HOLIDAYS_SQL, (RowCallbackHandler) rs -> {
+            final Long holidayId = rs.getLong("id");
+            Holiday holiday = holidays.get(holidayId);
+            if (holiday == null) {
+                // a holiday of several offices is loaded once per office but kept only once
+                holiday = Holiday.activeSnapshot(holidayId, rs.getString("name"), toDate(rs.getDate("fromDate")),
+                        toDate(rs.getDate("toDate")), toDate(rs.getDate("rescheduledTo")), rs.getInt("reschedulingType"),
+                        rs.getBoolean("processed"));
+                holidays.put(holidayId, holiday);
+            }
+            builders.computeIfAbsent(rs.getLong("officeId"), officeId -> DateIntervalIndex.builder())
+                    .add(holiday.getFromDateLocalDate(), holiday.getToDateLocalDate(), holiday);
+        }, HolidayStatusType.ACTIVE.getValue());
+
+        final Map<Long, DateIntervalIndex<Holiday>> holidaysByOffice = new HashMap<>();
+        builders.forEach((officeId, builder) -> holidaysByOffice.put(officeId, builder.build()));
+
+        final List<WorkingDaysRule> workingDays = this.jdbcTemplate.query(WORKING_DAYS_SQL,
+                (rs, rowNum) -> new WorkingDaysRule(rs.getString("recurrence"), rs.getInt("reschedulingType"),
+                        rs.getBoolean("extendTermDaily"), rs.getBoolean("extendTermHoliday")));
+        return new Calendar(Collections.unmodifiableMap(holidaysByOffice),
+                workingDays.isEmpty() ? null : workingDays.get(0));
+    }
+
+    // java.sql.Date does not support toInstant(), which the holiday getters rely on
+    private static Date toDate(final java.sql.Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
+    private static final class Calendar {
+
+        private final Map<Long, DateIntervalIndex<Holiday>> holidaysByOffice;
+        private final WorkingDaysRule workingDays;
+
+        Calendar(final Map<Long, DateIntervalIndex<Holiday>> holidaysByOffice, final WorkingDaysRule workingDays) {
+            this.holidaysByOffice = holidaysByOffice;
+            this.workingDays = workingDays;
+        }
+    }
+
+    private static final class WorkingDaysRule {
+
+        private final String recurrence;
+        private final Integer reschedulingType;
+        private final Boolean extendTermForDailyRepayments;
+        private final Boolean extendTermForRepaymentsOnHolidays;
+
+        WorkingDaysRule(final String recurrence, final Integer reschedulingType, final Boolean extendTermForDailyRepayments,
+                final Boolean extendTermForRepaymentsOnHolidays) {
+            this.recurrence = recurrence;
+            this.reschedulingType = reschedulingType;
+            this.extendTermForDailyRepayments = extendTermForDailyRepayments;
+            this.extendTermForRepaymentsOnHolidays = extendTermForRepaymentsOnHolidays;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index over closed date intervals (both ends inclusive) answering whether a date falls in any of them.
+ *
+ * Intervals are kept sorted by their start together with the running maximum of their ends, so a lookup is a binary
+ * search for the last interval starting on or before the date and a comparison with the furthest end reached so far.
+ */
+final class DateIntervalIndex<T> {
+
+    private final LocalDate[] starts;
+    private final LocalDate[] ends;
+    private final LocalDate[] maxEnds;
+    private final List<T> values;
+
+    private DateIntervalIndex(final List<Interval<T>> intervals) {
+        intervals.sort(Comparator.comparing((Interval<T> interval) -> interval.start).thenComparing(interval -> interval.end));
+        final int size = intervals.size();
+        this.starts = new LocalDate[size];
+        this.ends = new LocalDate[size];
+        this.maxEnds = new LocalDate[size];
+        this.values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final Interval<T> interval = intervals.get(i);
+            this.starts[i] = interval.start;
+            this.ends[i] = interval.end;
+            this.maxEnds[i] = i == 0 || interval.end.isAfter(this.maxEnds[i - 1]) ? interval.end : this.maxEnds[i - 1];
+            this.values.add(interval.value);
+        }
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    boolean contains(final LocalDate date) {
+        final int last = lastStartingOnOrBefore(date);
+        return last >= 0 && !this.maxEnds[last].isBefore(date);
+    }
+
+    /**
+     * @return the values of all intervals ending on or after the date, ordered by interval start
+     */
+    List<T> endingOnOrAfter(final LocalDate date) {
+        final List<T> matches = new ArrayList<>();
+        for (int i = 0; i < this.ends.length; i++) {
+            if (!this.ends[i].isBefore(date)) {
+                matches.add(this.values.get(i));
+            }
+        }
+        return matches;
+    }
+
+    private int lastStartingOnOrBefore(final LocalDate date) {
+        int low = 0;
+        int high = this.starts.length - 1;
+        int found = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (this.starts[middle].isAfter(date)) {
+                high = middle - 1;
+            } else {
+                found = middle;
+                low = middle + 1;
+            }
+        }
+        return found;
+    }
+
+    static final class Builder<T> {
+
+        private final List<Interval<T>> intervals = new ArrayList<>();
+
+        private Builder() {}
+
+        Builder<T> add(final LocalDate start, final LocalDate end, final T value) {
+            this.intervals.add(new Interval<>(start, end, value));
+            return this;
+        }
+
+        DateIntervalIndex<T> build() {
+            return new DateIntervalIndex<>(new ArrayList<>(this.intervals));
+        }
+    }
+
+    private static final class Interval<T> {
+
+        private final LocalDate start;
+        private final LocalDate end;
+        private final T value;
+
+        Interval(final LocalDate start, final LocalDate end, final T value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+    }
+}
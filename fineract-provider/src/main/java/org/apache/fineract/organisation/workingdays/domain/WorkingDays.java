@@ -55,6 +55,15 @@ public class WorkingDays extends AbstractPersistableCustom {
         this.extendTermForRepaymentsOnHolidays = extendTermForRepaymentsOnHolidays;
     }
 
+    /**
+     * @return a detached copy of the working days rule, free to be modified by schedule generation without touching the
+     *         persisted rule
+     */
+    public static WorkingDays detachedCopy(final String recurrence, final Integer repaymentReschedulingType,
+            final Boolean extendTermForDailyRepayments, final Boolean extendTermForRepaymentsOnHolidays) {
+        return new WorkingDays(recurrence, repaymentReschedulingType, extendTermForDailyRepayments, extendTermForRepaymentsOnHolidays);
+    }
+
     /**
      * @return the recurrence
      */
@@ -20,8 +20,8 @@ package org.apache.fineract.organisation.workingdays.domain;
 
 import java.time.LocalDate;
 import java.util.List;
+import org.apache.fineract.organisation.holiday.service.BusinessCalendar;
 import org.apache.fineract.organisation.workingdays.exception.WorkingDaysNotFoundException;
-import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -34,13 +34,23 @@ import org.springframework.stereotype.Service;
 public class WorkingDaysRepositoryWrapper {
 
     private final WorkingDaysRepository repository;
+    private final BusinessCalendar businessCalendar;
 
     @Autowired
-    public WorkingDaysRepositoryWrapper(final WorkingDaysRepository repository) {
+    public WorkingDaysRepositoryWrapper(final WorkingDaysRepository repository, final BusinessCalendar businessCalendar) {
         this.repository = repository;
+        this.businessCalendar = businessCalendar;
     }
 
+    /**
+     * @return a detached copy of the working days rule served from the {@link BusinessCalendar}, use
+     *         {@link #findOneForUpdate()} to change the rule
+     */
     public WorkingDays findOne() {
+        return this.businessCalendar.getWorkingDays();
+    }
+
+    public WorkingDays findOneForUpdate() {
         final List<WorkingDays> workingDaysList = this.repository.findAll();
 
         if (workingDaysList == null || workingDaysList.isEmpty()) {
@@ -62,7 +72,6 @@ public class WorkingDaysRepositoryWrapper {
     }
 
     public boolean isWorkingDay(LocalDate transactionDate) {
-        final WorkingDays workingDays = findOne();
-        return WorkingDaysUtil.isWorkingDay(workingDays, transactionDate);
+        return this.businessCalendar.isWorkingDay(transactionDate);
     }
 }
@@ -26,6 +26,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.organisation.holiday.service.BusinessCalendar;
 import org.apache.fineract.organisation.workingdays.api.WorkingDaysApiConstants;
 import org.apache.fineract.organisation.workingdays.data.WorkingDayValidator;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
@@ -39,12 +40,14 @@ public class WorkingDaysWritePlatformServiceJpaRepositoryImpl implements Working
 
     private final WorkingDaysRepositoryWrapper daysRepositoryWrapper;
     private final WorkingDayValidator fromApiJsonDeserializer;
+    private final BusinessCalendar businessCalendar;
 
     @Autowired
     public WorkingDaysWritePlatformServiceJpaRepositoryImpl(final WorkingDaysRepositoryWrapper daysRepositoryWrapper,
-            final WorkingDayValidator fromApiJsonDeserializer) {
+            final WorkingDayValidator fromApiJsonDeserializer, final BusinessCalendar businessCalendar) {
         this.daysRepositoryWrapper = daysRepositoryWrapper;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.businessCalendar = businessCalendar;
     }
 
     @Transactional
@@ -54,7 +57,7 @@ public class WorkingDaysWritePlatformServiceJpaRepositoryImpl implements Working
         RRule rrule = null;
         try {
             this.fromApiJsonDeserializer.validateForUpdate(command.json());
-            final WorkingDays workingDays = this.daysRepositoryWrapper.findOne();
+            final WorkingDays workingDays = this.daysRepositoryWrapper.findOneForUpdate();
 
             recurrence = command.stringValueOfParameterNamed(WorkingDaysApiConstants.recurrence);
             rrule = new RRule(recurrence);
@@ -62,6 +65,7 @@ public class WorkingDaysWritePlatformServiceJpaRepositoryImpl implements Working
 
             Map<String, Object> changes = workingDays.update(command);
             this.daysRepositoryWrapper.saveAndFlush(workingDays);
+            this.businessCalendar.invalidate();
             return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(workingDays.getId()).with(changes)
                     .build();
         } catch (final ValidationException e) {
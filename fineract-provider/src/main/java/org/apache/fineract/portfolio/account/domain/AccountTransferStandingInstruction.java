@@ -107,6 +107,10 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
     @Column(name = "last_run_date")
     private Date latsRunDate;
 
+    @Temporal(TemporalType.DATE)
+    @Column(name = "next_execution_date")
+    private Date nextExecutionDate;
+
     protected AccountTransferStandingInstruction() {
 
     }
@@ -156,6 +160,7 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        updateNextExecutionDate();
     }
 
     public Map<String, Object> update(JsonCommand command) {
@@ -242,9 +247,32 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        if (!actualChanges.isEmpty()) {
+            updateNextExecutionDate();
+        }
         return actualChanges;
     }
 
+    /**
+     * Periodic instructions keep the next date they are due on, so the standing instructions job only has to load the ones
+     * due today; instructions paying loan dues are found through the loan schedule instead and keep none.
+     */
+    private void updateNextExecutionDate() {
+        this.nextExecutionDate = null;
+        if (!AccountTransferRecurrenceType.fromInt(this.recurrenceType).isPeriodicRecurrence() || this.validFrom == null) {
+            return;
+        }
+        final PeriodFrequencyType frequencyType = PeriodFrequencyType.fromInt(this.recurrenceFrequency);
+        final LocalDate firstExecutionDate = StandingInstructionSchedule.firstExecutionDate(frequencyType,
+                LocalDate.ofInstant(this.validFrom.toInstant(), DateUtils.getDateTimeZoneOfTenant()), this.recurrenceOnDay,
+                this.recurrenceOnMonth);
+        final LocalDate nextDate = StandingInstructionSchedule.nextExecutionDate(frequencyType, this.recurrenceInterval,
+                firstExecutionDate, DateUtils.getLocalDateOfTenant());
+        if (nextDate != null) {
+            this.nextExecutionDate = Date.from(nextDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
     private void validateDependencies(final DataValidatorBuilder baseDataValidator) {
 
         if (this.validTill != null && this.validFrom != null) {
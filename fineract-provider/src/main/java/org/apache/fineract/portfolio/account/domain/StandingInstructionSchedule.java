@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+
+/**
+ * Execution dates of periodic standing instructions.
+ *
+ * A date is on the schedule when it is a whole number of recurrence intervals after the first execution date, the same
+ * rule as {@link org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator#isDateFallsInSchedule};
+ * month and year steps that would have to be moved back to the end of a shorter month are therefore skipped.
+ */
+public final class StandingInstructionSchedule {
+
+    private StandingInstructionSchedule() {}
+
+    /**
+     * @return the first date the instruction can run on: the valid from date for daily and weekly recurrence, else the
+     *         first recurrence day (and month) on or after it
+     */
+    public static LocalDate firstExecutionDate(final PeriodFrequencyType frequency, final LocalDate validFrom, final Integer onDay,
+            final Integer onMonth) {
+        LocalDate startDate = validFrom;
+        if (frequency.isMonthly()) {
+            startDate = withDayOfMonth(startDate, onDay);
+            if (startDate.isBefore(validFrom)) {
+                startDate = withDayOfMonth(startDate.plusMonths(1), onDay);
+            }
+        } else if (frequency.isYearly()) {
+            startDate = withDayOfMonth(startDate.withMonth(onMonth), onDay);
+            if (startDate.isBefore(validFrom)) {
+                startDate = withDayOfMonth(startDate.plusYears(1), onDay);
+            }
+        }
+        return startDate;
+    }
+
+    /**
+     * @return the earliest date on the schedule which is not before <code>fromDate</code>, or null when the frequency has
+     *         no schedule
+     */
+    public static LocalDate nextExecutionDate(final PeriodFrequencyType frequency, final int interval, final LocalDate firstExecutionDate,
+            final LocalDate fromDate) {
+        final ChronoUnit unit = toChronoUnit(frequency);
+        if (unit == null || interval < 1) {
+            return null;
+        }
+        if (!fromDate.isAfter(firstExecutionDate)) {
+            return firstExecutionDate;
+        }
+        long periods = unit.between(firstExecutionDate, fromDate);
+        periods -= periods % interval;
+        while (true) {
+            final LocalDate candidate = firstExecutionDate.plus(periods, unit);
+            if (!candidate.isBefore(fromDate) && unit.between(firstExecutionDate, candidate) == periods) {
+                return candidate;
+            }
+            periods += interval;
+        }
+    }
+
+    private static ChronoUnit toChronoUnit(final PeriodFrequencyType frequency) {
+        switch (frequency) {
+            case DAYS:
+                return ChronoUnit.DAYS;
+            case WEEKS:
+                return ChronoUnit.WEEKS;
+            case MONTHS:
+                return ChronoUnit.MONTHS;
+            case YEARS:
+                return ChronoUnit.YEARS;
+            default:
+                return null;
+        }
+    }
+
+    private static LocalDate withDayOfMonth(final LocalDate date, final int dayOfMonth) {
+        return date.withDayOfMonth(Math.min(dayOfMonth, date.lengthOfMonth()));
+    }
+}
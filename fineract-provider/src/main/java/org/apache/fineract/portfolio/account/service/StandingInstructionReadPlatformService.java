@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.account.service;
 
+import java.time.LocalDate;
 import java.util.Collection;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDTO;
@@ -35,6 +36,13 @@ public interface StandingInstructionReadPlatformService {
 
     Collection<StandingInstructionData> retrieveAll(Integer status);
 
+    /**
+     * @return the active standing instructions which may have to run on the given date: periodic ones whose next
+     *         execution date is not after it (or not computed yet) and loan dues ones whose loan has an installment due on
+     *         it
+     */
+    Collection<StandingInstructionData> retrieveDueForExecution(LocalDate date);
+
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
 
 }
@@ -339,6 +339,26 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public Collection<StandingInstructionData> retrieveDueForExecution(final LocalDate date) {
+        final String formattedDate = date.toString();
+        final String validOnDate = " atsi.status=? and ? >= atsi.valid_from and (atsi.valid_till IS NULL or ? < atsi.valid_till)"
+                + " and (atsi.last_run_date <> ? or atsi.last_run_date IS NULL)";
+        // one branch per recurrence type, an OR across both would keep the periodic branch from range scanning the
+        // (status, next_execution_date) index
+        final StringBuilder sqlBuilder = new StringBuilder(1200);
+        sqlBuilder.append("select ").append(this.standingInstructionMapper.schema()).append(" where").append(validOnDate)
+                .append(" and atsi.recurrence_type = ? and (atsi.next_execution_date IS NULL or atsi.next_execution_date <= ?)");
+        sqlBuilder.append(" union all select ").append(this.standingInstructionMapper.schema()).append(" where").append(validOnDate)
+                .append(" and atsi.recurrence_type = ? and exists (select 1 from m_loan_repayment_schedule ls")
+                .append(" where ls.loan_id = atd.to_loan_account_id and ls.duedate = ? and ls.completed_derived <> 1)");
+        sqlBuilder.append(" ORDER BY priority DESC");
+        final Integer active = StandingInstructionStatus.ACTIVE.getValue();
+        return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, active, formattedDate, formattedDate,
+                formattedDate, AccountTransferRecurrenceType.PERIODIC.getValue(), formattedDate, active, formattedDate, formattedDate,
+                formattedDate, AccountTransferRecurrenceType.AS_PER_DUES.getValue(), formattedDate);
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
@@ -28,18 +28,27 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformServiceUnavailableException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
@@ -55,21 +64,23 @@ import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceTyp
 import org.apache.fineract.portfolio.account.domain.AccountTransferStandingInstruction;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionAssembler;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionRepository;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionSchedule;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.account.exception.StandingInstructionNotFoundException;
-import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,6 +88,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class StandingInstructionWritePlatformServiceImpl implements StandingInstructionWritePlatformService {
 
     private static final Logger LOG = LoggerFactory.getLogger(StandingInstructionWritePlatformServiceImpl.class);
+    private static final String THREAD_POOL_SIZE_PROPERTY = "fineract.standing-instructions.threads";
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
 
     private final StandingInstructionDataValidator standingInstructionDataValidator;
     private final StandingInstructionAssembler standingInstructionAssembler;
@@ -85,6 +98,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
     private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
     private final JdbcTemplate jdbcTemplate;
+    private final int threadPoolSize;
 
     @Autowired
     public StandingInstructionWritePlatformServiceImpl(final StandingInstructionDataValidator standingInstructionDataValidator,
@@ -92,7 +106,8 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
             final AccountTransferDetailRepository accountTransferDetailRepository,
             final StandingInstructionRepository standingInstructionRepository,
             final StandingInstructionReadPlatformService standingInstructionReadPlatformService,
-            final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final RoutingDataSource dataSource) {
+            final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final RoutingDataSource dataSource,
+            final Environment env) {
         this.standingInstructionDataValidator = standingInstructionDataValidator;
         this.standingInstructionAssembler = standingInstructionAssembler;
         this.accountTransferDetailRepository = accountTransferDetailRepository;
@@ -100,6 +115,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
         this.standingInstructionReadPlatformService = standingInstructionReadPlatformService;
         this.accountTransfersWritePlatformService = accountTransfersWritePlatformService;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.threadPoolSize = Math.max(1, env.getProperty(THREAD_POOL_SIZE_PROPERTY, Integer.class, DEFAULT_THREAD_POOL_SIZE));
     }
 
     @Transactional
@@ -193,68 +209,145 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     @Override
     @CronTarget(jobName = JobName.EXECUTE_STANDING_INSTRUCTIONS)
     public void executeStandingInstructions() throws JobExecutionException {
-        Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
-                .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        for (StandingInstructionData data : instructionDatas) {
-            boolean isDueForTransfer = false;
-            AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
-            StandingInstructionType instructionType = data.instructionType();
-            LocalDate transactionDate = LocalDate.now(DateUtils.getDateTimeZoneOfTenant());
-            if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-                PeriodFrequencyType frequencyType = data.recurrenceFrequency();
-                LocalDate startDate = data.validFrom();
-                if (frequencyType.isMonthly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusMonths(1);
+        final LocalDate transactionDate = DateUtils.getLocalDateOfTenant();
+        final Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
+                .retrieveDueForExecution(transactionDate);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        // instructions sharing an account run one after the other, in priority order, unrelated ones run in parallel
+        final List<List<StandingInstructionData>> groups = groupByLinkedAccounts(instructionDatas);
+        if (!groups.isEmpty()) {
+            final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+            final SecurityContext securityContext = SecurityContextHolder.getContext();
+            final List<Callable<Void>> tasks = new ArrayList<>(groups.size());
+            for (final List<StandingInstructionData> group : groups) {
+                tasks.add(() -> {
+                    ThreadLocalContextUtil.setTenant(tenant);
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        for (final StandingInstructionData data : group) {
+                            executeStandingInstruction(data, transactionDate, errors);
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                        ThreadLocalContextUtil.clearTenant();
                     }
-                } else if (frequencyType.isYearly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusYears(1);
+                    return null;
+                });
+            }
+            final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.threadPoolSize, groups.size()),
+                    new CustomizableThreadFactory("standing-instructions-"));
+            try {
+                for (final Future<Void> future : executorService.invokeAll(tasks)) {
+                    try {
+                        future.get();
+                    } catch (final ExecutionException e) {
+                        errors.add(e.getCause());
                     }
                 }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
-                        transactionDate);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add(e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
 
+    private void executeStandingInstruction(final StandingInstructionData data, final LocalDate transactionDate,
+            final List<Throwable> errors) {
+        boolean isDueForTransfer = false;
+        AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
+        StandingInstructionType instructionType = data.instructionType();
+        LocalDate firstExecutionDate = null;
+        if (recurrenceType.isPeriodicRecurrence()) {
+            firstExecutionDate = StandingInstructionSchedule.firstExecutionDate(data.recurrenceFrequency(), data.validFrom(),
+                    data.recurrenceOnDay(), data.recurrenceOnMonth());
+            isDueForTransfer = transactionDate.equals(StandingInstructionSchedule.nextExecutionDate(data.recurrenceFrequency(),
+                    data.recurrenceInterval(), firstExecutionDate, transactionDate));
+        }
+        BigDecimal transactionAmount = data.amount();
+        if (data.toAccountType().isLoanAccount()
+                && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
+            StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
+                    .retriveLoanDuesData(data.toAccount().accountId());
+            if (data.instructionType().isDuesAmoutTransfer()) {
+                transactionAmount = standingInstructionDuesData.totalDueAmount();
             }
-            BigDecimal transactionAmount = data.amount();
-            if (data.toAccountType().isLoanAccount()
-                    && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.toAccount().accountId());
-                if (data.instructionType().isDuesAmoutTransfer()) {
-                    transactionAmount = standingInstructionDuesData.totalDueAmount();
-                }
-                if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = LocalDate.now(DateUtils.getDateTimeZoneOfTenant()).equals(standingInstructionDuesData.dueDate());
-                }
+            if (recurrenceType.isDuesRecurrence()) {
+                isDueForTransfer = transactionDate.equals(standingInstructionDuesData.dueDate());
             }
+        }
 
-            if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
-                final SavingsAccount fromSavingsAccount = null;
-                final boolean isRegularTransaction = true;
-                final boolean isExceptionForBalanceCheck = false;
-                AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
-                        data.toAccountType(), data.fromAccount().accountId(), data.toAccount().accountId(),
-                        data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
-                        data.transferType().getValue(), null, null, null, null, null, fromSavingsAccount, isRegularTransaction,
-                        isExceptionForBalanceCheck);
-                final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
-
-                if (transferCompleted) {
-                    final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
-                    this.jdbcTemplate.update(updateQuery, Date.from(transactionDate.atStartOfDay(ZoneId.systemDefault()).toInstant()),
-                            data.getId());
-                }
+        boolean transferCompleted = false;
+        if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
+            final SavingsAccount fromSavingsAccount = null;
+            final boolean isRegularTransaction = true;
+            final boolean isExceptionForBalanceCheck = false;
+            AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
+                    data.toAccountType(), data.fromAccount().accountId(), data.toAccount().accountId(),
+                    data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
+                    data.transferType().getValue(), null, null, null, null, null, fromSavingsAccount, isRegularTransaction,
+                    isExceptionForBalanceCheck);
+            transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
+        }
 
+        // the schedule is written as soon as the transfer is done, so that an aborted run can't repeat a completed transfer;
+        // a failed transfer stays due today so that running the job again retries it
+        Date nextExecutionDate = null;
+        if (firstExecutionDate != null) {
+            final LocalDate nextDate = StandingInstructionSchedule.nextExecutionDate(data.recurrenceFrequency(), data.recurrenceInterval(),
+                    firstExecutionDate, transferCompleted ? transactionDate.plusDays(1) : transactionDate);
+            if (nextDate != null) {
+                nextExecutionDate = Date.from(nextDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+        if (transferCompleted) {
+            this.jdbcTemplate.update(
+                    "UPDATE m_account_transfer_standing_instructions SET last_run_date = ?, next_execution_date = ? where id = ?",
+                    Date.from(transactionDate.atStartOfDay(ZoneId.systemDefault()).toInstant()), nextExecutionDate, data.getId());
+        } else if (firstExecutionDate != null) {
+            this.jdbcTemplate.update("UPDATE m_account_transfer_standing_instructions SET next_execution_date = ? where id = ?",
+                    nextExecutionDate, data.getId());
+        }
+    }
+
+    private static List<List<StandingInstructionData>> groupByLinkedAccounts(final Collection<StandingInstructionData> instructions) {
+        final Map<String, String> parents = new HashMap<>();
+        for (final StandingInstructionData data : instructions) {
+            final String fromRoot = findRoot(parents, accountKey(data.fromAccountType(), data.fromAccount().accountId()));
+            final String toRoot = findRoot(parents, accountKey(data.toAccountType(), data.toAccount().accountId()));
+            if (!fromRoot.equals(toRoot)) {
+                parents.put(toRoot, fromRoot);
+            }
         }
+        final Map<String, List<StandingInstructionData>> groups = new LinkedHashMap<>();
+        for (final StandingInstructionData data : instructions) {
+            final String root = findRoot(parents, accountKey(data.fromAccountType(), data.fromAccount().accountId()));
+            groups.computeIfAbsent(root, key -> new ArrayList<>()).add(data);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static String findRoot(final Map<String, String> parents, final String accountKey) {
+        String root = accountKey;
+        String parent = parents.get(root);
+        while (parent != null) {
+            root = parent;
+            parent = parents.get(root);
+        }
+        if (!root.equals(accountKey)) {
+            parents.put(accountKey, root);
+        }
+        return root;
+    }
+
+    private static String accountKey(final PortfolioAccountType accountType, final Long accountId) {
+        return accountType.getValue() + ":" + accountId;
     }
 
     private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
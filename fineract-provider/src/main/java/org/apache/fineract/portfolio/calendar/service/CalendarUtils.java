@@ -68,12 +68,12 @@ public final class CalendarUtils {
     }
 
     public static LocalDate getNextRecurringDate(final String recurringRule, final LocalDate seedDate, final LocalDate startDate) {
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return null;
         }
-        LocalDate nextDate = getNextRecurringDate(recur, seedDate, startDate);
-        nextDate = adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recurringRule));
+        LocalDate nextDate = getNextRecurringDate(recurrence, seedDate, startDate);
+        nextDate = adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recurrence.getRecur()));
         return nextDate;
     }
 
@@ -110,7 +110,12 @@ public final class CalendarUtils {
         return adjustedVal;
     }
 
-    private static LocalDate getNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
+    private static LocalDate getNextRecurringDate(final CompiledRecurrence recurrence, final LocalDate seedDate,
+            final LocalDate startDate) {
+        if (recurrence.supports(seedDate)) {
+            return recurrence.nextOccurrenceAfter(seedDate, startDate);
+        }
+        final Recur recur = recurrence.getRecur();
         final DateTime periodStart = new DateTime(java.util.Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final Date seed = convertToiCal4JCompatibleDate(seedDate);
         final Date nextRecDate = recur.getNextDate(seed, periodStart);
@@ -158,16 +163,22 @@ public final class CalendarUtils {
             final LocalDate periodStartDate, final LocalDate periodEndDate, final int maxCount, boolean isSkippMeetingOnFirstDay,
             final Integer numberOfDays) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
 
-        return getRecurringDates(recur, seedDate, periodStartDate, periodEndDate, maxCount, isSkippMeetingOnFirstDay, numberOfDays);
+        return getRecurringDates(recurrence, seedDate, periodStartDate, periodEndDate, maxCount, isSkippMeetingOnFirstDay, numberOfDays);
     }
 
-    private static Collection<LocalDate> getRecurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
-            final LocalDate periodEndDate, final int maxCount, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
-        if (recur == null) {
+    private static Collection<LocalDate> getRecurringDates(final CompiledRecurrence recurrence, final LocalDate seedDate,
+            final LocalDate periodStartDate, final LocalDate periodEndDate, final int maxCount, boolean isSkippMeetingOnFirstDay,
+            final Integer numberOfDays) {
+        if (recurrence == null) {
             return null;
         }
+        final Recur recur = recurrence.getRecur();
+        if (recurrence.supports(seedDate)) {
+            return adjustRecurringDates(recurrence.occurrencesBetween(seedDate, periodStartDate, periodEndDate, maxCount), seedDate,
+                    getMeetingPeriodFrequencyType(recur), isSkippMeetingOnFirstDay, numberOfDays);
+        }
         final Date seed = convertToiCal4JCompatibleDate(seedDate);
         final DateTime periodStart = new DateTime(java.util.Date.from(periodStartDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final DateTime periodEnd = new DateTime(java.util.Date.from(periodEndDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
@@ -181,13 +192,24 @@ public final class CalendarUtils {
     private static Collection<LocalDate> convertToLocalDateList(final DateList dates, final LocalDate seedDate,
             final PeriodFrequencyType frequencyType, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
 
-        final Collection<LocalDate> recurringDates = new ArrayList<>();
+        final Collection<LocalDate> localDates = new ArrayList<>();
 
         for (@SuppressWarnings("rawtypes")
         final Iterator iterator = dates.iterator(); iterator.hasNext();) {
             final Date date = (Date) iterator.next();
-            recurringDates
-                    .add(adjustDate(LocalDate.ofInstant(date.toInstant(), DateUtils.getDateTimeZoneOfTenant()), seedDate, frequencyType));
+            localDates.add(LocalDate.ofInstant(date.toInstant(), DateUtils.getDateTimeZoneOfTenant()));
+        }
+
+        return adjustRecurringDates(localDates, seedDate, frequencyType, isSkippMeetingOnFirstDay, numberOfDays);
+    }
+
+    private static Collection<LocalDate> adjustRecurringDates(final Collection<LocalDate> dates, final LocalDate seedDate,
+            final PeriodFrequencyType frequencyType, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
+
+        final Collection<LocalDate> recurringDates = new ArrayList<>();
+
+        for (final LocalDate date : dates) {
+            recurringDates.add(adjustDate(date, seedDate, frequencyType));
         }
 
         if (isSkippMeetingOnFirstDay) {
@@ -217,25 +239,13 @@ public final class CalendarUtils {
         return recuringDate;
     }
 
+    /**
+     * @return the parsed rule, cached per rule string and shared, so it must not be modified; <code>null</code> when the
+     *         rule is not valid
+     */
     public static Recur getICalRecur(final String recurringRule) {
-
-        // Construct RRule
-        try {
-            final RRule rrule = new RRule(recurringRule);
-            rrule.validate();
-
-            final Recur recur = rrule.getRecur();
-
-            return recur;
-        } catch (final ParseException e) {
-            // TODO Auto-generated catch block
-            LOG.error("Problem occurred in getICalRecur function", e);
-        } catch (final ValidationException e) {
-            // TODO Auto-generated catch block
-            LOG.error("Problem occurred in getICalRecur function", e);
-        }
-
-        return null;
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        return recurrence == null ? null : recurrence.getRecur();
     }
 
     public static String getRRuleReadable(final LocalDate startDate, final String recurringRule) {
@@ -358,33 +368,38 @@ public final class CalendarUtils {
 
     public static boolean isValidRedurringDate(final String recurringRule, final LocalDate seedDate, final LocalDate date) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return false;
         }
         final boolean isSkipRepaymentonFirstDayOfMonth = false;
         final int numberOfDays = 0;
-        return isValidRecurringDate(recur, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        return isValidRecurringDate(recurrence, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
     }
 
     public static boolean isValidRedurringDate(final String recurringRule, final LocalDate seedDate, final LocalDate date,
             boolean isSkipRepaymentonFirstDayOfMonth, final Integer numberOfDays) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return false;
         }
 
-        return isValidRecurringDate(recur, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+        return isValidRecurringDate(recurrence, seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
     }
 
     public static boolean isValidRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate date,
             boolean isSkipRepaymentonFirstDayOfMonth, final int numberOfDays) {
+        return isValidRecurringDate(CompiledRecurrence.of(recur), seedDate, date, isSkipRepaymentonFirstDayOfMonth, numberOfDays);
+    }
+
+    private static boolean isValidRecurringDate(final CompiledRecurrence recurrence, final LocalDate seedDate, final LocalDate date,
+            boolean isSkipRepaymentonFirstDayOfMonth, final int numberOfDays) {
         LocalDate startDate = date;
         if (isSkipRepaymentonFirstDayOfMonth && date.getDayOfMonth() == (numberOfDays + 1)) {
             startDate = startDate.minusDays(numberOfDays);
         }
-        final Collection<LocalDate> recurDate = getRecurringDates(recur, seedDate, startDate, date.plusDays(1), 1,
+        final Collection<LocalDate> recurDate = getRecurringDates(recurrence, seedDate, startDate, date.plusDays(1), 1,
                 isSkipRepaymentonFirstDayOfMonth, numberOfDays);
 
         return (recurDate == null || recurDate.isEmpty()) ? false : recurDate.contains(date);
@@ -525,13 +540,14 @@ public final class CalendarUtils {
     public static LocalDate getFirstRepaymentMeetingDate(final Calendar calendar, final LocalDate disbursementDate,
             final Integer loanRepaymentInterval, final String frequency, boolean isSkipRepaymentOnFirstDayOfMonth,
             final Integer numberOfDays) {
-        final Recur recur = CalendarUtils.getICalRecur(calendar.getRecurrence());
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(calendar.getRecurrence());
+        if (recurrence == null) {
             return null;
         }
+        final Recur recur = recurrence.getRecur();
         LocalDate startDate = disbursementDate;
         final LocalDate seedDate = calendar.getStartDateLocalDate();
-        if (isValidRedurringDate(calendar.getRecurrence(), seedDate, startDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)
+        if (isValidRecurringDate(recurrence, seedDate, startDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)
                 && !frequency.equals(Recur.Frequency.DAILY.name())) {
             startDate = startDate.plusDays(1);
         }
@@ -557,7 +573,7 @@ public final class CalendarUtils {
         }
 
         Recur modifiedRecur = recurBuilder.build();
-        final LocalDate firstRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, startDate);
+        final LocalDate firstRepaymentDate = getNextRecurringDate(CompiledRecurrence.of(modifiedRecur), seedDate, startDate);
         if (isSkipRepaymentOnFirstDayOfMonth && firstRepaymentDate.getDayOfMonth() == 1) {
             return adjustRecurringDate(firstRepaymentDate, numberOfDays);
         }
@@ -568,11 +584,11 @@ public final class CalendarUtils {
     public static LocalDate getNewRepaymentMeetingDate(final String recurringRule, final LocalDate seedDate,
             final LocalDate oldRepaymentDate, final Integer loanRepaymentInterval, final String frequency, final WorkingDays workingDays,
             final boolean isSkipRepaymentOnFirstDayOfMonth, final Integer numberOfDays) {
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return null;
         }
-        if (isValidRecurringDate(recur, seedDate, oldRepaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
+        if (isValidRecurringDate(recurrence, seedDate, oldRepaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
             return oldRepaymentDate;
         }
         LocalDate nextRepaymentDate = getNextRepaymentMeetingDate(recurringRule, seedDate, oldRepaymentDate, loanRepaymentInterval,
@@ -585,12 +601,13 @@ public final class CalendarUtils {
             final Integer loanRepaymentInterval, final String frequency, final WorkingDays workingDays,
             boolean isSkipRepaymentOnFirstDayOfMonth, final Integer numberOfDays) {
 
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return null;
         }
+        final Recur recur = recurrence.getRecur();
         LocalDate tmpDate = repaymentDate;
-        if (isValidRecurringDate(recur, seedDate, repaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
+        if (isValidRecurringDate(recurrence, seedDate, repaymentDate, isSkipRepaymentOnFirstDayOfMonth, numberOfDays)) {
             tmpDate = repaymentDate.plusDays(1);
         }
         /*
@@ -614,10 +631,10 @@ public final class CalendarUtils {
             recurBuilder = recurBuilder.frequency(Recur.Frequency.valueOf(frequency));
         }
 
-        Recur modifiedRecur = recurBuilder.build();
+        final CompiledRecurrence modifiedRecurrence = CompiledRecurrence.of(recurBuilder.build());
 
-        LocalDate newRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, tmpDate);
-        final LocalDate nextRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, newRepaymentDate);
+        LocalDate newRepaymentDate = getNextRecurringDate(modifiedRecurrence, seedDate, tmpDate);
+        final LocalDate nextRepaymentDate = getNextRecurringDate(modifiedRecurrence, seedDate, newRepaymentDate);
 
         newRepaymentDate = WorkingDaysUtil.getOffSetDateIfNonWorkingDay(newRepaymentDate, nextRepaymentDate, workingDays);
         if (isSkipRepaymentOnFirstDayOfMonth) {
@@ -700,12 +717,13 @@ public final class CalendarUtils {
     public static LocalDate getRecentEligibleMeetingDate(final String recurringRule, final LocalDate seedDate,
             final boolean isSkipMeetingOnFirstDay, final Integer numberOfDays) {
         LocalDate currentDate = DateUtils.getLocalDateOfTenant();
-        final Recur recur = CalendarUtils.getICalRecur(recurringRule);
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(recurringRule);
+        if (recurrence == null) {
             return null;
         }
+        final Recur recur = recurrence.getRecur();
 
-        if (isValidRecurringDate(recur, seedDate, currentDate, isSkipMeetingOnFirstDay, numberOfDays)) {
+        if (isValidRecurringDate(recurrence, seedDate, currentDate, isSkipMeetingOnFirstDay, numberOfDays)) {
             return currentDate;
         }
 
@@ -719,12 +737,12 @@ public final class CalendarUtils {
             currentDate = currentDate.plusYears(recur.getInterval());
         }
 
-        return getNextRecurringDate(recur, seedDate, currentDate);
+        return getNextRecurringDate(recurrence, seedDate, currentDate);
     }
 
     public static LocalDate getNextScheduleDate(final Calendar calendar, final LocalDate startDate) {
-        final Recur recur = CalendarUtils.getICalRecur(calendar.getRecurrence());
-        if (recur == null) {
+        final CompiledRecurrence recurrence = CompiledRecurrence.of(calendar.getRecurrence());
+        if (recurrence == null) {
             return null;
         }
         LocalDate date = startDate;
@@ -733,7 +751,7 @@ public final class CalendarUtils {
          * if (isValidRedurringDate(calendar.getRecurrence(), seedDate, date)) { date = date.plusDays(1); }
          **/
 
-        final LocalDate scheduleDate = getNextRecurringDate(recur, seedDate, date);
+        final LocalDate scheduleDate = getNextRecurringDate(recurrence, seedDate, date);
 
         return scheduleDate;
     }
@@ -826,7 +844,7 @@ public final class CalendarUtils {
             recurBuilder = recurBuilder.frequency(Recur.Frequency.valueOf(frequency));
         }
 
-        Recur modifiedRecur = recurBuilder.build();
+        final CompiledRecurrence modifiedRecurrence = CompiledRecurrence.of(recurBuilder.build());
 
         /**
          * Below code modified as discussed with Pramod N
@@ -834,7 +852,7 @@ public final class CalendarUtils {
         LocalDate newRepaymentDate = tmpDate;
         int newRepayment = rep;
         while (newRepayment > 0) {
-            newRepaymentDate = getNextRecurringDate(modifiedRecur, seedDate, newRepaymentDate);
+            newRepaymentDate = getNextRecurringDate(modifiedRecurrence, seedDate, newRepaymentDate);
             newRepayment--;
         }
 
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import java.text.ParseException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.fortuna.ical4j.model.NumberList;
+import net.fortuna.ical4j.model.Recur;
+import net.fortuna.ical4j.model.WeekDay;
+import net.fortuna.ical4j.model.property.RRule;
+import net.fortuna.ical4j.validate.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable, compiled form of a recurring rule (RRULE).
+ *
+ * The rule is parsed and validated once per rule string, and the shapes used for meetings (every n days, weeks, months
+ * or years, a day of the month, or the nth weekday of the month) are evaluated directly on {@link LocalDate}s: finding
+ * the next occurrence jumps to the period containing the date instead of generating every occurrence up to it. Rules
+ * with other parts (COUNT, UNTIL, several week days, ...) are not evaluated here; {@link #supports(LocalDate)} returns
+ * false and callers use ical4j on {@link #getRecur()}.
+ */
+public final class CompiledRecurrence {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledRecurrence.class);
+
+    private static final int MAX_CACHED_RULES = 10000;
+    // same limit ical4j applies to increments without a candidate
+    private static final int MAX_PERIODS_WITHOUT_OCCURRENCE = 1000;
+    private static final ConcurrentMap<String, CompiledRecurrence> CACHE = new ConcurrentHashMap<>();
+
+    private enum Shape {
+        UNSUPPORTED, EVERY_PERIOD, DAY_OF_MONTH, NTH_WEEKDAY_OF_MONTH
+    }
+
+    private final Recur recur;
+    private final Shape shape;
+    private final ChronoUnit unit;
+    private final int interval;
+    private final DayOfWeek dayOfWeek;
+    private final int position;
+
+    private CompiledRecurrence(final Recur recur, final Shape shape, final ChronoUnit unit, final DayOfWeek dayOfWeek,
+            final int position) {
+        this.recur = recur;
+        this.shape = shape;
+        this.unit = unit;
+        this.interval = Math.max(1, recur.getInterval());
+        this.dayOfWeek = dayOfWeek;
+        this.position = position;
+    }
+
+    /**
+     * @return the compiled rule, shared by all callers of the same rule string, or <code>null</code> when the rule is
+     *         not a valid RRULE
+     */
+    public static CompiledRecurrence of(final String recurringRule) {
+        if (recurringRule == null) {
+            return null;
+        }
+        CompiledRecurrence recurrence = CACHE.get(recurringRule);
+        if (recurrence == null) {
+            final Recur recur = parse(recurringRule);
+            if (recur == null) {
+                return null;
+            }
+            recurrence = of(recur);
+            if (CACHE.size() >= MAX_CACHED_RULES) {
+                CACHE.clear();
+            }
+            CACHE.put(recurringRule, recurrence);
+        }
+        return recurrence;
+    }
+
+    public static CompiledRecurrence of(final Recur recur) {
+        final CompiledRecurrence unsupported = new CompiledRecurrence(recur, Shape.UNSUPPORTED, null, null, 0);
+        if (recur.getFrequency() == null || recur.getCount() > 0 || recur.getUntil() != null || !recur.getSecondList().isEmpty()
+                || !recur.getMinuteList().isEmpty() || !recur.getHourList().isEmpty() || !recur.getYearDayList().isEmpty()
+                || !recur.getWeekNoList().isEmpty() || !recur.getMonthList().isEmpty()) {
+            return unsupported;
+        }
+        final List<WeekDay> weekDays = recur.getDayList();
+        final NumberList monthDays = recur.getMonthDayList();
+        final NumberList setPositions = recur.getSetPosList();
+        final boolean onlyInterval = weekDays.isEmpty() && monthDays.isEmpty() && setPositions.isEmpty();
+        switch (recur.getFrequency()) {
+            case DAILY:
+                return onlyInterval ? new CompiledRecurrence(recur, Shape.EVERY_PERIOD, ChronoUnit.DAYS, null, 0) : unsupported;
+            case WEEKLY:
+                if (onlyInterval) {
+                    return new CompiledRecurrence(recur, Shape.EVERY_PERIOD, ChronoUnit.WEEKS, null, 0);
+                }
+                if (weekDays.size() == 1 && weekDays.get(0).getOffset() == 0 && monthDays.isEmpty() && setPositions.isEmpty()) {
+                    return new CompiledRecurrence(recur, Shape.EVERY_PERIOD, ChronoUnit.WEEKS, dayOfWeek(weekDays.get(0)), 0);
+                }
+                return unsupported;
+            case MONTHLY:
+                if (onlyInterval) {
+                    return new CompiledRecurrence(recur, Shape.EVERY_PERIOD, ChronoUnit.MONTHS, null, 0);
+                }
+                if (weekDays.isEmpty() && setPositions.isEmpty() && monthDays.size() == 1 && isPosition(monthDays.get(0), 31)) {
+                    return new CompiledRecurrence(recur, Shape.DAY_OF_MONTH, ChronoUnit.MONTHS, null, monthDays.get(0));
+                }
+                if (weekDays.size() == 1 && monthDays.isEmpty()) {
+                    final int offset = weekDays.get(0).getOffset();
+                    Integer position = null;
+                    if (offset != 0 && setPositions.isEmpty()) {
+                        position = offset;
+                    } else if (offset == 0 && setPositions.size() == 1) {
+                        position = setPositions.get(0);
+                    }
+                    if (position != null && isPosition(position, 5)) {
+                        return new CompiledRecurrence(recur, Shape.NTH_WEEKDAY_OF_MONTH, ChronoUnit.MONTHS, dayOfWeek(weekDays.get(0)),
+                                position);
+                    }
+                }
+                return unsupported;
+            case YEARLY:
+                return onlyInterval ? new CompiledRecurrence(recur, Shape.EVERY_PERIOD, ChronoUnit.YEARS, null, 0) : unsupported;
+            default:
+                return unsupported;
+        }
+    }
+
+    /**
+     * @return the parsed rule; shared, so it must not be modified
+     */
+    public Recur getRecur() {
+        return this.recur;
+    }
+
+    /**
+     * @return whether occurrences of the rule starting at the seed date are evaluated by this class; ical4j rolls month
+     *         and year ends over differently, so those seed dates are left to it
+     */
+    public boolean supports(final LocalDate seedDate) {
+        if (this.shape != Shape.EVERY_PERIOD) {
+            return this.shape != Shape.UNSUPPORTED;
+        }
+        if (this.unit == ChronoUnit.WEEKS) {
+            // a single week day other than the seed's depends on the week start (WKST), left to ical4j
+            return this.dayOfWeek == null || this.dayOfWeek == seedDate.getDayOfWeek();
+        }
+        if (this.unit == ChronoUnit.MONTHS) {
+            return seedDate.getDayOfMonth() <= 28;
+        }
+        if (this.unit == ChronoUnit.YEARS) {
+            return !(seedDate.getMonth() == Month.FEBRUARY && seedDate.getDayOfMonth() == 29);
+        }
+        return true;
+    }
+
+    /**
+     * @return the first occurrence on or after the seed date that is after the given date, <code>null</code> when there
+     *         is none
+     */
+    public LocalDate nextOccurrenceAfter(final LocalDate seedDate, final LocalDate date) {
+        final LocalDate from = date.isBefore(seedDate) ? seedDate : date.plusDays(1);
+        if (this.shape == Shape.EVERY_PERIOD) {
+            final long periods = this.unit.between(seedDate, from) / this.interval * this.interval;
+            final LocalDate occurrence = seedDate.plus(periods, this.unit);
+            return occurrence.isBefore(from) ? seedDate.plus(periods + this.interval, this.unit) : occurrence;
+        }
+        final YearMonth seedMonth = YearMonth.from(seedDate);
+        long months = ChronoUnit.MONTHS.between(seedMonth, YearMonth.from(from)) / this.interval * this.interval;
+        for (int i = 0; i < MAX_PERIODS_WITHOUT_OCCURRENCE; i++, months += this.interval) {
+            final LocalDate occurrence = occurrenceIn(seedMonth.plusMonths(months));
+            if (occurrence != null && !occurrence.isBefore(from)) {
+                return occurrence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the occurrences between both dates (inclusive), at most <code>maxCount</code> of them
+     */
+    public List<LocalDate> occurrencesBetween(final LocalDate seedDate, final LocalDate periodStartDate, final LocalDate periodEndDate,
+            final int maxCount) {
+        final List<LocalDate> occurrences = new ArrayList<>();
+        LocalDate occurrence = nextOccurrenceAfter(seedDate, periodStartDate.minusDays(1));
+        while (occurrence != null && !occurrence.isAfter(periodEndDate) && (maxCount < 0 || occurrences.size() < maxCount)) {
+            occurrences.add(occurrence);
+            occurrence = nextOccurrenceAfter(seedDate, occurrence);
+        }
+        return occurrences;
+    }
+
+    private LocalDate occurrenceIn(final YearMonth month) {
+        if (this.shape == Shape.DAY_OF_MONTH) {
+            final int day = this.position > 0 ? this.position : month.lengthOfMonth() + 1 + this.position;
+            return day >= 1 && day <= month.lengthOfMonth() ? month.atDay(day) : null;
+        }
+        final LocalDate occurrence = month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(this.position, this.dayOfWeek));
+        // dayOfWeekInMonth rolls a fifth week day over into the next month, ical4j skips the month instead
+        return YearMonth.from(occurrence).equals(month) ? occurrence : null;
+    }
+
+    private static boolean isPosition(final int position, final int max) {
+        return (position >= 1 && position <= max) || (position <= -1 && position >= -max);
+    }
+
+    private static DayOfWeek dayOfWeek(final WeekDay weekDay) {
+        return DayOfWeek.of(CalendarUtils.DayNameEnum.from(weekDay.getDay().name()).getValue());
+    }
+
+    private static Recur parse(final String recurringRule) {
+        try {
+            final RRule rrule = new RRule(recurringRule);
+            rrule.validate();
+            return rrule.getRecur();
+        } catch (final ParseException | ValidationException e) {
+            LOG.error("Problem occurred in getICalRecur function", e);
+        }
+        return null;
+    }
+}
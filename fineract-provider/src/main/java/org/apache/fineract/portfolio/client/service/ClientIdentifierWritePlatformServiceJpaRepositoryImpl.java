@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.client.service;
 
+import java.util.HashMap;
 import java.util.Map;
 import javax.persistence.PersistenceException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -38,6 +39,9 @@ import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
 import org.apache.fineract.portfolio.client.exception.ClientIdentifierNotFoundException;
 import org.apache.fineract.portfolio.client.exception.DuplicateClientIdentifierException;
 import org.apache.fineract.portfolio.client.serialization.ClientIdentifierCommandFromApiJsonDeserializer;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,17 +60,20 @@ public class ClientIdentifierWritePlatformServiceJpaRepositoryImpl implements Cl
     private final ClientIdentifierRepository clientIdentifierRepository;
     private final CodeValueRepositoryWrapper codeValueRepository;
     private final ClientIdentifierCommandFromApiJsonDeserializer clientIdentifierCommandFromApiJsonDeserializer;
+    private final BusinessEventNotifierService businessEventNotifierService;
 
     @Autowired
     public ClientIdentifierWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
             final ClientRepositoryWrapper clientRepository, final ClientIdentifierRepository clientIdentifierRepository,
             final CodeValueRepositoryWrapper codeValueRepository,
-            final ClientIdentifierCommandFromApiJsonDeserializer clientIdentifierCommandFromApiJsonDeserializer) {
+            final ClientIdentifierCommandFromApiJsonDeserializer clientIdentifierCommandFromApiJsonDeserializer,
+            final BusinessEventNotifierService businessEventNotifierService) {
         this.context = context;
         this.clientRepository = clientRepository;
         this.clientIdentifierRepository = clientIdentifierRepository;
         this.codeValueRepository = codeValueRepository;
         this.clientIdentifierCommandFromApiJsonDeserializer = clientIdentifierCommandFromApiJsonDeserializer;
+        this.businessEventNotifierService = businessEventNotifierService;
     }
 
     @Transactional
@@ -99,12 +106,15 @@ public class ClientIdentifierWritePlatformServiceJpaRepositoryImpl implements Cl
 
             this.clientIdentifierRepository.save(clientIdentifier);
 
-            return new CommandProcessingResultBuilder() //
+            final CommandProcessingResult result = new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
                     .withOfficeId(client.officeId()) //
                     .withClientId(clientId) //
                     .withEntityId(clientIdentifier.getId()) //
                     .build();
+            this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENT_IDENTIFIER_CREATE,
+                    constructEntityMap(BusinessEntity.CLIENT_IDENTIFIER, result));
+            return result;
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
             handleClientIdentifierDataIntegrityViolation(documentTypeLabel, documentTypeId, documentKey, dve.getMostSpecificCause(), dve);
             return CommandProcessingResult.empty();
@@ -165,17 +175,19 @@ public class ClientIdentifierWritePlatformServiceJpaRepositoryImpl implements Cl
                 documentKey = clientIdentifierForUpdate.documentKey();
             }
 
-            if (!changes.isEmpty()) {
-                this.clientIdentifierRepository.saveAndFlush(clientIdentifierForUpdate);
-            }
-
-            return new CommandProcessingResultBuilder() //
+            final CommandProcessingResult result = new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
                     .withOfficeId(client.officeId()) //
                     .withClientId(clientId) //
                     .withEntityId(identifierId) //
                     .with(changes) //
                     .build();
+            if (!changes.isEmpty()) {
+                this.clientIdentifierRepository.saveAndFlush(clientIdentifierForUpdate);
+                this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENT_IDENTIFIER_UPDATE,
+                        constructEntityMap(BusinessEntity.CLIENT_IDENTIFIER, result));
+            }
+            return result;
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
             handleClientIdentifierDataIntegrityViolation(documentTypeLabel, Long.parseLong(documentTypeId), documentKey,
                     dve.getMostSpecificCause(), dve);
@@ -197,12 +209,21 @@ public class ClientIdentifierWritePlatformServiceJpaRepositoryImpl implements Cl
                 .orElseThrow(() -> new ClientIdentifierNotFoundException(identifierId));
         this.clientIdentifierRepository.delete(clientIdentifier);
 
-        return new CommandProcessingResultBuilder() //
+        final CommandProcessingResult result = new CommandProcessingResultBuilder() //
                 .withCommandId(commandId) //
                 .withOfficeId(client.officeId()) //
                 .withClientId(clientId) //
                 .withEntityId(identifierId) //
                 .build();
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENT_IDENTIFIER_DELETE,
+                constructEntityMap(BusinessEntity.CLIENT_IDENTIFIER, result));
+        return result;
+    }
+
+    private Map<BusinessEntity, Object> constructEntityMap(final BusinessEntity entityEvent, Object entity) {
+        Map<BusinessEntity, Object> map = new HashMap<>(1);
+        map.put(entityEvent, entity);
+        return map;
     }
 
     private void handleClientIdentifierDataIntegrityViolation(final String documentTypeLabel, final Long documentTypeId,
@@ -497,6 +497,8 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
 
             if (!changes.isEmpty()) {
                 this.clientRepository.saveAndFlush(clientForUpdate);
+                this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CLIENTS_UPDATE,
+                        constructEntityMap(BusinessEntity.CLIENT, clientForUpdate));
             }
 
             if (changes.containsKey(ClientApiConstants.legalFormIdParamName)) {
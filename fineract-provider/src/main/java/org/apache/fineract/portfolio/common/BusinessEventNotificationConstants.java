@@ -69,8 +69,15 @@ public class BusinessEventNotificationConstants {
         SHARE_ACCOUNT_CREATE("share_account_create"), //
         CLIENTS_REJECT("clients_reject"), //
         CLIENTS_CREATE("clients_create"), //
+        CLIENTS_UPDATE("clients_update"), //
+        CLIENTS_TRANSFER("clients_transfer"), //
+        CLIENT_IDENTIFIER_CREATE("client_identifier_create"), //
+        CLIENT_IDENTIFIER_UPDATE("client_identifier_update"), //
+        CLIENT_IDENTIFIER_DELETE("client_identifier_delete"), //
         CENTERS_CREATE("centers_create"), //
+        CENTERS_UPDATE("centers_update"), //
         GROUPS_CREATE("groups_create"), //
+        GROUPS_UPDATE("groups_update"), //
         SHARE_PRODUCT_DIVIDENDS_CREATE("share_product_dividends_create"), //
         FIXED_DEPOSIT_ACCOUNT_CREATE("fixed_deposit_account_create"), //
         SHARE_ACCOUNT_APPROVE("share_account_approve"), //
@@ -105,6 +112,7 @@ public class BusinessEventNotificationConstants {
         LOAN_CHARGE("loan_charge"), //
         LOAN_ADJUSTED_TRANSACTION("loan_adjusted_transaction"), SAVING("saving"), //
         CLIENT("client"), //
+        CLIENT_IDENTIFIER("client_identifier"), //
         SAVINGS_TRANSACTION("Savings Transaction"), //
         GROUP("group"), //
         SHARE_ACCOUNT("share_account"), //
@@ -380,7 +380,10 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
 
         this.fromApiJsonDeserializer.validateForUpdateCenter(command, centerId);
 
-        return updateGroupingType(centerId, command, GroupTypes.CENTER);
+        final CommandProcessingResult result = updateGroupingType(centerId, command, GroupTypes.CENTER);
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.CENTERS_UPDATE,
+                constructEntityMap(BusinessEntity.GROUP, result));
+        return result;
     }
 
     @Transactional
@@ -389,7 +392,10 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
 
         this.fromApiJsonDeserializer.validateForUpdateGroup(command, groupId);
 
-        return updateGroupingType(groupId, command, GroupTypes.GROUP);
+        final CommandProcessingResult result = updateGroupingType(groupId, command, GroupTypes.GROUP);
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.GROUPS_UPDATE,
+                constructEntityMap(BusinessEntity.GROUP, result));
+        return result;
     }
 
     private CommandProcessingResult updateGroupingType(final Long groupId, final JsonCommand command, final GroupTypes groupingType) {
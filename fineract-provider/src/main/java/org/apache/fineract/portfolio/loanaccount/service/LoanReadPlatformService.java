@@ -111,6 +111,12 @@ public interface LoanReadPlatformService {
 
     Collection<Long> fetchLoansForInterestRecalculation();
 
+    /**
+     * @return the next <code>limit</code> ids, in ascending order, of loans needing interest recalculation whose id is
+     *         greater than <code>afterLoanId</code>
+     */
+    List<Long> fetchLoansForInterestRecalculationAfter(Long afterLoanId, int limit);
+
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
 
     LoanTransactionData retrieveLoanPrePaymentTemplate(Long loanId, LocalDate onDate);
@@ -1831,6 +1831,32 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
     @Override
     public Collection<Long> fetchLoansForInterestRecalculation() {
+        StringBuilder sqlBuilder = interestRecalculationCandidatesSql();
+        sqlBuilder.append(" group by ml.id");
+        try {
+            String currentdate = formatter.format(DateUtils.getLocalDateOfTenant());
+            // will look only for yesterday modified rates
+            String yesterday = formatter.format(DateUtils.getLocalDateOfTenant().minusDays(1));
+            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class,
+                    new Object[] { yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday });
+        } catch (final EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public List<Long> fetchLoansForInterestRecalculationAfter(Long afterLoanId, int limit) {
+        StringBuilder sqlBuilder = interestRecalculationCandidatesSql();
+        sqlBuilder.append(" and ml.id > ? ");
+        sqlBuilder.append(" group by ml.id order by ml.id limit ? ");
+        String currentdate = formatter.format(DateUtils.getLocalDateOfTenant());
+        // will look only for yesterday modified rates
+        String yesterday = formatter.format(DateUtils.getLocalDateOfTenant().minusDays(1));
+        return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate,
+                currentdate, currentdate, yesterday, afterLoanId == null ? 0L : afterLoanId, limit);
+    }
+
+    private StringBuilder interestRecalculationCandidatesSql() {
         StringBuilder sqlBuilder = new StringBuilder();
         sqlBuilder.append("SELECT ml.id FROM m_loan ml ");
         sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
@@ -1859,16 +1885,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         sqlBuilder.append("(bfrp.id is not null and frp.is_differential_to_base_lending_rate = 1 and frp.from_date >= bfrp.from_date)) ");
         sqlBuilder.append("and lrr.loan_id is null");
         sqlBuilder.append(" ))");
-        sqlBuilder.append(" group by ml.id");
-        try {
-            String currentdate = formatter.format(DateUtils.getLocalDateOfTenant());
-            // will look only for yesterday modified rates
-            String yesterday = formatter.format(DateUtils.getLocalDateOfTenant().minusDays(1));
-            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class,
-                    new Object[] { yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday });
-        } catch (final EmptyResultDataAccessException e) {
-            return null;
-        }
+        return sqlBuilder;
     }
 
     @Override
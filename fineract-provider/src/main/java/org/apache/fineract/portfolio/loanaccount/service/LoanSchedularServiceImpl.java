@@ -38,7 +38,9 @@ import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidati
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.ChunkedJobStep;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobStepExecutionService;
 import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.organisation.office.exception.OfficeNotFoundException;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
@@ -63,16 +65,19 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
     private final LoanWritePlatformService loanWritePlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final ApplicationContext applicationContext;
+    private final JobStepExecutionService jobStepExecutionService;
 
     @Autowired
     public LoanSchedularServiceImpl(final ConfigurationDomainService configurationDomainService,
             final LoanReadPlatformService loanReadPlatformService, final LoanWritePlatformService loanWritePlatformService,
-            final OfficeReadPlatformService officeReadPlatformService, final ApplicationContext applicationContext) {
+            final OfficeReadPlatformService officeReadPlatformService, final ApplicationContext applicationContext,
+            final JobStepExecutionService jobStepExecutionService) {
         this.configurationDomainService = configurationDomainService;
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanWritePlatformService = loanWritePlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
         this.applicationContext = applicationContext;
+        this.jobStepExecutionService = jobStepExecutionService;
     }
 
     @Override
@@ -125,57 +130,55 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
 
     @Override
     @CronTarget(jobName = JobName.RECALCULATE_INTEREST_FOR_LOAN)
-    @SuppressFBWarnings(value = {
-            "DMI_RANDOM_USED_ONLY_ONCE" }, justification = "False positive for random object created and used only once")
     public void recalculateInterest() throws JobExecutionException {
-        Integer maxNumberOfRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxRetriesOnDeadlock();
-        Integer maxIntervalBetweenRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxIntervalBetweenRetries();
-        Collection<Long> loanIds = this.loanReadPlatformService.fetchLoansForInterestRecalculation();
-        int i = 0;
-        if (!loanIds.isEmpty()) {
-            List<Throwable> errors = new ArrayList<>();
-            for (Long loanId : loanIds) {
+        final Integer maxNumberOfRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxRetriesOnDeadlock();
+        final Integer maxIntervalBetweenRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxIntervalBetweenRetries();
+        this.jobStepExecutionService.execute(JobName.RECALCULATE_INTEREST_FOR_LOAN, new ChunkedJobStep() {
+
+            @Override
+            public String name() {
+                return "recalculateInterest";
+            }
+
+            @Override
+            public List<Long> read(final Long lastCommittedId, final int chunkSize) {
+                return LoanSchedularServiceImpl.this.loanReadPlatformService.fetchLoansForInterestRecalculationAfter(lastCommittedId,
+                        chunkSize);
+            }
+
+            @Override
+            public void process(final Long loanId) throws Exception {
                 LOG.info("recalculateInterest: Loan ID = {}", loanId);
-                Integer numberOfRetries = 0;
-                while (numberOfRetries <= maxNumberOfRetries) {
-                    try {
-                        this.loanWritePlatformService.recalculateInterest(loanId);
-                        numberOfRetries = maxNumberOfRetries + 1;
-                    } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
-                        LOG.info("Recalulate interest job has been retried {} time(s)", numberOfRetries);
-                        // Fail if the transaction has been retried for
-                        // maxNumberOfRetries
-                        if (numberOfRetries >= maxNumberOfRetries) {
-                            LOG.error("Recalulate interest job has been retried for the max allowed attempts of {} and will be rolled back",
-                                    numberOfRetries);
-                            errors.add(exception);
-                            break;
-                        }
-                        // Else sleep for a random time (between 1 to 10
-                        // seconds) and continue
-                        try {
-                            int randomNum = random.nextInt(maxIntervalBetweenRetries + 1);
-                            Thread.sleep(1000 + (randomNum * 1000));
-                            numberOfRetries = numberOfRetries + 1;
-                        } catch (InterruptedException e) {
-                            LOG.error("Interest recalculation for loans retry failed due to InterruptedException", e);
-                            errors.add(e);
-                            break;
-                        }
-                    } catch (Exception e) {
-                        LOG.error("Interest recalculation for loans failed for account {}", loanId, e);
-                        numberOfRetries = maxNumberOfRetries + 1;
-                        errors.add(e);
-                    }
-                    i++;
-                }
-                LOG.info("recalculateInterest: Loans count {}", i);
+                recalculateInterest(loanId, maxNumberOfRetries, maxIntervalBetweenRetries);
             }
-            if (!errors.isEmpty()) {
-                throw new JobExecutionException(errors);
+        });
+    }
+
+    @SuppressFBWarnings(value = {
+            "DMI_RANDOM_USED_ONLY_ONCE" }, justification = "False positive for random object created and used only once")
+    private void recalculateInterest(final Long loanId, final int maxNumberOfRetries, final int maxIntervalBetweenRetries)
+            throws InterruptedException {
+        int numberOfRetries = 0;
+        while (true) {
+            try {
+                this.loanWritePlatformService.recalculateInterest(loanId);
+                return;
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                LOG.info("Recalulate interest job has been retried {} time(s)", numberOfRetries);
+                // Fail if the transaction has been retried for
+                // maxNumberOfRetries
+                if (numberOfRetries >= maxNumberOfRetries) {
+                    LOG.error("Recalulate interest job has been retried for the max allowed attempts of {} and will be rolled back",
+                            numberOfRetries);
+                    throw exception;
+                }
+                // Else sleep for a random time (between 1 to 10
+                // seconds) and continue
+                int randomNum = random.nextInt(maxIntervalBetweenRetries + 1);
+                Thread.sleep(1000 + (randomNum * 1000));
+                numberOfRetries = numberOfRetries + 1;
             }
         }
-
     }
 
     @Override
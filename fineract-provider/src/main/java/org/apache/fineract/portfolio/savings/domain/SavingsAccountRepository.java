@@ -56,5 +56,10 @@ public interface SavingsAccountRepository extends JpaRepository<SavingsAccount,
 
     Page<SavingsAccount> findByStatus(Integer status, Pageable pageable);
 
+    Page<SavingsAccount> findByStatusAndIdBetween(Integer status, Long fromId, Long toId, Pageable pageable);
+
+    @Query("select sa.id from SavingsAccount sa where sa.status = :status order by sa.id")
+    List<Long> findIdsByStatus(@Param("status") Integer status);
+
     SavingsAccount findByExternalId(String externalId);
 }
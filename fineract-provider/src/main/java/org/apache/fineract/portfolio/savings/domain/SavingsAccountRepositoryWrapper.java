@@ -88,6 +88,17 @@ public class SavingsAccountRepositoryWrapper {
         return accounts;
     }
 
+    @Transactional(readOnly = true)
+    public Page<SavingsAccount> findByStatusAndIdBetween(Integer status, Long fromId, Long toId, Pageable pageable) {
+        Page<SavingsAccount> accounts = this.repository.findByStatusAndIdBetween(status, fromId, toId, pageable);
+        loadLazyCollections(accounts);
+        return accounts;
+    }
+
+    public List<Long> findIdsByStatus(Integer status) {
+        return this.repository.findIdsByStatus(status);
+    }
+
     // Root Entities are enough
     public List<SavingsAccount> findByClientIdAndGroupId(@Param("clientId") Long clientId, @Param("groupId") Long groupId) {
         return this.repository.findByClientIdAndGroupId(clientId, groupId);
@@ -26,7 +26,9 @@ import java.util.List;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.ShardedJobWork;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
@@ -46,28 +48,46 @@ public class SavingsSchedularServiceImpl implements SavingsSchedularService {
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final SavingsAccountRepositoryWrapper savingsAccountRepository;
+    private final JobClusterService jobClusterService;
 
     @Autowired
     public SavingsSchedularServiceImpl(final SavingsAccountAssembler savingAccountAssembler,
             final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
             final SavingsAccountReadPlatformService savingAccountReadPlatformService,
-            final SavingsAccountRepositoryWrapper savingsAccountRepository) {
+            final SavingsAccountRepositoryWrapper savingsAccountRepository, final JobClusterService jobClusterService) {
         this.savingAccountAssembler = savingAccountAssembler;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingAccountReadPlatformService = savingAccountReadPlatformService;
         this.savingsAccountRepository = savingsAccountRepository;
+        this.jobClusterService = jobClusterService;
     }
 
     @Override
-    @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS)
+    @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS, sharded = true)
     public void postInterestForAccounts() throws JobExecutionException {
+        this.jobClusterService.runSharded(new ShardedJobWork() {
+
+            @Override
+            public List<Long> findIds() {
+                return SavingsSchedularServiceImpl.this.savingsAccountRepository.findIdsByStatus(ACTIVE.getValue());
+            }
+
+            @Override
+            public List<Throwable> processRange(final long fromId, final long toId) {
+                return postInterestForAccounts(fromId, toId);
+            }
+        });
+    }
+
+    private List<Throwable> postInterestForAccounts(final long fromId, final long toId) {
         int page = 0;
         Integer initialSize = 500;
         Integer totalPageSize = 0;
         List<Throwable> errors = new ArrayList<>();
         do {
             PageRequest pageRequest = PageRequest.of(page, initialSize);
-            Page<SavingsAccount> savingsAccounts = this.savingsAccountRepository.findByStatus(ACTIVE.getValue(), pageRequest);
+            Page<SavingsAccount> savingsAccounts = this.savingsAccountRepository.findByStatusAndIdBetween(ACTIVE.getValue(), fromId, toId,
+                    pageRequest);
             for (SavingsAccount savingsAccount : savingsAccounts.getContent()) {
                 try {
                     this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
@@ -82,10 +102,7 @@ public class SavingsSchedularServiceImpl implements SavingsSchedularService {
             page++;
             totalPageSize = savingsAccounts.getTotalPages();
         } while (page < totalPageSize);
-
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
-        }
+        return errors;
     }
 
     @Override
@@ -58,7 +58,7 @@ public class SearchConstants {
 
     public enum SearchSupportedParameters {
 
-        QUERY("query"), RESOURCE("resource"), EXACTMATCH("exactMatch");
+        QUERY("query"), RESOURCE("resource"), EXACTMATCH("exactMatch"), FUZZYMATCH("fuzzyMatch");
 
         private final String value;
 
@@ -148,4 +148,11 @@ public class SearchConstants {
             return this.value;
         }
     }
+
+    /**
+     * Entity types kept in <code>m_search_index</code>; centers and groups are both indexed as {@link #GROUP}.
+     */
+    public enum SearchIndexEntityType {
+        CLIENT, GROUP, LOAN, SAVING, SHARE, CLIENTIDENTIFIER;
+    }
 }
@@ -31,11 +31,17 @@ public class SearchConditions {
     private final Boolean shareSeach;
     private final Boolean clientIdentifierSearch;
     private Boolean exactMatch;
+    private final Boolean fuzzyMatch;
 
     public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch) {
+        this(searchQueryParam, searchResource, exactMatch, false);
+    }
+
+    public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch, final Boolean fuzzyMatch) {
         this.searchQuery = searchQueryParam;
         this.searchResource = searchResource;
         this.exactMatch = exactMatch;
+        this.fuzzyMatch = fuzzyMatch;
         this.clientSearch = (null == searchResource
                 || searchResource.toLowerCase().contains(SearchSupportedResources.CLIENTS.name().toLowerCase())) ? true : false;
         this.groupSearch = (null == searchResource
@@ -62,6 +68,7 @@ public class SearchConditions {
         this.shareSeach = shareSeach;
         this.clientIdentifierSearch = clientIdentifierSearch;
         this.exactMatch = exactMatch;
+        this.fuzzyMatch = false;
     }
 
     public String getSearchQuery() {
@@ -76,6 +83,10 @@ public class SearchConditions {
         return this.exactMatch;
     }
 
+    public Boolean getFuzzyMatch() {
+        return this.fuzzyMatch;
+    }
+
     public Boolean isClientSearch() {
         return this.clientSearch;
     }
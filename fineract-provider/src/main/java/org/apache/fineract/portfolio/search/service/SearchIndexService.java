@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.Collection;
+import java.util.Map;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+
+/**
+ * Index used by {@link SearchReadPlatformService} to resolve free text searches to entity ids without scanning the
+ * client, group and account tables.
+ *
+ * The default implementation keeps the index in <code>m_search_index</code>; an external engine can be plugged in by
+ * providing another (primary) bean implementing this interface.
+ */
+public interface SearchIndexService {
+
+    /**
+     * Returns the ids of the entities matching the search query (exact, substring or fuzzy, as requested by the conditions),
+     * restricted to the requested resources and to offices under the given hierarchy.
+     */
+    Map<SearchIndexEntityType, Collection<Long>> retrieveMatchingEntityIds(SearchConditions searchConditions, String officeHierarchy);
+
+    /**
+     * Replaces the index entries of a single entity with its current state, or removes them when it no longer exists.
+     */
+    void reindexEntity(SearchIndexEntityType entityType, Long entityId);
+
+    void rebuildSearchIndex() throws JobExecutionException;
+}
@@ -0,0 +1,347 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.common.service.BusinessEventListener;
+import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.service.SearchIndexWriter.KeyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link SearchIndexService} backed by the <code>m_search_index</code> table (see {@link SearchIndexWriter}).
+ *
+ * Every searchable value (display name, account number, external id, mobile number, document key) is stored lower-cased
+ * as a <code>search_key</code>, together with the words of names and every suffix of the values. A search for a part of
+ * a value, like the <code>like '%...%'</code> scans it replaces, is therefore an index range scan for the keys starting
+ * with the query. Exact searches only match whole values, and fuzzy searches additionally read the values and words
+ * sharing the first characters of the query and keep those within a small edit distance. Every pass reads a bounded
+ * number of keys and at most {@value #MAX_MATCHES} entities of each type are returned, so that a short query matching
+ * much of the index still expands into a bounded <code>in (...)</code> list.
+ *
+ * While the <code>search-index</code> configuration is enabled, entities are reindexed after the commit of the
+ * transactions creating or changing them (including client office transfers, which move the client's accounts too);
+ * the Rebuild Search Index job rebuilds the whole index and picks up any other change.
+ */
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchIndexServiceImpl.class);
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final int FUZZY_PREFIX_LENGTH = 2;
+    private static final int MAX_FUZZY_CANDIDATES = 5000;
+    private static final int MAX_MATCHES = 1000;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final SearchIndexWriter searchIndexWriter;
+
+    @Autowired
+    public SearchIndexServiceImpl(final RoutingDataSource dataSource, final BusinessEventNotifierService businessEventNotifierService,
+            final ConfigurationDomainService configurationDomainService, final SearchIndexWriter searchIndexWriter) {
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.businessEventNotifierService = businessEventNotifierService;
+        this.configurationDomainService = configurationDomainService;
+        this.searchIndexWriter = searchIndexWriter;
+    }
+
+    @PostConstruct
+    public void addListeners() {
+        addListener(BusinessEvents.CLIENTS_CREATE, BusinessEntity.CLIENT, SearchIndexEntityType.CLIENT);
+        addListener(BusinessEvents.CLIENTS_ACTIVATE, BusinessEntity.CLIENT, SearchIndexEntityType.CLIENT);
+        addListener(BusinessEvents.CLIENTS_UPDATE, BusinessEntity.CLIENT, SearchIndexEntityType.CLIENT);
+        this.businessEventNotifierService.addBusinessEventPostListeners(BusinessEvents.CLIENTS_TRANSFER,
+                new SearchIndexUpdateListener(BusinessEntity.CLIENT, SearchIndexEntityType.CLIENT, true));
+        addListener(BusinessEvents.CLIENT_IDENTIFIER_CREATE, BusinessEntity.CLIENT_IDENTIFIER, SearchIndexEntityType.CLIENTIDENTIFIER);
+        addListener(BusinessEvents.CLIENT_IDENTIFIER_UPDATE, BusinessEntity.CLIENT_IDENTIFIER, SearchIndexEntityType.CLIENTIDENTIFIER);
+        addListener(BusinessEvents.CLIENT_IDENTIFIER_DELETE, BusinessEntity.CLIENT_IDENTIFIER, SearchIndexEntityType.CLIENTIDENTIFIER);
+        addListener(BusinessEvents.GROUPS_CREATE, BusinessEntity.GROUP, SearchIndexEntityType.GROUP);
+        addListener(BusinessEvents.GROUPS_UPDATE, BusinessEntity.GROUP, SearchIndexEntityType.GROUP);
+        addListener(BusinessEvents.CENTERS_CREATE, BusinessEntity.GROUP, SearchIndexEntityType.GROUP);
+        addListener(BusinessEvents.CENTERS_UPDATE, BusinessEntity.GROUP, SearchIndexEntityType.GROUP);
+        addListener(BusinessEvents.LOAN_CREATE, BusinessEntity.LOAN, SearchIndexEntityType.LOAN);
+        addListener(BusinessEvents.SAVINGS_CREATE, BusinessEntity.SAVING, SearchIndexEntityType.SAVING);
+        addListener(BusinessEvents.SAVINGS_ACTIVATE, BusinessEntity.SAVING, SearchIndexEntityType.SAVING);
+        addListener(BusinessEvents.FIXED_DEPOSIT_ACCOUNT_CREATE, BusinessEntity.DEPOSIT_ACCOUNT, SearchIndexEntityType.SAVING);
+        addListener(BusinessEvents.RECURRING_DEPOSIT_ACCOUNT_CREATE, BusinessEntity.DEPOSIT_ACCOUNT, SearchIndexEntityType.SAVING);
+        addListener(BusinessEvents.SHARE_ACCOUNT_CREATE, BusinessEntity.SHARE_ACCOUNT, SearchIndexEntityType.SHARE);
+    }
+
+    private void addListener(final BusinessEvents businessEvent, final BusinessEntity businessEntity,
+            final SearchIndexEntityType entityType) {
+        this.businessEventNotifierService.addBusinessEventPostListeners(businessEvent,
+                new SearchIndexUpdateListener(businessEntity, entityType, false));
+    }
+
+    @Override
+    public Map<SearchIndexEntityType, Collection<Long>> retrieveMatchingEntityIds(final SearchConditions searchConditions,
+            final String officeHierarchy) {
+        final Map<SearchIndexEntityType, Collection<Long>> matches = new EnumMap<>(SearchIndexEntityType.class);
+        for (final SearchIndexEntityType entityType : requestedEntityTypes(searchConditions)) {
+            matches.put(entityType, new LinkedHashSet<>());
+        }
+
+        final String searchKey = SearchIndexWriter.normalize(searchConditions.getSearchQuery());
+        if (searchKey == null || matches.isEmpty()) {
+            return matches;
+        }
+
+        final List<String> entityTypes = new ArrayList<>();
+        for (final SearchIndexEntityType entityType : matches.keySet()) {
+            entityTypes.add(entityType.name());
+        }
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("entityTypes", entityTypes);
+        params.addValue("hierarchy", officeHierarchy + "%");
+
+        if (Boolean.TRUE.equals(searchConditions.getExactMatch())) {
+            params.addValue("searchKey", searchKey);
+            params.addValue("keyType", KeyType.VALUE.getValue());
+            collectMatches(" and si.search_key = :searchKey and si.key_type = :keyType limit " + MAX_MATCHES, params, matches, null);
+            return matches;
+        }
+
+        // the suffixes of the values are indexed too, so this prefix scan matches the query anywhere in a value
+        params.addValue("searchKey", escapeLike(searchKey) + "%");
+        collectMatches(" and si.search_key like :searchKey limit " + MAX_MATCHES, params, matches, null);
+
+        if (Boolean.TRUE.equals(searchConditions.getFuzzyMatch()) && searchKey.length() > FUZZY_PREFIX_LENGTH) {
+            params.addValue("searchKey", escapeLike(searchKey.substring(0, FUZZY_PREFIX_LENGTH)) + "%");
+            params.addValue("keyType", KeyType.SUFFIX.getValue());
+            collectMatches(" and si.search_key like :searchKey and si.key_type <> :keyType limit " + MAX_FUZZY_CANDIDATES, params, matches,
+                    searchKey);
+        }
+        return matches;
+    }
+
+    /**
+     * Adds the entities of the keys matching the condition, and the fuzzy query when one is given, up to
+     * {@link #MAX_MATCHES} entities of each type.
+     */
+    private void collectMatches(final String condition, final MapSqlParameterSource params,
+            final Map<SearchIndexEntityType, Collection<Long>> matches, final String fuzzyQuery) {
+        final String sql = "select si.entity_type as entityType, si.entity_id as entityId, si.search_key as searchKey from m_search_index si "
+                + " where si.entity_type in (:entityTypes) and (si.office_hierarchy is null or si.office_hierarchy like :hierarchy) "
+                + condition;
+        this.namedParameterJdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+            final Collection<Long> entityIds = matches.get(SearchIndexEntityType.valueOf(rs.getString("entityType")));
+            if (entityIds.size() < MAX_MATCHES && (fuzzyQuery == null || isFuzzyMatch(fuzzyQuery, rs.getString("searchKey")))) {
+                entityIds.add(rs.getLong("entityId"));
+            }
+        });
+    }
+
+    @Override
+    public void reindexEntity(final SearchIndexEntityType entityType, final Long entityId) {
+        this.searchIndexWriter.reindex(entityType, entityId);
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.REBUILD_SEARCH_INDEX)
+    public void rebuildSearchIndex() throws JobExecutionException {
+        final List<Throwable> errors = new ArrayList<>();
+        for (final SearchIndexEntityType entityType : SearchIndexEntityType.values()) {
+            try {
+                rebuild(entityType);
+            } catch (Exception e) {
+                LOG.error("Rebuilding the search index failed for {}", entityType, e);
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    /*
+     * Chunk by chunk, each in its own transaction, so that searches keep finding the entities while the index is rebuilt.
+     */
+    private void rebuild(final SearchIndexEntityType entityType) {
+        int chunks = 0;
+        Long lastId = this.searchIndexWriter.rebuildChunk(entityType, 0L, REBUILD_CHUNK_SIZE);
+        while (lastId != null) {
+            chunks++;
+            lastId = this.searchIndexWriter.rebuildChunk(entityType, lastId, REBUILD_CHUNK_SIZE);
+        }
+        LOG.info("Search index rebuilt for {}: {} chunks of up to {} entities", entityType, chunks, REBUILD_CHUNK_SIZE);
+    }
+
+    private static Set<SearchIndexEntityType> requestedEntityTypes(final SearchConditions searchConditions) {
+        final Set<SearchIndexEntityType> entityTypes = new LinkedHashSet<>();
+        if (searchConditions.isClientSearch()) {
+            entityTypes.add(SearchIndexEntityType.CLIENT);
+        }
+        if (searchConditions.isLoanSeach()) {
+            entityTypes.add(SearchIndexEntityType.LOAN);
+        }
+        if (searchConditions.isSavingSeach()) {
+            entityTypes.add(SearchIndexEntityType.SAVING);
+        }
+        if (searchConditions.isShareSeach()) {
+            entityTypes.add(SearchIndexEntityType.SHARE);
+        }
+        if (searchConditions.isClientIdentifierSearch()) {
+            entityTypes.add(SearchIndexEntityType.CLIENTIDENTIFIER);
+        }
+        if (searchConditions.isGroupSearch()) {
+            entityTypes.add(SearchIndexEntityType.GROUP);
+        }
+        return entityTypes;
+    }
+
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * A key matches fuzzily when it starts with the query or is within one edit (two for queries longer than five
+     * characters) of the query or of the key's prefix of the same length.
+     */
+    static boolean isFuzzyMatch(final String query, final String key) {
+        if (key.startsWith(query)) {
+            return true;
+        }
+        final int maxEdits = query.length() > 5 ? 2 : 1;
+        return editDistance(query, key, maxEdits) <= maxEdits
+                || key.length() > query.length() && editDistance(query, key.substring(0, query.length()), maxEdits) <= maxEdits;
+    }
+
+    /**
+     * Levenshtein distance, giving up (returning <code>limit + 1</code>) as soon as it is known to exceed the limit.
+     */
+    private static int editDistance(final String a, final String b, final int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                final int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Reindexes the entity of a business event once its transaction has committed: the new state is then visible to the
+     * index queries, and the index (derived data) can't make the business operation fail or roll back.
+     */
+    private final class SearchIndexUpdateListener implements BusinessEventListener {
+
+        private final BusinessEntity businessEntity;
+        private final SearchIndexEntityType entityType;
+        private final boolean withClientLinkedEntities;
+
+        SearchIndexUpdateListener(final BusinessEntity businessEntity, final SearchIndexEntityType entityType,
+                final boolean withClientLinkedEntities) {
+            this.businessEntity = businessEntity;
+            this.entityType = entityType;
+            this.withClientLinkedEntities = withClientLinkedEntities;
+        }
+
+        @Override
+        public void businessEventToBeExecuted(@SuppressWarnings("unused") final Map<BusinessEntity, Object> businessEventEntity) {
+            // NOOP
+        }
+
+        @Override
+        public void businessEventWasExecuted(final Map<BusinessEntity, Object> businessEventEntity) {
+            if (!SearchIndexServiceImpl.this.configurationDomainService.isSearchIndexEnabled()) {
+                return;
+            }
+            final Object entity = businessEventEntity.get(this.businessEntity);
+            Long entityId = null;
+            if (entity instanceof AbstractPersistableCustom) {
+                entityId = ((AbstractPersistableCustom) entity).getId();
+            } else if (entity instanceof CommandProcessingResult) {
+                entityId = ((CommandProcessingResult) entity).resourceId();
+            }
+            if (entityId == null) {
+                return;
+            }
+
+            final Long id = entityId;
+            final Runnable reindex = () -> {
+                // the rebuild job repairs the index if this fails
+                try {
+                    if (this.withClientLinkedEntities) {
+                        SearchIndexServiceImpl.this.searchIndexWriter.reindexClient(id);
+                    } else {
+                        SearchIndexServiceImpl.this.searchIndexWriter.reindex(this.entityType, id);
+                    }
+                } catch (RuntimeException e) {
+                    LOG.warn("Could not update the search index for {} {}", this.entityType, id, e);
+                }
+            };
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                reindex.run();
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    reindex.run();
+                }
+            });
+        }
+    }
+}
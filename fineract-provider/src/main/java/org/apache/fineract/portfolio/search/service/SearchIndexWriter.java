@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the <code>m_search_index</code> entries of {@link SearchIndexServiceImpl}.
+ *
+ * Every write replaces the entries of a set of entities (delete and insert) in its own transaction, so that concurrent
+ * searches see either the old or the new entries of an entity, never none.
+ */
+@Component
+public class SearchIndexWriter {
+
+    /**
+     * Kind of a <code>search_key</code>: a whole value (name, account number, external id, mobile number, document key), a
+     * word of a name, or a suffix of a value. Suffixes turn the index prefix scan into a substring match.
+     */
+    enum KeyType {
+
+        VALUE(0), WORD(1), SUFFIX(2);
+
+        private final int value;
+
+        KeyType(final int value) {
+            this.value = value;
+        }
+
+        int getValue() {
+            return this.value;
+        }
+    }
+
+    /**
+     * Source of the index entries of each entity type. Every query returns the entity id, the office hierarchy (null for
+     * accounts not linked to a client, as in the search queries), a name which is also indexed word by word and up to
+     * three further keys. The client alias <code>c</code> is joined by all sources linked to a client.
+     */
+    enum IndexSource {
+
+        CLIENT(SearchIndexEntityType.CLIENT, "c.id", true,
+                "select c.id as entityId, o.hierarchy as hierarchy, c.display_name as name, c.account_no as key1, c.external_id as key2, c.mobile_no as key3 "
+                        + " from m_client c join m_office o on o.id = c.office_id "), //
+        GROUP(SearchIndexEntityType.GROUP, "g.id", false,
+                "select g.id as entityId, o.hierarchy as hierarchy, g.display_name as name, g.account_no as key1, g.external_id as key2, g.id as key3 "
+                        + " from m_group g join m_office o on o.id = g.office_id "), //
+        LOAN(SearchIndexEntityType.LOAN, "l.id", true,
+                "select l.id as entityId, o.hierarchy as hierarchy, null as name, l.account_no as key1, l.external_id as key2, null as key3 "
+                        + " from m_loan l left join m_client c on l.client_id = c.id left join m_office o on o.id = c.office_id "), //
+        SAVING(SearchIndexEntityType.SAVING, "s.id", true,
+                "select s.id as entityId, o.hierarchy as hierarchy, null as name, s.account_no as key1, s.external_id as key2, null as key3 "
+                        + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id "), //
+        SHARE(SearchIndexEntityType.SHARE, "s.id", true,
+                "select s.id as entityId, o.hierarchy as hierarchy, null as name, s.account_no as key1, s.external_id as key2, null as key3 "
+                        + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id "), //
+        CLIENTIDENTIFIER(SearchIndexEntityType.CLIENTIDENTIFIER, "ci.id", true,
+                "select ci.id as entityId, o.hierarchy as hierarchy, null as name, ci.document_key as key1, null as key2, null as key3 "
+                        + " from m_client_identifier ci join m_client c on ci.client_id = c.id join m_office o on o.id = c.office_id ");
+
+        private final SearchIndexEntityType entityType;
+        private final String idColumn;
+        private final boolean linkedToClient;
+        private final String sql;
+
+        IndexSource(final SearchIndexEntityType entityType, final String idColumn, final boolean linkedToClient, final String sql) {
+            this.entityType = entityType;
+            this.idColumn = idColumn;
+            this.linkedToClient = linkedToClient;
+            this.sql = sql;
+        }
+
+        static IndexSource of(final SearchIndexEntityType entityType) {
+            return valueOf(entityType.name());
+        }
+    }
+
+    static final int MAX_KEY_LENGTH = 200;
+
+    private static final String INSERT_SQL = "insert into m_search_index (entity_type, entity_id, search_key, key_type, office_hierarchy) values (?, ?, ?, ?, ?)";
+
+    private static final Splitter WORD_SPLITTER = Splitter.on(CharMatcher.whitespace()).omitEmptyStrings();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public SearchIndexWriter(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Replaces the entries of an entity with its current state, or removes them when it no longer exists.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reindex(final SearchIndexEntityType entityType, final Long entityId) {
+        final IndexSource source = IndexSource.of(entityType);
+        final Set<Long> entityIds = new LinkedHashSet<>();
+        entityIds.add(entityId);
+        replace(source, source.idColumn + " = ?", entityId, entityIds);
+    }
+
+    /**
+     * Replaces the entries of a client and of the accounts and identifiers linked to it, whose office hierarchy is the
+     * client's (e.g. after an office transfer).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reindexClient(final Long clientId) {
+        for (final IndexSource source : IndexSource.values()) {
+            if (source.linkedToClient) {
+                replace(source, "c.id = ?", clientId, new LinkedHashSet<>());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the entries of the next <code>chunkSize</code> entities with an id greater than <code>afterId</code>, and
+     * drops the entries of entities deleted in that id range.
+     *
+     * @return the id of the last entity rebuilt, or null when there are no more entities
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long rebuildChunk(final SearchIndexEntityType entityType, final Long afterId, final int chunkSize) {
+        final IndexSource source = IndexSource.of(entityType);
+        final List<Object[]> rows = new ArrayList<>();
+        final List<Long> entityIds = new ArrayList<>();
+        this.jdbcTemplate.query(
+                source.sql + " where " + source.idColumn + " > ? order by " + source.idColumn + " limit " + chunkSize,
+                (RowCallbackHandler) rs -> entityIds.add(addIndexRows(source.entityType, rs, rows)), afterId);
+
+        if (entityIds.isEmpty()) {
+            this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id > ?", entityType.name(), afterId);
+            return null;
+        }
+        final Long lastId = entityIds.get(entityIds.size() - 1);
+        this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id > ? and entity_id <= ?",
+                entityType.name(), afterId, lastId);
+        insert(rows);
+        return lastId;
+    }
+
+    private void replace(final IndexSource source, final String condition, final Object argument, final Set<Long> entityIds) {
+        final List<Object[]> rows = new ArrayList<>();
+        this.jdbcTemplate.query(source.sql + " where " + condition,
+                (RowCallbackHandler) rs -> entityIds.add(addIndexRows(source.entityType, rs, rows)), argument);
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("entityType", source.entityType.name());
+        params.addValue("entityIds", entityIds);
+        this.namedParameterJdbcTemplate.update("delete from m_search_index where entity_type = :entityType and entity_id in (:entityIds)",
+                params);
+        insert(rows);
+    }
+
+    private void insert(final List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private static Long addIndexRows(final SearchIndexEntityType entityType, final ResultSet rs, final List<Object[]> rows)
+            throws SQLException {
+        final Long entityId = rs.getLong("entityId");
+        final String hierarchy = rs.getString("hierarchy");
+        final Map<String, KeyType> keys = indexKeys(rs.getString("name"), rs.getString("key1"), rs.getString("key2"),
+                rs.getString("key3"));
+        for (final Map.Entry<String, KeyType> key : keys.entrySet()) {
+            rows.add(new Object[] { entityType.name(), entityId, key.getKey(), key.getValue().getValue(), hierarchy });
+        }
+        return entityId;
+    }
+
+    /**
+     * The keys of an entity: its values, the words of its name and every suffix of its values which doesn't start with
+     * whitespace (queries are trimmed). A key which is both a value and a word or suffix is stored once, as the more
+     * specific type.
+     */
+    static Map<String, KeyType> indexKeys(final String name, final String... values) {
+        final Map<String, KeyType> keys = new LinkedHashMap<>();
+        final List<String> normalizedValues = new ArrayList<>();
+        final String normalizedName = normalize(name);
+        if (normalizedName != null) {
+            normalizedValues.add(normalizedName);
+            for (final String word : WORD_SPLITTER.split(normalizedName)) {
+                keys.put(word, KeyType.WORD);
+            }
+        }
+        for (final String value : values) {
+            final String normalized = normalize(value);
+            if (normalized != null) {
+                normalizedValues.add(normalized);
+            }
+        }
+        for (final String value : normalizedValues) {
+            keys.put(value, KeyType.VALUE);
+        }
+        for (final String value : normalizedValues) {
+            for (int i = 1; i < value.length(); i++) {
+                if (!Character.isWhitespace(value.charAt(i))) {
+                    keys.putIfAbsent(value.substring(i), KeyType.SUFFIX);
+                }
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(final String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        return StringUtils.left(value.trim().toLowerCase(Locale.ROOT), MAX_KEY_LENGTH);
+    }
+}
@@ -23,11 +23,15 @@ import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.ReadOnlyRoutingContext;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.data.OfficeData;
@@ -39,6 +43,7 @@ import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
 import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
 import org.apache.fineract.portfolio.search.SearchConstants;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
 import org.apache.fineract.portfolio.search.data.AdHocQuerySearchConditions;
 import org.apache.fineract.portfolio.search.data.AdHocSearchQueryData;
 import org.apache.fineract.portfolio.search.data.SearchConditions;
@@ -57,87 +62,124 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final SearchIndexService searchIndexService;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public SearchReadPlatformServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
-            final LoanProductReadPlatformService loanProductReadPlatformService,
-            final OfficeReadPlatformService officeReadPlatformService) {
+            final LoanProductReadPlatformService loanProductReadPlatformService, final OfficeReadPlatformService officeReadPlatformService,
+            final SearchIndexService searchIndexService, final ConfigurationDomainService configurationDomainService) {
         this.context = context;
         this.namedParameterjdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         this.loanProductReadPlatformService = loanProductReadPlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
+        this.searchIndexService = searchIndexService;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Override
     public Collection<SearchData> retriveMatchingData(final SearchConditions searchConditions) {
+        // searches only read, so they are served by the read replica of the tenant where there is one
+        return ReadOnlyRoutingContext.call(() -> matchingData(searchConditions));
+    }
+
+    private Collection<SearchData> matchingData(final SearchConditions searchConditions) {
         final AppUser currentUser = this.context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
-        final SearchMapper rm = new SearchMapper();
-
         final MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("hierarchy", hierarchy + "%");
-        if (searchConditions.getExactMatch()) {
+
+        Map<SearchIndexEntityType, Collection<Long>> indexedIds = null;
+        if (this.configurationDomainService.isSearchIndexEnabled()) {
+            // the index resolves the query to ids, the union below then only loads the matched rows by primary key
+            indexedIds = this.searchIndexService.retrieveMatchingEntityIds(searchConditions, hierarchy);
+            boolean anyMatch = false;
+            for (final Map.Entry<SearchIndexEntityType, Collection<Long>> entry : indexedIds.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    params.addValue(entry.getKey().name() + "Ids", entry.getValue());
+                    anyMatch = true;
+                }
+            }
+            if (!anyMatch) {
+                return new ArrayList<>();
+            }
+        } else if (searchConditions.getExactMatch()) {
             params.addValue("search", searchConditions.getSearchQuery());
         } else {
             params.addValue("search", "%" + searchConditions.getSearchQuery() + "%");
         }
-        return this.namedParameterjdbcTemplate.query(rm.searchSchema(searchConditions), params, rm);
+
+        final SearchMapper rm = new SearchMapper();
+        return this.namedParameterjdbcTemplate.query(rm.searchSchema(searchConditions, indexedIds), params, rm);
     }
 
     private static final class SearchMapper implements RowMapper<SearchData> {
 
-        public String searchSchema(final SearchConditions searchConditions) {
+        public String searchSchema(final SearchConditions searchConditions, final Map<SearchIndexEntityType, Collection<Long>> indexedIds) {
 
             final String union = " union ";
             final String clientMatchSql = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
                     + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)) ";
+                    + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.CLIENT, "c.id",
+                            "(c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)")
+                    + ") ";
 
             final String loanMatchSql = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
                     + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
-                    + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (l.account_no like :search or l.external_id like :search)) ";
+                    + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.LOAN, "l.id", "(l.account_no like :search or l.external_id like :search)")
+                    + ") ";
 
             final String savingMatchSql = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
                     + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
                     + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
-                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) ";
+                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.SAVING, "s.id", "(s.account_no like :search or s.external_id like :search)")
+                    + ") ";
 
             final String shareMatchSql = " (select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
                     + " , c.id as parentId, c.display_name as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, 'client' as parentType "
                     + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id left join m_share_product sp on sp.id=s.product_id "
-                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) ";
+                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.SHARE, "s.id", "(s.account_no like :search or s.external_id like :search)")
+                    + ") ";
 
             final String clientIdentifierMatchSql = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
                     + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as parentType "
                     + " from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
-                    + " where o.hierarchy like :hierarchy and ci.document_key like :search ) ";
+                    + " where o.hierarchy like :hierarchy and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.CLIENTIDENTIFIER, "ci.id", "ci.document_key like :search") + " ) ";
             final String groupMatchSql = " (select IF(g.level_id=1,'CENTER','GROUP') as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo "
                     + " , g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and (g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )) ";
+                    + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and "
+                    + matchCondition(indexedIds, SearchIndexEntityType.GROUP, "g.id",
+                            "(g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )")
+                    + ") ";
             final StringBuilder sql = new StringBuilder();
 
-            if (searchConditions.isClientSearch()) {
+            if (searchConditions.isClientSearch() && hasMatches(indexedIds, SearchIndexEntityType.CLIENT)) {
                 sql.append(clientMatchSql).append(union);
             }
 
-            if (searchConditions.isLoanSeach()) {
+            if (searchConditions.isLoanSeach() && hasMatches(indexedIds, SearchIndexEntityType.LOAN)) {
                 sql.append(loanMatchSql).append(union);
             }
 
-            if (searchConditions.isSavingSeach()) {
+            if (searchConditions.isSavingSeach() && hasMatches(indexedIds, SearchIndexEntityType.SAVING)) {
                 sql.append(savingMatchSql).append(union);
             }
 
-            if (searchConditions.isShareSeach()) {
+            if (searchConditions.isShareSeach() && hasMatches(indexedIds, SearchIndexEntityType.SHARE)) {
                 sql.append(shareMatchSql).append(union);
             }
 
-            if (searchConditions.isClientIdentifierSearch()) {
+            if (searchConditions.isClientIdentifierSearch() && hasMatches(indexedIds, SearchIndexEntityType.CLIENTIDENTIFIER)) {
                 sql.append(clientIdentifierMatchSql).append(union);
             }
 
-            if (searchConditions.isGroupSearch()) {
+            if (searchConditions.isGroupSearch() && hasMatches(indexedIds, SearchIndexEntityType.GROUP)) {
                 sql.append(groupMatchSql).append(union);
             }
 
@@ -147,6 +189,19 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
             return sql.toString();
         }
 
+        private static boolean hasMatches(final Map<SearchIndexEntityType, Collection<Long>> indexedIds,
+                final SearchIndexEntityType entityType) {
+            return indexedIds == null || indexedIds.containsKey(entityType) && !indexedIds.get(entityType).isEmpty();
+        }
+
+        private static String matchCondition(final Map<SearchIndexEntityType, Collection<Long>> indexedIds,
+                final SearchIndexEntityType entityType, final String idColumn, final String likeCondition) {
+            if (indexedIds == null) {
+                return likeCondition;
+            }
+            return idColumn + " in (:" + entityType.name() + "Ids)";
+        }
+
         @Override
         public SearchData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
             final Long entityId = JdbcSupport.getLong(rs, "entityId");
@@ -201,7 +256,8 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
         final AdHocQuerySearchMapper rm = new AdHocQuerySearchMapper();
         final MapSqlParameterSource params = new MapSqlParameterSource();
 
-        return this.namedParameterjdbcTemplate.query(rm.schema(searchConditions, params), params, rm);
+        final String sql = rm.schema(searchConditions, params);
+        return ReadOnlyRoutingContext.call(() -> this.namedParameterjdbcTemplate.query(sql, params, rm));
     }
 
     private static final class AdHocQuerySearchMapper implements RowMapper<AdHocSearchQueryData> {
@@ -38,6 +38,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -123,6 +124,13 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     @JoinColumn(name = "appuser_id", referencedColumnName = "id", nullable = false)
     private Set<AppUserClientMapping> appUserClientMappings = new HashSet<>();
 
+    /**
+     * Compiled from {@link #roles} on first use; the instance is what gets cached in <code>usersByUsername</code>, and that
+     * cache is evicted whenever roles or permissions change.
+     */
+    @Transient
+    private transient volatile AppUserPermissionIndex permissionIndex;
+
     public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles,
             final Collection<Client> clients, final JsonCommand command) {
 
@@ -216,6 +224,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.permissionIndex = null;
         }
     }
 
@@ -360,6 +369,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
         this.firstTimeLoginRemaining = true;
         this.username = getId() + "_DELETED_" + this.username;
         this.roles.clear();
+        this.permissionIndex = null;
     }
 
     public boolean isDeleted() {
@@ -533,14 +543,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
      * @return whether the user has the specified permission
      */
     public boolean hasSpecificPermissionTo(final String permissionCode) {
-        boolean hasPermission = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo(permissionCode)) {
-                hasPermission = true;
-                break;
-            }
-        }
-        return hasPermission;
+        return getPermissionIndex().hasSpecificPermissionTo(permissionCode);
     }
 
     public void validateHasReadPermission(final String resourceType) {
@@ -560,27 +563,16 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
-        if (!hasPermission) {
-            for (final Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
-        }
-        return hasPermission;
+        return getPermissionIndex().hasPermissionTo(permissionCode);
     }
 
-    private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
-            }
+    public AppUserPermissionIndex getPermissionIndex() {
+        AppUserPermissionIndex index = this.permissionIndex;
+        if (index == null) {
+            index = AppUserPermissionIndex.fromRoles(this.roles);
+            this.permissionIndex = index;
         }
-        return match;
+        return index;
     }
 
     public boolean hasIdOf(final Long userId) {
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, compiled view of the permissions an {@link AppUser} is granted through its roles.
+ *
+ * Permission codes are interned to integer ids (once per JVM, shared by all tenants as codes are the same everywhere) and the
+ * granted permissions are kept in a {@link BitSet}, so a check is a map lookup plus a bit test instead of a scan over every
+ * role and permission. Codes are matched case insensitively, like {@link Permission#hasCode(String)}.
+ */
+public final class AppUserPermissionIndex {
+
+    public static final String ALL_FUNCTIONS = "ALL_FUNCTIONS";
+
+    private static final ConcurrentMap<String, Integer> CODE_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_CODE_ID = new AtomicInteger();
+
+    private final BitSet grantedPermissions;
+    private final boolean allFunctions;
+
+    private AppUserPermissionIndex(final BitSet grantedPermissions) {
+        this.grantedPermissions = grantedPermissions;
+        this.allFunctions = hasGranted(ALL_FUNCTIONS);
+    }
+
+    public static AppUserPermissionIndex fromRoles(final Collection<Role> roles) {
+        final BitSet grantedPermissions = new BitSet();
+        if (roles != null) {
+            for (final Role role : roles) {
+                for (final Permission permission : role.getPermissions()) {
+                    if (permission.getCode() != null) {
+                        grantedPermissions.set(intern(permission.getCode()));
+                    }
+                }
+            }
+        }
+        return new AppUserPermissionIndex(grantedPermissions);
+    }
+
+    /**
+     * @return whether the permission is granted, either explicitly or through <code>ALL_FUNCTIONS</code>.
+     */
+    public boolean hasPermissionTo(final String permissionCode) {
+        return this.allFunctions || hasGranted(permissionCode);
+    }
+
+    /**
+     * @return whether the permission is granted explicitly, ignoring <code>ALL_FUNCTIONS</code>.
+     */
+    public boolean hasSpecificPermissionTo(final String permissionCode) {
+        return hasGranted(permissionCode);
+    }
+
+    public boolean hasAllFunctionsPermission() {
+        return this.allFunctions;
+    }
+
+    private boolean hasGranted(final String permissionCode) {
+        if (permissionCode == null) {
+            return false;
+        }
+        // lookups never intern: codes nobody was granted (e.g. READ_<report name>) must not grow the registry
+        final Integer codeId = CODE_IDS.get(normalize(permissionCode));
+        return codeId != null && this.grantedPermissions.get(codeId);
+    }
+
+    private static int intern(final String permissionCode) {
+        return CODE_IDS.computeIfAbsent(normalize(permissionCode), code -> NEXT_CODE_ID.getAndIncrement());
+    }
+
+    private static String normalize(final String permissionCode) {
+        return permissionCode.toUpperCase(Locale.ROOT);
+    }
+}
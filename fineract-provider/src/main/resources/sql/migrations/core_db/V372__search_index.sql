@@ -0,0 +1,38 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `m_search_index` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `entity_type` VARCHAR(20) NOT NULL,
+    `entity_id` BIGINT NOT NULL,
+    `search_key` VARCHAR(200) NOT NULL,
+    -- 0 whole value, 1 word of a name, 2 suffix of a value (substring matching)
+    `key_type` SMALLINT NOT NULL DEFAULT 0,
+    `office_hierarchy` VARCHAR(100) NULL,
+    PRIMARY KEY (`id`),
+    INDEX `idx_search_index_key` (`search_key`, `entity_type`),
+    INDEX `idx_search_index_entity` (`entity_type`, `entity_id`)
+);
+
+INSERT INTO `c_configuration` (`name`, `value`, `date_value`, `enabled`, `is_trap_door`, `description`)
+VALUES
+    ('search-index', NULL, NULL, 0, 0, 'If enabled, the search API resolves matches through m_search_index (substring, exact and fuzzy matching) instead of scanning the client, group and account tables. Run the Rebuild Search Index job before enabling.');
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Rebuild Search Index', 'Rebuild Search Index', '0 30 2 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 1, 0, 0);
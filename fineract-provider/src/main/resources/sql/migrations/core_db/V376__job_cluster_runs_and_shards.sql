@@ -0,0 +1,52 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `job_cluster_run` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `job_id` BIGINT NOT NULL,
+  `scheduled_fire_time` DATETIME NOT NULL,
+  `coordinator_node` VARCHAR(100) NOT NULL,
+  `lease_until` DATETIME NOT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `shard_count` INT NULL DEFAULT NULL,
+  `started_at` DATETIME NOT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `job_cluster_run_fire_time` (`job_id`, `scheduled_fire_time`),
+  CONSTRAINT `FK_job_cluster_run_job` FOREIGN KEY (`job_id`) REFERENCES `job` (`id`)
+) ENGINE = InnoDB;
+
+CREATE TABLE `job_cluster_shard` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `run_id` BIGINT NOT NULL,
+  `shard_no` INT NOT NULL,
+  `range_start` BIGINT NOT NULL,
+  `range_end` BIGINT NOT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `node_id` VARCHAR(100) NULL DEFAULT NULL,
+  `lease_until` DATETIME NULL DEFAULT NULL,
+  `started_at` DATETIME NULL DEFAULT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  `error_count` INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `job_cluster_shard_no` (`run_id`, `shard_no`),
+  INDEX `job_cluster_shard_status` (`run_id`, `status`),
+  CONSTRAINT `FK_job_cluster_shard_run` FOREIGN KEY (`run_id`) REFERENCES `job_cluster_run` (`id`)
+) ENGINE = InnoDB;
@@ -0,0 +1,41 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `job_step_execution` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `job_name` VARCHAR(100) NOT NULL,
+  `step_name` VARCHAR(100) NOT NULL,
+  `business_date` DATE NOT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `last_committed_id` BIGINT NULL DEFAULT NULL,
+  `read_count` BIGINT NOT NULL DEFAULT 0,
+  `processed_count` BIGINT NOT NULL DEFAULT 0,
+  `error_count` BIGINT NOT NULL DEFAULT 0,
+  `chunk_count` INT NOT NULL DEFAULT 0,
+  `started_at` DATETIME NOT NULL,
+  `last_commit_at` DATETIME NULL DEFAULT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `job_step_execution_business_date` (`job_name`, `step_name`, `business_date`)
+) ENGINE = InnoDB;
+
+ALTER TABLE `job_run_history` ADD COLUMN `items_processed` BIGINT NULL DEFAULT NULL AFTER `execution_millis`,
+    ADD COLUMN `chunks_committed` INT NULL DEFAULT NULL AFTER `items_processed`,
+    ADD COLUMN `max_chunk_millis` BIGINT NULL DEFAULT NULL AFTER `chunks_committed`;
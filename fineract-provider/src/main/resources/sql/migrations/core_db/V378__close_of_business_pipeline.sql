@@ -0,0 +1,47 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `job_cob_run` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `started_at` DATETIME NOT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `critical_path_millis` BIGINT NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  INDEX `job_cob_run_started_at` (`started_at`)
+) ENGINE = InnoDB;
+
+CREATE TABLE `job_cob_stage` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `run_id` BIGINT NOT NULL,
+  `stage` VARCHAR(50) NOT NULL,
+  `job_name` VARCHAR(100) NOT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `ready_at` DATETIME NULL DEFAULT NULL,
+  `started_at` DATETIME NULL DEFAULT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  `on_critical_path` TINYINT(1) NOT NULL DEFAULT 0,
+  `error_message` VARCHAR(500) NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `job_cob_stage_run` (`run_id`, `stage`),
+  CONSTRAINT `FK_job_cob_stage_run` FOREIGN KEY (`run_id`) REFERENCES `job_cob_run` (`id`)
+) ENGINE = InnoDB;
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Close Of Business', 'Close Of Business', '0 0 0 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 0, 0, 0);
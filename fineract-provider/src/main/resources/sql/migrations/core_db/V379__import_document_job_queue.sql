@@ -0,0 +1,33 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+ALTER TABLE `m_import_document`
+  ADD COLUMN `status` VARCHAR(20) NOT NULL DEFAULT 'COMPLETED' AFTER `completed`,
+  ADD COLUMN `locale` VARCHAR(20) NULL DEFAULT NULL AFTER `status`,
+  ADD COLUMN `date_format` VARCHAR(50) NULL DEFAULT NULL AFTER `locale`,
+  ADD COLUMN `node_id` VARCHAR(100) NULL DEFAULT NULL AFTER `date_format`,
+  ADD COLUMN `lease_until` DATETIME NULL DEFAULT NULL AFTER `node_id`,
+  ADD INDEX `import_document_status` (`status`);
+
+-- imports still open were interrupted when they ran synchronously in the request and will not finish anymore
+UPDATE `m_import_document` SET `status` = 'FAILED' WHERE `completed` = 0 OR `completed` IS NULL;
+
+INSERT INTO `m_permission`
+(`grouping`,`code`,`entity_name`,`action_name`,`can_maker_checker`) VALUES
+('infrastructure','CANCEL_IMPORT','IMPORT','CANCEL', 0);
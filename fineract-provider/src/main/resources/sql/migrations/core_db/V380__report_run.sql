@@ -0,0 +1,43 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE `m_report_run` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `report_name` VARCHAR(100) NOT NULL,
+  `cache_key` CHAR(64) NOT NULL,
+  `data_scope` VARCHAR(150) NOT NULL,
+  `node_id` VARCHAR(100) NULL DEFAULT NULL,
+  `lease_until` DATETIME NULL DEFAULT NULL,
+  `status` VARCHAR(20) NOT NULL,
+  `content_type` VARCHAR(100) NULL DEFAULT NULL,
+  `file_name` VARCHAR(250) NULL DEFAULT NULL,
+  `result_location` VARCHAR(500) NULL DEFAULT NULL,
+  `result_size` BIGINT NULL DEFAULT NULL,
+  `error_message` VARCHAR(1000) NULL DEFAULT NULL,
+  `submittedby_id` BIGINT NOT NULL,
+  `submitted_at` DATETIME NOT NULL,
+  `started_at` DATETIME NULL DEFAULT NULL,
+  `finished_at` DATETIME NULL DEFAULT NULL,
+  `expires_at` DATETIME NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  INDEX `report_run_cache_key` (`cache_key`, `status`),
+  INDEX `report_run_expires_at` (`expires_at`),
+  INDEX `report_run_lease` (`status`, `lease_until`),
+  CONSTRAINT `FK_report_run_submittedby` FOREIGN KEY (`submittedby_id`) REFERENCES `m_appuser` (`id`)
+) ENGINE = InnoDB;
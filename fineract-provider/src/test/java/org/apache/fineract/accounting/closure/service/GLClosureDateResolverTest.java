@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.closure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class GLClosureDateResolverTest {
+
+    private static final Date JANUARY = Date.valueOf("2021-01-31");
+    private static final Date FEBRUARY = Date.valueOf("2021-02-28");
+
+    private final Map<Long, Date> latestClosingDates = new LinkedHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        latestClosingDates.put(1L, JANUARY);
+        latestClosingDates.put(2L, FEBRUARY);
+
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.doAnswer(invocation -> {
+            final RowCallbackHandler handler = invocation.getArgument(1);
+            for (final Map.Entry<Long, Date> closure : latestClosingDates.entrySet()) {
+                final ResultSet rs = Mockito.mock(ResultSet.class);
+                Mockito.when(rs.getLong("office_id")).thenReturn(closure.getKey());
+                Mockito.when(rs.getDate("closingDate")).thenReturn(closure.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(Mockito.anyString(), Mockito.any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void datesOfAllOfficesAreLoadedWithOneQuery() {
+        final GLClosureDateResolver resolver = resolver(60);
+
+        assertEquals(JANUARY, resolver.findLatestClosingDate(1L));
+        assertEquals(FEBRUARY, resolver.findLatestClosingDate(2L));
+        assertNull(resolver.findLatestClosingDate(3L));
+
+        verifyLoads(1);
+    }
+
+    @Test
+    void datesAreReloadedOnceTheInvalidatingTransactionCommits() {
+        final GLClosureDateResolver resolver = resolver(60);
+        resolver.findLatestClosingDate(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        resolver.invalidate();
+        latestClosingDates.put(1L, FEBRUARY);
+
+        assertEquals(JANUARY, resolver.findLatestClosingDate(1L));
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(FEBRUARY, resolver.findLatestClosingDate(1L));
+        verifyLoads(2);
+    }
+
+    @Test
+    void rolledBackInvalidationKeepsTheDates() {
+        final GLClosureDateResolver resolver = resolver(60);
+        resolver.findLatestClosingDate(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        resolver.invalidate();
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(JANUARY, resolver.findLatestClosingDate(1L));
+        verifyLoads(1);
+    }
+
+    @Test
+    void expiredDatesAreReloaded() {
+        final GLClosureDateResolver resolver = resolver(0);
+
+        resolver.findLatestClosingDate(1L);
+        latestClosingDates.put(1L, FEBRUARY);
+
+        assertEquals(FEBRUARY, resolver.findLatestClosingDate(1L));
+        verifyLoads(2);
+    }
+
+    @Test
+    void everyTenantHasItsOwnDates() {
+        final GLClosureDateResolver resolver = resolver(60);
+        resolver.findLatestClosingDate(1L);
+
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        resolver.findLatestClosingDate(1L);
+        resolver.invalidate();
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        resolver.findLatestClosingDate(1L);
+
+        verifyLoads(2);
+    }
+
+    private GLClosureDateResolver resolver(final int maxAgeSeconds) {
+        return new GLClosureDateResolver(jdbcTemplate,
+                new MockEnvironment().withProperty(GLClosureDateResolver.MAX_AGE_SECONDS_PROPERTY, String.valueOf(maxAgeSeconds)));
+    }
+
+    private void verifyLoads(final int loads) {
+        Mockito.verify(jdbcTemplate, Mockito.times(loads)).query(Mockito.anyString(), Mockito.any(RowCallbackHandler.class));
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class JournalEntryBatchWriterTest {
+
+    private RoutingDataSource dataSource;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private JournalEntryBatchWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataSource = Mockito.mock(RoutingDataSource.class);
+        connection = Mockito.mock(Connection.class);
+        preparedStatement = Mockito.mock(PreparedStatement.class);
+        final AuditorAware<AppUser> auditorAware = Mockito.mock(AuditorAware.class);
+        final AppUser auditor = Mockito.mock(AppUser.class);
+        Mockito.lenient().when(auditor.getId()).thenReturn(5L);
+        Mockito.lenient().when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(auditor));
+        writer = new JournalEntryBatchWriter(dataSource, auditorAware);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+    }
+
+    @Test
+    void entriesAreWrittenInOneInsertWhenTheTransactionCommits() throws SQLException {
+        final List<String> sql = expectInserts();
+
+        writer.add(journalEntry("USD", "10"));
+        writer.add(journalEntry("USD", "-10"));
+        Mockito.verifyNoInteractions(connection);
+
+        commit();
+
+        assertEquals(1, sql.size());
+        assertEquals(2, rows(sql.get(0)));
+        Mockito.verify(preparedStatement).executeUpdate();
+    }
+
+    @Test
+    void entriesAreDiscardedWhenTheTransactionRollsBack() {
+        writer.add(journalEntry("USD", "10"));
+
+        TransactionSynchronizationUtils.triggerBeforeCompletion();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        Mockito.verifyNoInteractions(connection);
+        assertNull(TransactionSynchronizationManager.getResource(writer));
+    }
+
+    @Test
+    void eachRowBindsItsOwnColumnsInInsertOrder() throws SQLException {
+        final List<String> sql = expectInserts();
+        writer.add(journalEntry("USD", "10"));
+        writer.add(journalEntry("EUR", "25.5"));
+
+        final List<Long> ids = writer.flush();
+
+        assertEquals(List.of(1L, 2L), ids);
+        final String columns = sql.get(0).substring(sql.get(0).indexOf('(') + 1, sql.get(0).indexOf(')'));
+        final int columnCount = columns.split(",").length;
+        assertEquals(2 * columnCount, sql.get(0).chars().filter(c -> c == '?').count());
+        // currency_code is the 4th and amount the 14th column of every row
+        Mockito.verify(preparedStatement).setString(4, "USD");
+        Mockito.verify(preparedStatement).setBigDecimal(14, new BigDecimal("10"));
+        Mockito.verify(preparedStatement).setString(columnCount + 4, "EUR");
+        Mockito.verify(preparedStatement).setBigDecimal(columnCount + 14, new BigDecimal("25.5"));
+        // both rows are created by the current user
+        Mockito.verify(preparedStatement).setObject(19, 5L, Types.BIGINT);
+        Mockito.verify(preparedStatement).setObject(columnCount + 19, 5L, Types.BIGINT);
+    }
+
+    @Test
+    void largeBuffersAreSplitIntoSeveralInserts() throws SQLException {
+        final List<String> sql = expectInserts();
+        for (int i = 0; i < 501; i++) {
+            writer.add(journalEntry("USD", "1"));
+        }
+
+        commit();
+
+        assertEquals(2, sql.size());
+        assertEquals(500, rows(sql.get(0)));
+        assertEquals(1, rows(sql.get(1)));
+    }
+
+    @Test
+    void flushedEntriesAreNotWrittenAgainOnCommit() throws SQLException {
+        final List<String> sql = expectInserts();
+        writer.add(journalEntry("USD", "10"));
+        writer.flush();
+        writer.add(journalEntry("USD", "20"));
+
+        commit();
+
+        assertEquals(2, sql.size());
+        assertEquals(1, rows(sql.get(1)));
+        Mockito.verify(preparedStatement).setBigDecimal(14, new BigDecimal("20"));
+    }
+
+    @Test
+    void entriesAreWrittenImmediatelyOutsideOfTransactions() throws SQLException {
+        TransactionSynchronizationManager.clearSynchronization();
+        final List<String> sql = expectInserts();
+
+        writer.add(journalEntry("USD", "10"));
+
+        assertEquals(1, rows(sql.get(0)));
+        assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+    }
+
+    private void commit() {
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerBeforeCompletion();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    /**
+     * Stubs the connection to accept inserts, returning sequential generated keys, and records their SQL.
+     */
+    private List<String> expectInserts() throws SQLException {
+        final List<String> sql = new ArrayList<>();
+        final AtomicLong nextKey = new AtomicLong(1);
+        final List<Long> keys = new ArrayList<>();
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement(Mockito.anyString(), Mockito.eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenAnswer(invocation -> {
+                    final String insert = invocation.getArgument(0);
+                    sql.add(insert);
+                    keys.clear();
+                    for (int i = 0; i < rows(insert); i++) {
+                        keys.add(nextKey.getAndIncrement());
+                    }
+                    return preparedStatement;
+                });
+        Mockito.when(preparedStatement.executeUpdate()).thenAnswer(invocation -> keys.size());
+        Mockito.when(preparedStatement.getGeneratedKeys()).thenAnswer(invocation -> generatedKeys(new ArrayList<>(keys)));
+        return sql;
+    }
+
+    private static ResultSet generatedKeys(final List<Long> keys) throws SQLException {
+        final ResultSet resultSet = Mockito.mock(ResultSet.class);
+        final ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        final AtomicLong row = new AtomicLong(-1);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        Mockito.when(metaData.getColumnCount()).thenReturn(1);
+        Mockito.when(metaData.getColumnLabel(1)).thenReturn("GENERATED_KEY");
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() < keys.size());
+        Mockito.when(resultSet.getObject(1)).thenAnswer(invocation -> keys.get((int) row.get()));
+        return resultSet;
+    }
+
+    private static int rows(final String sql) {
+        return sql.split("\\), \\(").length;
+    }
+
+    private static JournalEntry journalEntry(final String currencyCode, final String amount) {
+        final GLAccount glAccount = Mockito.mock(GLAccount.class);
+        Mockito.lenient().when(glAccount.getId()).thenReturn(1L);
+        final JournalEntry journalEntry = Mockito.mock(JournalEntry.class);
+        Mockito.lenient().when(journalEntry.getGlAccount()).thenReturn(glAccount);
+        Mockito.lenient().when(journalEntry.getCurrencyCode()).thenReturn(currencyCode);
+        Mockito.lenient().when(journalEntry.getAmount()).thenReturn(new BigDecimal(amount));
+        return journalEntry;
+    }
+}
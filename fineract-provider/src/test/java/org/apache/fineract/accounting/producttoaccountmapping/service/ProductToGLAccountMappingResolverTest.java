@@ -0,0 +1,223 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ProductToGLAccountMappingResolverTest {
+
+    private static final String PRODUCT_MAPPINGS = "acc_product_mapping";
+    private static final String FINANCIAL_ACTIVITY_ACCOUNTS = "acc_gl_financial_activity_account";
+
+    private final Map<String, List<Object[]>> tables = new HashMap<>();
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private Runnable whileLoading;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        // financial_account_type, payment_type, charge_id, gl_account_id
+        tables.put(PRODUCT_MAPPINGS, new ArrayList<>(Arrays.asList(new Object[] { 1, null, null, 10L },
+                new Object[] { 1, 3L, null, 11L }, new Object[] { 2, null, 7L, 12L })));
+        // financial_activity_type, gl_account_id
+        tables.put(FINANCIAL_ACTIVITY_ACCOUNTS, new ArrayList<>(Arrays.<Object[]>asList(new Object[] { 100, 20L })));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void mappingsOfAProductAreResolvedWithOneQuery() {
+        final ProductToGLAccountMappingResolver resolver = resolver(60);
+
+        assertEquals(10L, resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1).getId());
+        assertEquals(11L, resolver.findPaymentTypeAccount(PortfolioProductType.LOAN, 1L, 1, 3L).getId());
+        assertEquals(10L, resolver.findPaymentTypeAccount(PortfolioProductType.LOAN, 1L, 1, null).getId());
+        assertNull(resolver.findPaymentTypeAccount(PortfolioProductType.LOAN, 1L, 1, 4L));
+        assertEquals(12L, resolver.findChargeAccount(PortfolioProductType.LOAN, 1L, 2, 7L).getId());
+        assertNull(resolver.findChargeAccount(PortfolioProductType.LOAN, 1L, 2, null));
+        assertNull(resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 2));
+
+        verifyProductMappingQueries(1);
+    }
+
+    @Test
+    void productMappingsAreReloadedOnceTheInvalidatingTransactionCommits() {
+        final ProductToGLAccountMappingResolver resolver = resolver(60);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        resolver.invalidateProduct(PortfolioProductType.LOAN, 1L);
+        tables.get(PRODUCT_MAPPINGS).set(0, new Object[] { 1, null, null, 13L });
+
+        assertEquals(10L, resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1).getId());
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(13L, resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1).getId());
+        verifyProductMappingQueries(2);
+    }
+
+    @Test
+    void invalidationOnlyDropsTheMappingsOfItsProduct() {
+        final ProductToGLAccountMappingResolver resolver = resolver(60);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findCoreAccount(PortfolioProductType.SAVING, 1L, 1);
+
+        resolver.invalidateProduct(PortfolioProductType.SAVING, 1L);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findCoreAccount(PortfolioProductType.SAVING, 1L, 1);
+
+        verifyProductMappingQueries(3);
+    }
+
+    @Test
+    void expiredMappingsAreReloaded() {
+        final ProductToGLAccountMappingResolver resolver = resolver(0);
+
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findFinancialActivityAccount(100);
+        resolver.findFinancialActivityAccount(100);
+
+        verifyProductMappingQueries(2);
+        verifyFinancialActivityAccountQueries(2);
+    }
+
+    @Test
+    void loadRacingWithAnInvalidationIsNotKept() {
+        final ProductToGLAccountMappingResolver resolver = resolver(60);
+        whileLoading = () -> {
+            whileLoading = null;
+            resolver.invalidateProduct(PortfolioProductType.LOAN, 1L);
+        };
+
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+        resolver.findCoreAccount(PortfolioProductType.LOAN, 1L, 1);
+
+        verifyProductMappingQueries(2);
+    }
+
+    @Test
+    void financialActivityAccountsAreCachedUntilInvalidated() {
+        final ProductToGLAccountMappingResolver resolver = resolver(60);
+
+        assertEquals(20L, resolver.findFinancialActivityAccount(100).getId());
+        assertNull(resolver.findFinancialActivityAccount(101));
+        tables.get(FINANCIAL_ACTIVITY_ACCOUNTS).set(0, new Object[] { 100, 21L });
+        assertEquals(20L, resolver.findFinancialActivityAccount(100).getId());
+
+        resolver.invalidateFinancialActivityAccounts();
+
+        assertEquals(21L, resolver.findFinancialActivityAccount(100).getId());
+        verifyFinancialActivityAccountQueries(2);
+    }
+
+    private ProductToGLAccountMappingResolver resolver(final int maxAgeSeconds) {
+        final GLAccountRepository glAccountRepository = Mockito.mock(GLAccountRepository.class);
+        Mockito.lenient().when(glAccountRepository.getOne(Mockito.anyLong())).thenAnswer(invocation -> {
+            final GLAccount glAccount = Mockito.mock(GLAccount.class);
+            Mockito.lenient().when(glAccount.getId()).thenReturn(invocation.getArgument(0));
+            return glAccount;
+        });
+        Mockito.lenient().doAnswer(invocation -> load(invocation.getArgument(1), PRODUCT_MAPPINGS, "financial_account_type",
+                "payment_type", "charge_id", "gl_account_id")).when(this.jdbcTemplate)
+                .query(eq(ProductToGLAccountMappingResolver.PRODUCT_MAPPINGS_SQL), any(RowCallbackHandler.class), anyLong(), anyInt());
+        Mockito.lenient().doAnswer(invocation -> load(invocation.getArgument(1), FINANCIAL_ACTIVITY_ACCOUNTS, "financial_activity_type",
+                "gl_account_id")).when(this.jdbcTemplate)
+                .query(eq(ProductToGLAccountMappingResolver.FINANCIAL_ACTIVITY_ACCOUNTS_SQL), any(RowCallbackHandler.class));
+        final MockEnvironment env = new MockEnvironment().withProperty(ProductToGLAccountMappingResolver.MAX_AGE_SECONDS_PROPERTY,
+                String.valueOf(maxAgeSeconds));
+        return new ProductToGLAccountMappingResolver(this.jdbcTemplate, glAccountRepository, env);
+    }
+
+    private Object load(final RowCallbackHandler handler, final String table, final String... columns) throws SQLException {
+        if (whileLoading != null) {
+            whileLoading.run();
+        }
+        for (final Object[] row : new ArrayList<>(tables.get(table))) {
+            handler.processRow(resultSet(Arrays.asList(columns), row));
+        }
+        return null;
+    }
+
+    private void verifyProductMappingQueries(final int times) {
+        Mockito.verify(this.jdbcTemplate, Mockito.times(times)).query(eq(ProductToGLAccountMappingResolver.PRODUCT_MAPPINGS_SQL),
+                any(RowCallbackHandler.class), anyLong(), anyInt());
+    }
+
+    private void verifyFinancialActivityAccountQueries(final int times) {
+        Mockito.verify(this.jdbcTemplate, Mockito.times(times))
+                .query(eq(ProductToGLAccountMappingResolver.FINANCIAL_ACTIVITY_ACCOUNTS_SQL), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet resultSet(final List<String> columns, final Object[] row) {
+        final boolean[] wasNull = { false };
+        return Mockito.mock(ResultSet.class, invocation -> {
+            final String method = invocation.getMethod().getName();
+            if ("wasNull".equals(method)) {
+                return wasNull[0];
+            } else if ("getInt".equals(method) || "getLong".equals(method)) {
+                final Object value = row[columns.indexOf((String) invocation.getArgument(0))];
+                wasNull[0] = value == null;
+                final long number = value == null ? 0 : ((Number) value).longValue();
+                if ("getInt".equals(method)) {
+                    return (int) number;
+                }
+                return number;
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+}
@@ -0,0 +1,321 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Compares the set based pass with the per row computation of the job it replaced, on generated journal entries spanning
+ * more than one chunk. The JDBC template answers each statement of the service from in memory tables.
+ */
+class TrialBalanceWritePlatformServiceImplTest {
+
+    private static final LocalDate YESTERDAY = LocalDate.now(ZoneId.of("UTC")).minusDays(1);
+
+    private final List<JournalEntryRow> journalEntries = new ArrayList<>();
+    private final List<TrialBalanceRow> trialBalances = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // dates up to today, whose entries must be left for the next run
+            final LocalDate transactionDate = YESTERDAY.minusDays(random.nextInt(75) - 1);
+            journalEntries.add(new JournalEntryRow(1 + random.nextInt(3), 1 + random.nextInt(4), transactionDate,
+                    transactionDate.plusDays(random.nextInt(3)), 1 + random.nextInt(2),
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void firstRunMatchesThePerRowComputation() {
+        final int written = new TrialBalanceWritePlatformServiceImpl(jdbcTemplate()).updateTrialBalances();
+
+        final List<TrialBalanceRow> expected = perRowTrialBalances(new ArrayList<>(), YESTERDAY);
+        assertEquals(expected.size(), written);
+        assertEquals(render(expected), render(trialBalances));
+    }
+
+    @Test
+    void incrementalRunMatchesThePerRowComputation() {
+        trialBalances.addAll(perRowTrialBalances(new ArrayList<>(), YESTERDAY.minusDays(20)));
+        final int existing = trialBalances.size();
+
+        final int written = new TrialBalanceWritePlatformServiceImpl(jdbcTemplate()).updateTrialBalances();
+
+        final List<TrialBalanceRow> expected = perRowTrialBalances(new ArrayList<>(trialBalances.subList(0, existing)), YESTERDAY);
+        assertTrue(written > 0);
+        assertEquals(existing + written, expected.size());
+        assertEquals(render(expected), render(trialBalances));
+    }
+
+    @Test
+    void upToDateTableIsLeftAlone() {
+        trialBalances.addAll(perRowTrialBalances(new ArrayList<>(), YESTERDAY));
+        final int existing = trialBalances.size();
+
+        assertEquals(0, new TrialBalanceWritePlatformServiceImpl(jdbcTemplate()).updateTrialBalances());
+        assertEquals(existing, trialBalances.size());
+    }
+
+    @Test
+    void rebuildReplacesTheRowsFromTheGivenDate() {
+        trialBalances.addAll(perRowTrialBalances(new ArrayList<>(), YESTERDAY));
+        // back dated into the computed period, so only a rebuild from its date picks it up
+        final LocalDate backDated = YESTERDAY.minusDays(40);
+        journalEntries.add(new JournalEntryRow(2, 3, backDated, YESTERDAY, 2, new BigDecimal("123.45")));
+        assertEquals(0, new TrialBalanceWritePlatformServiceImpl(jdbcTemplate()).updateTrialBalances());
+
+        final int written = new TrialBalanceWritePlatformServiceImpl(jdbcTemplate()).rebuildTrialBalances(backDated);
+
+        final List<TrialBalanceRow> expected = perRowTrialBalances(new ArrayList<>(), YESTERDAY);
+        assertEquals(expected.stream().filter(row -> !row.createdDate.isBefore(backDated)).count(), written);
+        assertEquals(render(expected), render(trialBalances));
+    }
+
+    /**
+     * The job replaced by the service: the rows of every transaction date after the last computed one are inserted
+     * without closing balance, then for every office and account the closing balance is carried from the latest computed
+     * row over the new rows, ordered by transaction date and entry date.
+     */
+    private List<TrialBalanceRow> perRowTrialBalances(final List<TrialBalanceRow> table, final LocalDate lastDate) {
+        final LocalDate lastComputedDate = table.stream().map(row -> row.createdDate).max(Comparator.naturalOrder())
+                .orElse(LocalDate.of(2010, 1, 1));
+        final TreeSet<LocalDate> gaps = journalEntries.stream().map(entry -> entry.transactionDate)
+                .filter(date -> date.isAfter(lastComputedDate) && !date.isAfter(lastDate)).collect(Collectors.toCollection(TreeSet::new));
+        for (final LocalDate gap : gaps) {
+            final Map<String, TrialBalanceRow> inserted = new TreeMap<>();
+            for (final JournalEntryRow entry : journalEntries) {
+                if (entry.transactionDate.equals(gap)) {
+                    inserted.merge(entry.officeId + ":" + entry.accountId + ":" + entry.entryDate,
+                            new TrialBalanceRow(entry.officeId, entry.accountId, entry.signedAmount(), entry.entryDate, gap, null),
+                            (row, other) -> new TrialBalanceRow(row.officeId, row.accountId, row.amount.add(other.amount), row.entryDate,
+                                    gap, null));
+                }
+            }
+            table.addAll(inserted.values());
+        }
+
+        final Map<String, List<TrialBalanceRow>> byOfficeAndAccount = table.stream()
+                .collect(Collectors.groupingBy(row -> row.officeId + ":" + row.accountId));
+        final List<TrialBalanceRow> result = new ArrayList<>();
+        for (final List<TrialBalanceRow> rows : byOfficeAndAccount.values()) {
+            rows.sort(Comparator.comparing((TrialBalanceRow row) -> row.createdDate).thenComparing(row -> row.entryDate));
+            BigDecimal closingBalance = BigDecimal.ZERO;
+            for (final TrialBalanceRow row : rows) {
+                if (row.closingBalance != null) {
+                    closingBalance = row.closingBalance;
+                    result.add(row);
+                } else {
+                    closingBalance = closingBalance.add(row.amount);
+                    result.add(
+                            new TrialBalanceRow(row.officeId, row.accountId, row.amount, row.entryDate, row.createdDate, closingBalance));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> render(final List<TrialBalanceRow> rows) {
+        return rows.stream().map(TrialBalanceRow::toString).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Answers the statements of the service from {@link #journalEntries} and {@link #trialBalances}, and applies its
+     * inserts and deletes to the latter.
+     */
+    private JdbcTemplate jdbcTemplate() {
+        final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.queryForObject("select max(created_date) from m_trial_balance", Date.class)).thenAnswer(
+                invocation -> trialBalances.stream().map(row -> Date.valueOf(row.createdDate)).max(Comparator.naturalOrder()).orElse(null));
+        Mockito.when(jdbcTemplate.queryForObject("select min(transaction_date) from acc_gl_journal_entry", Date.class)).thenAnswer(
+                invocation -> journalEntries.stream().map(entry -> Date.valueOf(entry.transactionDate)).min(Comparator.naturalOrder())
+                        .orElse(null));
+        Mockito.doAnswer(invocation -> processRows(invocation.getArgument(1), openingBalances(LocalDate.parse(invocation.getArgument(2)))))
+                .when(jdbcTemplate).query(eq(TrialBalanceWritePlatformServiceImpl.OPENING_BALANCES_SQL), any(RowCallbackHandler.class),
+                        anyString());
+        Mockito.doAnswer(invocation -> processRows(invocation.getArgument(1),
+                dailyAmounts(LocalDate.parse(invocation.getArgument(2)), LocalDate.parse(invocation.getArgument(3))))).when(jdbcTemplate)
+                .query(eq(TrialBalanceWritePlatformServiceImpl.DAILY_AMOUNTS_SQL), any(RowCallbackHandler.class), anyString(), anyString());
+        Mockito.when(jdbcTemplate.update(eq("delete from m_trial_balance where created_date >= ?"), anyString())).thenAnswer(invocation -> {
+            final LocalDate fromDate = LocalDate.parse(invocation.getArgument(1));
+            trialBalances.removeIf(row -> !row.createdDate.isBefore(fromDate));
+            return 0;
+        });
+        Mockito.when(jdbcTemplate.batchUpdate(eq(TrialBalanceWritePlatformServiceImpl.INSERT_SQL), Mockito.<List<Object[]>>any()))
+                .thenAnswer(invocation -> {
+                    final List<Object[]> inserted = invocation.getArgument(1);
+                    for (final Object[] row : inserted) {
+                        trialBalances.add(new TrialBalanceRow((Long) row[0], (Long) row[1], (BigDecimal) row[2],
+                                ((Date) row[3]).toLocalDate(), ((Date) row[4]).toLocalDate(), (BigDecimal) row[5]));
+                    }
+                    return new int[inserted.size()];
+                });
+        return jdbcTemplate;
+    }
+
+    private static Object processRows(final RowCallbackHandler handler, final List<Map<String, Object>> rows) throws SQLException {
+        for (final Map<String, Object> row : rows) {
+            handler.processRow(resultSet(row));
+        }
+        return null;
+    }
+
+    private List<Map<String, Object>> openingBalances(final LocalDate fromDate) {
+        final Map<String, TrialBalanceRow> latest = new HashMap<>();
+        for (final TrialBalanceRow row : trialBalances) {
+            if (row.createdDate.isBefore(fromDate)) {
+                latest.merge(row.officeId + ":" + row.accountId, row,
+                        (current, other) -> Comparator.comparing((TrialBalanceRow r) -> r.createdDate)
+                                .thenComparing(r -> r.entryDate).compare(current, other) >= 0 ? current : other);
+            }
+        }
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for (final TrialBalanceRow row : latest.values()) {
+            final Map<String, Object> columns = new HashMap<>();
+            columns.put("office_id", row.officeId);
+            columns.put("account_id", row.accountId);
+            columns.put("closing_balance", row.closingBalance);
+            rows.add(columns);
+        }
+        return rows;
+    }
+
+    private List<Map<String, Object>> dailyAmounts(final LocalDate fromDate, final LocalDate toDate) {
+        final Map<String, Map<String, Object>> groups = new TreeMap<>();
+        for (final JournalEntryRow entry : journalEntries) {
+            if (entry.transactionDate.isBefore(fromDate) || entry.transactionDate.isAfter(toDate)) {
+                continue;
+            }
+            // sorts as the query: by office, account, transaction date and entry date
+            final String key = String.format("%05d:%05d:%s:%s", entry.officeId, entry.accountId, entry.transactionDate, entry.entryDate);
+            final Map<String, Object> columns = groups.computeIfAbsent(key, k -> {
+                final Map<String, Object> group = new HashMap<>();
+                group.put("office_id", entry.officeId);
+                group.put("account_id", entry.accountId);
+                group.put("transaction_date", Date.valueOf(entry.transactionDate));
+                group.put("entry_date", Date.valueOf(entry.entryDate));
+                group.put("amount", BigDecimal.ZERO);
+                return group;
+            });
+            columns.put("amount", ((BigDecimal) columns.get("amount")).add(entry.signedAmount()));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static ResultSet resultSet(final Map<String, Object> row) {
+        return Mockito.mock(ResultSet.class, invocation -> {
+            if (invocation.getArguments().length == 0) {
+                return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+            final Object value = row.get((String) invocation.getArgument(0));
+            if ("getLong".equals(invocation.getMethod().getName())) {
+                return value == null ? 0L : value;
+            }
+            return value;
+        });
+    }
+
+    private static final class JournalEntryRow {
+
+        private final long officeId;
+        private final long accountId;
+        private final LocalDate transactionDate;
+        private final LocalDate entryDate;
+        private final int type;
+        private final BigDecimal amount;
+
+        JournalEntryRow(final long officeId, final long accountId, final LocalDate transactionDate, final LocalDate entryDate,
+                final int type, final BigDecimal amount) {
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.transactionDate = transactionDate;
+            this.entryDate = entryDate;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        BigDecimal signedAmount() {
+            // credits (type 1) are negative, as in the queries
+            return this.type == 1 ? this.amount.negate() : this.amount;
+        }
+    }
+
+    private static final class TrialBalanceRow {
+
+        private final long officeId;
+        private final long accountId;
+        private final BigDecimal amount;
+        private final LocalDate entryDate;
+        private final LocalDate createdDate;
+        private final BigDecimal closingBalance;
+
+        TrialBalanceRow(final long officeId, final long accountId, final BigDecimal amount, final LocalDate entryDate,
+                final LocalDate createdDate, final BigDecimal closingBalance) {
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.amount = amount;
+            this.entryDate = entryDate;
+            this.createdDate = createdDate;
+            this.closingBalance = closingBalance;
+        }
+
+        @Override
+        public String toString() {
+            return this.officeId + "/" + this.accountId + "/" + this.createdDate + "/" + this.entryDate + ": "
+                    + this.amount.stripTrailingZeros().toPlainString() + " -> "
+                    + (this.closingBalance == null ? null : this.closingBalance.stripTrailingZeros().toPlainString());
+        }
+    }
+}
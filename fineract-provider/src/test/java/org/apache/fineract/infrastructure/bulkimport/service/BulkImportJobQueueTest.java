@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+class BulkImportJobQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final FineractPlatformTenant tenantA = tenant("a");
+    private final FineractPlatformTenant tenantB = tenant("b");
+    private final FineractPlatformTenant tenantC = tenant("c");
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final ApplicationContext applicationContext = Mockito.mock(ApplicationContext.class);
+    private final Set<Long> blockedClaims = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch detailsRequested = new CountDownLatch(1);
+    private final List<String> claims = new ArrayList<>();
+    private final List<String> tenantsOfStatements = new ArrayList<>();
+    private volatile int claimed;
+    private BulkImportJobQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        // claims record the tenant and import; those of the imports in blockedClaims wait for release
+        Mockito.when(this.jdbcTemplate.update(eq(BulkImportJobQueue.CLAIM_SQL), any(Object[].class))).thenAnswer(invocation -> {
+            final Long importId = invocation.getArgument(4);
+            synchronized (this) {
+                this.claims.add(currentTenant() + "/" + importId);
+                notifyAll();
+            }
+            if (this.blockedClaims.contains(importId)) {
+                awaitRelease();
+            }
+            return this.claimed;
+        });
+        // reading the details of a claimed import waits for release as well
+        Mockito.when(this.jdbcTemplate.queryForMap(eq(BulkImportJobQueue.IMPORT_DETAILS_SQL), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    this.detailsRequested.countDown();
+                    awaitRelease();
+                    throw new IllegalStateException("The details of the import are not needed by this test");
+                });
+        for (final String sql : List.of(BulkImportJobQueue.FAIL_ABANDONED_SQL, BulkImportJobQueue.RENEW_LEASE_SQL,
+                BulkImportJobQueue.FAIL_EXPIRED_SQL)) {
+            Mockito.when(this.jdbcTemplate.update(eq(sql), any(Object[].class))).thenAnswer(invocation -> {
+                synchronized (this) {
+                    this.tenantsOfStatements.add(currentTenant());
+                }
+                return 0;
+            });
+        }
+    }
+
+    @AfterEach
+    void shutdownQueue() {
+        this.release.countDown();
+        if (this.queue != null) {
+            this.queue.shutdown();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void waitingImportsAreHandedOutRoundRobinPerTenant() throws InterruptedException {
+        this.queue = queue(1, 5);
+        // the only worker is busy with the first import while the others are queued
+        this.blockedClaims.add(1L);
+        submit(this.tenantA, 1L);
+        awaitClaims(1);
+        submit(this.tenantA, 2L);
+        submit(this.tenantA, 3L);
+        submit(this.tenantA, 4L);
+        submit(this.tenantB, 5L);
+        submit(this.tenantC, 6L);
+
+        this.release.countDown();
+
+        assertEquals(List.of("a/1", "a/2", "b/5", "c/6", "a/3", "a/4"), awaitClaims(6));
+    }
+
+    @Test
+    void tenantNeverRunsMoreImportsThanItsQuota() throws InterruptedException {
+        this.queue = queue(2, 1);
+        this.blockedClaims.add(1L);
+        submit(this.tenantA, 1L);
+        awaitClaims(1);
+        submit(this.tenantA, 2L);
+        submit(this.tenantB, 3L);
+        submit(this.tenantC, 4L);
+
+        // the second worker is free, but only for the other tenants while the first import of tenant a is running
+        assertEquals(List.of("a/1", "b/3", "c/4"), awaitClaims(3));
+        assertFalse(claims().contains("a/2"));
+
+        this.release.countDown();
+
+        assertEquals(List.of("a/1", "b/3", "c/4", "a/2"), awaitClaims(4));
+    }
+
+    @Test
+    void startupFailsImportsLeftRunningAndResumesQueuedImports() throws InterruptedException {
+        this.queue = queue(1, 1);
+        Mockito.when(this.jdbcTemplate.queryForList(BulkImportJobQueue.QUEUED_IMPORTS_SQL, Long.class, "QUEUED")).thenReturn(List.of(7L));
+
+        this.queue.onApplicationEvent(new ContextRefreshedEvent(this.applicationContext));
+
+        Mockito.verify(this.jdbcTemplate, Mockito.times(2)).update(eq(BulkImportJobQueue.FAIL_ABANDONED_SQL), eq("FAILED"), any(),
+                eq("RUNNING"), eq("node-1"));
+        assertEquals(List.of("a", "b"), tenantsOfStatements());
+        assertEquals(Set.of("a/7", "b/7"), Set.copyOf(awaitClaims(2)));
+    }
+
+    @Test
+    void runningImportsKeepTheirLeaseAndExpiredLeasesAreFailed() throws InterruptedException {
+        this.queue = queue(1, 1);
+        this.claimed = 1;
+        submit(this.tenantA, 8L);
+        assertTrue(this.detailsRequested.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        this.queue.renewLeases();
+        this.queue.failExpiredImports();
+
+        Mockito.verify(this.jdbcTemplate).update(BulkImportJobQueue.RENEW_LEASE_SQL, 300, 8L, "node-1", "RUNNING");
+        Mockito.verify(this.jdbcTemplate, Mockito.times(2)).update(eq(BulkImportJobQueue.FAIL_EXPIRED_SQL), eq("FAILED"), any(),
+                eq("RUNNING"));
+        assertEquals(List.of("a", "a", "b"), tenantsOfStatements());
+    }
+
+    @Test
+    void leaseMaintenanceQueuesWaitingImportsThisNodeDoesNotKnowOf() throws InterruptedException {
+        this.queue = queue(1, 1);
+        this.blockedClaims.add(9L);
+        submit(this.tenantA, 9L);
+        awaitClaims(1);
+        Mockito.when(this.jdbcTemplate.queryForList(BulkImportJobQueue.QUEUED_IMPORTS_SQL, Long.class, "QUEUED"))
+                .thenReturn(List.of(9L, 10L));
+
+        // import 9 of tenant a is already being run by this node
+        this.queue.enqueueUnclaimedImports();
+        this.release.countDown();
+
+        assertEquals(List.of("a/9", "a/10", "b/9", "b/10"), awaitClaims(4));
+    }
+
+    private BulkImportJobQueue queue(final int threads, final int tenantQuota) {
+        final MockEnvironment env = new MockEnvironment().withProperty(BulkImportJobQueue.POOL_SIZE_PROPERTY, String.valueOf(threads))
+                .withProperty(BulkImportJobQueue.TENANT_QUOTA_PROPERTY, String.valueOf(tenantQuota))
+                .withProperty(JobClusterService.NODE_ID_PROPERTY, "node-1");
+        final TenantDetailsService tenantDetailsService = Mockito.mock(TenantDetailsService.class);
+        Mockito.when(tenantDetailsService.findAllTenants()).thenReturn(List.of(this.tenantA, this.tenantB));
+        return new BulkImportJobQueue(this.applicationContext, tenantDetailsService, Mockito.mock(ContentRepositoryFactory.class),
+                Mockito.mock(AppUserRepository.class), this.jdbcTemplate, env);
+    }
+
+    private void submit(final FineractPlatformTenant tenant, final Long importId) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            this.queue.submit(importId);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    private static String currentTenant() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private synchronized List<String> claims() {
+        return new ArrayList<>(this.claims);
+    }
+
+    private synchronized List<String> tenantsOfStatements() {
+        return new ArrayList<>(this.tenantsOfStatements);
+    }
+
+    private synchronized List<String> awaitClaims(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (this.claims.size() < count) {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                throw new AssertionError("Only " + this.claims + " were claimed");
+            }
+            wait(remaining);
+        }
+        return new ArrayList<>(this.claims);
+    }
+
+    private void awaitRelease() {
+        try {
+            if (!this.release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.populator.WorkbookPopulator;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class ImportTemplateCacheTest {
+
+    private static final String DATE_FORMAT = "dd MMMM yyyy";
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+    private final List<String> generated = new ArrayList<>();
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("import-templates");
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void templateIsGeneratedOnceAndServedFromItsFile() {
+        final ImportTemplateCache cache = cache(900);
+
+        final File file = retrieve(cache, GlobalEntityType.LOANS, DATE_FORMAT);
+
+        assertTrue(file.exists());
+        assertTrue(file.toPath().startsWith(this.directory.resolve("default")));
+        assertEquals(file, retrieve(cache, GlobalEntityType.LOANS, DATE_FORMAT));
+        assertEquals(List.of("LOANS"), this.generated);
+    }
+
+    @Test
+    void committedChangeOfListedReferenceDataRegeneratesTheTemplate() {
+        final ImportTemplateCache cache = cache(900);
+        retrieve(cache, GlobalEntityType.LOANS, DATE_FORMAT);
+        retrieve(cache, GlobalEntityType.OFFICES, DATE_FORMAT);
+
+        // loan templates list clients, office templates do not
+        cache.referenceDataChanged("CLIENT");
+        retrieve(cache, GlobalEntityType.LOANS, DATE_FORMAT);
+        retrieve(cache, GlobalEntityType.OFFICES, DATE_FORMAT);
+        assertEquals(List.of("LOANS", "OFFICES", "LOANS"), this.generated);
+
+        cache.referenceDataChanged("OFFICE");
+        retrieve(cache, GlobalEntityType.LOANS, DATE_FORMAT);
+        retrieve(cache, GlobalEntityType.OFFICES, DATE_FORMAT);
+        assertEquals(List.of("LOANS", "OFFICES", "LOANS", "LOANS", "OFFICES"), this.generated);
+    }
+
+    @Test
+    void changeIsOnlyTakenIntoAccountOnceItsTransactionCommits() {
+        final ImportTemplateCache cache = cache(900);
+        retrieve(cache, GlobalEntityType.LOAN_TRANSACTIONS, DATE_FORMAT);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.referenceDataChanged("LOAN");
+        retrieve(cache, GlobalEntityType.LOAN_TRANSACTIONS, DATE_FORMAT);
+        assertEquals(1, this.generated.size());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        retrieve(cache, GlobalEntityType.LOAN_TRANSACTIONS, DATE_FORMAT);
+        assertEquals(2, this.generated.size());
+    }
+
+    @Test
+    void changesOfOtherTenantsAndUnrelatedEntitiesAreIgnored() {
+        final ImportTemplateCache cache = cache(900);
+        retrieve(cache, GlobalEntityType.SAVINGS_TRANSACTIONS, DATE_FORMAT);
+
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        cache.referenceDataChanged("SAVINGSACCOUNT");
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        cache.referenceDataChanged("REPORT");
+        cache.referenceDataChanged("DATATABLE");
+
+        retrieve(cache, GlobalEntityType.SAVINGS_TRANSACTIONS, DATE_FORMAT);
+        assertEquals(1, this.generated.size());
+    }
+
+    @Test
+    void templateOlderThanTheMaxAgeIsRegenerated() {
+        final ImportTemplateCache cache = cache(60);
+        retrieve(cache, GlobalEntityType.STAFF, DATE_FORMAT);
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        retrieve(cache, GlobalEntityType.STAFF, DATE_FORMAT);
+        assertEquals(1, this.generated.size());
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        retrieve(cache, GlobalEntityType.STAFF, DATE_FORMAT);
+        assertEquals(2, this.generated.size());
+    }
+
+    @Test
+    void dateFormatIsTrimmedAndValidated() {
+        final ImportTemplateCache cache = cache(900);
+
+        assertEquals(retrieve(cache, GlobalEntityType.CENTERS, DATE_FORMAT), retrieve(cache, GlobalEntityType.CENTERS, "  dd MMMM yyyy "));
+        assertNotEquals(retrieve(cache, GlobalEntityType.CENTERS, DATE_FORMAT), retrieve(cache, GlobalEntityType.CENTERS, "dd/MM/yyyy"));
+        assertEquals(retrieve(cache, GlobalEntityType.CENTERS, null), retrieve(cache, GlobalEntityType.CENTERS, " "));
+        assertEquals(3, this.generated.size());
+
+        assertThrows(PlatformApiDataValidationException.class, () -> retrieve(cache, GlobalEntityType.CENTERS, "dd QQ yyyy"));
+        assertThrows(PlatformApiDataValidationException.class, () -> retrieve(cache, GlobalEntityType.CENTERS, "'" + "x".repeat(60) + "'"));
+        assertEquals(3, this.generated.size());
+    }
+
+    @Test
+    void filesOlderThanTheMaxAgeAndADownloadAreDeleted() throws IOException {
+        final ImportTemplateCache cache = cache(60);
+        final File expired = retrieve(cache, GlobalEntityType.GROUPS, DATE_FORMAT);
+        final File current = retrieve(cache, GlobalEntityType.USERS, DATE_FORMAT);
+        Files.setLastModifiedTime(expired.toPath(), FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(121)));
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        retrieve(cache, GlobalEntityType.CHART_OF_ACCOUNTS, DATE_FORMAT);
+
+        assertFalse(expired.exists());
+        assertTrue(current.exists());
+
+        retrieve(cache, GlobalEntityType.GROUPS, DATE_FORMAT);
+        assertTrue(expired.exists());
+        assertEquals(List.of("GROUPS", "USERS", "CHART_OF_ACCOUNTS", "GROUPS"), this.generated);
+    }
+
+    @Test
+    void filesOfAnEarlierRunAreDeleted() throws IOException {
+        final Path old = Files.createDirectories(this.directory.resolve("default")).resolve("old.xls");
+        Files.write(old, new byte[] { 1 });
+        Files.setLastModifiedTime(old, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        final Path recent = this.directory.resolve("default").resolve("template-1.tmp");
+        Files.write(recent, new byte[] { 1 });
+        final ImportTemplateCache cache = cache(900);
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(900));
+        final File file = retrieve(cache, GlobalEntityType.OFFICES, DATE_FORMAT);
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+        assertTrue(file.exists());
+    }
+
+    private ImportTemplateCache cache(final int maxAgeSeconds) {
+        final Office office = Mockito.mock(Office.class,
+                invocation -> "getHierarchy".equals(invocation.getMethod().getName()) ? "." : Answers.RETURNS_DEFAULTS.answer(invocation));
+        final AppUser user = Mockito.mock(AppUser.class,
+                invocation -> "getOffice".equals(invocation.getMethod().getName()) ? office : Answers.RETURNS_DEFAULTS.answer(invocation));
+        final PlatformSecurityContext context = Mockito.mock(PlatformSecurityContext.class,
+                invocation -> "authenticatedUser".equals(invocation.getMethod().getName()) ? user
+                        : Answers.RETURNS_DEFAULTS.answer(invocation));
+        final MockEnvironment env = new MockEnvironment().withProperty(ImportTemplateCache.DIRECTORY_PROPERTY, this.directory.toString())
+                .withProperty(ImportTemplateCache.MAX_AGE_SECONDS_PROPERTY, String.valueOf(maxAgeSeconds));
+        return new ImportTemplateCache(context, env, this.nanoTime::get);
+    }
+
+    private File retrieve(final ImportTemplateCache cache, final GlobalEntityType templateType, final String dateFormat) {
+        final Supplier<WorkbookPopulator> populator = () -> (workbook, pattern) -> this.generated.add(templateType.name());
+        return cache.retrieve(templateType, 1L, null, dateFormat, populator);
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class TenantCacheTest {
+
+    private static final String MAX_AGE_SECONDS_PROPERTY = "fineract.test.max-age-seconds";
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void entryIsLoadedOncePerTenantUntilItExpires() {
+        final TenantCache<String, String> cache = cache(60);
+
+        assertEquals("1", cache.get("key", loader()));
+        assertEquals("1", cache.get("key", loader()));
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        assertEquals("2", cache.get("key", loader()));
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals("1", cache.get("key", loader()));
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("3", cache.get("key", loader()));
+    }
+
+    @Test
+    void nothingIsKeptWithAMaxAgeOfZero() {
+        final TenantCache<String, String> cache = cache(0);
+
+        cache.get("key", loader());
+        cache.get("key", loader());
+
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    void nullIsNotKept() {
+        final TenantCache<String, String> cache = cache(60);
+
+        assertNull(cache.get("key", () -> null));
+        assertEquals("1", cache.get("key", loader()));
+    }
+
+    @Test
+    void evictionTakesEffectOnceTheTransactionCommits() {
+        final TenantCache<String, String> cache = cache(60);
+        cache.get("a", loader());
+        cache.get("b", loader());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit("a");
+        assertEquals("1", cache.get("a", loader()));
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertEquals("3", cache.get("a", loader()));
+        assertEquals("2", cache.get("b", loader()));
+    }
+
+    @Test
+    void rollbackKeepsTheEntries() {
+        final TenantCache<String, String> cache = cache(60);
+        cache.get("key", loader());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAllAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals("1", cache.get("key", loader()));
+    }
+
+    @Test
+    void evictionOnlyAffectsTheCurrentTenant() {
+        final TenantCache<String, String> cache = cache(60);
+        cache.get("key", loader());
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        cache.get("key", loader());
+
+        cache.evictMatchingAfterCommit(key -> key.startsWith("k"));
+
+        assertEquals("3", cache.get("key", loader()));
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        assertEquals("1", cache.get("key", loader()));
+    }
+
+    @Test
+    void loadRacingWithAnEvictionIsNotKept() {
+        final TenantCache<String, String> cache = cache(60);
+
+        assertEquals("1", cache.get("key", () -> {
+            cache.evictAllAfterCommit();
+            return loader().get();
+        }));
+
+        assertEquals("2", cache.get("key", loader()));
+    }
+
+    @Test
+    void evictionNowAndAfterCompletionAlsoDropsWhatTheTransactionLoaded() {
+        final TenantCache<String, String> cache = cache(60);
+        cache.get("key", loader());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAllNowAndAfterCompletion();
+        assertEquals("2", cache.get("key", loader()));
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals("3", cache.get("key", loader()));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedOverTheMaximumWeight() {
+        final TenantCache<String, String> cache = TenantCache.<String, String>builder(
+                new MockEnvironment().withProperty(MAX_AGE_SECONDS_PROPERTY, "60"), MAX_AGE_SECONDS_PROPERTY, 60)
+                .maximumWeight(2, value -> "heavy".equals(value) ? 3 : 1).build();
+        cache.get("a", loader());
+        cache.get("b", loader());
+        cache.get("a", loader());
+
+        cache.get("c", loader());
+        assertEquals("1", cache.get("a", loader()));
+        assertEquals("4", cache.get("b", loader()));
+
+        cache.get("d", () -> "heavy");
+        assertEquals("5", cache.get("d", loader()));
+    }
+
+    private TenantCache<String, String> cache(final int maxAgeSeconds) {
+        final MockEnvironment env = new MockEnvironment().withProperty(MAX_AGE_SECONDS_PROPERTY, String.valueOf(maxAgeSeconds));
+        return TenantCache.<String, String>builder(env, MAX_AGE_SECONDS_PROPERTY, 60).nanoTime(this.nanoTime::get).build();
+    }
+
+    private Supplier<String> loader() {
+        return () -> String.valueOf(this.loads.incrementAndGet());
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.codes.service;
+
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.codes.domain.Code;
+import org.apache.fineract.infrastructure.codes.domain.CodeRepository;
+import org.apache.fineract.infrastructure.codes.domain.CodeValue;
+import org.apache.fineract.infrastructure.codes.domain.CodeValueRepository;
+import org.apache.fineract.infrastructure.codes.domain.CodeValueRepositoryWrapper;
+import org.apache.fineract.infrastructure.codes.serialization.CodeValueCommandFromApiJsonDeserializer;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableSchemaRegistry;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Datatable columns can be restricted to the values of a code, so every change of a code value has to drop the datatable
+ * schemas.
+ */
+@ExtendWith(MockitoExtension.class)
+class CodeValueWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final Long CODE_ID = 1L;
+    private static final Long CODE_VALUE_ID = 7L;
+
+    private final CodeRepository codeRepository = Mockito.mock(CodeRepository.class);
+    private final CodeValueRepositoryWrapper codeValueRepositoryWrapper = Mockito.mock(CodeValueRepositoryWrapper.class);
+    private final CodeValueRepository codeValueRepository = Mockito.mock(CodeValueRepository.class);
+    private final DatatableSchemaRegistry datatableSchemaRegistry = Mockito.mock(DatatableSchemaRegistry.class);
+    private final Code code = Mockito.mock(Code.class);
+    private final CodeValue codeValue = Mockito.mock(CodeValue.class);
+
+    @Test
+    void createdCodeValueDropsTheDatatableSchemas() {
+        Mockito.when(this.codeRepository.findById(CODE_ID)).thenReturn(Optional.of(this.code));
+
+        service().createCodeValue(command("{\"name\": \"Gold\"}", CODE_ID));
+
+        Mockito.verify(this.codeValueRepository).save(Mockito.any(CodeValue.class));
+        Mockito.verify(this.datatableSchemaRegistry).invalidate();
+    }
+
+    @Test
+    void updatedCodeValueDropsTheDatatableSchemas() {
+        Mockito.when(this.codeValueRepositoryWrapper.findOneWithNotFoundDetection(CODE_VALUE_ID)).thenReturn(this.codeValue);
+        Mockito.when(this.codeValue.update(Mockito.any(JsonCommand.class))).thenReturn(Map.of("name", "Gold"));
+
+        service().updateCodeValue(CODE_VALUE_ID, command("{\"name\": \"Gold\"}", CODE_VALUE_ID));
+
+        Mockito.verify(this.datatableSchemaRegistry).invalidate();
+    }
+
+    @Test
+    void unchangedCodeValueKeepsTheDatatableSchemas() {
+        Mockito.when(this.codeValueRepositoryWrapper.findOneWithNotFoundDetection(CODE_VALUE_ID)).thenReturn(this.codeValue);
+        Mockito.when(this.codeValue.update(Mockito.any(JsonCommand.class))).thenReturn(Map.of());
+
+        service().updateCodeValue(CODE_VALUE_ID, command("{\"name\": \"Gold\"}", CODE_VALUE_ID));
+
+        Mockito.verifyNoInteractions(this.datatableSchemaRegistry);
+    }
+
+    @Test
+    void deletedCodeValueDropsTheDatatableSchemas() {
+        Mockito.when(this.codeRepository.findById(CODE_ID)).thenReturn(Optional.of(this.code));
+        Mockito.when(this.codeValueRepositoryWrapper.findOneWithNotFoundDetection(CODE_VALUE_ID)).thenReturn(this.codeValue);
+        Mockito.when(this.code.remove(this.codeValue)).thenReturn(true);
+
+        service().deleteCodeValue(CODE_ID, CODE_VALUE_ID);
+
+        Mockito.verify(this.datatableSchemaRegistry).invalidate();
+    }
+
+    private CodeValueWritePlatformServiceJpaRepositoryImpl service() {
+        return new CodeValueWritePlatformServiceJpaRepositoryImpl(Mockito.mock(PlatformSecurityContext.class), this.codeRepository,
+                this.codeValueRepositoryWrapper, this.codeValueRepository,
+                new CodeValueCommandFromApiJsonDeserializer(new FromJsonHelper()), this.datatableSchemaRegistry);
+    }
+
+    private static JsonCommand command(final String json, final Long resourceId) {
+        final FromJsonHelper fromJsonHelper = new FromJsonHelper();
+        return JsonCommand.from(json, fromJsonHelper.parse(json), fromJsonHelper, null, resourceId, null, null, null, null, null, null,
+                null, null, null, null);
+    }
+}
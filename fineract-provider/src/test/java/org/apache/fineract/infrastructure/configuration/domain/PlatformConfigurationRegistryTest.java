@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformConfigurationRegistryTest {
+
+    private static final String PERMISSIONS = "m_permission";
+    private static final String CONFIGURATIONS = "c_configuration";
+    private static final List<String> PERMISSION_COLUMNS = Arrays.asList("code", "can_maker_checker");
+    private static final List<String> CONFIGURATION_COLUMNS = Arrays.asList("id", "name", "enabled", "value", "date_value",
+            "description", "is_trap_door");
+
+    private final Map<String, List<Object[]>> tables = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        tables.put(PERMISSIONS, new ArrayList<>(Arrays.asList(new Object[] { "CREATE_CLIENT", true },
+                new Object[] { "CREATE_LOAN", false })));
+        tables.put(CONFIGURATIONS, new ArrayList<>(Arrays.asList(new Object[] { 1L, "maker-checker", true, null, null, null, false },
+                new Object[] { 2L, "penalty-wait-period", true, 2L, null, null, false })));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_UNKNOWN);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void permissionsAndConfigurationsAreLoadedTogetherOnce() {
+        final PlatformConfigurationRegistry registry = registry(60);
+
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_CLIENT"));
+        assertFalse(registry.findMakerCheckerEnabled("CREATE_LOAN"));
+        assertTrue(registry.findGlobalConfiguration("maker-checker").isEnabled());
+        assertNull(registry.findGlobalConfiguration("maker-checker").getValue());
+        assertEquals(2L, registry.findGlobalConfiguration("penalty-wait-period").getValue());
+
+        verifyQueries(PlatformConfigurationRegistry.PERMISSIONS_SQL, 1);
+        verifyQueries(PlatformConfigurationRegistry.CONFIGURATIONS_SQL, 1);
+    }
+
+    @Test
+    void copyIsDroppedOnceTheInvalidatingTransactionCommits() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        registry.findGlobalConfiguration("maker-checker");
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.invalidate();
+        tables.get(CONFIGURATIONS).set(0, new Object[] { 1L, "maker-checker", false, null, null, null, false });
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertFalse(registry.findGlobalConfiguration("maker-checker").isEnabled());
+        Mockito.verify(this.jdbcTemplate).update(PlatformConfigurationRegistry.INCREMENT_VERSION_SQL);
+    }
+
+    @Test
+    void invalidatingTransactionReadsItsChangeWithoutSharingIt() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        registry.findGlobalConfiguration("maker-checker");
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.invalidate();
+        tables.get(CONFIGURATIONS).set(0, new Object[] { 1L, "maker-checker", false, null, null, null, false });
+        assertFalse(registry.findGlobalConfiguration("maker-checker").isEnabled());
+
+        version.decrementAndGet();
+        tables.get(CONFIGURATIONS).set(0, new Object[] { 1L, "maker-checker", true, null, null, null, false });
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(registry.findGlobalConfiguration("maker-checker").isEnabled());
+        verifyQueries(PlatformConfigurationRegistry.CONFIGURATIONS_SQL, 2);
+    }
+
+    @Test
+    void changeMadeOnAnotherNodeIsPickedUpByTheNextLookup() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        assertFalse(registry.findMakerCheckerEnabled("CREATE_LOAN"));
+
+        tables.get(PERMISSIONS).set(1, new Object[] { "CREATE_LOAN", true });
+        version.incrementAndGet();
+
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_LOAN"));
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_LOAN"));
+        verifyQueries(PlatformConfigurationRegistry.PERMISSIONS_SQL, 2);
+    }
+
+    @Test
+    void versionIsReadOncePerTransaction() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        registry.findMakerCheckerEnabled("CREATE_CLIENT");
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.findMakerCheckerEnabled("CREATE_CLIENT");
+        registry.findGlobalConfiguration("maker-checker");
+        registry.findMakerCheckerEnabled("CREATE_LOAN");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // one read to check the copy and one to load it before the transaction, one in the transaction
+        Mockito.verify(this.jdbcTemplate, Mockito.times(3)).queryForObject(PlatformConfigurationRegistry.VERSION_SQL, Long.class);
+        verifyQueries(PlatformConfigurationRegistry.PERMISSIONS_SQL, 1);
+    }
+
+    @Test
+    void copyIsDroppedStraightAwayOutsideATransaction() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        registry.findMakerCheckerEnabled("CREATE_LOAN");
+
+        tables.get(PERMISSIONS).set(1, new Object[] { "CREATE_LOAN", true });
+        registry.invalidate();
+
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_LOAN"));
+        verifyQueries(PlatformConfigurationRegistry.PERMISSIONS_SQL, 2);
+    }
+
+    @Test
+    void unknownPermissionIsLookedUpAgainInTheDatabase() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        registry.findMakerCheckerEnabled("CREATE_CLIENT");
+
+        tables.get(PERMISSIONS).add(new Object[] { "CREATE_DATATABLE_ENTRY", true });
+
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_DATATABLE_ENTRY"));
+        assertTrue(registry.findMakerCheckerEnabled("CREATE_DATATABLE_ENTRY"));
+        verifyQueries(PlatformConfigurationRegistry.PERMISSIONS_SQL, 2);
+    }
+
+    @Test
+    void missingConfigurationIsReloadedOnceAndStaysMissing() {
+        final PlatformConfigurationRegistry registry = registry(60);
+
+        assertNull(registry.findGlobalConfiguration("no-such-configuration"));
+
+        verifyQueries(PlatformConfigurationRegistry.CONFIGURATIONS_SQL, 2);
+        registry.findGlobalConfiguration("maker-checker");
+        verifyQueries(PlatformConfigurationRegistry.CONFIGURATIONS_SQL, 2);
+    }
+
+    @Test
+    void expiredCopyIsReloaded() {
+        final PlatformConfigurationRegistry registry = registry(0);
+
+        registry.findGlobalConfiguration("maker-checker");
+        registry.findGlobalConfiguration("maker-checker");
+
+        verifyQueries(PlatformConfigurationRegistry.CONFIGURATIONS_SQL, 2);
+    }
+
+    @Test
+    void unknownConfigurationOrPermissionIsRejected() {
+        final PlatformConfigurationRegistry registry = registry(60);
+        final ConfigurationDomainService configurationDomainService = new ConfigurationDomainServiceJpa(registry, null);
+
+        assertThrows(GlobalConfigurationPropertyNotFoundException.class, configurationDomainService::isAmazonS3Enabled);
+        assertThrows(PermissionNotFoundException.class, () -> configurationDomainService.isMakerCheckerEnabledForTask("NO_SUCH_TASK"));
+        assertTrue(configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        assertEquals(2L, configurationDomainService.retrievePenaltyWaitPeriod());
+    }
+
+    private PlatformConfigurationRegistry registry(final int maxAgeSeconds) {
+        Mockito.lenient().doAnswer(invocation -> load(invocation.getArgument(1), PERMISSIONS, PERMISSION_COLUMNS)).when(this.jdbcTemplate)
+                .query(eq(PlatformConfigurationRegistry.PERMISSIONS_SQL), any(RowCallbackHandler.class));
+        Mockito.lenient().doAnswer(invocation -> load(invocation.getArgument(1), CONFIGURATIONS, CONFIGURATION_COLUMNS))
+                .when(this.jdbcTemplate).query(eq(PlatformConfigurationRegistry.CONFIGURATIONS_SQL), any(RowCallbackHandler.class));
+        Mockito.lenient().when(this.jdbcTemplate.queryForObject(PlatformConfigurationRegistry.VERSION_SQL, Long.class))
+                .thenAnswer(invocation -> this.version.get());
+        Mockito.lenient().when(this.jdbcTemplate.update(PlatformConfigurationRegistry.INCREMENT_VERSION_SQL)).thenAnswer(invocation -> {
+            this.version.incrementAndGet();
+            return 1;
+        });
+        final MockEnvironment env = new MockEnvironment().withProperty(PlatformConfigurationRegistry.MAX_AGE_SECONDS_PROPERTY,
+                String.valueOf(maxAgeSeconds));
+        return new PlatformConfigurationRegistry(this.jdbcTemplate, env);
+    }
+
+    private Object load(final RowCallbackHandler handler, final String table, final List<String> columns) throws SQLException {
+        for (final Object[] row : new ArrayList<>(tables.get(table))) {
+            handler.processRow(resultSet(columns, row));
+        }
+        return null;
+    }
+
+    private static void completeTransaction(final int status) {
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        }
+        TransactionSynchronizationUtils.triggerAfterCompletion(status);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void verifyQueries(final String sql, final int times) {
+        Mockito.verify(this.jdbcTemplate, Mockito.times(times)).query(eq(sql), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet resultSet(final List<String> columns, final Object[] row) {
+        final boolean[] wasNull = { false };
+        return Mockito.mock(ResultSet.class, invocation -> {
+            final String method = invocation.getMethod().getName();
+            if ("wasNull".equals(method)) {
+                return wasNull[0];
+            } else if (method.startsWith("get") && invocation.getArguments().length == 1
+                    && invocation.getArgument(0) instanceof String) {
+                final Object value = row[columns.indexOf((String) invocation.getArgument(0))];
+                wasNull[0] = value == null;
+                if ("getLong".equals(method)) {
+                    return value == null ? 0L : value;
+                } else if ("getBoolean".equals(method)) {
+                    return value != null && (Boolean) value;
+                }
+                return value;
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+}
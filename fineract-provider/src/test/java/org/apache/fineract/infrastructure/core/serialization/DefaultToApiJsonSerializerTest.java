@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The streaming variants must write exactly the bytes the {@link String} variants return.
+ */
+class DefaultToApiJsonSerializerTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "displayName", "activationDate", "office", "mobileNo");
+
+    private final DefaultToApiJsonSerializer<SampleData> serializer = new DefaultToApiJsonSerializer<>(
+            new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+            new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), new CommandProcessingResultJsonSerializer(),
+            new GoogleGsonSerializerHelper());
+
+    private final List<SampleData> items = Arrays.asList(
+            new SampleData(1L, "Jane <Doe> & Co", LocalDate.of(2021, 3, 4), "Head Office", null), null,
+            new SampleData(2L, "John", null, "Branch \"A\"", "+254 700 000"));
+
+    @Test
+    void collectionMatchesStringSerialization() throws IOException {
+        for (final ApiRequestJsonSerializationSettings settings : allSettings()) {
+            assertEquals(this.serializer.serialize(settings, this.items), streamed(
+                    this.serializer.serializeStreaming(settings, this.items)), settings.getParametersForPartialResponse().toString());
+        }
+    }
+
+    @Test
+    void collectionWithSupportedParametersMatchesStringSerialization() throws IOException {
+        for (final ApiRequestJsonSerializationSettings settings : allSettings()) {
+            assertEquals(this.serializer.serialize(settings, this.items, SUPPORTED_PARAMETERS),
+                    streamed(this.serializer.serializeStreaming(settings, this.items, SUPPORTED_PARAMETERS)),
+                    settings.getParametersForPartialResponse().toString());
+        }
+    }
+
+    @Test
+    void pageMatchesStringSerialization() throws IOException {
+        final Page<SampleData> page = new Page<>(this.items, 42);
+        for (final ApiRequestJsonSerializationSettings settings : allSettings()) {
+            assertEquals(this.serializer.serialize(settings, page), streamed(this.serializer.serializeStreaming(settings, page)),
+                    settings.getParametersForPartialResponse().toString());
+        }
+    }
+
+    @Test
+    void pageWithSupportedParametersMatchesStringSerialization() throws IOException {
+        final Page<SampleData> page = new Page<>(this.items, 42);
+        for (final ApiRequestJsonSerializationSettings settings : allSettings()) {
+            assertEquals(this.serializer.serialize(settings, page, SUPPORTED_PARAMETERS),
+                    streamed(this.serializer.serializeStreaming(settings, page, SUPPORTED_PARAMETERS)),
+                    settings.getParametersForPartialResponse().toString());
+        }
+    }
+
+    @Test
+    void emptyAndNullPagesMatchStringSerialization() throws IOException {
+        for (final Page<SampleData> page : List.of(new Page<SampleData>(List.of(), 0), new Page<SampleData>(null, 0))) {
+            for (final ApiRequestJsonSerializationSettings settings : allSettings()) {
+                assertEquals(this.serializer.serialize(settings, page, SUPPORTED_PARAMETERS),
+                        streamed(this.serializer.serializeStreaming(settings, page, SUPPORTED_PARAMETERS)));
+            }
+        }
+    }
+
+    private static List<ApiRequestJsonSerializationSettings> allSettings() {
+        final List<Set<String>> fields = List.of(Set.of(), Set.of("id", "displayName"), Set.of("activationDate", "mobileNo"));
+        final List<ApiRequestJsonSerializationSettings> settings = new ArrayList<>();
+        for (final Set<String> requested : fields) {
+            settings.add(ApiRequestJsonSerializationSettings.from(false, requested, false, false, false));
+            settings.add(ApiRequestJsonSerializationSettings.from(true, requested, false, false, false));
+        }
+        return settings;
+    }
+
+    private static String streamed(final StreamingOutput output) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static final class SampleData {
+
+        private final Long id;
+        private final String displayName;
+        private final LocalDate activationDate;
+        private final Office office;
+        private final String mobileNo;
+
+        SampleData(final Long id, final String displayName, final LocalDate activationDate, final String officeName,
+                final String mobileNo) {
+            this.id = id;
+            this.displayName = displayName;
+            this.activationDate = activationDate;
+            this.office = new Office(officeName);
+            this.mobileNo = mobileNo;
+        }
+    }
+
+    private static final class Office {
+
+        private final String name;
+
+        Office(final String name) {
+            this.name = name;
+        }
+    }
+}
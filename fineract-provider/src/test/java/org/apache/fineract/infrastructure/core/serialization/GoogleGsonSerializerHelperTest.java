@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.api.ParameterListExclusionStrategy;
+import org.apache.fineract.infrastructure.core.api.ParameterListInclusionStrategy;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Test;
+
+class GoogleGsonSerializerHelperTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "name", "status", "activationDate");
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+    private final SampleData data = new SampleData(7L, "Jane", "ACTIVE", LocalDate.of(2021, 3, 4));
+
+    @Test
+    void differentFieldSetsNeverShareASerializer() {
+        final Gson idAndName = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("id", "name"));
+        final Gson idAndStatus = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("id", "status"));
+        final Gson idAndNamePretty = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                true, Set.of("id", "name"));
+        final Gson allFields = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of());
+
+        assertNotSame(idAndName, idAndStatus);
+        assertNotSame(idAndName, idAndNamePretty);
+        assertNotSame(idAndName, allFields);
+        assertEquals("{\"id\":7,\"name\":\"Jane\"}", idAndName.toJson(this.data));
+        assertEquals("{\"id\":7,\"status\":\"ACTIVE\"}", idAndStatus.toJson(this.data));
+    }
+
+    @Test
+    void sameFieldSetReusesTheSerializer() {
+        final Set<String> requested = new HashSet<>(Set.of("id", "name"));
+        final Gson first = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                requested);
+
+        // the key holds a copy, changing the caller's set afterwards must not affect the cached entry
+        requested.add("status");
+        final Gson second = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("name", "id"));
+
+        assertSame(first, second);
+        assertEquals("{\"id\":7,\"name\":\"Jane\"}", second.toJson(this.data));
+    }
+
+    @Test
+    void cachedSerializerMatchesUncachedExclusionSerializer() {
+        for (final Set<String> requested : Set.of(Set.of("id"), Set.of("name", "activationDate"), Set.<String>of())) {
+            for (final boolean prettyPrint : new boolean[] { false, true }) {
+                final Set<String> parameterNamesToSkip = new HashSet<>();
+                if (!requested.isEmpty()) {
+                    parameterNamesToSkip.addAll(SUPPORTED_PARAMETERS);
+                    parameterNamesToSkip.removeAll(requested);
+                }
+                final GsonBuilder builder = new GsonBuilder()
+                        .addSerializationExclusionStrategy(new ParameterListExclusionStrategy(parameterNamesToSkip));
+                GoogleGsonSerializerHelper.registerTypeAdapters(builder);
+                if (prettyPrint) {
+                    builder.setPrettyPrinting();
+                }
+
+                final Gson cached = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                        prettyPrint, requested);
+                assertEquals(builder.create().toJson(this.data), cached.toJson(this.data));
+            }
+        }
+    }
+
+    @Test
+    void cachedInclusionSerializerMatchesUncachedInclusionSerializer() {
+        final Set<String> requested = Set.of("name", "status");
+        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(new ParameterListInclusionStrategy(requested));
+        GoogleGsonSerializerHelper.registerTypeAdapters(builder);
+
+        final Gson cached = this.helper.createGsonBuilderForPartialResponseFiltering(false, requested);
+
+        assertEquals(builder.create().toJson(this.data), cached.toJson(this.data));
+        assertNotSame(cached, this.helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("name")));
+    }
+
+    @Test
+    void unsupportedParametersAreRejectedEvenWhenCached() {
+        this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id"));
+
+        assertThrows(UnsupportedParameterException.class, () -> this.helper
+                .createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id", "unknown")));
+    }
+
+    private static final class SampleData {
+
+        private final Long id;
+        private final String name;
+        private final String status;
+        private final LocalDate activationDate;
+
+        SampleData(final Long id, final String name, final String status, final LocalDate activationDate) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+            this.activationDate = activationDate;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ReadOnlyRoutingContextTest {
+
+    @Test
+    void readOnlyOnlyWithinScope() {
+        assertFalse(ReadOnlyRoutingContext.isReadOnly());
+        assertTrue(ReadOnlyRoutingContext.call(ReadOnlyRoutingContext::isReadOnly));
+        assertFalse(ReadOnlyRoutingContext.isReadOnly());
+    }
+
+    @Test
+    void nestedScopeKeepsOuterScope() {
+        ReadOnlyRoutingContext.run(() -> {
+            ReadOnlyRoutingContext.run(() -> assertTrue(ReadOnlyRoutingContext.isReadOnly()));
+            assertTrue(ReadOnlyRoutingContext.isReadOnly());
+        });
+        assertFalse(ReadOnlyRoutingContext.isReadOnly());
+    }
+
+    @Test
+    void reportScopeIsReadOnlyAndOutlivesNestedScopes() {
+        assertFalse(ReadOnlyRoutingContext.isReport());
+        ReadOnlyRoutingContext.callReport(() -> {
+            assertTrue(ReadOnlyRoutingContext.isReadOnly());
+            ReadOnlyRoutingContext.run(() -> assertTrue(ReadOnlyRoutingContext.isReport()));
+            assertTrue(ReadOnlyRoutingContext.isReport());
+            return null;
+        });
+        ReadOnlyRoutingContext.run(() -> assertFalse(ReadOnlyRoutingContext.isReport()));
+        assertFalse(ReadOnlyRoutingContext.isReadOnly());
+    }
+
+    @Test
+    void scopeIsClearedOnFailure() {
+        assertThrows(IllegalStateException.class, () -> ReadOnlyRoutingContext.run(() -> {
+            throw new IllegalStateException();
+        }));
+        assertFalse(ReadOnlyRoutingContext.isReadOnly());
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class RoutingDataSourceTest {
+
+    private final Database primary = new Database();
+    private final Database replica = new Database();
+    private RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private ReadReplicaRouter router;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "default", "UTC", connection(1L), connection(2L)));
+        final RoutingDataSourceService dataSourceService = new RoutingDataSourceService() {
+
+            @Override
+            public DataSource retrieveDataSource() {
+                return RoutingDataSourceTest.this.primary;
+            }
+
+            @Override
+            public DataSource retrieveReadReplicaDataSource() {
+                return RoutingDataSourceTest.this.replica;
+            }
+        };
+        this.dataSourceServiceFactory = Mockito.mock(RoutingDataSourceServiceFactory.class,
+                invocation -> "determineDataSourceService".equals(invocation.getMethod().getName()) ? dataSourceService
+                        : Answers.RETURNS_DEFAULTS.answer(invocation));
+        route(new MockEnvironment().withProperty(ReadReplicaRouter.ENABLED_PROPERTY, "true"));
+    }
+
+    private void route(final MockEnvironment environment) {
+        this.router = new ReadReplicaRouter(this.dataSourceServiceFactory, environment);
+        final RoutingDataSource dataSource = new RoutingDataSource(this.dataSourceServiceFactory, this.router);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ThreadLocalContextUtil.clearTenant();
+        assertEquals(0, this.primary.openConnections);
+        assertEquals(0, this.replica.openConnections);
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromTheReplica() {
+        // the transaction manager takes its connection before the transaction is marked read only
+        final TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> this.jdbcTemplate.execute("select 1"));
+
+        assertEquals(List.of(), this.primary.statements);
+        assertEquals(List.of("SHOW REPLICA STATUS", "select 1"), this.replica.statements);
+    }
+
+    @Test
+    void onlyTheWriterReadsItsCommittedWritesFromThePrimary() {
+        final TransactionTemplate readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("mifos", "password"));
+
+        new TransactionTemplate(this.transactionManager)
+                .executeWithoutResult(status -> this.jdbcTemplate.update("update m_client set display_name = 'a' where id = 1"));
+        readOnlyTransaction.executeWithoutResult(status -> this.jdbcTemplate.execute("select 1"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("other", "password"));
+        readOnlyTransaction.executeWithoutResult(status -> this.jdbcTemplate.execute("select 2"));
+
+        assertEquals(List.of("update m_client set display_name = 'a' where id = 1", "select 1"), this.primary.statements);
+        assertEquals(List.of("SHOW REPLICA STATUS", "select 2"), this.replica.statements);
+    }
+
+    @Test
+    void workOutsideOfATransactionReadsFromTheReplicaOnlyWhenMarkedReadOnly() {
+        this.jdbcTemplate.execute("select 1");
+        ReadOnlyRoutingContext.run(() -> this.jdbcTemplate.execute("select 2"));
+
+        assertEquals(List.of("select 1"), this.primary.statements);
+        assertEquals(List.of("SHOW REPLICA STATUS", "select 2"), this.replica.statements);
+    }
+
+    @Test
+    void withRoutingOffOnlyReportsReadFromTheReportConnection() {
+        route(new MockEnvironment());
+        final TransactionTemplate readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        readOnlyTransaction.executeWithoutResult(status -> this.jdbcTemplate.execute("select 1"));
+        ReadOnlyRoutingContext.run(() -> this.jdbcTemplate.execute("select 2"));
+        ReadOnlyRoutingContext.callReport(() -> {
+            this.jdbcTemplate.execute("select 3");
+            new TransactionTemplate(this.transactionManager)
+                    .executeWithoutResult(status -> this.jdbcTemplate.update("update m_client set display_name = 'a' where id = 1"));
+            return null;
+        });
+
+        assertEquals(List.of("select 1", "select 2", "update m_client set display_name = 'a' where id = 1"), this.primary.statements);
+        assertEquals(List.of("select 3"), this.replica.statements);
+    }
+
+    @Test
+    void pentahoReportsUseTheReportConnection() {
+        assertEquals(2L, this.router.getReadConnection().getConnectionId());
+
+        route(new MockEnvironment());
+        assertEquals(2L, this.router.getReadConnection().getConnectionId());
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "default", "UTC", connection(1L)));
+        assertEquals(1L, this.router.getReadConnection().getConnectionId());
+    }
+
+    private static FineractPlatformTenantConnection connection(final Long connectionId) {
+        return new FineractPlatformTenantConnection(connectionId, "fineract_default", "localhost", "3306", null, "root", "mysql", false,
+                1, 1, false, 1, false, 1, 1, 1, 1, 1, 1, 1, 1, 1, false);
+    }
+
+    /**
+     * Records the statements run on its connections; it is not a replica, so it reports no replication status.
+     */
+    private static final class Database extends AbstractDataSource {
+
+        private final List<String> statements = new ArrayList<>();
+        private int openConnections;
+
+        @Override
+        public Connection getConnection() {
+            this.openConnections++;
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "createStatement":
+                                return statement();
+                            case "close":
+                                this.openConnections--;
+                                return null;
+                            case "getAutoCommit":
+                                return true;
+                            case "getTransactionIsolation":
+                                return Connection.TRANSACTION_REPEATABLE_READ;
+                            default:
+                                return defaultValue(method.getReturnType());
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) {
+            return getConnection();
+        }
+
+        private Statement statement() {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Statement.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            this.statements.add((String) args[0]);
+                        }
+                        if ("executeQuery".equals(method.getName())) {
+                            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                                    (resultSet, resultSetMethod, resultSetArgs) -> defaultValue(resultSetMethod.getReturnType()));
+                        }
+                        return defaultValue(method.getReturnType());
+                    });
+        }
+
+        private static Object defaultValue(final Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            return type == long.class ? 0L : null;
+        }
+    }
+}
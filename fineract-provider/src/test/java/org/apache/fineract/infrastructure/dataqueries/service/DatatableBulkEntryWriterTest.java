@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryErrorData;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class DatatableBulkEntryWriterTest {
+
+    private static final String SINGLE_ROW_INSERT = "insert into `dt_client_score` (`client_id`, `score`) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
+    @Test
+    void rowsSupplyingTheSameColumnsAreWrittenWithOneInsert() {
+        final List<DatatableBulkEntryErrorData> errors = new DatatableBulkEntryWriter(this.jdbcTemplate).writeChunk("dt_client_score",
+                "client_id", List.of(row(0, 1L, "score", "5"), row(1, 2L, "score", "6", "note", "late"), row(2, 3L, "score", "7")));
+
+        assertTrue(errors.isEmpty());
+        final InOrder inOrder = Mockito.inOrder(this.jdbcTemplate);
+        inOrder.verify(this.jdbcTemplate).update("insert into `dt_client_score` (`client_id`, `score`) values (?, ?), (?, ?)", 1L, "5",
+                3L, "7");
+        inOrder.verify(this.jdbcTemplate).update("insert into `dt_client_score` (`client_id`, `score`, `note`) values (?, ?, ?)", 2L,
+                "6", "late");
+        Mockito.verifyNoMoreInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    void failedMultiRowInsertIsRetriedRowByRow() {
+        Mockito.doThrow(new DuplicateKeyException("Duplicate entry '2' for key 'client_id'")).when(this.jdbcTemplate).update(
+                eq("insert into `dt_client_score` (`client_id`, `score`) values (?, ?), (?, ?), (?, ?)"), any(Object[].class));
+        Mockito.doThrow(new DuplicateKeyException("Duplicate entry '2' for key 'client_id'")).when(this.jdbcTemplate)
+                .update(SINGLE_ROW_INSERT, 2L, "6");
+
+        final List<DatatableBulkEntryErrorData> errors = new DatatableBulkEntryWriter(this.jdbcTemplate).writeChunk("dt_client_score",
+                "client_id", List.of(row(0, 1L, "score", "5"), row(1, 2L, "score", "6"), row(2, 3L, "score", "7")));
+
+        Mockito.verify(this.jdbcTemplate).update(SINGLE_ROW_INSERT, 1L, "5");
+        Mockito.verify(this.jdbcTemplate).update(SINGLE_ROW_INSERT, 3L, "7");
+        assertEquals(1, errors.size());
+        assertEquals(1, errors.get(0).getRowIndex());
+        assertEquals(2L, errors.get(0).getApptableId());
+        assertEquals("error.msg.datatable.entry.duplicate", errors.get(0).getErrorCode());
+    }
+
+    @Test
+    void rowsRejectedByTheDatabaseAreReportedWithTheirCause() {
+        Mockito.doThrow(new DataIntegrityViolationException("Field 'note' doesn't have a default value")).when(this.jdbcTemplate)
+                .update(eq("insert into `dt_client_score` (`client_id`, `score`) values (?, ?), (?, ?)"), any(Object[].class));
+        Mockito.doThrow(new DataIntegrityViolationException("Field 'note' doesn't have a default value")).when(this.jdbcTemplate)
+                .update(SINGLE_ROW_INSERT, 1L, "5");
+        Mockito.doThrow(new DataIntegrityViolationException("Cannot add or update a child row: a foreign key constraint fails"))
+                .when(this.jdbcTemplate).update(SINGLE_ROW_INSERT, 2L, "6");
+
+        final List<DatatableBulkEntryErrorData> errors = new DatatableBulkEntryWriter(this.jdbcTemplate).writeChunk("dt_client_score",
+                "client_id", List.of(row(0, 1L, "score", "5"), row(1, 2L, "score", "6")));
+
+        assertEquals(2, errors.size());
+        assertEquals("error.msg.datatable.no.value.provided.for.required.fields", errors.get(0).getErrorCode());
+        assertEquals("error.msg.unknown.data.integrity.issue", errors.get(1).getErrorCode());
+    }
+
+    private static DatatableBulkEntryWriter.Row row(final int index, final Long apptableId, final String... columnsAndValues) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            values.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return new DatatableBulkEntryWriter.Row(index, apptableId, values);
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class DatatableSchemaRegistryTest {
+
+    private static final String DATATABLE = "dt_client_score";
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+    private final AtomicInteger columnHeaderLoads = new AtomicInteger();
+    private final AtomicInteger applicationTableLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void schemaIsLoadedOnceAndCallersGetTheirOwnList() {
+        final DatatableSchemaRegistry registry = registry(60);
+
+        registry.getColumnHeaders(DATATABLE, this::loadColumnHeaders).clear();
+
+        assertEquals(1, registry.getColumnHeaders(DATATABLE, this::loadColumnHeaders).size());
+        assertEquals("m_client", registry.getApplicationTableName(DATATABLE, this::loadApplicationTable));
+        assertEquals("m_client", registry.getApplicationTableName(DATATABLE, this::loadApplicationTable));
+        assertEquals(1, this.columnHeaderLoads.get());
+        assertEquals(1, this.applicationTableLoads.get());
+    }
+
+    @Test
+    void schemasAreKeptPerTenant() {
+        final DatatableSchemaRegistry registry = registry(60);
+        lookUp(registry);
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        lookUp(registry);
+
+        registry.invalidate();
+        lookUp(registry);
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        lookUp(registry);
+
+        assertEquals(3, this.columnHeaderLoads.get());
+        assertEquals(3, this.applicationTableLoads.get());
+    }
+
+    @Test
+    void invalidationDropsTheSchemasRightAwayAndAgainWhenTheTransactionCommits() {
+        final DatatableSchemaRegistry registry = registry(60);
+        lookUp(registry);
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.invalidate();
+        lookUp(registry);
+        lookUp(registry);
+        assertEquals(2, this.columnHeaderLoads.get());
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.clearSynchronization();
+        lookUp(registry);
+
+        assertEquals(3, this.columnHeaderLoads.get());
+        assertEquals(3, this.applicationTableLoads.get());
+    }
+
+    @Test
+    void invalidationDropsTheSchemasAgainWhenTheTransactionRollsBack() {
+        final DatatableSchemaRegistry registry = registry(60);
+        lookUp(registry);
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.invalidate();
+        lookUp(registry);
+        // MySQL commits DDL implicitly, what was read after it may not match the schema after the rollback
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+        lookUp(registry);
+
+        assertEquals(3, this.columnHeaderLoads.get());
+        assertEquals(3, this.applicationTableLoads.get());
+    }
+
+    @Test
+    void schemaOlderThanTheMaxAgeIsReloaded() {
+        final DatatableSchemaRegistry registry = registry(60);
+        lookUp(registry);
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        lookUp(registry);
+        assertEquals(1, this.columnHeaderLoads.get());
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        lookUp(registry);
+        assertEquals(2, this.columnHeaderLoads.get());
+        assertEquals(2, this.applicationTableLoads.get());
+    }
+
+    @Test
+    void schemaIsNotKeptWithAMaxAgeOfZero() {
+        final DatatableSchemaRegistry registry = registry(0);
+
+        lookUp(registry);
+        lookUp(registry);
+
+        assertEquals(2, this.columnHeaderLoads.get());
+        assertEquals(2, this.applicationTableLoads.get());
+    }
+
+    private DatatableSchemaRegistry registry(final int maxAgeSeconds) {
+        final MockEnvironment env = new MockEnvironment().withProperty(DatatableSchemaRegistry.MAX_AGE_SECONDS_PROPERTY,
+                String.valueOf(maxAgeSeconds));
+        return new DatatableSchemaRegistry(env, this.nanoTime::get);
+    }
+
+    private void lookUp(final DatatableSchemaRegistry registry) {
+        registry.getColumnHeaders(DATATABLE, this::loadColumnHeaders);
+        registry.getApplicationTableName(DATATABLE, this::loadApplicationTable);
+    }
+
+    private List<ResultsetColumnHeaderData> loadColumnHeaders() {
+        this.columnHeaderLoads.incrementAndGet();
+        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
+        columnHeaders.add(ResultsetColumnHeaderData.basic("score", "int"));
+        return columnHeaders;
+    }
+
+    private String loadApplicationTable() {
+        this.applicationTableLoads.incrementAndGet();
+        return "m_client";
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.serialization.DatatableCommandFromApiJsonDeserializer;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryErrorData;
+import org.apache.fineract.infrastructure.dataqueries.data.DatatableBulkEntryResultData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.mock.env.MockEnvironment;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteNonCoreDataServiceImplTest {
+
+    private static final String DATATABLE = "dt_client_score";
+    private static final Long CLIENT_OUT_OF_SCOPE = 99L;
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final PlatformSecurityContext context = Mockito.mock(PlatformSecurityContext.class);
+    private final GenericDataService genericDataService = Mockito.mock(GenericDataService.class);
+    private final ConfigurationDomainService configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+    private final DatatableSchemaRegistry datatableSchemaRegistry = Mockito.mock(DatatableSchemaRegistry.class);
+    private final DatatableBulkEntryWriter datatableBulkEntryWriter = Mockito.mock(DatatableBulkEntryWriter.class);
+    private final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer = Mockito
+            .mock(DatatableCommandFromApiJsonDeserializer.class);
+
+    @BeforeEach
+    void setUp() {
+        final Office office = Mockito.mock(Office.class);
+        Mockito.lenient().when(office.getHierarchy()).thenReturn(".");
+        final AppUser user = Mockito.mock(AppUser.class);
+        Mockito.lenient().when(user.getOffice()).thenReturn(office);
+        Mockito.lenient().when(this.context.authenticatedUser()).thenReturn(user);
+
+        Mockito.lenient().when(this.datatableSchemaRegistry.getApplicationTableName(Mockito.eq(DATATABLE), Mockito.any()))
+                .thenReturn("m_client");
+        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
+        columnHeaders.add(ResultsetColumnHeaderData.basic("score", "int"));
+        columnHeaders.add(ResultsetColumnHeaderData.detailed("note", "varchar", 20L, true, false, new ArrayList<>(), null));
+        Mockito.lenient().when(this.genericDataService.fillResultsetColumnHeaders(DATATABLE)).thenReturn(columnHeaders);
+        Mockito.lenient().when(this.genericDataService.replace(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).replace(invocation.<String>getArgument(1),
+                        invocation.getArgument(2)));
+
+        // the data scoping query finds every client except the one out of scope
+        Mockito.lenient().when(this.jdbcTemplate.queryForRowSet(Mockito.anyString())).thenAnswer(invocation -> rowSet(1));
+        Mockito.lenient().when(this.jdbcTemplate.queryForRowSet(Mockito.endsWith("c.id = " + CLIENT_OUT_OF_SCOPE)))
+                .thenAnswer(invocation -> rowSet(0));
+    }
+
+    @Test
+    void invalidRowsAreReportedAndTheOthersWritten() {
+        Mockito.when(this.datatableBulkEntryWriter.writeChunk(Mockito.eq(DATATABLE), Mockito.eq("client_id"), Mockito.anyList()))
+                .thenReturn(List.of(new DatatableBulkEntryErrorData(5, 5L, "error.msg.datatable.entry.duplicate", null, "Duplicate")));
+
+        final DatatableBulkEntryResultData result = service(new MockEnvironment()).createDatatableEntries(DATATABLE,
+                "{\"locale\": \"en\", \"rows\": [{\"apptableId\": 1, \"score\": \"5\"}, {\"score\": \"3\"},"
+                        + " {\"apptableId\": 2, \"score\": \"\"}, {\"apptableId\": 3, \"score\": \"1\", \"colour\": \"red\"},"
+                        + " {\"apptableId\": 99, \"score\": \"2\"}, {\"apptableId\": 5, \"score\": \"4\", \"note\": \"late\"}]}");
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<DatatableBulkEntryWriter.Row>> rows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(this.datatableBulkEntryWriter).writeChunk(Mockito.eq(DATATABLE), Mockito.eq("client_id"), rows.capture());
+        assertEquals(2, rows.getValue().size());
+
+        assertEquals(1, result.getRowsCreated());
+        assertEquals(List.of(1, 2, 3, 4, 5),
+                result.getErrors().stream().map(DatatableBulkEntryErrorData::getRowIndex).collect(Collectors.toList()));
+        assertEquals(List.of("validation.msg.datatable.bulk.apptableId.cannot.be.blank", "error.msg.column.mandatory",
+                "error.msg.column.not.found", "error.msg.datatable.data.not.found", "error.msg.datatable.entry.duplicate"),
+                result.getErrors().stream().map(DatatableBulkEntryErrorData::getErrorCode).collect(Collectors.toList()));
+        assertEquals("score", result.getErrors().get(1).getParameterName());
+        assertEquals(CLIENT_OUT_OF_SCOPE, result.getErrors().get(3).getApptableId());
+    }
+
+    @Test
+    void validRowsAreWrittenInChunks() {
+        Mockito.when(this.datatableBulkEntryWriter.writeChunk(Mockito.eq(DATATABLE), Mockito.eq("client_id"), Mockito.anyList()))
+                .thenReturn(List.of());
+        final MockEnvironment env = new MockEnvironment().withProperty(ReadWriteNonCoreDataServiceImpl.BULK_ENTRY_CHUNK_SIZE_PROPERTY,
+                "2");
+
+        final DatatableBulkEntryResultData result = service(env).createDatatableEntries(DATATABLE,
+                "{\"locale\": \"en\", \"rows\": [{\"apptableId\": 1, \"score\": \"5\"}, {\"apptableId\": 2, \"score\": \"6\"},"
+                        + " {\"apptableId\": 3, \"score\": \"7\"}]}");
+
+        Mockito.verify(this.datatableBulkEntryWriter, Mockito.times(2)).writeChunk(Mockito.eq(DATATABLE), Mockito.eq("client_id"),
+                Mockito.anyList());
+        assertEquals(3, result.getRowsCreated());
+        assertEquals(0, result.getErrors().size());
+    }
+
+    @Test
+    void requestsWithTooManyRowsAreRejected() {
+        final MockEnvironment env = new MockEnvironment().withProperty(ReadWriteNonCoreDataServiceImpl.BULK_ENTRY_MAX_ROWS_PROPERTY, "1");
+
+        assertThrows(PlatformApiDataValidationException.class, () -> service(env).createDatatableEntries(DATATABLE,
+                "{\"rows\": [{\"apptableId\": 1, \"score\": \"5\"}, {\"apptableId\": 2, \"score\": \"6\"}]}"));
+        Mockito.verifyNoInteractions(this.datatableBulkEntryWriter);
+    }
+
+    @Test
+    void bulkEntriesAreRefusedWhenMakerCheckerIsEnabledForTheDatatable() {
+        Mockito.when(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_" + DATATABLE)).thenReturn(true);
+
+        assertThrows(GeneralPlatformDomainRuleException.class, () -> service(new MockEnvironment()).createDatatableEntries(DATATABLE,
+                "{\"rows\": [{\"apptableId\": 1, \"score\": \"5\"}]}"));
+        Mockito.verifyNoInteractions(this.datatableBulkEntryWriter, this.jdbcTemplate);
+    }
+
+    @Test
+    void registeringADatatableDropsTheSchemas() {
+        Mockito.when(this.jdbcTemplate.queryForObject(Mockito.anyString(), Mockito.eq(String.class), Mockito.eq(DATATABLE)))
+                .thenReturn("true");
+
+        service(new MockEnvironment()).registerDatatable(DATATABLE, "m_client");
+
+        Mockito.verify(this.datatableSchemaRegistry).invalidate();
+    }
+
+    @Test
+    void deregisteringADatatableDropsTheSchemas() {
+        service(new MockEnvironment()).deregisterDatatable(DATATABLE);
+
+        Mockito.verify(this.datatableSchemaRegistry).invalidate();
+    }
+
+    @Test
+    void updatingADatatableDropsTheSchemasBeforeReadingItsColumns() {
+        Mockito.when(this.jdbcTemplate.queryForObject("select count(*) from `" + DATATABLE + "`", Integer.class)).thenReturn(0);
+
+        service(new MockEnvironment()).updateDatatable(DATATABLE, command("{\"apptableName\": \"m_client\"}"));
+
+        final InOrder inOrder = Mockito.inOrder(this.datatableSchemaRegistry, this.genericDataService);
+        inOrder.verify(this.datatableSchemaRegistry).invalidate();
+        inOrder.verify(this.genericDataService).fillResultsetColumnHeaders(DATATABLE);
+    }
+
+    private ReadWriteNonCoreDataServiceImpl service(final MockEnvironment env) {
+        return new ReadWriteNonCoreDataServiceImpl(this.jdbcTemplate, Mockito.mock(NamedParameterJdbcTemplate.class), this.context,
+                new FromJsonHelper(), this.genericDataService, this.fromApiJsonDeserializer, null, this.configurationDomainService, null,
+                null, this.datatableSchemaRegistry, this.datatableBulkEntryWriter, env);
+    }
+
+    private static JsonCommand command(final String json) {
+        return JsonCommand.from(json, null, new FromJsonHelper(), null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static SqlRowSet rowSet(final int rowCount) {
+        final int[] remaining = { rowCount };
+        return Mockito.mock(SqlRowSet.class, invocation -> {
+            if ("next".equals(invocation.getMethod().getName())) {
+                return remaining[0]-- > 0;
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunStatus;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.mock.env.MockEnvironment;
+
+class ReportRunServiceImplTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final int RESULT_TTL_SECONDS = 60;
+    private static final int LEASE_SECONDS = 30;
+    private static final int MAX_RUN_SECONDS = 120;
+    private static final String REPORT_NAME = "Active Clients";
+    private static final String REPORT_SQL = "select 1";
+    private static final long NOW = TimeUnit.DAYS.toMillis(1);
+    private static final Long NEW_RUN_ID = 7L;
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "default", "UTC", null);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final AtomicInteger processed = new AtomicInteger();
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockProcessing;
+    private Path directory;
+    private ReportRunServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("report-runs");
+        Mockito.when(this.jdbcTemplate.queryForList(ReportRunServiceImpl.REPORT_SQL, REPORT_NAME, false))
+                .thenReturn(List.of(Map.<String, Object>of("report_type", "Table", "report_sql", REPORT_SQL)));
+        Mockito.doAnswer(invocation -> {
+            invocation.<KeyHolder>getArgument(1).getKeyList().add(Map.of("GENERATED_KEY", NEW_RUN_ID));
+            return 1;
+        }).when(this.jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        Mockito.when(this.jdbcTemplate.queryForObject(eq(ReportRunServiceImpl.RETRIEVE_RUN_SQL), Mockito.<RowMapper<ReportRunData>>any(),
+                anyLong())).thenAnswer(invocation -> run(invocation.getArgument(2), ReportRunStatus.QUEUED));
+        Mockito.when(this.jdbcTemplate.update(eq(ReportRunServiceImpl.CLAIM_RUN_SQL), any(Object[].class))).thenReturn(1);
+        this.service = service();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.release.countDown();
+        this.service.shutdown();
+        ThreadLocalContextUtil.clearTenant();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void reusableRunIsReturnedWithoutRunningTheReport() {
+        Mockito.when(this.jdbcTemplate.queryForList(eq(ReportRunServiceImpl.REUSABLE_RUN_SQL), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(3L));
+
+        assertEquals(3L, submit(params("R_officeId", "1"), false));
+
+        Mockito.verify(this.jdbcTemplate).queryForList(ReportRunServiceImpl.REUSABLE_RUN_SQL, Long.class, cacheKey(), "COMPLETED",
+                new Timestamp(NOW), "QUEUED", "RUNNING", new Timestamp(NOW - TimeUnit.SECONDS.toMillis(MAX_RUN_SECONDS)));
+        Mockito.verify(this.jdbcTemplate, Mockito.never()).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        assertEquals(0, this.processed.get());
+    }
+
+    @Test
+    void orderOfTheParametersDoesNotChangeTheCacheKey() {
+        final MultivaluedMap<String, String> params = params("R_officeId", "1");
+        params.putSingle("R_loanOfficerId", "-1");
+        final MultivaluedMap<String, String> reordered = params("R_loanOfficerId", "-1");
+        reordered.putSingle("R_officeId", "1");
+
+        assertEquals(ReportRunServiceImpl.cacheKey("default", REPORT_NAME, REPORT_SQL, ".", params),
+                ReportRunServiceImpl.cacheKey("default", REPORT_NAME, REPORT_SQL, ".", reordered));
+    }
+
+    @Test
+    void refreshRunsTheReportAndCompletesTheRunWithItsResultFile() throws IOException {
+        assertEquals(NEW_RUN_ID, submit(params("R_officeId", "1"), true));
+
+        final ArgumentCaptor<Object> location = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(this.jdbcTemplate, Mockito.timeout(TIMEOUT_MILLIS)).update(eq(ReportRunServiceImpl.COMPLETE_RUN_SQL),
+                eq("COMPLETED"), eq("text/csv"), eq(REPORT_NAME), location.capture(), eq(12L), eq(new Timestamp(NOW)),
+                eq(new Timestamp(NOW + TimeUnit.SECONDS.toMillis(RESULT_TTL_SECONDS))), eq(NEW_RUN_ID));
+        Mockito.verify(this.jdbcTemplate, Mockito.never()).queryForList(eq(ReportRunServiceImpl.REUSABLE_RUN_SQL), eq(Long.class),
+                any(Object[].class));
+        assertEquals("id,name\n1,a\n", Files.readString(Paths.get((String) location.getValue())));
+        assertEquals(1, this.processed.get());
+    }
+
+    @Test
+    void resultFilesOfExpiredRunsArePurged() throws IOException {
+        final Path expiredResult = Files.createFile(this.directory.resolve("3"));
+        Mockito.when(this.jdbcTemplate.queryForList(ReportRunServiceImpl.EXPIRED_RESULTS_SQL, "COMPLETED", new Timestamp(NOW)))
+                .thenReturn(List.of(Map.<String, Object>of("id", 3L, "result_location", expiredResult.toString())));
+
+        submit(params("R_officeId", "1"), false);
+
+        Mockito.verify(this.jdbcTemplate, Mockito.timeout(TIMEOUT_MILLIS)).update(ReportRunServiceImpl.EXPIRE_RESULT_SQL, "EXPIRED", 3L,
+                "COMPLETED");
+        assertFalse(Files.exists(expiredResult));
+    }
+
+    @Test
+    void startupFailsTheRunsThisNodeLeftBehind() {
+        this.service.onApplicationEvent(new ContextRefreshedEvent(Mockito.mock(ApplicationContext.class)));
+
+        Mockito.verify(this.jdbcTemplate).update(eq(ReportRunServiceImpl.FAIL_LEFT_BEHIND_SQL), eq("FAILED"), any(),
+                eq(new Timestamp(NOW)), eq("node-1"), eq("QUEUED"), eq("RUNNING"));
+    }
+
+    @Test
+    void runningRunKeepsItsLeaseAndExpiredLeasesAreFailed() throws InterruptedException {
+        this.blockProcessing = true;
+        submit(params("R_officeId", "1"), false);
+        assertTrue(this.processing.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        this.service.renewLeases();
+        this.service.failExpiredRuns();
+
+        Mockito.verify(this.jdbcTemplate).update(ReportRunServiceImpl.RENEW_LEASE_SQL, LEASE_SECONDS, NEW_RUN_ID, "node-1", "QUEUED",
+                "RUNNING");
+        Mockito.verify(this.jdbcTemplate).update(eq(ReportRunServiceImpl.FAIL_EXPIRED_SQL), eq("FAILED"), any(), eq(new Timestamp(NOW)),
+                eq("QUEUED"), eq("RUNNING"));
+    }
+
+    private ReportRunServiceImpl service() {
+        final ReportingProcessService reportingProcessService = Mockito.mock(ReportingProcessService.class);
+        Mockito.when(reportingProcessService.processRequest(eq(REPORT_NAME), any())).thenAnswer(invocation -> {
+            this.processed.incrementAndGet();
+            this.processing.countDown();
+            if (this.blockProcessing && !this.release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Not released");
+            }
+            return Response.ok("id,name\n1,a\n").header("Content-Type", "text/csv").build();
+        });
+        final ReportingProcessServiceProvider reportingProcessServiceProvider = Mockito.mock(ReportingProcessServiceProvider.class);
+        Mockito.when(reportingProcessServiceProvider.findReportingProcessService("Table")).thenReturn(reportingProcessService);
+        final Office office = Mockito.mock(Office.class);
+        Mockito.when(office.getHierarchy()).thenReturn(".");
+        final AppUser user = Mockito.mock(AppUser.class);
+        Mockito.when(user.getId()).thenReturn(1L);
+        Mockito.when(user.getOffice()).thenReturn(office);
+        final PlatformSecurityContext context = Mockito.mock(PlatformSecurityContext.class);
+        Mockito.when(context.authenticatedUser()).thenReturn(user);
+        final TenantDetailsService tenantDetailsService = Mockito.mock(TenantDetailsService.class);
+        Mockito.when(tenantDetailsService.findAllTenants()).thenReturn(List.of(this.tenant));
+        final MockEnvironment env = new MockEnvironment().withProperty(ReportRunServiceImpl.DIRECTORY_PROPERTY, this.directory.toString())
+                .withProperty(ReportRunServiceImpl.RESULT_TTL_SECONDS_PROPERTY, String.valueOf(RESULT_TTL_SECONDS))
+                .withProperty(ReportRunServiceImpl.LEASE_SECONDS_PROPERTY, String.valueOf(LEASE_SECONDS))
+                .withProperty(ReportRunServiceImpl.MAX_RUN_SECONDS_PROPERTY, String.valueOf(MAX_RUN_SECONDS))
+                .withProperty(JobClusterService.NODE_ID_PROPERTY, "node-1");
+        return new ReportRunServiceImpl(context, reportingProcessServiceProvider, tenantDetailsService, this.jdbcTemplate, env, () -> NOW);
+    }
+
+    private Long submit(final MultivaluedMap<String, String> params, final boolean refresh) {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        try {
+            return this.service.submit(REPORT_NAME, params, false, refresh).getId();
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    private String cacheKey() {
+        return ReportRunServiceImpl.cacheKey(this.tenant.getTenantIdentifier(), REPORT_NAME, "Table\n" + REPORT_SQL, ".",
+                params("R_officeId", "1"));
+    }
+
+    private static ReportRunData run(final Long id, final ReportRunStatus status) {
+        return new ReportRunData(id, REPORT_NAME, status, null, null, null, null, null, null, null, null, null, ".");
+    }
+
+    private static MultivaluedMap<String, String> params(final String name, final String value) {
+        final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
+        params.putSingle(name, value);
+        return params;
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.junit.jupiter.api.Test;
+
+class ContentResourcesTest {
+
+    private static final String CONTENT = "0123456789";
+    private static final String ETAG = "\"v1\"";
+
+    private final FileData fileData = new FileData(ByteSource.wrap(CONTENT.getBytes(StandardCharsets.UTF_8)), "digits.txt", "text/plain")
+            .withETag(ETAG);
+
+    @Test
+    void servesTheWholeContentWithoutRange() throws IOException {
+        final Response response = respond(null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, body(response));
+        assertEquals("10", header(response, "Content-Length"));
+        assertEquals(ETAG, header(response, "ETag"));
+        assertNull(header(response, "Content-Range"));
+    }
+
+    @Test
+    void leavesOutTheContentLengthWhenTheSizeIsUnknown() throws IOException {
+        final ByteSource unsized = new ByteSource() {
+
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        final Response response = ContentResources.fileDataToResponse(new FileData(unsized, "digits.txt", "text/plain"), "inline");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, body(response));
+        assertFalse(response.getMetadata().containsKey("Content-Length"));
+    }
+
+    @Test
+    void servesASingleByteRange() throws IOException {
+        final Response response = respond(null, "bytes=2-4", null);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("234", body(response));
+        assertEquals("bytes 2-4/10", header(response, "Content-Range"));
+        assertEquals("3", header(response, "Content-Length"));
+        assertEquals("bytes", header(response, "Accept-Ranges"));
+    }
+
+    @Test
+    void servesTheLastBytesForASuffixRange() throws IOException {
+        final Response response = respond(null, "bytes=-3", null);
+        assertEquals(206, response.getStatus());
+        assertEquals("789", body(response));
+        assertEquals("bytes 7-9/10", header(response, "Content-Range"));
+
+        final Response longerThanContent = respond(null, "bytes=-20", null);
+        assertEquals(206, longerThanContent.getStatus());
+        assertEquals(CONTENT, body(longerThanContent));
+        assertEquals("bytes 0-9/10", header(longerThanContent, "Content-Range"));
+    }
+
+    @Test
+    void clampsTheEndOfARangeToTheContent() throws IOException {
+        final Response beyondTheEnd = respond(null, "bytes=5-100", null);
+        assertEquals(206, beyondTheEnd.getStatus());
+        assertEquals("56789", body(beyondTheEnd));
+        assertEquals("bytes 5-9/10", header(beyondTheEnd, "Content-Range"));
+
+        final Response openEnded = respond(null, "bytes=5-", null);
+        assertEquals(206, openEnded.getStatus());
+        assertEquals("56789", body(openEnded));
+        assertEquals("bytes 5-9/10", header(openEnded, "Content-Range"));
+    }
+
+    @Test
+    void answersRangeNotSatisfiableForARangeOutsideTheContent() {
+        for (String range : new String[] { "bytes=10-", "bytes=12-15", "bytes=-0", "bytes=6-3" }) {
+            final Response response = respond(null, range, null);
+            assertEquals(416, response.getStatus(), range);
+            assertEquals("bytes */10", header(response, "Content-Range"), range);
+            assertNull(response.getEntity(), range);
+        }
+    }
+
+    @Test
+    void servesTheWholeContentForMalformedOrMultipleRanges() throws IOException {
+        for (String range : new String[] { "bytes=0-1,4-5", "bytes=-", "items=0-1", "bytes=a-b", "bytes=99999999999999999999-" }) {
+            final Response response = respond(null, range, null);
+            assertEquals(200, response.getStatus(), range);
+            assertEquals(CONTENT, body(response), range);
+        }
+    }
+
+    @Test
+    void honoursTheRangeOnlyWhenIfRangeMatchesTheCurrentETag() throws IOException {
+        final Response current = respond(null, "bytes=0-1", ETAG);
+        assertEquals(206, current.getStatus());
+        assertEquals("01", body(current));
+
+        final Response stale = respond(null, "bytes=0-1", "\"v0\"");
+        assertEquals(200, stale.getStatus());
+        assertEquals(CONTENT, body(stale));
+    }
+
+    @Test
+    void answersNotModifiedWhenIfNoneMatchMatches() {
+        for (String ifNoneMatch : new String[] { ETAG, "W/" + ETAG, "*", "\"v0\", " + ETAG, "\"v0\",W/" + ETAG }) {
+            final Response response = respond(ifNoneMatch, "bytes=0-1", null);
+            assertEquals(304, response.getStatus(), ifNoneMatch);
+            assertEquals(ETAG, header(response, "ETag"), ifNoneMatch);
+            assertNull(response.getEntity(), ifNoneMatch);
+        }
+        assertEquals(200, respond("\"v0\"", null, null).getStatus());
+    }
+
+    @Test
+    void matchesETagHandlesWeakTagsWildcardsAndLists() {
+        assertTrue(ContentResources.matchesETag(ETAG, ETAG));
+        assertTrue(ContentResources.matchesETag("W/" + ETAG, ETAG));
+        assertTrue(ContentResources.matchesETag("*", ETAG));
+        assertTrue(ContentResources.matchesETag("W/*", ETAG));
+        assertTrue(ContentResources.matchesETag(" \"a\" , W/\"b\" ," + ETAG, ETAG));
+
+        assertFalse(ContentResources.matchesETag("\"v0\"", ETAG));
+        assertFalse(ContentResources.matchesETag("v1", ETAG));
+        assertFalse(ContentResources.matchesETag("", ETAG));
+        assertFalse(ContentResources.matchesETag(null, ETAG));
+        assertFalse(ContentResources.matchesETag("*", null));
+    }
+
+    @Test
+    void servesARangeOfALocalFile() throws IOException {
+        final Path path = Files.createTempFile("digits", ".txt");
+        try {
+            Files.write(path, CONTENT.getBytes(StandardCharsets.UTF_8));
+            final FileData localFile = new FileData(path.toFile(), "digits.txt", "text/plain").withETag(ETAG);
+
+            final Response range = ContentResources.fileDataToResponse(localFile, "digits.txt", "attachment", null, "bytes=3-6", null);
+            assertEquals(206, range.getStatus());
+            assertEquals("3456", body(range));
+            assertEquals("bytes 3-6/10", header(range, "Content-Range"));
+
+            final Response suffix = ContentResources.fileDataToResponse(localFile, "digits.txt", "attachment", null, "bytes=-2", null);
+            assertEquals("89", body(suffix));
+
+            final Response whole = ContentResources.fileDataToResponse(localFile, "digits.txt", "attachment", null, null, null);
+            assertEquals(200, whole.getStatus());
+            assertEquals(CONTENT, body(whole));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private Response respond(String ifNoneMatch, String range, String ifRange) {
+        return ContentResources.fileDataToResponse(this.fileData, "digits.txt", "inline", ifNoneMatch, range, ifRange);
+    }
+
+    private static String header(Response response, String name) {
+        final Object value = response.getMetadata().getFirst(name);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static String body(Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class ImageRenditionCacheTest {
+
+    // size accounted for a cached rendition of RESIZED_BYTES, including the fixed overhead per entry
+    private static final int RENDITION_BYTES = 256 + 100;
+    private static final byte[] RESIZED = new byte[100];
+
+    private final Map<String, Integer> resizes = new HashMap<>();
+    private final ImageResizer imageResizer = new ImageResizer() {
+
+        @Override
+        public Optional<byte[]> resize(final byte[] image, final String fileName, final Integer maxWidth, final Integer maxHeight) {
+            resizes.merge(fileName, 1, Integer::sum);
+            return fileName.startsWith("small") ? Optional.empty() : Optional.of(RESIZED);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void renditionIsScaledOnceAndTaggedWithItsContent() throws IOException {
+        final ImageRenditionCache cache = cache(10L * RENDITION_BYTES, 300);
+
+        final FileData first = render(cache, 1L, "a.png");
+        final FileData second = render(cache, 1L, "a.png");
+
+        assertEquals(1, resizes.get("a.png"));
+        assertArrayEquals(RESIZED, second.getByteSource().read());
+        assertEquals("\"" + Hashing.sha256().hashBytes(RESIZED) + "\"", first.eTag());
+        assertEquals(first.eTag(), second.eTag());
+    }
+
+    @Test
+    void imageThatAlreadyFitsIsServedAsIs() throws IOException {
+        final ImageRenditionCache cache = cache(10L * RENDITION_BYTES, 300);
+        final FileData image = image("small.png");
+
+        final FileData rendition = cache.render(imageData(1L, "small.png"), image, 100, 100);
+        cache.render(imageData(1L, "small.png"), image, 100, 100);
+
+        assertSame(image.getByteSource(), rendition.getByteSource());
+        assertEquals("\"" + Hashing.sha256().hashBytes(image.getByteSource().read()) + "\"", rendition.eTag());
+        assertEquals(1, resizes.get("small.png"));
+    }
+
+    @Test
+    void leastRecentlyUsedRenditionIsEvictedWhenFull() {
+        final ImageRenditionCache cache = cache(2L * RENDITION_BYTES, 300);
+        render(cache, 1L, "a.png");
+        render(cache, 2L, "b.png");
+        render(cache, 1L, "a.png");
+
+        render(cache, 3L, "c.png");
+        render(cache, 1L, "a.png");
+        render(cache, 2L, "b.png");
+
+        assertEquals(1, resizes.get("a.png"));
+        assertEquals(2, resizes.get("b.png"));
+        assertEquals(1, resizes.get("c.png"));
+    }
+
+    @Test
+    void renditionLargerThanTheCacheIsNotKept() {
+        final ImageRenditionCache cache = cache(RENDITION_BYTES - 1L, 300);
+
+        render(cache, 1L, "a.png");
+        render(cache, 1L, "a.png");
+        render(cache, 2L, "small.png");
+        render(cache, 2L, "small.png");
+
+        assertEquals(2, resizes.get("a.png"));
+        assertEquals(1, resizes.get("small.png"));
+    }
+
+    @Test
+    void invalidationDropsTheRenditionsOfTheImageAndFreesTheirBytes() {
+        final ImageRenditionCache cache = cache(2L * RENDITION_BYTES, 300);
+        render(cache, 1L, "a.png");
+        render(cache, 12L, "b.png");
+
+        cache.invalidate(1L);
+        // fits in the bytes freed by the invalidation, so nothing is evicted
+        render(cache, 3L, "c.png");
+        render(cache, 12L, "b.png");
+        render(cache, 1L, "a.png");
+
+        assertEquals(2, resizes.get("a.png"));
+        assertEquals(1, resizes.get("b.png"));
+    }
+
+    @Test
+    void invalidationTakesEffectOnceTheTransactionCommits() {
+        final ImageRenditionCache cache = cache(10L * RENDITION_BYTES, 300);
+        render(cache, 1L, "a.png");
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        render(cache, 1L, "a.png");
+        assertEquals(1, resizes.get("a.png"));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        render(cache, 1L, "a.png");
+        assertEquals(2, resizes.get("a.png"));
+    }
+
+    @Test
+    void invalidationOnlyAffectsTheCurrentTenant() {
+        final ImageRenditionCache cache = cache(10L * RENDITION_BYTES, 300);
+        render(cache, 1L, "a.png");
+        ThreadLocalContextUtil.setTenant(tenant("other"));
+        render(cache, 1L, "a.png");
+
+        cache.invalidate(1L);
+        render(cache, 1L, "a.png");
+        ThreadLocalContextUtil.setTenant(tenant("default"));
+        render(cache, 1L, "a.png");
+
+        assertEquals(3, resizes.get("a.png"));
+    }
+
+    @Test
+    void expiredRenditionIsScaledAgain() {
+        final ImageRenditionCache cache = cache(10L * RENDITION_BYTES, 0);
+
+        render(cache, 1L, "a.png");
+        render(cache, 1L, "a.png");
+
+        assertEquals(2, resizes.get("a.png"));
+    }
+
+    private ImageRenditionCache cache(final long maxBytes, final int maxAgeSeconds) {
+        final MockEnvironment env = new MockEnvironment().withProperty(ImageRenditionCache.MAX_BYTES_PROPERTY, String.valueOf(maxBytes))
+                .withProperty(ImageRenditionCache.MAX_AGE_SECONDS_PROPERTY, String.valueOf(maxAgeSeconds));
+        return new ImageRenditionCache(this.imageResizer, env);
+    }
+
+    private static FileData render(final ImageRenditionCache cache, final Long imageId, final String location) {
+        return cache.render(imageData(imageId, location), image(location), 100, 100);
+    }
+
+    private static ImageData imageData(final Long imageId, final String location) {
+        return new ImageData(imageId, location, StorageType.FILE_SYSTEM, "Client " + imageId);
+    }
+
+    private static FileData image(final String location) {
+        return new FileData(ByteSource.wrap(new byte[1000]), location, "image/png");
+    }
+
+    private static FineractPlatformTenant tenant(final String identifier) {
+        return new FineractPlatformTenant(1L, identifier, identifier, "UTC", null);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CloseOfBusinessStageTest {
+
+    @Test
+    void dependenciesAreDeclaredBeforeTheirDependents() {
+        for (final CloseOfBusinessStage stage : CloseOfBusinessStage.values()) {
+            for (final CloseOfBusinessStage dependency : stage.getDependencies()) {
+                assertTrue(dependency.ordinal() < stage.ordinal(), stage + " is declared before its dependency " + dependency);
+            }
+        }
+    }
+
+    @Test
+    void criticalPathFollowsTheLatestFinishingDependency() {
+        final Map<CloseOfBusinessStage, Long> finishTimes = new EnumMap<>(CloseOfBusinessStage.class);
+        finishTimes.put(CloseOfBusinessStage.LOAN_SUMMARY, 10L);
+        finishTimes.put(CloseOfBusinessStage.LOAN_ARREARS_AGEING, 20L);
+        finishTimes.put(CloseOfBusinessStage.NON_PERFORMING_ASSETS, 25L);
+        finishTimes.put(CloseOfBusinessStage.LOAN_LOSS_PROVISIONING, 60L);
+        finishTimes.put(CloseOfBusinessStage.PERIODIC_ACCRUALS, 40L);
+        finishTimes.put(CloseOfBusinessStage.ACCOUNTING_RUNNING_BALANCES, 70L);
+        finishTimes.put(CloseOfBusinessStage.TRIAL_BALANCE, 90L);
+
+        assertEquals(Arrays.asList(CloseOfBusinessStage.LOAN_SUMMARY, CloseOfBusinessStage.LOAN_ARREARS_AGEING,
+                CloseOfBusinessStage.LOAN_LOSS_PROVISIONING, CloseOfBusinessStage.TRIAL_BALANCE),
+                CloseOfBusinessStage.criticalPath(finishTimes));
+    }
+
+    @Test
+    void criticalPathIgnoresStagesThatDidNotRun() {
+        final Map<CloseOfBusinessStage, Long> finishTimes = new EnumMap<>(CloseOfBusinessStage.class);
+        finishTimes.put(CloseOfBusinessStage.LOAN_SUMMARY, 10L);
+
+        assertEquals(Arrays.asList(CloseOfBusinessStage.LOAN_SUMMARY), CloseOfBusinessStage.criticalPath(finishTimes));
+        assertTrue(CloseOfBusinessStage.criticalPath(new EnumMap<>(CloseOfBusinessStage.class)).isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+@ExtendWith(MockitoExtension.class)
+class JobStepExecutionServiceImplTest {
+
+    private static final JobName JOB = JobName.ADD_ACCRUAL_ENTRIES;
+    private static final long EXECUTION_ID = 9L;
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final JobStepExecutionServiceImpl service = new JobStepExecutionServiceImpl(this.jdbcTemplate,
+            new MockEnvironment().withProperty(JobStepExecutionService.CHUNK_SIZE_PROPERTY, "2"));
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void unfinishedExecutionResumesAfterTheLastCommittedId() throws Exception {
+        final RecordingStep step = new RecordingStep(1L, 2L, 3L, 4L, 5L);
+        existingExecution("FAILED", 3L);
+
+        this.service.execute(JOB, step);
+
+        assertEquals(Arrays.asList(3L, 5L), step.reads);
+        assertEquals(Arrays.asList(4L, 5L), step.processed);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.RESUME_EXECUTION_SQL, "STARTED", EXECUTION_ID);
+        Mockito.verify(this.jdbcTemplate, Mockito.never()).update(eq(JobStepExecutionServiceImpl.RESET_EXECUTION_SQL),
+                any(Object[].class));
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.COMMIT_CHUNK_SQL, 5L, 2, 2, 0, EXECUTION_ID);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.FINISH_EXECUTION_SQL, "COMPLETED", EXECUTION_ID);
+    }
+
+    @Test
+    void completedExecutionIsResetAndProcessesEverythingOnTheNextRun() throws Exception {
+        final RecordingStep step = new RecordingStep(1L, 2L, 3L);
+        existingExecution("COMPLETED", null);
+
+        this.service.execute(JOB, step);
+
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.RESET_EXECUTION_SQL, "STARTED", EXECUTION_ID);
+        assertEquals(Arrays.asList(null, 2L, 3L), step.reads);
+        assertEquals(Arrays.asList(1L, 2L, 3L), step.processed);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.COMMIT_CHUNK_SQL, 2L, 2, 2, 0, EXECUTION_ID);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.COMMIT_CHUNK_SQL, 3L, 1, 1, 0, EXECUTION_ID);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.FINISH_EXECUTION_SQL, "COMPLETED", EXECUTION_ID);
+    }
+
+    @Test
+    void readerReturningAnAlreadyCommittedIdFailsTheExecution() {
+        final RecordingStep step = new RecordingStep(1L, 2L, 3L) {
+
+            @Override
+            public List<Long> read(final Long lastCommittedId, final int chunkSize) {
+                return Collections.singletonList(2L);
+            }
+        };
+        existingExecution("STARTED", 3L);
+
+        assertThrows(IllegalStateException.class, () -> this.service.execute(JOB, step));
+
+        assertEquals(Collections.emptyList(), step.processed);
+        Mockito.verify(this.jdbcTemplate).update(JobStepExecutionServiceImpl.FINISH_EXECUTION_SQL, "FAILED", EXECUTION_ID);
+    }
+
+    private void existingExecution(final String status, final Long lastCommittedId) {
+        final Map<String, Object> execution = new HashMap<>();
+        execution.put("id", EXECUTION_ID);
+        execution.put("status", status);
+        Mockito.when(this.jdbcTemplate.queryForList(eq(JobStepExecutionServiceImpl.EXECUTION_SQL), eq(JOB.toString()), eq("step"),
+                any(Date.class))).thenReturn(Collections.singletonList(execution));
+        Mockito.when(this.jdbcTemplate.queryForObject(JobStepExecutionServiceImpl.LAST_COMMITTED_ID_SQL, Long.class, EXECUTION_ID))
+                .thenReturn(lastCommittedId);
+    }
+
+    private static class RecordingStep implements ChunkedJobStep {
+
+        private final List<Long> ids;
+        private final List<Long> reads = new ArrayList<>();
+        private final List<Long> processed = new ArrayList<>();
+
+        RecordingStep(final Long... ids) {
+            this.ids = Arrays.asList(ids);
+        }
+
+        @Override
+        public String name() {
+            return "step";
+        }
+
+        @Override
+        public List<Long> read(final Long lastCommittedId, final int chunkSize) {
+            this.reads.add(lastCommittedId);
+            return this.ids.stream().filter(id -> lastCommittedId == null || id > lastCommittedId).limit(chunkSize)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public void process(final Long id) {
+            this.processed.add(id);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class SmsMessageDispatcherTest {
+
+    private RecordingDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    void triggeredBatchesOvertakeQueuedCampaignBatches() throws Exception {
+        dispatcher = new RecordingDispatcher(1, 1, 1000, 5);
+        dispatcher.blockFirstBatch = true;
+
+        dispatcher.dispatch(SmsDispatchLane.CAMPAIGN, messages(1L, 1L));
+        assertTrue(dispatcher.firstBatchStarted.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(SmsDispatchLane.CAMPAIGN, messages(1L, 2L, 3L));
+        dispatcher.dispatch(SmsDispatchLane.TRIGGERED, messages(1L, 4L, 5L));
+        dispatcher.releaseFirstBatch.countDown();
+
+        assertTrue(dispatcher.allSent.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 4L, 5L, 2L, 3L), dispatcher.sentIds);
+    }
+
+    @Test
+    void batchesOfALaneKeepTheirSubmissionOrder() throws Exception {
+        dispatcher = new RecordingDispatcher(1, 2, 1000, 6);
+
+        dispatcher.dispatch(SmsDispatchLane.TRIGGERED, messages(1L, 1L, 2L, 3L, 4L, 5L, 6L));
+
+        assertTrue(dispatcher.allSent.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), dispatcher.sentIds);
+    }
+
+    @Test
+    void messagesAreSentAtTheRateOfTheProvider() throws Exception {
+        // 4 batches of 10 messages at 20 messages per second: the last batch can't leave before 1.5 seconds
+        dispatcher = new RecordingDispatcher(4, 10, 20, 40);
+        final List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            ids.add(id);
+        }
+        final long start = System.nanoTime();
+
+        dispatcher.dispatch(SmsDispatchLane.CAMPAIGN, messages(1L, ids.toArray(new Long[0])));
+
+        assertTrue(dispatcher.allSent.await(10, TimeUnit.SECONDS));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 1200, "sent 40 messages in " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void throttledProviderDoesNotHoldBackOtherProviders() throws Exception {
+        dispatcher = new RecordingDispatcher(1, 10, 10, 50);
+        final List<SmsMessageApiQueueResourceData> messages = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            messages.addAll(messages(1L, id));
+        }
+        messages.addAll(messages(2L, 100L, 101L, 102L, 103L, 104L, 105L, 106L, 107L, 108L, 109L));
+        final long start = System.nanoTime();
+
+        dispatcher.dispatch(SmsDispatchLane.CAMPAIGN, messages);
+
+        assertTrue(dispatcher.allSent.await(10, TimeUnit.SECONDS));
+        final long providerTwoMillis = TimeUnit.NANOSECONDS.toMillis(dispatcher.sentAtNanos.get(100L) - start);
+        final long providerOneMillis = TimeUnit.NANOSECONDS.toMillis(dispatcher.sentAtNanos.get(40L) - start);
+        assertTrue(providerTwoMillis < 1000, "provider 2 waited " + providerTwoMillis + " ms");
+        assertTrue(providerOneMillis >= 2500, "provider 1 sent 40 messages in " + providerOneMillis + " ms");
+    }
+
+    private static List<SmsMessageApiQueueResourceData> messages(final Long providerId, final Long... ids) {
+        final List<SmsMessageApiQueueResourceData> messages = new ArrayList<>();
+        for (final Long id : ids) {
+            messages.add(SmsMessageApiQueueResourceData.instance(id, "default", null, null, "+100" + id, "message " + id, providerId));
+        }
+        return messages;
+    }
+
+    /**
+     * Records the ids of the messages instead of posting them to the gateway.
+     **/
+    private static final class RecordingDispatcher extends SmsMessageDispatcher {
+
+        private final List<Long> sentIds = new ArrayList<>();
+        private final Map<Long, Long> sentAtNanos = new ConcurrentHashMap<>();
+        private final CountDownLatch allSent;
+        private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        private volatile boolean blockFirstBatch;
+
+        RecordingDispatcher(final int poolSize, final int batchSize, final double messagesPerSecond, final int expectedMessages) {
+            super(null, new MockEnvironment().withProperty("fineract.sms.dispatch.threads-per-provider", String.valueOf(poolSize))
+                    .withProperty("fineract.sms.dispatch.batch-size", String.valueOf(batchSize))
+                    .withProperty("fineract.sms.dispatch.messages-per-second", String.valueOf(messagesPerSecond)));
+            this.allSent = new CountDownLatch(expectedMessages);
+        }
+
+        @Override
+        void connectAndSendToIntermediateServer(final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+            if (this.blockFirstBatch) {
+                this.blockFirstBatch = false;
+                this.firstBatchStarted.countDown();
+                try {
+                    this.releaseFirstBatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (final SmsMessageApiQueueResourceData apiQueueResourceData : apiQueueResourceDatas) {
+                this.sentAtNanos.put(apiQueueResourceData.getInternalId(), System.nanoTime());
+                synchronized (this.sentIds) {
+                    this.sentIds.add(apiQueueResourceData.getInternalId());
+                }
+                this.allSent.countDown();
+            }
+        }
+    }
+}
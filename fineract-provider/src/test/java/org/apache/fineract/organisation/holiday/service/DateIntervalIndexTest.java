@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DateIntervalIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2020, 1, 1);
+
+    @Test
+    void answersForNestedAndOverlappingIntervals() {
+        final DateIntervalIndex<String> index = DateIntervalIndex.<String>builder().add(day(10), day(12), "short")
+                .add(day(1), day(30), "long").add(day(11), day(11), "single").add(day(40), day(41), "later").build();
+
+        assertTrue(index.contains(day(11)));
+        assertTrue(index.contains(day(20)));
+        assertFalse(index.contains(day(35)));
+        assertEquals(List.of("long", "later"), index.endingOnOrAfter(day(30)));
+        assertEquals(List.of("later"), index.endingOnOrAfter(day(31)));
+        assertTrue(index.contains(day(30)));
+        assertFalse(index.contains(day(31)));
+    }
+
+    @Test
+    void matchesLinearScan() {
+        final Random random = new Random(42);
+        final List<int[]> intervals = new ArrayList<>();
+        final DateIntervalIndex.Builder<Integer> builder = DateIntervalIndex.builder();
+        for (int i = 0; i < 200; i++) {
+            final int start = random.nextInt(365);
+            final int end = start + random.nextInt(20);
+            intervals.add(new int[] { start, end });
+            builder.add(day(start), day(end), i);
+        }
+        final DateIntervalIndex<Integer> index = builder.build();
+
+        for (int date = -5; date < 400; date++) {
+            boolean covered = false;
+            final List<Integer> ending = new ArrayList<>();
+            for (int i = 0; i < intervals.size(); i++) {
+                covered |= intervals.get(i)[0] <= date && date <= intervals.get(i)[1];
+                if (date <= intervals.get(i)[1]) {
+                    ending.add(i);
+                }
+            }
+            final List<Integer> actualEnding = new ArrayList<>(index.endingOnOrAfter(day(date)));
+            actualEnding.sort(null);
+            assertEquals(covered, index.contains(day(date)), "date offset " + date);
+            assertEquals(ending, actualEnding, "date offset " + date);
+        }
+    }
+
+    private static LocalDate day(final int offset) {
+        return BASE.plusDays(offset);
+    }
+}
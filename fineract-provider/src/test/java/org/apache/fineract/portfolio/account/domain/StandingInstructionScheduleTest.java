@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.junit.jupiter.api.Test;
+
+class StandingInstructionScheduleTest {
+
+    @Test
+    void testMonthlyFirstExecutionDateIsNextRecurrenceDay() {
+        assertEquals(LocalDate.of(2021, 1, 15),
+                StandingInstructionSchedule.firstExecutionDate(PeriodFrequencyType.MONTHS, LocalDate.of(2021, 1, 10), 15, null));
+        assertEquals(LocalDate.of(2021, 2, 5),
+                StandingInstructionSchedule.firstExecutionDate(PeriodFrequencyType.MONTHS, LocalDate.of(2021, 1, 10), 5, null));
+    }
+
+    @Test
+    void testFirstExecutionDateIsClampedToShorterMonths() {
+        assertEquals(LocalDate.of(2021, 4, 30),
+                StandingInstructionSchedule.firstExecutionDate(PeriodFrequencyType.MONTHS, LocalDate.of(2021, 4, 10), 31, null));
+    }
+
+    @Test
+    void testYearlyFirstExecutionDate() {
+        assertEquals(LocalDate.of(2022, 3, 1),
+                StandingInstructionSchedule.firstExecutionDate(PeriodFrequencyType.YEARS, LocalDate.of(2021, 6, 1), 1, 3));
+    }
+
+    @Test
+    void testNextExecutionDateBeforeFirstExecutionDate() {
+        final LocalDate first = LocalDate.of(2021, 1, 4);
+        assertEquals(first, StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.DAYS, 3, first, LocalDate.of(2020, 12, 1)));
+    }
+
+    @Test
+    void testNextExecutionDateOnScheduledDate() {
+        final LocalDate first = LocalDate.of(2021, 1, 4);
+        assertEquals(LocalDate.of(2021, 1, 10),
+                StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.DAYS, 3, first, LocalDate.of(2021, 1, 10)));
+        assertEquals(LocalDate.of(2021, 1, 13),
+                StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.DAYS, 3, first, LocalDate.of(2021, 1, 11)));
+    }
+
+    @Test
+    void testNextExecutionDateWeekly() {
+        final LocalDate first = LocalDate.of(2021, 1, 4);
+        assertEquals(LocalDate.of(2021, 1, 18),
+                StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.WEEKS, 2, first, LocalDate.of(2021, 1, 12)));
+    }
+
+    @Test
+    void testNextExecutionDateSkipsClampedMonths() {
+        final LocalDate first = LocalDate.of(2021, 1, 31);
+        assertEquals(LocalDate.of(2021, 3, 31),
+                StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.MONTHS, 1, first, LocalDate.of(2021, 2, 1)));
+    }
+
+    @Test
+    void testNextExecutionDateWithoutSchedule() {
+        final LocalDate first = LocalDate.of(2021, 1, 4);
+        assertNull(StandingInstructionSchedule.nextExecutionDate(PeriodFrequencyType.WHOLE_TERM, 1, first, LocalDate.of(2021, 2, 1)));
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.fortuna.ical4j.model.Date;
+import net.fortuna.ical4j.model.DateList;
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.parameter.Value;
+import org.junit.jupiter.api.Test;
+
+class CompiledRecurrenceTest {
+
+    static {
+        System.setProperty("net.fortuna.ical4j.timezone.date.floating", "true");
+    }
+
+    private static final List<LocalDate> SEED_DATES = Arrays.asList(LocalDate.of(2019, 1, 7), LocalDate.of(2020, 2, 12),
+            LocalDate.of(2021, 3, 28), LocalDate.of(2020, 8, 31));
+
+    private static final List<String> RULES = Arrays.asList("FREQ=DAILY;INTERVAL=1", "FREQ=DAILY;INTERVAL=3", "FREQ=WEEKLY;INTERVAL=1",
+            "FREQ=WEEKLY;INTERVAL=2;BYDAY=%s", "FREQ=MONTHLY;INTERVAL=1", "FREQ=MONTHLY;INTERVAL=2",
+            "FREQ=MONTHLY;INTERVAL=1;BYMONTHDAY=15", "FREQ=MONTHLY;INTERVAL=1;BYMONTHDAY=-1", "FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=31",
+            "FREQ=MONTHLY;INTERVAL=1;BYDAY=2MO", "FREQ=MONTHLY;INTERVAL=1;BYDAY=-1FR", "FREQ=MONTHLY;INTERVAL=2;BYDAY=TH;BYSETPOS=3",
+            "FREQ=MONTHLY;INTERVAL=1;BYDAY=5WE", "FREQ=YEARLY;INTERVAL=1");
+
+    @Test
+    void testNextOccurrenceMatchesICal4j() throws ParseException {
+        for (final LocalDate seedDate : SEED_DATES) {
+            for (final String rule : RULES) {
+                final CompiledRecurrence recurrence = CompiledRecurrence.of(String.format(rule, dayOf(seedDate)));
+                if (!recurrence.supports(seedDate)) {
+                    continue;
+                }
+                for (LocalDate date = seedDate.minusDays(10); date.isBefore(seedDate.plusDays(500)); date = date.plusDays(3)) {
+                    final Date next = recurrence.getRecur().getNextDate(toICal4jDate(seedDate), toICal4jDateTime(date));
+                    assertEquals(next == null ? null : toLocalDate(next), recurrence.nextOccurrenceAfter(seedDate, date),
+                            rule + " seeded " + seedDate + " after " + date);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOccurrencesBetweenMatchICal4j() throws ParseException {
+        for (final LocalDate seedDate : SEED_DATES) {
+            for (final String rule : RULES) {
+                final CompiledRecurrence recurrence = CompiledRecurrence.of(String.format(rule, dayOf(seedDate)));
+                if (!recurrence.supports(seedDate)) {
+                    continue;
+                }
+                final LocalDate periodStartDate = seedDate.plusDays(40);
+                final LocalDate periodEndDate = seedDate.plusYears(2);
+                final DateList dates = recurrence.getRecur().getDates(toICal4jDate(seedDate), toICal4jDateTime(periodStartDate),
+                        toICal4jDateTime(periodEndDate), new Value(Value.DATE.getValue()), 10);
+                final List<LocalDate> expected = new ArrayList<>();
+                for (final Object date : dates) {
+                    expected.add(toLocalDate((Date) date));
+                }
+                assertEquals(expected, recurrence.occurrencesBetween(seedDate, periodStartDate, periodEndDate, 10),
+                        rule + " seeded " + seedDate);
+            }
+        }
+    }
+
+    @Test
+    void testRulesAreCompiledOnce() {
+        assertSame(CompiledRecurrence.of("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO"), CompiledRecurrence.of("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO"));
+        assertNull(CompiledRecurrence.of("FREQ=SOMETIMES"));
+    }
+
+    @Test
+    void testRulesOutsideTheNativeShapesAreLeftToICal4j() {
+        final LocalDate seedDate = LocalDate.of(2021, 1, 4);
+        assertFalse(CompiledRecurrence.of("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TH").supports(seedDate));
+        assertFalse(CompiledRecurrence.of("FREQ=WEEKLY;INTERVAL=2;BYDAY=TH").supports(seedDate));
+        assertFalse(CompiledRecurrence.of("FREQ=DAILY;INTERVAL=1;COUNT=10").supports(seedDate));
+        assertFalse(CompiledRecurrence.of("FREQ=MONTHLY;INTERVAL=1").supports(LocalDate.of(2021, 1, 31)));
+        assertTrue(CompiledRecurrence.of("FREQ=MONTHLY;INTERVAL=1").supports(seedDate));
+    }
+
+    private static String dayOf(final LocalDate date) {
+        return date.getDayOfWeek().name().substring(0, 2);
+    }
+
+    private static Date toICal4jDate(final LocalDate date) throws ParseException {
+        return new Date(date.toString(), "yyyy-MM-dd");
+    }
+
+    private static DateTime toICal4jDateTime(final LocalDate date) {
+        return new DateTime(java.util.Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    private static LocalDate toLocalDate(final java.util.Date date) {
+        return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
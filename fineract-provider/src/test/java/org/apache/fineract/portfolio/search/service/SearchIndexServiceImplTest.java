@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
+import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
+import org.apache.fineract.portfolio.common.service.BusinessEventListener;
+import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceImplTest {
+
+    private BusinessEventNotifierService businessEventNotifierService;
+    private ConfigurationDomainService configurationDomainService;
+    private SearchIndexWriter searchIndexWriter;
+    private SearchIndexServiceImpl searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        businessEventNotifierService = Mockito.mock(BusinessEventNotifierService.class);
+        configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+        searchIndexWriter = Mockito.mock(SearchIndexWriter.class);
+        searchIndexService = new SearchIndexServiceImpl(Mockito.mock(RoutingDataSource.class), businessEventNotifierService,
+                configurationDomainService, searchIndexWriter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuildWalksAllChunksOfEveryEntityType() throws Exception {
+        Mockito.when(searchIndexWriter.rebuildChunk(Mockito.any(SearchIndexEntityType.class), Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(500L);
+        Mockito.when(searchIndexWriter.rebuildChunk(Mockito.any(SearchIndexEntityType.class), Mockito.eq(500L), Mockito.anyInt()))
+                .thenReturn(1000L);
+        Mockito.when(searchIndexWriter.rebuildChunk(Mockito.any(SearchIndexEntityType.class), Mockito.eq(1000L), Mockito.anyInt()))
+                .thenReturn(null);
+
+        searchIndexService.rebuildSearchIndex();
+
+        for (final SearchIndexEntityType entityType : SearchIndexEntityType.values()) {
+            Mockito.verify(searchIndexWriter).rebuildChunk(Mockito.eq(entityType), Mockito.eq(0L), Mockito.anyInt());
+            Mockito.verify(searchIndexWriter).rebuildChunk(Mockito.eq(entityType), Mockito.eq(500L), Mockito.anyInt());
+            Mockito.verify(searchIndexWriter).rebuildChunk(Mockito.eq(entityType), Mockito.eq(1000L), Mockito.anyInt());
+        }
+        Mockito.verifyNoMoreInteractions(searchIndexWriter);
+    }
+
+    @Test
+    void testUpdatedClientIsReindexedAfterCommit() {
+        Mockito.when(configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+        final BusinessEventListener listener = listenerFor(BusinessEvents.CLIENTS_UPDATE);
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.businessEventWasExecuted(entityMap(BusinessEntity.CLIENT, CommandProcessingResult.resourceResult(7L, null)));
+
+        Mockito.verifyNoInteractions(searchIndexWriter);
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        Mockito.verify(searchIndexWriter).reindex(SearchIndexEntityType.CLIENT, 7L);
+    }
+
+    @Test
+    void testTransferredClientIsReindexedWithItsAccounts() {
+        Mockito.when(configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+
+        listenerFor(BusinessEvents.CLIENTS_TRANSFER)
+                .businessEventWasExecuted(entityMap(BusinessEntity.CLIENT, CommandProcessingResult.resourceResult(7L, null)));
+
+        Mockito.verify(searchIndexWriter).reindexClient(7L);
+        Mockito.verifyNoMoreInteractions(searchIndexWriter);
+    }
+
+    @Test
+    void testChangedIdentifierIsReindexed() {
+        Mockito.when(configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+
+        listenerFor(BusinessEvents.CLIENT_IDENTIFIER_DELETE)
+                .businessEventWasExecuted(entityMap(BusinessEntity.CLIENT_IDENTIFIER, CommandProcessingResult.resourceResult(3L, null)));
+
+        Mockito.verify(searchIndexWriter).reindex(SearchIndexEntityType.CLIENTIDENTIFIER, 3L);
+    }
+
+    @Test
+    void testNothingIsReindexedWhileTheIndexIsDisabled() {
+        Mockito.when(configurationDomainService.isSearchIndexEnabled()).thenReturn(false);
+
+        listenerFor(BusinessEvents.CLIENTS_UPDATE)
+                .businessEventWasExecuted(entityMap(BusinessEntity.CLIENT, CommandProcessingResult.resourceResult(7L, null)));
+
+        Mockito.verifyNoInteractions(searchIndexWriter);
+    }
+
+    @Test
+    void testReindexFailureDoesNotFailTheBusinessOperation() {
+        Mockito.when(configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+        Mockito.doThrow(new IllegalStateException("index unavailable")).when(searchIndexWriter).reindex(SearchIndexEntityType.GROUP, 2L);
+
+        listenerFor(BusinessEvents.GROUPS_UPDATE)
+                .businessEventWasExecuted(entityMap(BusinessEntity.GROUP, CommandProcessingResult.resourceResult(2L, null)));
+
+        Mockito.verify(searchIndexWriter).reindex(SearchIndexEntityType.GROUP, 2L);
+    }
+
+    private BusinessEventListener listenerFor(final BusinessEvents businessEvent) {
+        searchIndexService.addListeners();
+        final ArgumentCaptor<BusinessEventListener> listener = ArgumentCaptor.forClass(BusinessEventListener.class);
+        Mockito.verify(businessEventNotifierService, Mockito.atLeastOnce()).addBusinessEventPostListeners(Mockito.eq(businessEvent),
+                listener.capture());
+        assertEquals(1, listener.getAllValues().size());
+        return listener.getValue();
+    }
+
+    private static Map<BusinessEntity, Object> entityMap(final BusinessEntity businessEntity, final Object entity) {
+        final Map<BusinessEntity, Object> map = new HashMap<>();
+        map.put(businessEntity, entity);
+        return map;
+    }
+
+    @Test
+    void testPrefixIsFuzzyMatch() {
+        assertTrue(SearchIndexServiceImpl.isFuzzyMatch("joh", "johnson"));
+    }
+
+    @Test
+    void testSingleTypoIsFuzzyMatch() {
+        assertTrue(SearchIndexServiceImpl.isFuzzyMatch("jon", "john"));
+        assertTrue(SearchIndexServiceImpl.isFuzzyMatch("jon", "johnson"));
+    }
+
+    @Test
+    void testLongerQueriesAllowTwoEdits() {
+        assertTrue(SearchIndexServiceImpl.isFuzzyMatch("mohamed", "muhammed"));
+        assertFalse(SearchIndexServiceImpl.isFuzzyMatch("mohamed", "michael"));
+    }
+
+    @Test
+    void testDistantKeyIsNotFuzzyMatch() {
+        assertFalse(SearchIndexServiceImpl.isFuzzyMatch("john", "jane"));
+        assertFalse(SearchIndexServiceImpl.isFuzzyMatch("peter", "paula"));
+    }
+}
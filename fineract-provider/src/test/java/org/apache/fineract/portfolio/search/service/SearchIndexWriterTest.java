@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+import org.apache.fineract.portfolio.search.service.SearchIndexWriter.KeyType;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexWriterTest {
+
+    @Test
+    void valuesAreIndexedWithAllTheirSuffixes() {
+        final Map<String, KeyType> keys = SearchIndexWriter.indexKeys(null, "000123");
+
+        assertEquals(KeyType.VALUE, keys.get("000123"));
+        assertEquals(KeyType.SUFFIX, keys.get("00123"));
+        assertEquals(KeyType.SUFFIX, keys.get("123"));
+        assertEquals(KeyType.SUFFIX, keys.get("3"));
+        assertEquals(6, keys.size());
+    }
+
+    @Test
+    void nameIsIndexedAsValueWordsAndSuffixes() {
+        final Map<String, KeyType> keys = SearchIndexWriter.indexKeys("John  Smith", "ext-1");
+
+        assertEquals(KeyType.VALUE, keys.get("john  smith"));
+        assertEquals(KeyType.WORD, keys.get("john"));
+        assertEquals(KeyType.WORD, keys.get("smith"));
+        assertEquals(KeyType.SUFFIX, keys.get("ohn  smith"));
+        assertEquals(KeyType.SUFFIX, keys.get("mith"));
+        assertEquals(KeyType.VALUE, keys.get("ext-1"));
+        // queries are trimmed, so suffixes starting with whitespace could never match
+        assertFalse(keys.containsKey(" smith"));
+        assertFalse(keys.containsKey("  smith"));
+    }
+
+    @Test
+    void valueWinsOverWordAndWordOverSuffix() {
+        final Map<String, KeyType> keys = SearchIndexWriter.indexKeys("Ann", "ann", "joann");
+
+        assertEquals(KeyType.VALUE, keys.get("ann"));
+        assertEquals(KeyType.VALUE, keys.get("joann"));
+        assertEquals(KeyType.SUFFIX, keys.get("oann"));
+
+        assertEquals(KeyType.WORD, SearchIndexWriter.indexKeys("Mary Ann", "joann").get("ann"));
+    }
+
+    @Test
+    void blankValuesAreNotIndexed() {
+        assertEquals(0, SearchIndexWriter.indexKeys(" ", null, "", "\t").size());
+    }
+
+    @Test
+    void normalizeTrimsLowerCasesAndTruncates() {
+        assertEquals("john smith", SearchIndexWriter.normalize("  John SMITH "));
+        assertNull(SearchIndexWriter.normalize("   "));
+        assertNull(SearchIndexWriter.normalize(null));
+        assertEquals(SearchIndexWriter.MAX_KEY_LENGTH, SearchIndexWriter.normalize("x".repeat(300)).length());
+    }
+}
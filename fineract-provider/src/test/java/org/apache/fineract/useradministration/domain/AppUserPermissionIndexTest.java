@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AppUserPermissionIndexTest {
+
+    @Test
+    void testExplicitPermissions() {
+        final Role role = new Role("Teller", "Teller");
+        role.updatePermission(new Permission("portfolio", "LOAN", "REPAYMENTINPAST"), true);
+        role.updatePermission(new Permission("portfolio", "CLIENT", "READ"), true);
+
+        final AppUserPermissionIndex index = AppUserPermissionIndex.fromRoles(List.of(role));
+
+        assertTrue(index.hasPermissionTo("REPAYMENTINPAST_LOAN"));
+        assertTrue(index.hasPermissionTo("read_client"));
+        assertFalse(index.hasPermissionTo("DISBURSEINPAST_LOAN"));
+        assertFalse(index.hasPermissionTo("READ_SOME_UNKNOWN_REPORT"));
+        assertFalse(index.hasAllFunctionsPermission());
+    }
+
+    @Test
+    void testAllFunctionsGrantsEverythingButNotSpecificPermissions() {
+        final Role admin = new Role("Admin", "Admin");
+        admin.updatePermission(new Permission("special", "FUNCTIONS", "ALL"), true);
+        final Role checker = new Role("Checker", "Checker");
+        checker.updatePermission(new Permission("special", "TWOFACTOR_AUTHENTICATION", "BYPASS"), true);
+
+        final AppUserPermissionIndex index = AppUserPermissionIndex.fromRoles(List.of(admin, checker));
+
+        assertTrue(index.hasAllFunctionsPermission());
+        assertTrue(index.hasPermissionTo("DISBURSEINPAST_LOAN"));
+        assertTrue(index.hasSpecificPermissionTo("BYPASS_TWOFACTOR_AUTHENTICATION"));
+        assertFalse(index.hasSpecificPermissionTo("DISBURSEINPAST_LOAN"));
+    }
+
+    @Test
+    void testNoRoles() {
+        final AppUserPermissionIndex index = AppUserPermissionIndex.fromRoles(null);
+
+        assertFalse(index.hasPermissionTo("ALL_FUNCTIONS"));
+        assertFalse(index.hasPermissionTo(null));
+    }
+}
@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterService;
+import org.apache.fineract.infrastructure.jobs.service.JobClusterServiceImpl;
+import org.apache.fineract.infrastructure.jobs.service.ShardedJobWork;
+import org.apache.fineract.integrationtests.common.TenantDatabaseHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs several {@link JobClusterServiceImpl} nodes against the job_cluster_run and job_cluster_shard tables of the
+ * default tenant, so that claims and lease take-overs are decided by the database as they are in production.
+ */
+public class JobClusterIntegrationTest {
+
+    private static final String JOB_NAME = "Post Interest For Savings";
+    private static final int LEASE_SECONDS = 30;
+
+    private final JdbcTemplate jdbcTemplate = TenantDatabaseHelper.jdbcTemplate();
+    private final List<JobClusterServiceImpl> nodes = new ArrayList<>();
+    private String jobKey;
+    private Long jobId;
+    private Date fireTime;
+
+    @BeforeEach
+    public void setup() {
+        final Map<String, Object> job = this.jdbcTemplate.queryForMap("select id, job_key from job where name = ?", JOB_NAME);
+        this.jobId = ((Number) job.get("id")).longValue();
+        this.jobKey = (String) job.get("job_key");
+        assertNotNull(this.jobKey, "the scheduler has not registered job " + JOB_NAME);
+        // a fire time far in the past cannot collide with runs of the scheduler of the server under test
+        this.fireTime = new Date(TimeUnit.SECONDS.toMillis(1_000_000_000L + Math.floorMod(System.nanoTime(), 1_000_000L)));
+        deleteRun();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.nodes.forEach(JobClusterServiceImpl::shutdown);
+        deleteRun();
+    }
+
+    @Test
+    public void firstNodeCoordinatesTheRunAndProcessesAllShards() throws JobExecutionException {
+        final RecordingWork work = new RecordingWork(5);
+
+        assertFalse(runOn(node("a"), work));
+
+        assertEquals(List.of("1-2", "3-4", "5-5"), work.processedRanges);
+        assertEquals("COMPLETED", runColumn("status"));
+        assertEquals("a", runColumn("coordinator_node"));
+        assertEquals(List.of("DONE", "DONE", "DONE"), shardColumn("status"));
+    }
+
+    @Test
+    public void laterNodeJoinsTheRunWithoutPlanningIt() throws JobExecutionException {
+        runOn(node("a"), new RecordingWork(5));
+        final RecordingWork work = new RecordingWork(5);
+
+        assertTrue(runOn(node("b"), work));
+
+        assertEquals(0, work.findIdsCalls);
+        assertTrue(work.processedRanges.isEmpty());
+        assertEquals(1, this.jdbcTemplate.queryForObject(
+                "select count(*) from job_cluster_run where job_id = ? and scheduled_fire_time = ?", Integer.class, this.jobId,
+                scheduledFireTime()));
+    }
+
+    @Test
+    public void claimedShardIsNotProcessedByAnotherNode() throws Exception {
+        final JobClusterServiceImpl nodeB = node("b");
+        final RecordingWork workB = new RecordingWork(5);
+        final AtomicReference<Throwable> failureOfB = new AtomicReference<>();
+        final RecordingWork workA = new RecordingWork(5) {
+
+            @Override
+            public List<Throwable> processRange(final long fromId, final long toId) {
+                if (fromId == 1L) {
+                    // node b joins while node a holds the lease of the first shard
+                    final Thread thread = new Thread(() -> {
+                        try {
+                            runOn(nodeB, workB);
+                        } catch (final JobExecutionException | RuntimeException e) {
+                            failureOfB.set(e);
+                        }
+                    });
+                    thread.start();
+                    try {
+                        thread.join(TimeUnit.SECONDS.toMillis(60));
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.processRange(fromId, toId);
+            }
+        };
+
+        runOn(node("a"), workA);
+
+        assertNull(failureOfB.get());
+        assertEquals(List.of("1-2"), workA.processedRanges);
+        assertEquals(List.of("3-4", "5-5"), workB.processedRanges);
+        assertEquals(List.of("a", "b", "b"), shardColumn("node_id"));
+        assertEquals("COMPLETED", runColumn("status"));
+    }
+
+    @Test
+    public void shardOfNodeWhoseLeaseExpiredIsTakenOver() throws JobExecutionException {
+        final long runId = insertRun("gone", "RUNNING", 60);
+        insertShard(runId, 1, 1L, 2L, "gone", -1);
+        insertShard(runId, 2, 3L, 4L, "busy", 60);
+        final RecordingWork work = new RecordingWork(4);
+
+        assertTrue(runOn(node("b"), work));
+
+        assertEquals(List.of("1-2"), work.processedRanges);
+        assertEquals(List.of("DONE", "RUNNING"), shardColumn("status"));
+        assertEquals(List.of("b", "busy"), shardColumn("node_id"));
+        assertEquals("RUNNING", runColumn("status"));
+    }
+
+    @Test
+    public void planningOfCoordinatorWhoseLeaseExpiredIsTakenOver() throws JobExecutionException {
+        insertRun("gone", "PLANNING", -1);
+        final RecordingWork work = new RecordingWork(3);
+
+        assertFalse(runOn(node("b"), work));
+
+        assertEquals("b", runColumn("coordinator_node"));
+        assertEquals(List.of("1-2", "3-3"), work.processedRanges);
+        assertEquals("COMPLETED", runColumn("status"));
+    }
+
+    @Test
+    public void leaseOfShardIsRenewedWhileItIsProcessed() throws JobExecutionException {
+        final AtomicReference<Timestamp> leaseAfterClaim = new AtomicReference<>();
+        final RecordingWork work = new RecordingWork(2) {
+
+            @Override
+            public List<Throwable> processRange(final long fromId, final long toId) {
+                leaseAfterClaim.set(shardLease());
+                // the heartbeat renews the lease three times per lease
+                await().atMost(Duration.ofSeconds(LEASE_SECONDS)).until(() -> shardLease().after(leaseAfterClaim.get()));
+                return super.processRange(fromId, toId);
+            }
+        };
+
+        runOn(node("a"), work);
+
+        assertEquals(List.of("DONE"), shardColumn("status"));
+        assertTrue(shardLease().after(leaseAfterClaim.get()));
+    }
+
+    @Test
+    public void failedShardFailsTheRun() {
+        final RecordingWork work = new RecordingWork(3) {
+
+            @Override
+            public List<Throwable> processRange(final long fromId, final long toId) {
+                if (fromId == 3L) {
+                    throw new IllegalStateException("account 3 is broken");
+                }
+                return super.processRange(fromId, toId);
+            }
+        };
+
+        assertThrows(JobExecutionException.class, () -> runOn(node("a"), work));
+
+        assertEquals("FAILED", runColumn("status"));
+        assertEquals(List.of("DONE", "FAILED"), shardColumn("status"));
+        assertEquals(List.of("0", "1"), shardColumn("error_count"));
+    }
+
+    @Test
+    public void workRunsLocallyWhenClusterModeIsDisabled() throws JobExecutionException {
+        final JobClusterServiceImpl node = new JobClusterServiceImpl(TenantDatabaseHelper.routingDataSource(), new StandardEnvironment());
+        this.nodes.add(node);
+        final RecordingWork work = new RecordingWork(5);
+
+        assertFalse(runOn(node, work));
+
+        assertEquals(List.of("1-5"), work.processedRanges);
+        assertEquals(0, this.jdbcTemplate.queryForObject(
+                "select count(*) from job_cluster_run where job_id = ? and scheduled_fire_time = ?", Integer.class, this.jobId,
+                scheduledFireTime()));
+    }
+
+    private JobClusterServiceImpl node(final String nodeId) {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(JobClusterService.CLUSTER_ENABLED_PROPERTY, "true");
+        properties.put(JobClusterService.NODE_ID_PROPERTY, nodeId);
+        properties.put(JobClusterService.SHARD_SIZE_PROPERTY, "2");
+        properties.put(JobClusterService.LEASE_SECONDS_PROPERTY, String.valueOf(LEASE_SECONDS));
+        final StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("node-" + nodeId, properties));
+        final JobClusterServiceImpl node = new JobClusterServiceImpl(TenantDatabaseHelper.routingDataSource(), env);
+        this.nodes.add(node);
+        return node;
+    }
+
+    /**
+     * @return whether the node only worked on shards of a run coordinated by another node
+     */
+    private boolean runOn(final JobClusterServiceImpl node, final ShardedJobWork work) throws JobExecutionException {
+        node.enterRun(this.jobKey, this.fireTime);
+        boolean worker;
+        try {
+            node.runSharded(work);
+        } finally {
+            worker = node.exitRun();
+        }
+        return worker;
+    }
+
+    private Timestamp scheduledFireTime() {
+        return new Timestamp(this.fireTime.getTime());
+    }
+
+    private long insertRun(final String coordinator, final String status, final int leaseSecondsFromNow) {
+        this.jdbcTemplate.update(
+                "insert into job_cluster_run (job_id, scheduled_fire_time, coordinator_node, lease_until, status, started_at)"
+                        + " values (?, ?, ?, date_add(now(), interval ? second), ?, now())",
+                this.jobId, scheduledFireTime(), coordinator, leaseSecondsFromNow, status);
+        return this.jdbcTemplate.queryForObject("select id from job_cluster_run where job_id = ? and scheduled_fire_time = ?",
+                Long.class, this.jobId, scheduledFireTime());
+    }
+
+    private void insertShard(final long runId, final int shardNo, final long rangeStart, final long rangeEnd, final String nodeId,
+            final int leaseSecondsFromNow) {
+        this.jdbcTemplate.update("insert into job_cluster_shard (run_id, shard_no, range_start, range_end, status, node_id, lease_until,"
+                + " started_at) values (?, ?, ?, ?, 'RUNNING', ?, date_add(now(), interval ? second), now())", runId, shardNo, rangeStart,
+                rangeEnd, nodeId, leaseSecondsFromNow);
+    }
+
+    private String runColumn(final String column) {
+        return this.jdbcTemplate.queryForObject("select " + column + " from job_cluster_run where job_id = ? and scheduled_fire_time = ?",
+                String.class, this.jobId, scheduledFireTime());
+    }
+
+    private List<String> shardColumn(final String column) {
+        return this.jdbcTemplate.queryForList("select s." + column + " from job_cluster_shard s join job_cluster_run r on r.id = s.run_id"
+                + " where r.job_id = ? and r.scheduled_fire_time = ? order by s.shard_no", String.class, this.jobId, scheduledFireTime());
+    }
+
+    private Timestamp shardLease() {
+        return this.jdbcTemplate.queryForObject("select s.lease_until from job_cluster_shard s join job_cluster_run r on r.id = s.run_id"
+                + " where r.job_id = ? and r.scheduled_fire_time = ? and s.shard_no = 1", Timestamp.class, this.jobId,
+                scheduledFireTime());
+    }
+
+    private void deleteRun() {
+        this.jdbcTemplate.update("delete s from job_cluster_shard s join job_cluster_run r on r.id = s.run_id"
+                + " where r.job_id = ? and r.scheduled_fire_time = ?", this.jobId, scheduledFireTime());
+        this.jdbcTemplate.update("delete from job_cluster_run where job_id = ? and scheduled_fire_time = ?", this.jobId,
+                scheduledFireTime());
+    }
+
+    private static class RecordingWork implements ShardedJobWork {
+
+        private final List<Long> ids;
+        private final List<String> processedRanges = Collections.synchronizedList(new ArrayList<>());
+        private int findIdsCalls;
+
+        RecordingWork(final long count) {
+            this.ids = LongStream.rangeClosed(1L, count).boxed().collect(Collectors.toList());
+        }
+
+        @Override
+        public List<Long> findIds() {
+            this.findIdsCalls++;
+            return this.ids;
+        }
+
+        @Override
+        public List<Throwable> processRange(final long fromId, final long toId) {
+            this.processedRanges.add(fromId + "-" + toId);
+            return List.of();
+        }
+    }
+}
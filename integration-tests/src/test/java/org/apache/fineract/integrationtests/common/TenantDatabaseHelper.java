@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Connects tests of services that work with plain JDBC directly to the database of the default tenant, which the
+ * Fineract server under test is running on.
+ */
+public final class TenantDatabaseHelper {
+
+    private static final DataSource DATA_SOURCE = createDataSource();
+
+    private TenantDatabaseHelper() {}
+
+    public static JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(DATA_SOURCE);
+    }
+
+    /**
+     * @return a data source that hands out connections to the default tenant, for services taking a
+     *         {@link RoutingDataSource} without a tenant being set up on the calling thread
+     */
+    public static RoutingDataSource routingDataSource() {
+        return new RoutingDataSource(null, null) {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return DATA_SOURCE.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(final String username, final String password) throws SQLException {
+                return DATA_SOURCE.getConnection(username, password);
+            }
+        };
+    }
+
+    private static DataSource createDataSource() {
+        final String url = "jdbc:mysql:thin://" + getEnv("FINERACT_DEFAULT_TENANTDB_HOSTNAME", "localhost") + ":"
+                + getEnv("FINERACT_DEFAULT_TENANTDB_PORT", "3306") + "/fineract_default";
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(url, getEnv("FINERACT_DEFAULT_TENANTDB_UID", "root"),
+                getEnv("FINERACT_DEFAULT_TENANTDB_PWD", "mysql"));
+        dataSource.setDriverClassName("org.drizzle.jdbc.DrizzleDriver");
+        return dataSource;
+    }
+
+    private static String getEnv(final String name, final String defaultValue) {
+        final String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}